@@ -0,0 +1,343 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthitech.persistence.annotations.Cacheable;
+import com.yukthitech.persistence.annotations.EvictionPolicy;
+
+/**
+ * Second level cache of an entity type, which maintains entity records against their id. Records
+ * are maintained instead of entities, so that every fetch results in new entity instance.
+ * 
+ * @author akiran
+ */
+public class EntityCache
+{
+	private static Logger logger = LogManager.getLogger(EntityCache.class);
+	
+	/**
+	 * Cache entry with record and its metadata.
+	 * @author akiran
+	 */
+	private static class CacheEntry
+	{
+		/**
+		 * Cached record.
+		 */
+		private Record record;
+		
+		/**
+		 * Time at which entry expires. Zero if entry never expires.
+		 */
+		private long expiryTime;
+		
+		/**
+		 * Number of times entry is accessed.
+		 */
+		private long frequency;
+
+		public CacheEntry(Record record, long expiryTime)
+		{
+			this.record = record;
+			this.expiryTime = expiryTime;
+		}
+	}
+	
+	/**
+	 * Entity type being cached.
+	 */
+	private Class<?> entityType;
+	
+	/**
+	 * Max number of entries to be cached.
+	 */
+	private int maxSize;
+	
+	/**
+	 * Time in millis after which entries expire.
+	 */
+	private long timeToLive;
+	
+	/**
+	 * Eviction policy to be used.
+	 */
+	private EvictionPolicy evictionPolicy;
+	
+	/**
+	 * Cached entries, maintained in access order.
+	 */
+	private LinkedHashMap<Object, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	
+	/**
+	 * Number of times entity is served from cache.
+	 */
+	private long hitCount;
+	
+	/**
+	 * Number of times entity is not found in cache.
+	 */
+	private long missCount;
+	
+	/**
+	 * Number of entries evicted because of size limit.
+	 */
+	private long evictionCount;
+	
+	/**
+	 * Incremented on every invalidation. Used to avoid caching records, which are read before
+	 * an invalidation, as they may be stale.
+	 */
+	private long version;
+
+	public EntityCache(Class<?> entityType, Cacheable cacheable)
+	{
+		this.entityType = entityType;
+		this.maxSize = cacheable.maxSize();
+		this.timeToLive = cacheable.timeToLive();
+		this.evictionPolicy = cacheable.evictionPolicy();
+		
+		if(maxSize <= 0)
+		{
+			throw new InvalidMappingException("Invalid max-size {} specified for cache of entity: {}", maxSize, entityType.getName());
+		}
+	}
+	
+	/**
+	 * Fetches the record cached against specified id.
+	 * @param id id of the entity
+	 * @return cached record, null if not found or expired
+	 */
+	public synchronized Record get(Object id)
+	{
+		CacheEntry entry = entries.get(id);
+		
+		if(entry == null)
+		{
+			missCount++;
+			return null;
+		}
+		
+		if(entry.expiryTime > 0 && entry.expiryTime < System.currentTimeMillis())
+		{
+			entries.remove(id);
+			missCount++;
+			return null;
+		}
+		
+		entry.frequency++;
+		hitCount++;
+		return entry.record;
+	}
+	
+	/**
+	 * Fetches the current version of the cache, which should be obtained before reading a record from 
+	 * db and should be passed while {@link #put(Object, Record, long) caching} the read record.
+	 * @return current version
+	 */
+	public synchronized long getVersion()
+	{
+		return version;
+	}
+	
+	/**
+	 * Caches specified record against specified id, only if no invalidation happened since specified version
+	 * is obtained. Otherwise, the record may be read before a concurrent update and would be stale.
+	 * @param id id of the entity
+	 * @param record record to cache
+	 * @param version version obtained before reading the record
+	 * @return true if the record is cached
+	 */
+	public synchronized boolean put(Object id, Record record, long version)
+	{
+		if(this.version != version)
+		{
+			logger.trace("Ignoring caching of entity {} with id {} as cache is invalidated after read", entityType.getName(), id);
+			return false;
+		}
+		
+		put(id, record);
+		return true;
+	}
+	
+	/**
+	 * Caches specified record against specified id. If max size is reached, entries will be
+	 * evicted based on eviction policy.
+	 * @param id id of the entity
+	 * @param record record to cache
+	 */
+	public synchronized void put(Object id, Record record)
+	{
+		long expiryTime = (timeToLive > 0) ? System.currentTimeMillis() + timeToLive : 0;
+		entries.put(id, new CacheEntry(record, expiryTime));
+		
+		while(entries.size() > maxSize)
+		{
+			evict(id);
+		}
+	}
+	
+	/**
+	 * Evicts single entry based on eviction policy. Entry with specified key is never evicted, so that
+	 * newly added entry (which will not have any hits yet) is not evicted immediately under LFU.
+	 * @param excludeKey key of the entry which should not be evicted
+	 */
+	private void evict(Object excludeKey)
+	{
+		Iterator<Map.Entry<Object, CacheEntry>> it = entries.entrySet().iterator();
+		Object evictKey = it.next().getKey();
+		
+		if(evictionPolicy == EvictionPolicy.LFU)
+		{
+			long minFrequency = Long.MAX_VALUE;
+			
+			//as entries are in access order, among same frequency entries, least recently used will be selected
+			for(Map.Entry<Object, CacheEntry> entry : entries.entrySet())
+			{
+				if(entry.getKey().equals(excludeKey))
+				{
+					continue;
+				}
+				
+				if(entry.getValue().frequency < minFrequency)
+				{
+					minFrequency = entry.getValue().frequency;
+					evictKey = entry.getKey();
+				}
+			}
+		}
+		
+		logger.trace("Evicting entity {} with id {} from cache", entityType.getName(), evictKey);
+		
+		entries.remove(evictKey);
+		evictionCount++;
+	}
+	
+	/**
+	 * Removes the entry with specified id.
+	 * @param id id of the entity to remove
+	 */
+	public synchronized void invalidate(Object id)
+	{
+		entries.remove(id);
+		version++;
+	}
+	
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public synchronized void clear()
+	{
+		entries.clear();
+		version++;
+	}
+	
+	/**
+	 * Gets the entity type being cached.
+	 *
+	 * @return the entity type being cached
+	 */
+	public Class<?> getEntityType()
+	{
+		return entityType;
+	}
+	
+	/**
+	 * Gets the number of entries currently cached.
+	 *
+	 * @return the number of entries currently cached
+	 */
+	public synchronized int getSize()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of times entity is served from cache.
+	 *
+	 * @return the number of times entity is served from cache
+	 */
+	public synchronized long getHitCount()
+	{
+		return hitCount;
+	}
+
+	/**
+	 * Gets the number of times entity is not found in cache.
+	 *
+	 * @return the number of times entity is not found in cache
+	 */
+	public synchronized long getMissCount()
+	{
+		return missCount;
+	}
+
+	/**
+	 * Gets the number of entries evicted because of size limit.
+	 *
+	 * @return the number of entries evicted
+	 */
+	public synchronized long getEvictionCount()
+	{
+		return evictionCount;
+	}
+	
+	/**
+	 * Gets the ratio of cache hits to total lookups.
+	 *
+	 * @return the hit ratio, zero if no lookups are done
+	 */
+	public synchronized double getHitRatio()
+	{
+		long total = hitCount + missCount;
+		return (total == 0) ? 0 : ((double) hitCount / total);
+	}
+	
+	/**
+	 * Resets the statistics of the cache.
+	 */
+	public synchronized void resetStatistics()
+	{
+		hitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public synchronized String toString()
+	{
+		StringBuilder builder = new StringBuilder(super.toString());
+		builder.append("[");
+
+		builder.append("Entity: ").append(entityType.getName());
+		builder.append(",").append("Size: ").append(entries.size());
+		builder.append(",").append("Hits: ").append(hitCount);
+		builder.append(",").append("Misses: ").append(missCount);
+		builder.append(",").append("Evictions: ").append(evictionCount);
+
+		builder.append("]");
+		return builder.toString();
+	}
+}
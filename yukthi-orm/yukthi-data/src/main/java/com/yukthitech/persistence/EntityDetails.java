@@ -63,6 +63,11 @@ public class EntityDetails
 	 */
 	private ExtendedTableDetails extendedTableDetails;
 	
+	/**
+	 * Second level cache for this entity. Null if entity is not cacheable.
+	 */
+	private EntityCache entityCache;
+	
 	/**
 	 * Indicates whether table is created
 	 */
@@ -418,6 +423,26 @@ public class EntityDetails
 		this.extendedTableDetails = extendedTableDetails;
 	}
 	
+	/**
+	 * Gets the second level cache for this entity.
+	 *
+	 * @return the second level cache, null if entity is not cacheable
+	 */
+	public EntityCache getEntityCache()
+	{
+		return entityCache;
+	}
+
+	/**
+	 * Sets the second level cache for this entity.
+	 *
+	 * @param entityCache the new second level cache
+	 */
+	public void setEntityCache(EntityCache entityCache)
+	{
+		this.entityCache = entityCache;
+	}
+	
 	public void addColumn(String column)
 	{
 		if(column == null)
@@ -42,6 +42,7 @@ import org.apache.logging.log4j.Logger;
 
 import com.yukthitech.persistence.annotations.AccessType;
 import com.yukthitech.persistence.annotations.AutoFetchType;
+import com.yukthitech.persistence.annotations.Cacheable;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.annotations.DataTypeMapping;
 import com.yukthitech.persistence.annotations.Extendable;
@@ -376,6 +377,13 @@ public class EntityDetailsFactory
 
 		fetchExtendedTableDetails(entityType, entityDetails);
 		
+		Cacheable cacheable = entityType.getAnnotation(Cacheable.class);
+		
+		if(cacheable != null)
+		{
+			entityDetails.setEntityCache(new EntityCache(entityType, cacheable));
+		}
+		
 		if(flattenColumnMap == null)
 		{
 			logger.debug("As no column mapping found, assuming table needs to be created.");
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence;
+
+import java.util.Iterator;
+
+/**
+ * Iterator backed by live db resources (like result set), which needs to be closed
+ * once iteration is completed. Iterator gets closed automatically when end is reached.
+ * 
+ * @author akiran
+ * @param <T> type of elements being iterated
+ */
+public interface ICloseableIterator<T> extends Iterator<T>, AutoCloseable
+{
+	/**
+	 * Closes the underlying resources. Calling close on already closed iterator will have no effect.
+	 */
+	@Override
+	public void close();
+}
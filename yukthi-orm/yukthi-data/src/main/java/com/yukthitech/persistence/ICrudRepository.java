@@ -15,8 +15,10 @@
  */
 package com.yukthitech.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import com.yukthitech.persistence.repository.annotations.AggregateFunction;
 import com.yukthitech.persistence.repository.annotations.ExtendedFieldNames;
@@ -80,6 +82,22 @@ public interface ICrudRepository<E>
 
 	public boolean update(E entity);
 	
+	/**
+	 * Saves specified entities to underlying store. Entities are sent to underlying store in batches, 
+	 * instead of one by one. Relation entities (join table entries and child entities) are also saved
+	 * in batches.
+	 * @param entities entities to save
+	 * @return number of entities saved
+	 */
+	public int saveAll(Collection<E> entities);
+	
+	/**
+	 * Updates specified entities in underlying store in batches.
+	 * @param entities entities to update
+	 * @return number of entities updated
+	 */
+	public int updateAll(Collection<E> entities);
+	
 	public boolean deleteById(Object key);
 	
 	public E findById(Object key);
@@ -109,6 +127,19 @@ public interface ICrudRepository<E>
 	 */
 	public List<E> search(SearchQuery searchQuery);
 	
+	/**
+	 * Searches the entities matching with specified search query. Unlike {@link #search(SearchQuery)}, 
+	 * entities are read from db lazily as and when stream is consumed. Returned stream should be closed
+	 * after use, to release underlying db resources.
+	 * 
+	 * When invoked outside of a transaction, stream uses its own read only connection, which is not shared
+	 * with writes done while consuming the stream.
+	 * 
+	 * @param searchQuery Search query to match
+	 * @return Stream of matching entities.
+	 */
+	public Stream<E> searchStream(SearchQuery searchQuery);
+	
 	/**
 	 * Fetches number of matching records for the specified search query.
 	 * @param searchQuery Search query to match
@@ -21,6 +21,7 @@ import java.util.Set;
 
 import com.yukthitech.persistence.conversion.ConversionService;
 import com.yukthitech.persistence.query.ChildrenExistenceQuery;
+import com.yukthitech.persistence.query.ConstraintCheckQuery;
 import com.yukthitech.persistence.query.AggregateQuery;
 import com.yukthitech.persistence.query.CreateExtendedTableQuery;
 import com.yukthitech.persistence.query.CreateIndexQuery;
@@ -65,6 +66,18 @@ public interface IDataStore
 	
 	public Set<String> getColumnNames(String tableName);
 	
+	/**
+	 * Loads metadata (tables and columns) of the complete schema in bulk. Till {@link #clearSchemaMetadata()} is
+	 * called, {@link #tableExists(String)} and {@link #getColumnNames(String)} can be served from loaded metadata.
+	 * Used during bulk loading of repositories.
+	 */
+	public void loadSchemaMetadata();
+	
+	/**
+	 * Clears the schema metadata loaded by {@link #loadSchemaMetadata()}.
+	 */
+	public void clearSchemaMetadata();
+	
 	public void createTable(CreateTableQuery query);
 	
 	public void createExtendedTable(CreateExtendedTableQuery query);
@@ -73,6 +86,14 @@ public interface IDataStore
 	
 	public Double fetchAggregateValue(AggregateQuery existenceQuery, EntityDetails entityDetails);
 	
+	/**
+	 * Executes all the existence checks of specified query in single round trip.
+	 * 
+	 * @param constraintCheckQuery query with checks to execute
+	 * @return flags indicating whether matching records exist, in the same order as checks
+	 */
+	public boolean[] checkExistence(ConstraintCheckQuery constraintCheckQuery);
+	
 	/**
 	 * Executes the specified save-query using structure details from specified entity-details. And stores
 	 * generated id if any, into idGenerated.
@@ -86,6 +107,28 @@ public interface IDataStore
 
 	public int update(UpdateQuery updateQuery, EntityDetails entityDetails);
 	
+	/**
+	 * Executes the specified save-queries in batches. Queries resulting in same query string are grouped 
+	 * and sent to underlying store together. Generated ids, if any, are stored into corresponding wrappers 
+	 * of idsGenerated.
+	 * 
+	 * @param saveQueries queries to execute
+	 * @param entityDetails entity details of the entities being saved
+	 * @param idsGenerated wrappers to hold generated ids, in the same order as queries
+	 * @return Number of rows effected by each query, in the same order as queries
+	 */
+	public int[] saveBatch(List<SaveQuery> saveQueries, EntityDetails entityDetails, List<ObjectWrapper<Object>> idsGenerated);
+	
+	/**
+	 * Executes the specified update-queries in batches. Queries resulting in same query string are grouped 
+	 * and sent to underlying store together.
+	 * 
+	 * @param updateQueries queries to execute
+	 * @param entityDetails entity details of the entities being updated
+	 * @return Number of rows effected by each query, in the same order as queries
+	 */
+	public int[] updateBatch(List<UpdateQuery> updateQueries, EntityDetails entityDetails);
+	
 	public int delete(DeleteQuery deleteQuery, EntityDetails entityDetails);
 	
 	public int checkChildrenExistence(ChildrenExistenceQuery childrenExistenceQuery);
@@ -94,6 +137,19 @@ public interface IDataStore
 
 	public List<Record> executeFinder(FinderQuery findQuery, EntityDetails entityDetails, IFinderRecordProcessor recordProcessor);
 	
+	/**
+	 * Opens a cursor for specified finder query. Unlike {@link #executeFinder(FinderQuery, EntityDetails, IFinderRecordProcessor)}, 
+	 * records are read from underlying store lazily as and when cursor is iterated. Cursor holds underlying
+	 * resources till it is closed (or till end is reached).
+	 * 
+	 * @param findQuery finder query to execute
+	 * @param entityDetails entity details of the target entity
+	 * @param recordProcessor optional record processor to filter records
+	 * @param fetchSize number of records to be fetched in single round trip. Zero or negative value would result in default fetch size.
+	 * @return cursor over records
+	 */
+	public ICloseableIterator<Record> openFinderCursor(FinderQuery findQuery, EntityDetails entityDetails, IFinderRecordProcessor recordProcessor, int fetchSize);
+	
 	/**
 	 * Used to execute native search query indicated by "queryName"
 	 * @param queryName Name of the query to execute
@@ -142,6 +198,12 @@ public interface IDataStore
 	 */
 	public boolean isPagingSupported();
 	
+	/**
+	 * Returns true, if null values are sorted as higher than non-null values by this data store.
+	 * @return true if nulls come last in ascending order
+	 */
+	public boolean isNullsSortedHigh();
+	
 	/**
 	 * Specified wether unique id column has to be added for fetching actual id.
 	 * @return
@@ -22,4 +22,26 @@ public interface ITransactionManager<T extends ITransaction>
 	public TransactionWrapper<T> currentTransaction() throws TransactionException;
 	
 	public TransactionWrapper<T> newOrExistingTransaction() throws TransactionException;
+	
+	/**
+	 * Checks if a transaction is currently active for the current thread.
+	 * @return true if transaction is active
+	 */
+	public boolean isTransactionActive();
+	
+	/**
+	 * Registers action to be executed after the current transaction is committed successfully. If the 
+	 * transaction is rolled back, the action is discarded. If no transaction is active, the action is
+	 * executed immediately.
+	 * @param action action to be executed
+	 */
+	public void executeAfterCommit(Runnable action);
+	
+	/**
+	 * Sets read-only mode for current thread. When in read-only mode and no transaction is active for current thread,
+	 * transactions needed for reading data can be served by read replicas, if configured.
+	 * @param readOnly read-only flag to be set
+	 * @return previous read-only mode of current thread, which should be restored after the read operation
+	 */
+	public boolean setReadOnlyMode(boolean readOnly);
 }
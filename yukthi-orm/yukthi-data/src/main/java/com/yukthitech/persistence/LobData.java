@@ -19,10 +19,11 @@ import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileReader;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import com.yukthitech.utils.exceptions.InvalidStateException;
 
@@ -50,7 +51,7 @@ public class LobData implements Closeable
 		{
 			if(textStream)
 			{
-				reader = new FileReader(file);
+				reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
 			}
 			else
 			{
@@ -76,6 +77,16 @@ public class LobData implements Closeable
 	{
 		this.reader = new StringReader(data);
 	}
+	
+	public LobData(InputStream is)
+	{
+		this.is = is;
+	}
+	
+	public LobData(Reader reader)
+	{
+		this.reader = reader;
+	}
 
 	/**
 	 * @return the {@link #textStream textStream}
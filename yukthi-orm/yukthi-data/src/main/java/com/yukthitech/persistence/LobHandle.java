@@ -0,0 +1,423 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Blob;
+import java.sql.Clob;
+
+import org.apache.commons.io.IOUtils;
+
+import com.yukthitech.utils.exceptions.InvalidStateException;
+
+/**
+ * Handle to blob/clob content read from db. Unlike byte[]/char[] values, the content is not
+ * loaded into memory, instead streams are opened on demand using {@link #openStream()} or {@link #openReader()}.
+ * 
+ * Handles backed by jdbc lobs are valid only till the transaction, in which they are fetched, is open. Handles
+ * backed by files (spilled lobs) can be used without any such restriction.
+ * 
+ * @author akiran
+ */
+public class LobHandle implements Closeable
+{
+	/**
+	 * Buffer size used to copy lob content.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+	
+	/**
+	 * Jdbc blob from which data should be read.
+	 */
+	private Blob blob;
+	
+	/**
+	 * Jdbc clob from which data should be read.
+	 */
+	private Clob clob;
+	
+	/**
+	 * File from which data should be read.
+	 */
+	private File file;
+	
+	/**
+	 * In-memory bytes from which data should be read.
+	 */
+	private byte[] bytes;
+	
+	/**
+	 * In-memory chars from which data should be read.
+	 */
+	private char[] chars;
+	
+	/**
+	 * Flag indicating if the content is textual (clob) content.
+	 */
+	private boolean textLob;
+	
+	/**
+	 * Flag indicating this handle is closed.
+	 */
+	private boolean closed;
+	
+	/**
+	 * Flag indicating the backing file is a temp file created by {@link #spill()}.
+	 */
+	private boolean spilledFile;
+
+	public LobHandle(Blob blob)
+	{
+		this.blob = blob;
+	}
+
+	public LobHandle(Clob clob)
+	{
+		this.clob = clob;
+		this.textLob = true;
+	}
+	
+	public LobHandle(File file, boolean textLob)
+	{
+		if(!file.exists())
+		{
+			throw new IllegalArgumentException("Specified file does not exist - " + file.getPath());
+		}
+		
+		this.file = file;
+		this.textLob = textLob;
+	}
+	
+	public LobHandle(byte[] bytes)
+	{
+		this.bytes = bytes;
+	}
+	
+	public LobHandle(char[] chars)
+	{
+		this.chars = chars;
+		this.textLob = true;
+	}
+	
+	private void checkOpen()
+	{
+		if(closed)
+		{
+			throw new InvalidStateException("Lob handle is already closed");
+		}
+	}
+
+	/**
+	 * Checks if the content of this handle is textual (clob) content.
+	 * @return true if textual content
+	 */
+	public boolean isTextLob()
+	{
+		return textLob;
+	}
+	
+	/**
+	 * Checks if this handle is backed by a file. File backed handles are not dependent on
+	 * the transaction in which they are fetched.
+	 * @return true if backed by file
+	 */
+	public boolean isFileBacked()
+	{
+		return (file != null);
+	}
+	
+	/**
+	 * Gets the length of the content. For text lobs, this will be number of characters and
+	 * for binary lobs this will be number of bytes. For file backed text lobs, file size is returned.
+	 * @return length of the content
+	 */
+	public long length()
+	{
+		checkOpen();
+		
+		try
+		{
+			if(blob != null)
+			{
+				return blob.length();
+			}
+			
+			if(clob != null)
+			{
+				return clob.length();
+			}
+			
+			if(file != null)
+			{
+				return file.length();
+			}
+			
+			return (bytes != null) ? bytes.length : chars.length;
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException("An error occurred while fetching lob length. Ensure lob is accessed within the fetch transaction.", ex);
+		}
+	}
+	
+	/**
+	 * Opens a new stream to read the binary content. Caller is expected to close
+	 * the returned stream.
+	 * @return stream to read the content
+	 */
+	public InputStream openStream()
+	{
+		checkOpen();
+		
+		if(textLob)
+		{
+			throw new UnsupportedOperationException("Binary stream can not be opened on text lob");
+		}
+		
+		try
+		{
+			if(blob != null)
+			{
+				return blob.getBinaryStream();
+			}
+			
+			if(file != null)
+			{
+				return new FileInputStream(file);
+			}
+			
+			return new ByteArrayInputStream(bytes);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException("An error occurred while opening lob stream. Ensure lob is accessed within the fetch transaction.", ex);
+		}
+	}
+	
+	/**
+	 * Opens a new reader to read the content. For binary lobs, the bytes will be converted
+	 * into characters using default charset. File backed text content is read as UTF-8. Caller is
+	 * expected to close the returned reader.
+	 * @return reader to read the content
+	 */
+	public Reader openReader()
+	{
+		checkOpen();
+		
+		if(!textLob)
+		{
+			return new InputStreamReader(openStream(), Charset.defaultCharset());
+		}
+		
+		try
+		{
+			if(clob != null)
+			{
+				return clob.getCharacterStream();
+			}
+			
+			if(file != null)
+			{
+				return Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+			}
+			
+			return new CharArrayReader(chars);
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException("An error occurred while opening lob reader. Ensure lob is accessed within the fetch transaction.", ex);
+		}
+	}
+	
+	/**
+	 * Reads the complete content into memory as bytes. For text lobs, the characters are
+	 * converted using default charset.
+	 * @return content bytes
+	 */
+	public byte[] readBytes()
+	{
+		if(textLob)
+		{
+			return readString().getBytes(Charset.defaultCharset());
+		}
+		
+		if(bytes != null)
+		{
+			return bytes;
+		}
+		
+		try(InputStream is = openStream())
+		{
+			return IOUtils.toByteArray(is);
+		}catch(InvalidStateException ex)
+		{
+			throw ex;
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException("An error occurred while reading lob content", ex);
+		}
+	}
+	
+	/**
+	 * Reads the complete content into memory as string.
+	 * @return content string
+	 */
+	public String readString()
+	{
+		if(chars != null)
+		{
+			return new String(chars);
+		}
+		
+		try(Reader reader = openReader())
+		{
+			return IOUtils.toString(reader);
+		}catch(InvalidStateException ex)
+		{
+			throw ex;
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException("An error occurred while reading lob content", ex);
+		}
+	}
+	
+	/**
+	 * Fetches the content as file. For file backed handle, the backing file is returned as is. For others,
+	 * content is streamed into a new temp file. Text content is written as UTF-8.
+	 * @return file with the content
+	 */
+	public File toFile()
+	{
+		checkOpen();
+		
+		if(file != null)
+		{
+			return file;
+		}
+		
+		try
+		{
+			File tempFile = File.createTempFile("lob", ".tmp");
+			
+			if(textLob)
+			{
+				try(Reader reader = openReader(); Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8))
+				{
+					IOUtils.copyLarge(reader, writer, new char[BUFFER_SIZE]);
+				}
+			}
+			else
+			{
+				try(InputStream is = openStream(); OutputStream os = new FileOutputStream(tempFile))
+				{
+					IOUtils.copyLarge(is, os, new byte[BUFFER_SIZE]);
+				}
+			}
+			
+			return tempFile;
+		}catch(InvalidStateException ex)
+		{
+			throw ex;
+		}catch(Exception ex)
+		{
+			throw new InvalidStateException("An error occurred while copying lob content to temp file", ex);
+		}
+	}
+	
+	/**
+	 * Converts this handle into file backed handle, so that the content can be accessed
+	 * after fetch transaction is closed. Underlying jdbc lob, if any, is released.
+	 * @return file backed handle
+	 */
+	public LobHandle spill()
+	{
+		if(file != null)
+		{
+			return this;
+		}
+		
+		LobHandle res = new LobHandle(toFile(), textLob);
+		res.spilledFile = true;
+		close();
+		
+		return res;
+	}
+
+	/**
+	 * Checks if this handle is backed by temp file created by {@link #spill()}.
+	 * @return true if backed by spilled file
+	 */
+	public boolean isSpilled()
+	{
+		return spilledFile;
+	}
+	
+	/**
+	 * Deletes the backing file, if it is a temp file created by {@link #spill()}, and closes this handle. Expected to be
+	 * called once the content is consumed and the handle is not handed over to the application.
+	 */
+	public void deleteSpilledFile()
+	{
+		if(!spilledFile)
+		{
+			return;
+		}
+		
+		close();
+		file.delete();
+	}
+	
+	/**
+	 * Releases the underlying jdbc lob resources. Backing files, if any, are not deleted, as 
+	 * they may be in use by the application.
+	 */
+	@Override
+	public void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+		
+		closed = true;
+		
+		try
+		{
+			if(blob != null)
+			{
+				blob.free();
+			}
+			
+			if(clob != null)
+			{
+				clob.free();
+			}
+		}catch(Exception ex)
+		{
+			//lob might already be released by its transaction, so ignore the error
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the target entity type as cacheable. Entities fetched by id (findById) will be cached,
+ * and cache entries will be invalidated on writes done via repositories. Useful for reference-data 
+ * entities which rarely change.
+ * 
+ * Note: Changes done on underlying table directly (or via native queries) will be reflected only
+ * after cache entry expires.
+ * 
+ * @author akiran
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+public @interface Cacheable
+{
+	/**
+	 * Max number of entities to be cached.
+	 * @return max number of entities to be cached
+	 */
+	public int maxSize() default 1000;
+	
+	/**
+	 * Time (in millis) after which cached entry expires. Zero or negative value indicates entries never expire.
+	 * @return time to live for cached entries
+	 */
+	public long timeToLive() default 0;
+	
+	/**
+	 * Eviction policy to be used when max size is reached.
+	 * @return eviction policy
+	 */
+	public EvictionPolicy evictionPolicy() default EvictionPolicy.LRU;
+}
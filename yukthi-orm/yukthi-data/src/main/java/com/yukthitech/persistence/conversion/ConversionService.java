@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -176,6 +177,27 @@ public class ConversionService
 				fieldDetails.getField().getType(), fieldDetails.getField());
 	}
 	
+	/**
+	 * Resolves the conversion to be used for converting db values of specified field into java type. The
+	 * returned function can be reused for multiple values, which avoids converter lookup for every value.
+	 * @param fieldDetails field for which converter needs to be resolved
+	 * @return function to convert db values into java type
+	 */
+	public Function<Object, Object> getJavaTypeConverter(FieldDetails fieldDetails)
+	{
+		IPersistenceConverter converter = getConverter(fieldDetails);
+		DataType dbDataType = fieldDetails.getDbDataType();
+		Field field = fieldDetails.getField();
+		Class<?> targetType = field.getType();
+		
+		if(converter != null)
+		{
+			return dbObject -> (dbObject == null) ? null : converter.convertToJavaType(dbObject, dbDataType, targetType, field);
+		}
+		
+		return dbObject -> convert(dbObject, dbDataType, targetType, field);
+	}
+	
 	public Object convertToJavaType(Object dbObject, Field field)
 	{
 		//when db object is null, return null
@@ -33,6 +33,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.annotations.DataTypeMapping;
 import com.yukthitech.persistence.conversion.IPersistenceConverter;
@@ -149,6 +150,20 @@ public class JsonConverter implements IPersistenceConverter
 			}
 		}
 
+		//if db object is lob handle
+		if(dbObj instanceof LobHandle)
+		{
+			LobHandle handle = (LobHandle) dbObj;
+			
+			try
+			{
+				return handle.readString();
+			}finally
+			{
+				handle.deleteSpilledFile();
+			}
+		}
+
 		//if db object is byte[]
 		if(dbObj instanceof byte[])
 		{
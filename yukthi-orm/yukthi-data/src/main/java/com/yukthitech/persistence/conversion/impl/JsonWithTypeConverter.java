@@ -29,6 +29,7 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.annotations.DataTypeMapping;
 import com.yukthitech.persistence.conversion.IPersistenceConverter;
@@ -130,6 +131,20 @@ public class JsonWithTypeConverter implements IPersistenceConverter
 			}
 		}
 
+		//if db object is lob handle
+		if(dbObj instanceof LobHandle)
+		{
+			LobHandle handle = (LobHandle) dbObj;
+			
+			try
+			{
+				return handle.readString();
+			}finally
+			{
+				handle.deleteSpilledFile();
+			}
+		}
+
 		//if db object is byte[]
 		if(dbObj instanceof byte[])
 		{
@@ -23,6 +23,7 @@ import java.sql.Blob;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.SerializationUtils;
 
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.annotations.DataTypeMapping;
 import com.yukthitech.persistence.conversion.IPersistenceConverter;
@@ -98,6 +99,20 @@ public class SerializationConverter implements IPersistenceConverter
 				throw new IllegalStateException("An error occured while reading blob data.", ex);
 			}
 		}
+		
+		//if db object is lob handle
+		if(dbObj instanceof LobHandle)
+		{
+			LobHandle handle = (LobHandle) dbObj;
+			
+			try
+			{
+				return handle.readBytes();
+			}finally
+			{
+				handle.deleteSpilledFile();
+			}
+		}
 
 		throw new IllegalStateException(String.format("Unsupported db data type %s encountered for Serialization conversion", dbObj.getClass().getName()));
 	}
@@ -27,6 +27,7 @@ import org.apache.commons.io.IOUtils;
 
 import com.yukthitech.ccg.xml.XMLBeanParser;
 import com.yukthitech.ccg.xml.writer.XmlBeanWriter;
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.annotations.DataTypeMapping;
 import com.yukthitech.persistence.conversion.IPersistenceConverter;
@@ -110,6 +111,20 @@ public class XmlConverter implements IPersistenceConverter
 			}
 		}
 
+		//if db object is lob handle
+		if(dbObj instanceof LobHandle)
+		{
+			LobHandle handle = (LobHandle) dbObj;
+			
+			try
+			{
+				return handle.readString();
+			}finally
+			{
+				handle.deleteSpilledFile();
+			}
+		}
+
 		//if db object is byte[]
 		if(dbObj instanceof byte[])
 		{
@@ -24,29 +24,50 @@ public enum EntityEventType
 	/**
 	 * Called before saving entity
 	 */
-	PRE_SAVE, 
+	PRE_SAVE(false), 
 	/**
 	 * Called after save entity
 	 */
-	POST_SAVE,
+	POST_SAVE(true),
 	
 	
 	/**
 	 * Called before entity update
 	 */
-	PRE_UPDATE, 
+	PRE_UPDATE(false), 
 	/**
+	 * Called after entity update
 	 */
-	POST_UPDATE,
+	POST_UPDATE(true),
 	
 	
 	/**
 	 * Called before entity delete
 	 */
-	PRE_DELETE, 
+	PRE_DELETE(false), 
 	
 	/**
 	 * Called after entity delete
 	 */
-	POST_DELETE
+	POST_DELETE(true);
+	
+	/**
+	 * Flag indicating if this event is raised after the operation.
+	 */
+	private final boolean postEvent;
+
+	private EntityEventType(boolean postEvent)
+	{
+		this.postEvent = postEvent;
+	}
+	
+	/**
+	 * Checks if this event is raised after the operation. Such events can be dispatched
+	 * asynchronously after the transaction commit.
+	 * @return true if this is post event
+	 */
+	public boolean isPostEvent()
+	{
+		return postEvent;
+	}
 }
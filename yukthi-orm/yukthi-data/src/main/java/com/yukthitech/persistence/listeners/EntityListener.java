@@ -16,6 +16,8 @@
 package com.yukthitech.persistence.listeners;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Holds listener method details for event handling
@@ -37,12 +39,33 @@ public class EntityListener
 	 * Does listener method accept event object
 	 */
 	private boolean hasEventArg;
+	
+	/**
+	 * Does listener method accept list of events. Such listeners are invoked once for batch of
+	 * events, during asynchronous dispatch.
+	 */
+	private boolean batchListener;
 
 	public EntityListener(Object listenerContainer, Method listenerMethod, boolean hasEventArg)
+	{
+		this(listenerContainer, listenerMethod, hasEventArg, false);
+	}
+	
+	public EntityListener(Object listenerContainer, Method listenerMethod, boolean hasEventArg, boolean batchListener)
 	{
 		this.listenerContainer = listenerContainer;
 		this.listenerMethod = listenerMethod;
 		this.hasEventArg = hasEventArg;
+		this.batchListener = batchListener;
+	}
+	
+	/**
+	 * Checks if this listener accepts list of events.
+	 * @return true if this listener accepts list of events
+	 */
+	public boolean isBatchListener()
+	{
+		return batchListener;
 	}
 	
 	/**
@@ -51,6 +74,12 @@ public class EntityListener
 	 */
 	public void invoke(EntityEvent e)
 	{
+		if(batchListener)
+		{
+			invokeBatch(Collections.singletonList(e));
+			return;
+		}
+		
 		try
 		{
 			if(hasEventArg)
@@ -62,7 +91,22 @@ public class EntityListener
 			listenerMethod.invoke(listenerContainer);
 		}catch(Exception ex)
 		{
-			throw new IllegalStateException("An error occurred while invoking ");
+			throw new IllegalStateException("An error occurred while invoking listener: " + this, ex);
+		}
+	}
+	
+	/**
+	 * Invokes the listener method with specified batch of events. Applicable only for batch listeners.
+	 * @param events events to be passed
+	 */
+	public void invokeBatch(List<EntityEvent> events)
+	{
+		try
+		{
+			listenerMethod.invoke(listenerContainer, events);
+		}catch(Exception ex)
+		{
+			throw new IllegalStateException("An error occurred while invoking batch listener: " + this, ex);
 		}
 	}
 	
@@ -18,27 +18,168 @@ package com.yukthitech.persistence.listeners;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.utils.exceptions.InvalidArgumentException;
 
 /**
- * Manages registered listener methods and their invocations
+ * Manages registered listener methods and their invocations. By default listeners are invoked synchronously. When
+ * async executor is specified, post events are dispatched asynchronously after the transaction is committed.
  * @author akiran
  */
 public class EntityListenerManager
 {
 	private static Logger logger = LogManager.getLogger(EntityListenerManager.class);
 	
+	/**
+	 * Default max number of events to be dispatched in single batch.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+	
+	private static final EntityListener[] NO_LISTENERS = new EntityListener[0];
+	
+	/**
+	 * Event along with listeners to which it needs to be dispatched.
+	 */
+	private static class PendingEvent
+	{
+		private EntityEvent event;
+		
+		private EntityListener listeners[];
+
+		private PendingEvent(EntityEvent event, EntityListener[] listeners)
+		{
+			this.event = event;
+			this.listeners = listeners;
+		}
+	}
+	
 	/**
 	 * Holds handlers grouped by entity-type and event-type
 	 */
 	private Map<String, List<EntityListener>> typeToListeners = new HashMap<>();
 	
+	/**
+	 * Listeners resolved per entity type. For each entity type, listeners are maintained as array
+	 * indexed by event type ordinal, with entity specific listeners followed by generic listeners.
+	 */
+	private volatile Map<Class<?>, EntityListener[][]> resolvedListeners = new ConcurrentHashMap<>();
+	
+	/**
+	 * Executor to be used for dispatching post events. If null, events are dispatched synchronously.
+	 */
+	private volatile Executor asyncExecutor;
+	
+	/**
+	 * Max number of events to be dispatched in single batch.
+	 */
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+	
+	/**
+	 * Events pending for asynchronous dispatch.
+	 */
+	private Queue<PendingEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+	
+	/**
+	 * Number of events pending for asynchronous dispatch.
+	 */
+	private AtomicInteger pendingEventCount = new AtomicInteger();
+	
+	/**
+	 * Max number of events pending at any point, since last reset.
+	 */
+	private AtomicInteger maxPendingEventCount = new AtomicInteger();
+	
+	/**
+	 * Flag indicating if the dispatch of pending events is in progress. Ensures only one thread dispatches
+	 * the events, so that events are dispatched in the order of commits.
+	 */
+	private AtomicBoolean dispatching = new AtomicBoolean();
+	
+	/**
+	 * Number of listener invocations.
+	 */
+	private LongAdder invocationCount = new LongAdder();
+	
+	/**
+	 * Number of failed listener invocations.
+	 */
+	private LongAdder failedInvocationCount = new LongAdder();
+	
+	/**
+	 * Total time taken by listener invocations in nanos.
+	 */
+	private LongAdder invocationTime = new LongAdder();
+	
+	/**
+	 * Max time taken by single listener invocation in nanos.
+	 */
+	private AtomicLong maxInvocationTime = new AtomicLong();
+	
+	/**
+	 * Gets the executor to be used for dispatching post events.
+	 *
+	 * @return the executor to be used for dispatching post events
+	 */
+	public Executor getAsyncExecutor()
+	{
+		return asyncExecutor;
+	}
+
+	/**
+	 * Sets the executor to be used for dispatching post events (POST_SAVE, POST_UPDATE and POST_DELETE). When set, 
+	 * post events are queued after the transaction commit and dispatched using this executor. Events of rolled back 
+	 * transactions are discarded. When null (default), all events are dispatched synchronously.
+	 *
+	 * @param asyncExecutor the new executor to be used for dispatching post events
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor)
+	{
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * Gets the max number of events to be dispatched in single batch.
+	 *
+	 * @return the max number of events to be dispatched in single batch
+	 */
+	public int getMaxBatchSize()
+	{
+		return maxBatchSize;
+	}
+
+	/**
+	 * Sets the max number of events to be dispatched in single batch. Listeners accepting list of events
+	 * are invoked once per batch, during asynchronous dispatch.
+	 *
+	 * @param maxBatchSize the new max number of events to be dispatched in single batch
+	 */
+	public void setMaxBatchSize(int maxBatchSize)
+	{
+		if(maxBatchSize <= 0)
+		{
+			throw new InvalidArgumentException("Invalid max batch size specified: {}", maxBatchSize);
+		}
+		
+		this.maxBatchSize = maxBatchSize;
+	}
+
 	/**
 	 * Add listener details with specified key
 	 * @param key
@@ -62,13 +203,14 @@ public class EntityListenerManager
 	 * Registers specified listener container object
 	 * @param listenerContainerObject
 	 */
-	public void registerListener(Object listenerContainerObject)
+	public synchronized void registerListener(Object listenerContainerObject)
 	{
 		Method methods[] = listenerContainerObject.getClass().getMethods();
 		Class<?> argTypes[] = null;
 		
 		EntityEventHandler entityEventHandler = null;
 		Class<?> entityTypes[] = null;
+		boolean batchListener = false;
 		
 		//loop through accessible methods
 		for(Method method: methods)
@@ -90,10 +232,13 @@ public class EntityListenerManager
 				continue;
 			}
 			
+			batchListener = (argTypes.length == 1 && List.class.equals(argTypes[0]));
+			
 			//if the argument is available but is not of even type
-			if(argTypes.length == 1 && !EntityEvent.class.equals(argTypes[0]))
+			if(argTypes.length == 1 && !EntityEvent.class.equals(argTypes[0]) && !batchListener)
 			{
 				logger.debug("Ignoring method '{}' as it is having non-event type argument", method.getName());
+				continue;
 			}
 			
 			entityTypes = entityEventHandler.entityTypes();
@@ -103,7 +248,8 @@ public class EntityListenerManager
 			{
 				logger.debug("Registering '{}.{}()' to handle {} event for all types of entities", 
 							listenerContainerObject.getClass().getName(), method.getName(), entityEventHandler.eventType());
-				addListenerDetails(entityEventHandler.eventType().name(), new EntityListener(listenerContainerObject, method, (argTypes.length == 1) ));
+				addListenerDetails(entityEventHandler.eventType().name(), 
+						new EntityListener(listenerContainerObject, method, (argTypes.length == 1), batchListener));
 				continue;
 			}
 			
@@ -113,11 +259,111 @@ public class EntityListenerManager
 				logger.debug("Registering '{}.{}()' to handle {} event for entity type - {}", 
 						listenerContainerObject.getClass().getName(), method.getName(), entityEventHandler.eventType(), entityType.getName());
 				addListenerDetails(entityType.getName() + "@" + entityEventHandler.eventType(), 
-						new EntityListener(listenerContainerObject, method, (argTypes.length == 1)) );
+						new EntityListener(listenerContainerObject, method, (argTypes.length == 1), batchListener) );
+			}
+		}
+		
+		//discard previously resolved listeners
+		resolvedListeners = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Resolves listeners of specified entity type for all event types.
+	 * @param entityType entity type for which listeners needs to be resolved
+	 * @return listeners indexed by event type ordinal
+	 */
+	private synchronized EntityListener[][] resolveListeners(Class<?> entityType)
+	{
+		EntityEventType eventTypes[] = EntityEventType.values();
+		EntityListener listeners[][] = new EntityListener[eventTypes.length][];
+		
+		for(EntityEventType eventType : eventTypes)
+		{
+			List<EntityListener> listenerLst = typeToListeners.get(entityType.getName() + "@" + eventType);
+			List<EntityListener> genericListenerLst = typeToListeners.get(eventType.name());
+			
+			List<EntityListener> resolved = new ArrayList<>();
+			
+			if(listenerLst != null)
+			{
+				resolved.addAll(listenerLst);
 			}
+			
+			if(genericListenerLst != null)
+			{
+				resolved.addAll(genericListenerLst);
+			}
+			
+			listeners[eventType.ordinal()] = resolved.isEmpty() ? NO_LISTENERS : resolved.toArray(new EntityListener[0]);
+		}
+		
+		return listeners;
+	}
+	
+	/**
+	 * Fetches the listeners (entity specific followed by generic listeners) of specified entity type and event type.
+	 * @param entityType entity type
+	 * @param eventType event type
+	 * @return matching listeners, empty array if none
+	 */
+	private EntityListener[] getListeners(Class<?> entityType, EntityEventType eventType)
+	{
+		return resolvedListeners.computeIfAbsent(entityType, this::resolveListeners)[eventType.ordinal()];
+	}
+	
+	/**
+	 * Invokes specified listener with specified event, and records the metrics.
+	 * @param listener listener to invoke
+	 * @param event event to pass
+	 */
+	private void invokeListener(EntityListener listener, EntityEvent event)
+	{
+		long startTime = System.nanoTime();
+		
+		try
+		{
+			listener.invoke(event);
+		}catch(Exception ex)
+		{
+			failedInvocationCount.increment();
+			logger.error("An error occurred while invoking event handler - " + listener, ex);
+		}finally
+		{
+			recordInvocation(startTime);
+		}
+	}
+	
+	/**
+	 * Invokes specified batch listener with specified events, and records the metrics.
+	 * @param listener listener to invoke
+	 * @param events events to pass
+	 */
+	private void invokeBatchListener(EntityListener listener, List<EntityEvent> events)
+	{
+		long startTime = System.nanoTime();
+		
+		try
+		{
+			listener.invokeBatch(events);
+		}catch(Exception ex)
+		{
+			failedInvocationCount.increment();
+			logger.error("An error occurred while invoking batch event handler - " + listener, ex);
+		}finally
+		{
+			recordInvocation(startTime);
 		}
 	}
 	
+	private void recordInvocation(long startTime)
+	{
+		long timeTaken = System.nanoTime() - startTime;
+		
+		invocationCount.increment();
+		invocationTime.add(timeTaken);
+		maxInvocationTime.accumulateAndGet(timeTaken, Math::max);
+	}
+	
 	/**
 	 * Invokes handlers for specified entity-type, entity and event type
 	 * @param entityType
@@ -127,46 +373,155 @@ public class EntityListenerManager
 	public void handleEventType(Class<?> entityType, RepositoryFactory factory, 
 			Object key, Object entity, EntityEventType eventType)
 	{
-		List<EntityListener> listenerLst = typeToListeners.get(entityType.getName() + "@" + eventType);
-		List<EntityListener> genericListenerLst = typeToListeners.get(eventType.toString());
+		EntityListener listeners[] = getListeners(entityType, eventType);
 		
 		//if no handlers are present
-		if(listenerLst == null && genericListenerLst == null)
+		if(listeners.length == 0)
 		{
 			return;
 		}
 		
 		EntityEvent event = new EntityEvent(entity, eventType, factory);
+		Executor executor = asyncExecutor;
+		
+		//if async dispatch is enabled, queue post events after commit
+		if(executor != null && eventType.isPostEvent())
+		{
+			PendingEvent pendingEvent = new PendingEvent(event, listeners);
+			factory.getDataStore().getTransactionManager().executeAfterCommit(() -> queueEvent(pendingEvent, executor));
+			return;
+		}
+		
+		for(EntityListener listener : listeners)
+		{
+			invokeListener(listener, event);
+		}
+	}
+	
+	/**
+	 * Queues specified event for asynchronous dispatch.
+	 * @param event event to queue
+	 * @param executor executor to be used for dispatch
+	 */
+	private void queueEvent(PendingEvent event, Executor executor)
+	{
+		pendingEvents.add(event);
+		maxPendingEventCount.accumulateAndGet(pendingEventCount.incrementAndGet(), Math::max);
+		
+		scheduleDispatch(executor);
+	}
+	
+	/**
+	 * Schedules the dispatch of pending events, if not already in progress.
+	 * @param executor executor to be used for dispatch
+	 */
+	private void scheduleDispatch(Executor executor)
+	{
+		if(!dispatching.compareAndSet(false, true))
+		{
+			return;
+		}
+		
+		try
+		{
+			executor.execute(() -> dispatchPendingEvents(executor));
+		}catch(RejectedExecutionException ex)
+		{
+			dispatching.set(false);
+			logger.error("Event dispatch is rejected by executor. Pending events will be dispatched with next event", ex);
+		}
+	}
+	
+	/**
+	 * Dispatches pending events in batches, till the queue is empty.
+	 * @param executor executor being used for dispatch
+	 */
+	private void dispatchPendingEvents(Executor executor)
+	{
+		List<PendingEvent> batch = new ArrayList<>();
+		PendingEvent event = null;
 		
-		//if available, invoke entity specific handlers
-		if(listenerLst != null)
+		try
 		{
-			for(EntityListener listener : listenerLst)
+			while(true)
 			{
-				try
+				batch.clear();
+				
+				while(batch.size() < maxBatchSize && (event = pendingEvents.poll()) != null)
 				{
-					listener.invoke(event);
-				}catch(Exception ex)
+					batch.add(event);
+				}
+				
+				if(batch.isEmpty())
 				{
-					logger.error("An error occurred while invoking event handler - " + listener, ex);
+					break;
 				}
+				
+				pendingEventCount.addAndGet(-batch.size());
+				dispatchBatch(batch);
 			}
+		}finally
+		{
+			dispatching.set(false);
 		}
 		
-		//if available, invoke generic handlers
-		if(genericListenerLst != null)
+		//events queued after last poll, but before resetting dispatch flag, needs to be dispatched
+		if(!pendingEvents.isEmpty())
 		{
-			for(EntityListener listener : genericListenerLst)
+			scheduleDispatch(executor);
+		}
+	}
+	
+	/**
+	 * Dispatches specified batch of events. Batch listeners are invoked once with all their events, after
+	 * other listeners are invoked.
+	 * @param batch events to dispatch
+	 */
+	private void dispatchBatch(List<PendingEvent> batch)
+	{
+		Map<EntityListener, List<EntityEvent>> batchListenerEvents = new LinkedHashMap<>();
+		
+		for(PendingEvent pendingEvent : batch)
+		{
+			for(EntityListener listener : pendingEvent.listeners)
 			{
-				try
-				{
-					listener.invoke(event);
-				}catch(Exception ex)
+				if(listener.isBatchListener())
 				{
-					logger.error("An error occurred while invoking generic event handler - " + listener, ex);
+					batchListenerEvents.computeIfAbsent(listener, k -> new ArrayList<>()).add(pendingEvent.event);
+					continue;
 				}
+				
+				invokeListener(listener, pendingEvent.event);
+			}
+		}
+		
+		for(Map.Entry<EntityListener, List<EntityEvent>> entry : batchListenerEvents.entrySet())
+		{
+			invokeBatchListener(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	/**
+	 * Waits till all pending events are dispatched or till specified timeout.
+	 * @param timeout max time to wait
+	 * @param unit unit of timeout
+	 * @return true if all pending events are dispatched
+	 */
+	public boolean awaitPendingEvents(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		long endTime = System.nanoTime() + unit.toNanos(timeout);
+		
+		while(pendingEventCount.get() > 0 || dispatching.get())
+		{
+			if(System.nanoTime() >= endTime)
+			{
+				return false;
 			}
+			
+			Thread.sleep(1);
 		}
+		
+		return true;
 	}
 	
 	/**
@@ -177,15 +532,73 @@ public class EntityListenerManager
 	 */
 	public boolean isListenerPresent(Class<?> entityType, EntityEventType eventType)
 	{
-		List<EntityListener> listenerLst = typeToListeners.get(entityType.getName() + "@" + eventType);
-		List<EntityListener> genericListenerLst = typeToListeners.get(eventType.toString());
-		
-		//if no handlers are present
-		if(listenerLst == null && genericListenerLst == null)
-		{
-			return false;
-		}
-		
-		return true;
+		return getListeners(entityType, eventType).length > 0;
+	}
+	
+	/**
+	 * Gets the number of events pending for asynchronous dispatch.
+	 * @return number of pending events
+	 */
+	public int getPendingEventCount()
+	{
+		return pendingEventCount.get();
+	}
+	
+	/**
+	 * Gets the max number of events pending at any point, since last reset.
+	 * @return max number of pending events
+	 */
+	public int getMaxPendingEventCount()
+	{
+		return maxPendingEventCount.get();
+	}
+	
+	/**
+	 * Gets the number of listener invocations, since last reset. Batch listener invocation is counted once per batch.
+	 * @return number of listener invocations
+	 */
+	public long getInvocationCount()
+	{
+		return invocationCount.sum();
+	}
+	
+	/**
+	 * Gets the number of failed listener invocations, since last reset.
+	 * @return number of failed listener invocations
+	 */
+	public long getFailedInvocationCount()
+	{
+		return failedInvocationCount.sum();
+	}
+	
+	/**
+	 * Gets the average time taken by listener invocation in millis.
+	 * @return average listener latency in millis
+	 */
+	public double getAverageInvocationTime()
+	{
+		long count = invocationCount.sum();
+		return (count == 0) ? 0 : (invocationTime.sum() / (double) count) / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+	
+	/**
+	 * Gets the max time taken by single listener invocation in millis.
+	 * @return max listener latency in millis
+	 */
+	public double getMaxInvocationTime()
+	{
+		return maxInvocationTime.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+	
+	/**
+	 * Resets the invocation metrics and max pending event count.
+	 */
+	public void resetMetrics()
+	{
+		invocationCount.reset();
+		failedInvocationCount.reset();
+		invocationTime.reset();
+		maxInvocationTime.set(0);
+		maxPendingEventCount.set(pendingEventCount.get());
 	}
 }
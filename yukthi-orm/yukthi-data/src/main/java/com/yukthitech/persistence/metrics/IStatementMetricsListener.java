@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+/**
+ * Listener to observe metrics of statements executed by data store. Listeners are invoked synchronously
+ * by the thread executing the statement, so implementations are expected to be light weight and thread safe.
+ * @author akiran
+ */
+public interface IStatementMetricsListener
+{
+	/**
+	 * Invoked after statement execution is completed (successfully or with error).
+	 * @param metrics metrics of the statement
+	 */
+	public void statementCompleted(StatementMetrics metrics);
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statement metrics listener which aggregates the metrics in memory as histograms, keyed by
+ * repository method (or by data store operation for statements executed outside of repositories).
+ * @author akiran
+ */
+public class InMemoryStatementMetrics implements IStatementMetricsListener
+{
+	/**
+	 * Histograms by metrics key.
+	 */
+	private Map<String, StatementHistogram> histograms = new ConcurrentHashMap<>();
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.metrics.IStatementMetricsListener#statementCompleted(com.yukthitech.persistence.metrics.StatementMetrics)
+	 */
+	@Override
+	public void statementCompleted(StatementMetrics metrics)
+	{
+		histograms.computeIfAbsent(metrics.getKey(), StatementHistogram::new).record(metrics);
+	}
+	
+	/**
+	 * Fetches histogram of specified key.
+	 * @param key key in format repository-type.method-name
+	 * @return matching histogram, null if no statements are recorded for the key
+	 */
+	public StatementHistogram getHistogram(String key)
+	{
+		return histograms.get(key);
+	}
+	
+	/**
+	 * Fetches histogram of specified repository method.
+	 * @param repositoryType repository type
+	 * @param methodName method name
+	 * @return matching histogram, null if no statements are recorded for the method
+	 */
+	public StatementHistogram getHistogram(Class<?> repositoryType, String methodName)
+	{
+		return histograms.get(repositoryType.getName() + "." + methodName);
+	}
+	
+	/**
+	 * Fetches all the histograms sorted by key.
+	 * @return histograms by key
+	 */
+	public Map<String, StatementHistogram> getHistograms()
+	{
+		return Collections.unmodifiableMap(new TreeMap<>(histograms));
+	}
+	
+	/**
+	 * Clears all the recorded metrics.
+	 */
+	public void reset()
+	{
+		histograms.clear();
+	}
+}
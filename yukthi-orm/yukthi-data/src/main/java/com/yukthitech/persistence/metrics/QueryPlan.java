@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Execution plan captured for the finder query of a repository method.
+ * @author akiran
+ */
+public class QueryPlan
+{
+	/**
+	 * Key of the repository method in format repository-type.method-name.
+	 */
+	private String key;
+	
+	/**
+	 * Main table of the query.
+	 */
+	private String tableName;
+	
+	/**
+	 * Query for which plan is captured.
+	 */
+	private String query;
+	
+	/**
+	 * Plan as returned by db.
+	 */
+	private String plan;
+	
+	/**
+	 * Flag indicating if the plan involves full scan of a table.
+	 */
+	private boolean fullTableScan;
+	
+	/**
+	 * Suggested index declarations, if any.
+	 */
+	private List<String> suggestedIndexes;
+	
+	/**
+	 * Error message, if plan capture failed.
+	 */
+	private String error;
+
+	public QueryPlan(String key, String tableName, String query, String plan, boolean fullTableScan, List<String> suggestedIndexes)
+	{
+		this.key = key;
+		this.tableName = tableName;
+		this.query = query;
+		this.plan = plan;
+		this.fullTableScan = fullTableScan;
+		this.suggestedIndexes = (suggestedIndexes == null) ? Collections.emptyList() : Collections.unmodifiableList(suggestedIndexes);
+	}
+	
+	public QueryPlan(String key, String tableName, String query, String error)
+	{
+		this(key, tableName, query, null, false, null);
+		this.error = error;
+	}
+
+	/**
+	 * Gets the key of the repository method in format repository-type.method-name.
+	 *
+	 * @return the key of the repository method
+	 */
+	public String getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Gets the main table of the query.
+	 *
+	 * @return the main table of the query
+	 */
+	public String getTableName()
+	{
+		return tableName;
+	}
+
+	/**
+	 * Gets the query for which plan is captured.
+	 *
+	 * @return the query for which plan is captured
+	 */
+	public String getQuery()
+	{
+		return query;
+	}
+
+	/**
+	 * Gets the plan as returned by db.
+	 *
+	 * @return the plan as returned by db
+	 */
+	public String getPlan()
+	{
+		return plan;
+	}
+
+	/**
+	 * Checks if the plan involves full scan of a table.
+	 *
+	 * @return true if the plan involves full scan of a table
+	 */
+	public boolean isFullTableScan()
+	{
+		return fullTableScan;
+	}
+
+	/**
+	 * Gets the suggested index declarations, if any.
+	 *
+	 * @return the suggested index declarations
+	 */
+	public List<String> getSuggestedIndexes()
+	{
+		return suggestedIndexes;
+	}
+
+	/**
+	 * Gets the error message, if plan capture failed.
+	 *
+	 * @return the error message
+	 */
+	public String getError()
+	{
+		return error;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append(key).append(" [Table: ").append(tableName).append("]");
+		
+		if(error != null)
+		{
+			builder.append("\n\tPlan capture failed: ").append(error);
+			return builder.toString();
+		}
+		
+		builder.append(fullTableScan ? "\n\tFULL TABLE SCAN" : "\n\tIndexed access");
+		
+		for(String index : suggestedIndexes)
+		{
+			builder.append("\n\tSuggested index: ").append(index);
+		}
+		
+		builder.append("\n\tQuery: ").append(query.trim().replaceAll("\\s+", " "));
+		builder.append("\n\tPlan:\n\t\t").append(plan.trim().replace("\n", "\n\t\t"));
+		return builder.toString();
+	}
+}
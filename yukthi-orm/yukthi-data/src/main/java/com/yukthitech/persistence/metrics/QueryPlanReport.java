@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Report of query plans captured for repository methods. Plan of a repository method is captured only
+ * once, when the method is executed first time.
+ * @author akiran
+ */
+public class QueryPlanReport
+{
+	/**
+	 * Keys of methods for which plan is captured (or being captured).
+	 */
+	private Set<String> capturedKeys = ConcurrentHashMap.newKeySet();
+	
+	/**
+	 * Captured plans by method key.
+	 */
+	private Map<String, QueryPlan> plans = new ConcurrentHashMap<>();
+	
+	/**
+	 * Marks specified key for capture.
+	 * @param key method key
+	 * @return true if plan is not captured for the key yet, and hence needs to be captured
+	 */
+	public boolean startCapture(String key)
+	{
+		return capturedKeys.add(key);
+	}
+	
+	/**
+	 * Adds specified plan to this report.
+	 * @param plan plan to add
+	 */
+	public void addPlan(QueryPlan plan)
+	{
+		capturedKeys.add(plan.getKey());
+		plans.put(plan.getKey(), plan);
+	}
+	
+	/**
+	 * Fetches plan of specified key.
+	 * @param key key in format repository-type.method-name
+	 * @return matching plan, null if not captured
+	 */
+	public QueryPlan getPlan(String key)
+	{
+		return plans.get(key);
+	}
+	
+	/**
+	 * Fetches plan of specified repository method.
+	 * @param repositoryType repository type
+	 * @param methodName method name
+	 * @return matching plan, null if not captured
+	 */
+	public QueryPlan getPlan(Class<?> repositoryType, String methodName)
+	{
+		return plans.get(repositoryType.getName() + "." + methodName);
+	}
+	
+	/**
+	 * Fetches all the captured plans sorted by key.
+	 * @return plans by key
+	 */
+	public Map<String, QueryPlan> getPlans()
+	{
+		return Collections.unmodifiableMap(new TreeMap<>(plans));
+	}
+	
+	/**
+	 * Fetches the plans which involve full table scans, sorted by key.
+	 * @return plans with full table scans
+	 */
+	public List<QueryPlan> getFullTableScanPlans()
+	{
+		return new TreeMap<>(plans).values()
+				.stream()
+				.filter(QueryPlan::isFullTableScan)
+				.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Clears the captured plans, so that plans are captured again on next execution.
+	 */
+	public void reset()
+	{
+		plans.clear();
+		capturedKeys.clear();
+	}
+	
+	/**
+	 * Builds textual report of captured plans, with full table scan plans listed first.
+	 * @return report text
+	 */
+	public String toReport()
+	{
+		List<QueryPlan> fullScanPlans = getFullTableScanPlans();
+		StringBuilder builder = new StringBuilder();
+		
+		builder.append("Query plans captured: ").append(plans.size())
+			.append(", Full table scans: ").append(fullScanPlans.size()).append("\n");
+		
+		for(QueryPlan plan : fullScanPlans)
+		{
+			builder.append("\n").append(plan).append("\n");
+		}
+		
+		for(QueryPlan plan : new TreeMap<>(plans).values())
+		{
+			if(!plan.isFullTableScan())
+			{
+				builder.append("\n").append(plan).append("\n");
+			}
+		}
+		
+		return builder.toString();
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Statement metrics listener which logs the statements whose total time exceeds configured threshold.
+ * @author akiran
+ */
+public class SlowQueryLogger implements IStatementMetricsListener
+{
+	private static Logger logger = LogManager.getLogger(SlowQueryLogger.class);
+	
+	/**
+	 * Default threshold in millis.
+	 */
+	public static final long DEFAULT_THRESHOLD_MILLIS = 1000;
+	
+	/**
+	 * Threshold in nano seconds beyond which statements are logged.
+	 */
+	private long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_THRESHOLD_MILLIS);
+	
+	public SlowQueryLogger()
+	{}
+	
+	public SlowQueryLogger(long thresholdMillis)
+	{
+		setThresholdMillis(thresholdMillis);
+	}
+	
+	/**
+	 * Gets the threshold in millis beyond which statements are logged.
+	 *
+	 * @return the threshold in millis
+	 */
+	public long getThresholdMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+	}
+
+	/**
+	 * Sets the threshold in millis beyond which statements are logged.
+	 *
+	 * @param thresholdMillis the new threshold in millis
+	 */
+	public void setThresholdMillis(long thresholdMillis)
+	{
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.metrics.IStatementMetricsListener#statementCompleted(com.yukthitech.persistence.metrics.StatementMetrics)
+	 */
+	@Override
+	public void statementCompleted(StatementMetrics metrics)
+	{
+		long totalTime = metrics.getTotalTime();
+		
+		if(totalTime < thresholdNanos)
+		{
+			return;
+		}
+		
+		logger.warn("Slow statement detected [Key: {}, Operation: {}, Table: {}, Total: {} ms, Build: {} ms, Execute: {} ms, Fetch: {} ms, "
+				+ "Rows: {}, Batch size: {}, Successful: {}]\n\tQuery: {}", 
+				metrics.getKey(), metrics.getOperation(), metrics.getTableName(), 
+				toMillis(totalTime), toMillis(metrics.getQueryBuildTime()), toMillis(metrics.getExecuteTime()), toMillis(metrics.getFetchTime()),
+				metrics.getRowCount(), metrics.getBatchSize(), metrics.isSuccessful(), metrics.getQuery());
+	}
+	
+	/**
+	 * Converts nano time into millis (with fraction).
+	 * @param nanos time to convert
+	 * @return millis
+	 */
+	private static double toMillis(long nanos)
+	{
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe aggregation of statement metrics of single key. Along with totals, distribution of total
+ * statement time is maintained in exponential buckets (bucket i holds times less than 2^i micro seconds), 
+ * using which percentiles can be approximated.
+ * @author akiran
+ */
+public class StatementHistogram
+{
+	/**
+	 * Number of time buckets maintained. Last bucket holds all times beyond 2^30 micro seconds.
+	 */
+	private static final int BUCKET_COUNT = 32;
+	
+	/**
+	 * Key of metrics being aggregated.
+	 */
+	private String key;
+	
+	/**
+	 * Number of statements executed.
+	 */
+	private LongAdder count = new LongAdder();
+	
+	/**
+	 * Number of statements failed.
+	 */
+	private LongAdder errorCount = new LongAdder();
+	
+	/**
+	 * Total query build time in nano seconds.
+	 */
+	private LongAdder queryBuildTime = new LongAdder();
+	
+	/**
+	 * Total execute time in nano seconds.
+	 */
+	private LongAdder executeTime = new LongAdder();
+	
+	/**
+	 * Total fetch time in nano seconds.
+	 */
+	private LongAdder fetchTime = new LongAdder();
+	
+	/**
+	 * Total number of rows fetched or affected.
+	 */
+	private LongAdder rowCount = new LongAdder();
+	
+	/**
+	 * Total number of statements executed as part of batches.
+	 */
+	private LongAdder batchedCount = new LongAdder();
+	
+	/**
+	 * Max total time of single statement in nano seconds.
+	 */
+	private LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+	
+	/**
+	 * Counts of statements in exponential time buckets.
+	 */
+	private AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	
+	public StatementHistogram(String key)
+	{
+		this.key = key;
+	}
+	
+	/**
+	 * Adds specified metrics to this histogram.
+	 * @param metrics metrics to add
+	 */
+	public void record(StatementMetrics metrics)
+	{
+		long totalTime = metrics.getTotalTime();
+		
+		count.increment();
+		
+		if(!metrics.isSuccessful())
+		{
+			errorCount.increment();
+		}
+		
+		queryBuildTime.add(metrics.getQueryBuildTime());
+		executeTime.add(metrics.getExecuteTime());
+		fetchTime.add(metrics.getFetchTime());
+		
+		if(metrics.getRowCount() > 0)
+		{
+			rowCount.add(metrics.getRowCount());
+		}
+		
+		batchedCount.add(metrics.getBatchSize());
+		maxTime.accumulate(totalTime);
+		buckets.incrementAndGet(toBucket(totalTime));
+	}
+	
+	/**
+	 * Finds the bucket index for specified time.
+	 * @param nanoTime time in nano seconds
+	 * @return bucket index
+	 */
+	private static int toBucket(long nanoTime)
+	{
+		long micros = TimeUnit.NANOSECONDS.toMicros(nanoTime);
+		
+		if(micros <= 0)
+		{
+			return 0;
+		}
+		
+		//number of bits needed to represent micros, gives the bucket whose upper bound is higher than micros
+		int bucket = 64 - Long.numberOfLeadingZeros(micros);
+		return Math.min(bucket, BUCKET_COUNT - 1);
+	}
+	
+	/**
+	 * Gets the key of metrics being aggregated.
+	 *
+	 * @return the key of metrics being aggregated
+	 */
+	public String getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Gets the number of statements executed.
+	 *
+	 * @return the number of statements executed
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * Gets the number of statements failed.
+	 *
+	 * @return the number of statements failed
+	 */
+	public long getErrorCount()
+	{
+		return errorCount.sum();
+	}
+
+	/**
+	 * Gets the total query build time in nano seconds.
+	 *
+	 * @return the total query build time
+	 */
+	public long getQueryBuildTime()
+	{
+		return queryBuildTime.sum();
+	}
+
+	/**
+	 * Gets the total execute time in nano seconds.
+	 *
+	 * @return the total execute time
+	 */
+	public long getExecuteTime()
+	{
+		return executeTime.sum();
+	}
+
+	/**
+	 * Gets the total fetch time in nano seconds.
+	 *
+	 * @return the total fetch time
+	 */
+	public long getFetchTime()
+	{
+		return fetchTime.sum();
+	}
+	
+	/**
+	 * Gets the total time (build, execute and fetch) in nano seconds.
+	 *
+	 * @return the total time
+	 */
+	public long getTotalTime()
+	{
+		return getQueryBuildTime() + getExecuteTime() + getFetchTime();
+	}
+
+	/**
+	 * Gets the average total time of statements in nano seconds.
+	 *
+	 * @return the average time
+	 */
+	public long getAverageTime()
+	{
+		long count = getCount();
+		return (count == 0) ? 0 : getTotalTime() / count;
+	}
+
+	/**
+	 * Gets the total number of rows fetched or affected.
+	 *
+	 * @return the total number of rows fetched or affected
+	 */
+	public long getRowCount()
+	{
+		return rowCount.sum();
+	}
+
+	/**
+	 * Gets the total number of statements executed as part of batches.
+	 *
+	 * @return the total number of batched statements
+	 */
+	public long getBatchedCount()
+	{
+		return batchedCount.sum();
+	}
+
+	/**
+	 * Gets the max total time of single statement in nano seconds.
+	 *
+	 * @return the max time
+	 */
+	public long getMaxTime()
+	{
+		return maxTime.get();
+	}
+	
+	/**
+	 * Approximates specified percentile of total statement time. Returned value is upper bound of the bucket
+	 * in which the percentile falls (capped by max time).
+	 * @param percentile percentile to compute, in range 0 - 100
+	 * @return approximate percentile time in nano seconds
+	 */
+	public long getPercentile(double percentile)
+	{
+		long counts[] = new long[BUCKET_COUNT];
+		long total = 0;
+		
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		
+		if(total == 0)
+		{
+			return 0;
+		}
+		
+		long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100.0);
+		long cumulative = 0;
+		
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			cumulative += counts[i];
+			
+			if(cumulative >= rank && counts[i] > 0)
+			{
+				long upperBound = TimeUnit.MICROSECONDS.toNanos(1L << i);
+				return Math.min(upperBound, getMaxTime());
+			}
+		}
+		
+		return getMaxTime();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(super.toString());
+		builder.append("[");
+
+		builder.append("Key: ").append(key);
+		builder.append(", ").append("Count: ").append(getCount());
+		builder.append(", ").append("Errors: ").append(getErrorCount());
+		builder.append(", ").append("Avg (ns): ").append(getAverageTime());
+		builder.append(", ").append("P99 (ns): ").append(getPercentile(99));
+		builder.append(", ").append("Max (ns): ").append(getMaxTime());
+		builder.append(", ").append("Rows: ").append(getRowCount());
+
+		builder.append("]");
+		return builder.toString();
+	}
+}
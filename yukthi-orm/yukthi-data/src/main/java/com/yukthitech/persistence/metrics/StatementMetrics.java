@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+/**
+ * Timings and counts of single data store statement execution. All times are in nano seconds.
+ * Instances are expected to be populated by the data store in the order - {@link #queryBuilt(String)},
+ * {@link #executed()} and {@link #completed(int)}.
+ * @author akiran
+ */
+public class StatementMetrics
+{
+	/**
+	 * Metrics instance used when no listeners are configured. Mutations on this instance are ignored.
+	 */
+	public static final StatementMetrics DISABLED = new StatementMetrics();
+	
+	/**
+	 * Flag indicating if this instance is enabled.
+	 */
+	private boolean enabled;
+	
+	/**
+	 * Repository method context under which statement is executed. Null if statement is executed
+	 * outside of repository method.
+	 */
+	private StatementMetricsContext context;
+	
+	/**
+	 * Data store operation being performed like save, executeFinder, etc.
+	 */
+	private String operation;
+	
+	/**
+	 * Table on which statement is executed.
+	 */
+	private String tableName;
+	
+	/**
+	 * Query that is executed.
+	 */
+	private String query;
+	
+	/**
+	 * Time at which current phase started.
+	 */
+	private long phaseStartTime;
+	
+	/**
+	 * Time taken to build the query.
+	 */
+	private long queryBuildTime;
+	
+	/**
+	 * Time taken to execute the statement.
+	 */
+	private long executeTime;
+	
+	/**
+	 * Time taken to fetch the rows (for queries) or post process the result.
+	 */
+	private long fetchTime;
+	
+	/**
+	 * Number of rows returned or affected.
+	 */
+	private int rowCount = -1;
+	
+	/**
+	 * Number of statements executed as single batch. 
+	 */
+	private int batchSize = 1;
+	
+	/**
+	 * Flag indicating if the statement got completed successfully.
+	 */
+	private boolean successful;
+
+	private StatementMetrics()
+	{}
+	
+	public StatementMetrics(StatementMetricsContext context, String operation, String tableName)
+	{
+		this.enabled = true;
+		this.context = context;
+		this.operation = operation;
+		this.tableName = tableName;
+		this.phaseStartTime = System.nanoTime();
+	}
+	
+	/**
+	 * Marks the query building as completed.
+	 * @param query query that is built
+	 */
+	public void queryBuilt(String query)
+	{
+		if(!enabled)
+		{
+			return;
+		}
+		
+		long time = System.nanoTime();
+		
+		this.query = query;
+		this.queryBuildTime = time - phaseStartTime;
+		this.phaseStartTime = time;
+	}
+
+	/**
+	 * Marks the statement execution as completed. In case of batches this method can be called multiple times
+	 * and execution time will get accumulated.
+	 */
+	public void executed()
+	{
+		if(!enabled)
+		{
+			return;
+		}
+		
+		long time = System.nanoTime();
+		
+		this.executeTime += time - phaseStartTime;
+		this.phaseStartTime = time;
+	}
+	
+	/**
+	 * Marks the statement as completed successfully.
+	 * @param rowCount number of rows fetched or affected
+	 */
+	public void completed(int rowCount)
+	{
+		if(!enabled)
+		{
+			return;
+		}
+		
+		this.fetchTime = System.nanoTime() - phaseStartTime;
+		this.rowCount = rowCount;
+		this.successful = true;
+	}
+	
+	/**
+	 * Checks if this instance is enabled. Metrics are published only for enabled instances.
+	 * @return true if enabled
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+	
+	/**
+	 * Gets the repository method context under which statement is executed.
+	 *
+	 * @return the repository method context, null if executed outside repository method
+	 */
+	public StatementMetricsContext getContext()
+	{
+		return context;
+	}
+	
+	/**
+	 * Gets the key used to group the metrics. This will be repository method key, if statement is executed
+	 * under repository method. Otherwise operation name will be used as key.
+	 *
+	 * @return the metrics key
+	 */
+	public String getKey()
+	{
+		return (context != null) ? context.getKey() : operation;
+	}
+
+	/**
+	 * Gets the data store operation being performed like save, executeFinder, etc.
+	 *
+	 * @return the data store operation being performed
+	 */
+	public String getOperation()
+	{
+		return operation;
+	}
+
+	/**
+	 * Gets the table on which statement is executed.
+	 *
+	 * @return the table on which statement is executed
+	 */
+	public String getTableName()
+	{
+		return tableName;
+	}
+
+	/**
+	 * Gets the query that is executed.
+	 *
+	 * @return the query that is executed
+	 */
+	public String getQuery()
+	{
+		return query;
+	}
+
+	/**
+	 * Gets the time taken to build the query.
+	 *
+	 * @return the time taken to build the query
+	 */
+	public long getQueryBuildTime()
+	{
+		return queryBuildTime;
+	}
+
+	/**
+	 * Gets the time taken to execute the statement.
+	 *
+	 * @return the time taken to execute the statement
+	 */
+	public long getExecuteTime()
+	{
+		return executeTime;
+	}
+
+	/**
+	 * Gets the time taken to fetch the rows (for queries) or post process the result.
+	 *
+	 * @return the time taken to fetch the rows
+	 */
+	public long getFetchTime()
+	{
+		return fetchTime;
+	}
+	
+	/**
+	 * Gets the total time taken by the statement.
+	 *
+	 * @return the total time
+	 */
+	public long getTotalTime()
+	{
+		return queryBuildTime + executeTime + fetchTime;
+	}
+
+	/**
+	 * Gets the number of rows returned or affected.
+	 *
+	 * @return the number of rows returned or affected, -1 if statement failed
+	 */
+	public int getRowCount()
+	{
+		return rowCount;
+	}
+
+	/**
+	 * Gets the number of statements executed as single batch.
+	 *
+	 * @return the number of statements executed as single batch
+	 */
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Sets the number of statements executed as single batch.
+	 *
+	 * @param batchSize the new number of statements executed as single batch
+	 */
+	public void setBatchSize(int batchSize)
+	{
+		if(!enabled)
+		{
+			return;
+		}
+		
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Checks if the statement got completed successfully.
+	 *
+	 * @return true, if successful
+	 */
+	public boolean isSuccessful()
+	{
+		return successful;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(super.toString());
+		builder.append("[");
+
+		builder.append("Key: ").append(getKey());
+		builder.append(", ").append("Operation: ").append(operation);
+		builder.append(", ").append("Table: ").append(tableName);
+		builder.append(", ").append("Build time (ns): ").append(queryBuildTime);
+		builder.append(", ").append("Execute time (ns): ").append(executeTime);
+		builder.append(", ").append("Fetch time (ns): ").append(fetchTime);
+		builder.append(", ").append("Rows: ").append(rowCount);
+		builder.append(", ").append("Batch size: ").append(batchSize);
+		builder.append(", ").append("Successful: ").append(successful);
+
+		builder.append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.metrics;
+
+/**
+ * Repository method context under which data store statements are getting executed. Current context is
+ * maintained at thread level by repository proxy, so that statement metrics can be keyed by repository
+ * and method.
+ * @author akiran
+ */
+public class StatementMetricsContext
+{
+	/**
+	 * Context of current thread.
+	 */
+	private static ThreadLocal<StatementMetricsContext> currentContext = new ThreadLocal<>();
+	
+	/**
+	 * Repository type under which statements are executed.
+	 */
+	private Class<?> repositoryType;
+	
+	/**
+	 * Repository method under which statements are executed.
+	 */
+	private String methodName;
+	
+	/**
+	 * Key of this context in format - repository-type.method-name.
+	 */
+	private String key;
+
+	public StatementMetricsContext(Class<?> repositoryType, String methodName)
+	{
+		this.repositoryType = repositoryType;
+		this.methodName = methodName;
+		this.key = repositoryType.getName() + "." + methodName;
+	}
+	
+	/**
+	 * Gets the repository type under which statements are executed.
+	 *
+	 * @return the repository type under which statements are executed
+	 */
+	public Class<?> getRepositoryType()
+	{
+		return repositoryType;
+	}
+	
+	/**
+	 * Gets the repository method under which statements are executed.
+	 *
+	 * @return the repository method under which statements are executed
+	 */
+	public String getMethodName()
+	{
+		return methodName;
+	}
+	
+	/**
+	 * Gets the key of this context in format - repository-type.method-name.
+	 *
+	 * @return the key of this context
+	 */
+	public String getKey()
+	{
+		return key;
+	}
+	
+	/**
+	 * Sets specified context as current thread context.
+	 * @param context context to set
+	 * @return previous context of the thread, which should be restored using {@link #exit(StatementMetricsContext)}
+	 */
+	public static StatementMetricsContext enter(StatementMetricsContext context)
+	{
+		StatementMetricsContext prevContext = currentContext.get();
+		currentContext.set(context);
+		
+		return prevContext;
+	}
+	
+	/**
+	 * Restores the specified context (returned by {@link #enter(StatementMetricsContext)}) as current thread context.
+	 * @param prevContext context to restore
+	 */
+	public static void exit(StatementMetricsContext prevContext)
+	{
+		if(prevContext == null)
+		{
+			currentContext.remove();
+			return;
+		}
+		
+		currentContext.set(prevContext);
+	}
+	
+	/**
+	 * Fetches the context of current thread.
+	 * @return current context, null if no repository method is being executed
+	 */
+	public static StatementMetricsContext current()
+	{
+		return currentContext.get();
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return key;
+	}
+}
@@ -193,6 +193,44 @@ public abstract class AbstractConditionalQuery extends Query implements IConditi
 		this.defaultTableCode = defaultTableCode;
 	}
 
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.query.Query#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		
+		builder.append("|").append(defaultTableCode).append("|F[");
+		
+		if(resultFields != null)
+		{
+			for(QueryResultField field : resultFields)
+			{
+				field.appendShapeKey(builder);
+			}
+		}
+		
+		builder.append("]|J[");
+		
+		for(QueryJoinCondition joinCondition : joinConditions)
+		{
+			joinCondition.appendShapeKey(builder);
+		}
+		
+		builder.append("]|C[");
+		
+		if(conditions != null)
+		{
+			for(QueryCondition condition : conditions)
+			{
+				condition.appendShapeKey(builder);
+			}
+		}
+		
+		builder.append("]");
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -67,6 +67,13 @@ public class AggregateQuery extends AbstractConditionalQuery
 		return aggregateColumn;
 	}
 
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		builder.append("|").append(aggregateFunction).append("(").append(aggregateColumn).append(")");
+	}
+	
 	@Override
 	protected void toStringPrefix(StringBuilder builder)
 	{
@@ -82,6 +82,15 @@ public class ColumnParam
 		this.fieldName = fieldName;
 	}
 
+	/**
+	 * Appends the structure of this column param (excluding the value) to specified builder.
+	 * @param builder builder to which shape should be appended
+	 */
+	public void appendShapeKey(StringBuilder builder)
+	{
+		builder.append("{").append(name).append(",").append(sequence).append("}");
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
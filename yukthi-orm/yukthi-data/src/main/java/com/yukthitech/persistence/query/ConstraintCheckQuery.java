@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.yukthitech.persistence.EntityDetails;
+
+/**
+ * Query to check existence of matching records in multiple tables in single round trip. Each existence
+ * check results in a flag (in the same order the checks are added) indicating whether at least one
+ * matching record exists. Used for explicit unique and foreign constraint validations.
+ * @author akiran
+ */
+public class ConstraintCheckQuery extends Query
+{
+	/**
+	 * Single existence check of the query.
+	 * @author akiran
+	 */
+	public static class ExistenceCheck
+	{
+		/**
+		 * Entity whose table needs to be checked.
+		 */
+		private EntityDetails entityDetails;
+		
+		/**
+		 * Conditions to be used for check.
+		 */
+		private List<QueryCondition> conditions = new ArrayList<>();
+
+		/**
+		 * Instantiates a new existence check.
+		 *
+		 * @param entityDetails the entity details
+		 */
+		private ExistenceCheck(EntityDetails entityDetails)
+		{
+			this.entityDetails = entityDetails;
+		}
+		
+		/**
+		 * Gets the table to be checked.
+		 *
+		 * @return the table to be checked
+		 */
+		public String getTableName()
+		{
+			return entityDetails.getTableName();
+		}
+		
+		/**
+		 * Adds the specified condition to the check.
+		 *
+		 * @param condition condition to add
+		 */
+		public void addCondition(QueryCondition condition)
+		{
+			conditions.add(condition);
+		}
+		
+		/**
+		 * Gets the conditions to be used for check.
+		 *
+		 * @return the conditions to be used for check
+		 */
+		public List<QueryCondition> getConditions()
+		{
+			return conditions;
+		}
+	}
+	
+	/**
+	 * Existence checks to be performed.
+	 */
+	private List<ExistenceCheck> checks = new ArrayList<>();
+	
+	/**
+	 * Instantiates a new constraint check query.
+	 *
+	 * @param entityDetails entity being validated
+	 */
+	public ConstraintCheckQuery(EntityDetails entityDetails)
+	{
+		super(entityDetails);
+	}
+	
+	/**
+	 * Adds a new existence check against specified entity table. Conditions
+	 * has to be added on returned check.
+	 *
+	 * @param targetEntityDetails entity whose table needs to be checked
+	 * @return the newly added check
+	 */
+	public ExistenceCheck addCheck(EntityDetails targetEntityDetails)
+	{
+		ExistenceCheck check = new ExistenceCheck(targetEntityDetails);
+		checks.add(check);
+		
+		return check;
+	}
+	
+	/**
+	 * Gets the existence checks to be performed.
+	 *
+	 * @return the existence checks to be performed
+	 */
+	public List<ExistenceCheck> getChecks()
+	{
+		return Collections.unmodifiableList(checks);
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.query.Query#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		
+		for(ExistenceCheck check : checks)
+		{
+			builder.append("|E[").append(check.getTableName()).append(":");
+			
+			for(QueryCondition condition : check.conditions)
+			{
+				condition.appendShapeKey(builder);
+			}
+			
+			builder.append("]");
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(super.toString());
+		builder.append("[");
+		
+		for(ExistenceCheck check : checks)
+		{
+			builder.append("\n\t").append(check.getTableName()).append(": ");
+			toString(check.conditions, builder);
+		}
+
+		builder.append("]");
+		return builder.toString();
+	}
+}
@@ -149,4 +149,25 @@ public class FinderQuery extends AbstractConditionalQuery implements IOrderedQue
 	{
 		return "" + resultsOffset;
 	}
+
+	/**
+	 * Offset and limit values are part of shape, as they are directly embedded in the query.
+	 * @see com.yukthitech.persistence.query.AbstractConditionalQuery#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		builder.append("|O[");
+		
+		if(orderByFields != null)
+		{
+			for(QueryResultField field : orderByFields)
+			{
+				field.appendShapeKey(builder);
+			}
+		}
+		
+		builder.append("]|").append(resultsOffset).append(",").append(resultsLimit);
+	}
 }
@@ -39,6 +39,30 @@ public abstract class Query
 		return entityDetails.getTableName();
 	}
 	
+	/**
+	 * Appends the structure of this query to specified builder. The structure includes everything
+	 * which influences the final query string (tables, columns, operators, number of parameters, etc)
+	 * but excludes the parameter values. So two queries with same shape key result in same query string.
+	 * @param builder builder to which shape should be appended
+	 */
+	public void appendShapeKey(StringBuilder builder)
+	{
+		builder.append(getClass().getSimpleName()).append(":").append(getTableName());
+	}
+	
+	/**
+	 * Fetches the shape key of this query, which can be used to cache the built query string.
+	 * @return shape key of this query
+	 * @see #appendShapeKey(StringBuilder)
+	 */
+	public String getShapeKey()
+	{
+		StringBuilder builder = new StringBuilder();
+		appendShapeKey(builder);
+		
+		return builder.toString();
+	}
+	
 	public static void toString(List<QueryCondition> conditions, StringBuilder builder)
 	{
 		if(conditions == null || conditions.isEmpty())
@@ -412,6 +412,56 @@ public class QueryCondition implements Cloneable
 		return dataType.name();
 	}
 
+	/**
+	 * Appends the structure of this condition (excluding the value) to specified builder.
+	 * Null check of value and number of values (for multi valued conditions) are included, as
+	 * they influence the query string.
+	 * @param builder builder to which shape should be appended
+	 */
+	@SuppressWarnings("rawtypes")
+	public void appendShapeKey(StringBuilder builder)
+	{
+		builder.append("{").append(joinOperator).append(",")
+			.append(tableCode).append(".").append(column).append(",")
+			.append(operator.name()).append(",")
+			.append(ignoreCase).append(",")
+			.append(dataType.name()).append(",");
+		
+		if(value == null)
+		{
+			builder.append("null");
+		}
+		else if(isMultiValued())
+		{
+			builder.append("#").append( (value instanceof Collection) ? ((Collection) value).size() : 1 );
+		}
+		else
+		{
+			builder.append("?");
+		}
+		
+		if(subquery != null)
+		{
+			builder.append(",S(");
+			subquery.appendShapeKey(builder);
+			builder.append(")");
+		}
+		
+		if(groupedConditions != null)
+		{
+			builder.append(",G(");
+			
+			for(QueryCondition condition : groupedConditions)
+			{
+				condition.appendShapeKey(builder);
+			}
+			
+			builder.append(")");
+		}
+		
+		builder.append("}");
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -196,6 +196,18 @@ public class QueryJoinCondition
 		this.nullable = nullable;
 	}
 
+	/**
+	 * Appends the structure of this join condition to specified builder.
+	 * @param builder builder to which shape should be appended
+	 */
+	public void appendShapeKey(StringBuilder builder)
+	{
+		builder.append("{").append(joiningTableName).append(" ").append(joiningTableCode).append(".").append(joiningColumn)
+			.append("=").append(parentTableCode).append(".").append(parentColumn)
+			.append(",").append(nullable)
+			.append("}");
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -110,6 +110,18 @@ public class QueryResultField
 		return orderByType;
 	}
 	
+	/**
+	 * Appends the structure of this field to specified builder.
+	 * @param builder builder to which shape should be appended
+	 */
+	public void appendShapeKey(StringBuilder builder)
+	{
+		builder.append("{").append(tableCode).append(".").append(column)
+			.append(",").append(code)
+			.append(",").append(orderByType)
+			.append("}");
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
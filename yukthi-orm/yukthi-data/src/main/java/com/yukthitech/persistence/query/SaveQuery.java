@@ -102,6 +102,26 @@ public class SaveQuery extends Query
 		return seqName;
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.query.Query#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		builder.append("|").append(getIdSequence()).append("|V[");
+		
+		if(columns != null)
+		{
+			for(ColumnParam column : columns)
+			{
+				column.appendShapeKey(builder);
+			}
+		}
+		
+		builder.append("]");
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
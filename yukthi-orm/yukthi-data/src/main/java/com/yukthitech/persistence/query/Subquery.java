@@ -63,4 +63,14 @@ public class Subquery extends AbstractConditionalQuery
 			condition.fetchQueryParameters(params);
 		}
 	}
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.query.AbstractConditionalQuery#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		builder.append("|").append(mainTableCode);
+	}
 }
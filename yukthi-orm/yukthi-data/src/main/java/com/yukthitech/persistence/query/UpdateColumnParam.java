@@ -68,4 +68,13 @@ public class UpdateColumnParam extends ColumnParam
 	{
 		this.updateOperator = updateOperator;
 	}
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.query.ColumnParam#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		builder.append("{").append(getName()).append(",").append(updateOperator).append("}");
+	}
 }
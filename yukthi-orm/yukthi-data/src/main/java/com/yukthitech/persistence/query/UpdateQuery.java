@@ -121,4 +121,34 @@ public class UpdateQuery extends AbstractConditionalQuery implements IOrderedQue
 	}
 	
 	
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.query.AbstractConditionalQuery#appendShapeKey(java.lang.StringBuilder)
+	 */
+	@Override
+	public void appendShapeKey(StringBuilder builder)
+	{
+		super.appendShapeKey(builder);
+		builder.append("|V[");
+		
+		if(columns != null)
+		{
+			for(UpdateColumnParam column : columns)
+			{
+				column.appendShapeKey(builder);
+			}
+		}
+		
+		builder.append("]|O[");
+		
+		if(orderByFields != null)
+		{
+			for(QueryResultField field : orderByFields)
+			{
+				field.appendShapeKey(builder);
+			}
+		}
+		
+		builder.append("]");
+	}
 }
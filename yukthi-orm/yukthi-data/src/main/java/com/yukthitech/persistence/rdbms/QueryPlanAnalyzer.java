@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.rdbms;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthitech.persistence.EntityDetails;
+import com.yukthitech.persistence.FieldDetails;
+import com.yukthitech.persistence.metrics.QueryPlan;
+import com.yukthitech.persistence.query.FinderQuery;
+import com.yukthitech.persistence.query.QueryCondition;
+
+/**
+ * Captures execution plan of finder queries using the explain template of the target db and 
+ * analyzes the plan for full table scans.
+ * @author akiran
+ */
+class QueryPlanAnalyzer
+{
+	private static Logger logger = LogManager.getLogger(QueryPlanAnalyzer.class);
+	
+	/**
+	 * Rdbms configuration to be used.
+	 */
+	private RdbmsConfiguration rdbmsConfig;
+	
+	public QueryPlanAnalyzer(RdbmsConfiguration rdbmsConfig)
+	{
+		this.rdbmsConfig = rdbmsConfig;
+	}
+	
+	/**
+	 * Checks if explain template is configured for target db.
+	 * @return true if plans can be captured
+	 */
+	public boolean isSupported()
+	{
+		return rdbmsConfig.hasQuery(RdbmsConfiguration.EXPLAIN_QUERY);
+	}
+	
+	/**
+	 * Captures the plan of specified finder query. Errors during capture are not propagated, instead
+	 * the same will be recorded on returned plan.
+	 * 
+	 * When connection is part of a transaction, explain is executed within a savepoint which is rolled back 
+	 * after capture. So that explain failures (which abort the whole transaction on dbs like PostgreSQL) or 
+	 * explain side effects (like plan table entries) do not affect the caller transaction.
+	 * @param key method key for which plan is being captured
+	 * @param connection connection to be used
+	 * @param findQuery finder query whose plan needs to be captured
+	 * @param entityDetails entity details of main table
+	 * @param query built query string
+	 * @param params params to be used for query
+	 * @return captured plan
+	 */
+	public QueryPlan capturePlan(String key, Connection connection, FinderQuery findQuery, EntityDetails entityDetails, String query, List<Object> params)
+	{
+		String plan = null;
+		Savepoint savepoint = null;
+		
+		try
+		{
+			//auto-commit connections do not support savepoints and failures do not effect other statements
+			if(!connection.getAutoCommit())
+			{
+				savepoint = connection.setSavepoint();
+			}
+		}catch(Exception ex)
+		{
+			logger.warn("Skipping plan capture of method {}, as savepoint could not be created", key, ex);
+			return new QueryPlan(key, findQuery.getTableName(), query, "Failed to create savepoint: " + ex.getMessage());
+		}
+		
+		try
+		{
+			plan = executeExplain(connection, query, params);
+		}catch(Exception ex)
+		{
+			logger.warn("Failed to capture plan for query of method: {}", key, ex);
+			return new QueryPlan(key, findQuery.getTableName(), query, ex.getMessage());
+		}finally
+		{
+			executeCleanup(connection);
+			rollbackSavepoint(connection, savepoint);
+		}
+		
+		boolean fullScan = rdbmsConfig.getFullScanPattern() != null && rdbmsConfig.getFullScanPattern().matcher(plan).find();
+		List<String> suggestedIndexes = fullScan ? suggestIndexes(findQuery, entityDetails) : null;
+		
+		if(fullScan)
+		{
+			logger.warn("Query of method {} is performing full scan of table '{}'. Suggested indexes: {}", key, findQuery.getTableName(), suggestedIndexes);
+		}
+		
+		return new QueryPlan(key, findQuery.getTableName(), query, plan, fullScan, suggestedIndexes);
+	}
+	
+	/**
+	 * Executes steps of explain template. Result of last step is returned as plan.
+	 */
+	private String executeExplain(Connection connection, String query, List<Object> params) throws SQLException
+	{
+		List<RdbmsConfiguration.QueryStep> steps = rdbmsConfig.getQuery(RdbmsConfiguration.EXPLAIN_QUERY).getSteps();
+		String plan = null;
+		
+		for(RdbmsConfiguration.QueryStep step : steps)
+		{
+			String stepQuery = step.buildQuery(RdbmsConfiguration.EXPLAIN_QUERY, "query", query);
+			
+			try(PreparedStatement pstmt = connection.prepareStatement(stepQuery))
+			{
+				int paramCount = pstmt.getParameterMetaData().getParameterCount();
+				
+				for(int i = 0; i < paramCount && i < params.size(); i++)
+				{
+					pstmt.setObject(i + 1, params.get(i));
+				}
+				
+				if(!pstmt.execute())
+				{
+					continue;
+				}
+				
+				//result sets of intermediate steps are read fully, as few dbs generate statistics only on result set completion
+				try(ResultSet rs = pstmt.getResultSet())
+				{
+					plan = readPlan(rs);
+				}
+			}
+		}
+		
+		return (plan == null) ? "" : plan;
+	}
+	
+	/**
+	 * Reads the plan from specified result set. For single column results, column values are used as lines
+	 * of plan. For multi column results, each row is converted into name-value pairs.
+	 */
+	private String readPlan(ResultSet rs) throws SQLException
+	{
+		ResultSetMetaData metaData = rs.getMetaData();
+		int colCount = metaData.getColumnCount();
+		StringBuilder builder = new StringBuilder();
+		
+		while(rs.next())
+		{
+			if(builder.length() > 0)
+			{
+				builder.append("\n");
+			}
+			
+			if(colCount == 1)
+			{
+				builder.append(rs.getString(1));
+				continue;
+			}
+			
+			for(int i = 1; i <= colCount; i++)
+			{
+				if(i > 1)
+				{
+					builder.append(", ");
+				}
+				
+				builder.append(metaData.getColumnLabel(i)).append("=").append(rs.getString(i));
+			}
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Rolls back and releases specified savepoint, if any.
+	 */
+	private void rollbackSavepoint(Connection connection, Savepoint savepoint)
+	{
+		if(savepoint == null)
+		{
+			return;
+		}
+		
+		try
+		{
+			connection.rollback(savepoint);
+		}catch(Exception ex)
+		{
+			logger.warn("An error occurred while rolling back explain savepoint", ex);
+			return;
+		}
+		
+		//few drivers (like oracle) do not support releasing savepoints, which get released on transaction completion
+		try
+		{
+			connection.releaseSavepoint(savepoint);
+		}catch(Exception ex)
+		{
+			logger.debug("Failed to release explain savepoint. Error: {}", "" + ex);
+		}
+	}
+	
+	/**
+	 * Executes explain cleanup template, if any.
+	 */
+	private void executeCleanup(Connection connection)
+	{
+		if(!rdbmsConfig.hasQuery(RdbmsConfiguration.EXPLAIN_CLEANUP_QUERY))
+		{
+			return;
+		}
+		
+		for(RdbmsConfiguration.QueryStep step : rdbmsConfig.getQuery(RdbmsConfiguration.EXPLAIN_CLEANUP_QUERY).getSteps())
+		{
+			try(PreparedStatement pstmt = connection.prepareStatement(step.buildQuery(RdbmsConfiguration.EXPLAIN_CLEANUP_QUERY)))
+			{
+				pstmt.execute();
+			}catch(Exception ex)
+			{
+				logger.warn("An error occurred while executing explain cleanup step", ex);
+			}
+		}
+	}
+	
+	/**
+	 * Suggests index on main table columns used in conditions of the query.
+	 */
+	private List<String> suggestIndexes(FinderQuery findQuery, EntityDetails entityDetails)
+	{
+		Set<String> fields = new LinkedHashSet<>();
+		
+		for(QueryCondition condition : findQuery.getConditions())
+		{
+			collectConditionFields(condition, findQuery.getDefaultTableCode(), entityDetails, fields);
+		}
+		
+		List<String> suggestions = new ArrayList<>();
+		
+		if(fields.isEmpty())
+		{
+			return suggestions;
+		}
+		
+		StringBuilder name = new StringBuilder("IDX_").append(findQuery.getTableName().toUpperCase());
+		StringBuilder fieldList = new StringBuilder();
+		
+		for(String field : fields)
+		{
+			name.append("_").append(field.toUpperCase());
+			
+			if(fieldList.length() > 0)
+			{
+				fieldList.append(", ");
+			}
+			
+			fieldList.append("\"").append(field).append("\"");
+		}
+		
+		suggestions.add("@Index(name = \"" + name + "\", fields = {" + fieldList + "})");
+		return suggestions;
+	}
+	
+	private void collectConditionFields(QueryCondition condition, String tableCode, EntityDetails entityDetails, Set<String> fields)
+	{
+		if(condition.getColumn() != null && (condition.getTableCode() == null || condition.getTableCode().equals(tableCode)))
+		{
+			FieldDetails fieldDetails = entityDetails.getFieldDetailsByColumn(condition.getColumn());
+			
+			if(fieldDetails != null)
+			{
+				fields.add(fieldDetails.getName());
+			}
+		}
+		
+		if(condition.getGroupedConditions() != null)
+		{
+			for(QueryCondition grpCondition : condition.getGroupedConditions())
+			{
+				collectConditionFields(grpCondition, tableCode, entityDetails, fields);
+			}
+		}
+	}
+}
@@ -48,8 +48,11 @@ public class RdbmsConfiguration implements Validateable, IImplicitCoverterProvid
 	public static final String FINDER_QUERY = "finderTemplate";
 	public static final String AGGREGATE_QUERY = "aggregateTemplate";
 	public static final String CHILDREN_EXISTENCE_QUERY = "childrenExistenceTemplate";
+	public static final String CONSTRAINT_CHECK_QUERY = "constraintCheckTemplate";
 	public static final String FETCH_CHILDREN_IDS_QUERY = "fetchChildrenIdsTemplate";
 	public static final String DROP_QUERY = "dropTableTemplate";
+	public static final String EXPLAIN_QUERY = "explainTemplate";
+	public static final String EXPLAIN_CLEANUP_QUERY = "explainCleanupTemplate";
 
 	public static final String AUTO_ID_COVERSION_QUERY = "autoIdConversionQuery";
 
@@ -60,7 +63,7 @@ public class RdbmsConfiguration implements Validateable, IImplicitCoverterProvid
 		
 		SAVE_QUERY, UPDATE_QUERY, DELETE_QUERY, FINDER_QUERY, AGGREGATE_QUERY, 
 		
-		CHILDREN_EXISTENCE_QUERY, FETCH_CHILDREN_IDS_QUERY,
+		CHILDREN_EXISTENCE_QUERY, FETCH_CHILDREN_IDS_QUERY, CONSTRAINT_CHECK_QUERY,
 		
 		DROP_QUERY
 	};
@@ -228,6 +231,22 @@ public class RdbmsConfiguration implements Validateable, IImplicitCoverterProvid
 	 */
 	private boolean lowerCaseNames = false;
 	
+	/**
+	 * Flag indicating if target db driver supports fetching generated keys for batch inserts.
+	 */
+	private boolean batchGeneratedKeysSupported = true;
+	
+	/**
+	 * Flag indicating if target db sorts null values as higher than non-null values (that is, nulls 
+	 * come last in ascending order).
+	 */
+	private boolean nullsSortedHigh = true;
+	
+	/**
+	 * Pattern used to detect full table scans in the plans returned by explain template.
+	 */
+	private Pattern fullScanPattern;
+	
 	public void addConstraintErrorPattern(String constraintErrorPattern)
 	{
 		constraintErrorPattern = constraintErrorPattern.trim();
@@ -245,6 +264,26 @@ public class RdbmsConfiguration implements Validateable, IImplicitCoverterProvid
 		this.constraintErrorPatterns.add( Pattern.compile(constraintErrorPattern) );
 	}
 	
+	/**
+	 * Sets the pattern used to detect full table scans in the plans returned by explain template.
+	 *
+	 * @param fullScanPattern the new pattern used to detect full table scans
+	 */
+	public void setFullScanPattern(String fullScanPattern)
+	{
+		this.fullScanPattern = Pattern.compile(fullScanPattern.trim());
+	}
+	
+	/**
+	 * Gets the pattern used to detect full table scans in the plans returned by explain template.
+	 *
+	 * @return the pattern used to detect full table scans
+	 */
+	public Pattern getFullScanPattern()
+	{
+		return fullScanPattern;
+	}
+	
 	public void addImplicitConverter(DataType dataType, IPersistenceConverter converter)
 	{
 		this.dbImplicitConverters.put(dataType, converter);
@@ -315,6 +354,46 @@ public class RdbmsConfiguration implements Validateable, IImplicitCoverterProvid
 		this.lowerCaseNames = lowerCaseNames;
 	}
 
+	/**
+	 * Checks if is flag indicating if target db driver supports fetching generated keys for batch inserts.
+	 *
+	 * @return the flag indicating if target db driver supports fetching generated keys for batch inserts
+	 */
+	public boolean isBatchGeneratedKeysSupported()
+	{
+		return batchGeneratedKeysSupported;
+	}
+
+	/**
+	 * Sets the flag indicating if target db driver supports fetching generated keys for batch inserts.
+	 *
+	 * @param batchGeneratedKeysSupported the new flag indicating if target db driver supports fetching generated keys for batch inserts
+	 */
+	public void setBatchGeneratedKeysSupported(boolean batchGeneratedKeysSupported)
+	{
+		this.batchGeneratedKeysSupported = batchGeneratedKeysSupported;
+	}
+
+	/**
+	 * Gets the flag indicating if target db sorts null values as higher than non-null values.
+	 *
+	 * @return the flag indicating if target db sorts null values as higher than non-null values
+	 */
+	public boolean isNullsSortedHigh()
+	{
+		return nullsSortedHigh;
+	}
+
+	/**
+	 * Sets the flag indicating if target db sorts null values as higher than non-null values.
+	 *
+	 * @param nullsSortedHigh the new flag indicating if target db sorts null values as higher than non-null values
+	 */
+	public void setNullsSortedHigh(boolean nullsSortedHigh)
+	{
+		this.nullsSortedHigh = nullsSortedHigh;
+	}
+
 	@Override
 	public void validate() throws ValidateException
 	{
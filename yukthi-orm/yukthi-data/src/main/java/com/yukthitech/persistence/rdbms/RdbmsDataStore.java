@@ -15,11 +15,8 @@
  */
 package com.yukthitech.persistence.rdbms;
 
-import java.io.ByteArrayOutputStream;
-import java.io.CharArrayWriter;
 import java.io.Closeable;
-import java.io.InputStream;
-import java.io.Reader;
+import java.io.File;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
@@ -33,9 +30,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import javax.sql.DataSource;
@@ -47,19 +47,24 @@ import org.apache.logging.log4j.Logger;
 import com.yukthitech.ccg.xml.XMLBeanParser;
 import com.yukthitech.persistence.EntityDetails;
 import com.yukthitech.persistence.EntityDetailsFactory;
+import com.yukthitech.persistence.ICloseableIterator;
 import com.yukthitech.persistence.IDataStore;
 import com.yukthitech.persistence.IFinderRecordProcessor;
 import com.yukthitech.persistence.IFinderRecordProcessor.Action;
-import com.yukthitech.persistence.ITransaction;
-import com.yukthitech.persistence.ITransactionManager;
 import com.yukthitech.persistence.LobData;
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.NativeQueryFactory;
 import com.yukthitech.persistence.PersistenceException;
 import com.yukthitech.persistence.Record;
 import com.yukthitech.persistence.TransactionWrapper;
 import com.yukthitech.persistence.conversion.ConversionService;
+import com.yukthitech.persistence.metrics.IStatementMetricsListener;
+import com.yukthitech.persistence.metrics.StatementMetrics;
+import com.yukthitech.persistence.metrics.QueryPlanReport;
+import com.yukthitech.persistence.metrics.StatementMetricsContext;
 import com.yukthitech.persistence.query.AggregateQuery;
 import com.yukthitech.persistence.query.ChildrenExistenceQuery;
+import com.yukthitech.persistence.query.ConstraintCheckQuery;
 import com.yukthitech.persistence.query.ColumnParam;
 import com.yukthitech.persistence.query.CreateExtendedTableQuery;
 import com.yukthitech.persistence.query.CreateIndexQuery;
@@ -68,6 +73,7 @@ import com.yukthitech.persistence.query.DeleteQuery;
 import com.yukthitech.persistence.query.DropTableQuery;
 import com.yukthitech.persistence.query.FetchChildrenIdsQuery;
 import com.yukthitech.persistence.query.FinderQuery;
+import com.yukthitech.persistence.query.Query;
 import com.yukthitech.persistence.query.QueryCondition;
 import com.yukthitech.persistence.query.SaveQuery;
 import com.yukthitech.persistence.query.UpdateQuery;
@@ -76,6 +82,8 @@ import com.yukthitech.persistence.rdbms.converters.BlobConverter;
 import com.yukthitech.persistence.rdbms.converters.ClobConverter;
 import com.yukthitech.persistence.repository.IDataSourceCloser;
 import com.yukthitech.utils.ObjectWrapper;
+import com.yukthitech.utils.exceptions.InvalidArgumentException;
+import com.yukthitech.utils.exceptions.InvalidStateException;
 
 public class RdbmsDataStore implements IDataStore
 {
@@ -85,6 +93,16 @@ public class RdbmsDataStore implements IDataStore
 	
 	private static final int MAX_PARAM_LEN = 50;
 	
+	/**
+	 * Default number of rows to be sent to db in single batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	
+	/**
+	 * Default number of rows to be fetched in single round trip by finder cursors.
+	 */
+	public static final int DEFAULT_FETCH_SIZE = 100;
+	
 	private static Logger logger = LogManager.getLogger(RdbmsDataStore.class);
 	
 	private RdbmsConfiguration rdbmsConfig;
@@ -95,6 +113,64 @@ public class RdbmsDataStore implements IDataStore
 	
 	private NativeQueryFactory nativeQueryFactory;
 	
+	/**
+	 * Cache of built queries, used to avoid template processing for queries of same structure.
+	 */
+	private SqlQueryCache queryCache = new SqlQueryCache();
+	
+	/**
+	 * Max number of rows to be sent to db in single batch during batch save/update.
+	 */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	
+	/**
+	 * Number of rows to be fetched in single round trip by finder cursors, when not specified explicitly.
+	 */
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+	
+	/**
+	 * Listeners to be notified with metrics of executed statements.
+	 */
+	private List<IStatementMetricsListener> metricsListeners = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Schema metadata loaded during bulk loading of repositories.
+	 */
+	private volatile SchemaSnapshot schemaSnapshot;
+	
+	/**
+	 * File in which schema snapshot should be persisted. If specified along with {@link #schemaVersion}, 
+	 * schema introspection will be skipped when persisted snapshot version matches with current version.
+	 */
+	private File schemaSnapshotFile;
+	
+	/**
+	 * Version of the schema, expected to be changed whenever schema is changed.
+	 */
+	private String schemaVersion;
+	
+	/**
+	 * Flag indicating lobs should be fetched lazily as {@link LobHandle}, when fetched within an
+	 * existing transaction.
+	 */
+	private boolean lazyLobLoading;
+	
+	/**
+	 * Lobs bigger than this size are spilled into temp files instead of loading into memory. Negative value
+	 * disables spilling.
+	 */
+	private long lobSpillThreshold = -1;
+	
+	/**
+	 * Report to which finder query plans are captured. Null, when query plan diagnostics is disabled.
+	 */
+	private volatile QueryPlanReport queryPlanReport;
+	
+	/**
+	 * Analyzer used to capture plans of finder queries.
+	 */
+	private QueryPlanAnalyzer queryPlanAnalyzer;
+	
 	public RdbmsDataStore(String templatesName)
 	{
 		rdbmsConfig = new RdbmsConfiguration();
@@ -114,6 +190,8 @@ public class RdbmsDataStore implements IDataStore
 		//add blob and clob converters as default converters
 		conversionService.addConverter(new BlobConverter());
 		conversionService.addConverter(new ClobConverter());
+		
+		queryPlanAnalyzer = new QueryPlanAnalyzer(rdbmsConfig);
 	}
 	
 	@Override
@@ -131,6 +209,15 @@ public class RdbmsDataStore implements IDataStore
 		return rdbmsConfig.isPagingSupported();
 	}
 	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.IDataStore#isNullsSortedHigh()
+	 */
+	@Override
+	public boolean isNullsSortedHigh()
+	{
+		return rdbmsConfig.isNullsSortedHigh();
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.yukthitech.persistence.IDataStore#setNativeQueryFactory(com.yukthitech.persistence.NativeQueryFactory)
 	 */
@@ -172,13 +259,360 @@ public class RdbmsDataStore implements IDataStore
 		return transactionManager.getDataSource();
 	}
 	
+	/**
+	 * Sets the data sources of read replicas. When configured, read-only repository methods (finders, searches
+	 * and aggregates) executed outside of a transaction are served by these replicas.
+	 *
+	 * @param readDataSources the new read replica data sources
+	 */
+	public void setReadDataSources(List<DataSource> readDataSources)
+	{
+		transactionManager.setReadDataSources(readDataSources);
+	}
+	
+	/**
+	 * Gets the data sources of read replicas.
+	 *
+	 * @return the read replica data sources
+	 */
+	public List<DataSource> getReadDataSources()
+	{
+		return transactionManager.getReadDataSources();
+	}
+	
+	/**
+	 * Sets the strategy to be used to choose read replica. Defaults to round robin.
+	 *
+	 * @param readReplicaStrategy the new strategy to be used to choose read replica
+	 */
+	public void setReadReplicaStrategy(ReadReplicaStrategy readReplicaStrategy)
+	{
+		transactionManager.setReadReplicaStrategy(readReplicaStrategy);
+	}
+	
 	@Override
-	public ITransactionManager<? extends ITransaction> getTransactionManager()
+	public RdbmsTransactionManager getTransactionManager()
 	{
 		return transactionManager;
 	}
 	
-	private void closeResources(ResultSet rs, Statement statement)
+	/**
+	 * Sets the max number of prepared statements to be cached per transaction (connection). 
+	 * Zero or negative value disables statement caching.
+	 *
+	 * @param statementCacheSize max number of prepared statements to be cached per transaction
+	 */
+	public void setStatementCacheSize(int statementCacheSize)
+	{
+		transactionManager.setStatementCacheSize(statementCacheSize);
+	}
+	
+	/**
+	 * Fetches the query cache used by this data store. Can be used to configure the cache
+	 * or monitor the cache statistics.
+	 * @return query cache
+	 */
+	public SqlQueryCache getQueryCache()
+	{
+		return queryCache;
+	}
+	
+	/**
+	 * Gets the max number of rows to be sent to db in single batch during batch save/update.
+	 *
+	 * @return the max number of rows to be sent to db in single batch
+	 */
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	/**
+	 * Sets the max number of rows to be sent to db in single batch during batch save/update.
+	 *
+	 * @param batchSize the new max number of rows to be sent to db in single batch
+	 */
+	public void setBatchSize(int batchSize)
+	{
+		if(batchSize <= 0)
+		{
+			throw new InvalidArgumentException("Invalid batch size specified: {}", batchSize);
+		}
+		
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * Gets the number of rows to be fetched in single round trip by finder cursors.
+	 *
+	 * @return the number of rows to be fetched in single round trip
+	 */
+	public int getFetchSize()
+	{
+		return fetchSize;
+	}
+
+	/**
+	 * Sets the number of rows to be fetched in single round trip by finder cursors.
+	 *
+	 * @param fetchSize the new number of rows to be fetched in single round trip
+	 */
+	public void setFetchSize(int fetchSize)
+	{
+		if(fetchSize <= 0)
+		{
+			throw new InvalidArgumentException("Invalid fetch size specified: {}", fetchSize);
+		}
+		
+		this.fetchSize = fetchSize;
+	}
+	
+	/**
+	 * Gets the file in which schema snapshot should be persisted.
+	 *
+	 * @return the file in which schema snapshot should be persisted
+	 */
+	public File getSchemaSnapshotFile()
+	{
+		return schemaSnapshotFile;
+	}
+
+	/**
+	 * Sets the file in which schema snapshot should be persisted.
+	 *
+	 * @param schemaSnapshotFile the new file in which schema snapshot should be persisted
+	 */
+	public void setSchemaSnapshotFile(File schemaSnapshotFile)
+	{
+		this.schemaSnapshotFile = schemaSnapshotFile;
+	}
+
+	/**
+	 * Gets the version of the schema.
+	 *
+	 * @return the version of the schema
+	 */
+	public String getSchemaVersion()
+	{
+		return schemaVersion;
+	}
+
+	/**
+	 * Sets the version of the schema. Persisted schema snapshot is used only when its version
+	 * matches with this version.
+	 *
+	 * @param schemaVersion the new version of the schema
+	 */
+	public void setSchemaVersion(String schemaVersion)
+	{
+		this.schemaVersion = schemaVersion;
+	}
+	
+	/**
+	 * Checks if lobs should be fetched lazily.
+	 *
+	 * @return true if lobs should be fetched lazily
+	 */
+	public boolean isLazyLobLoading()
+	{
+		return lazyLobLoading;
+	}
+
+	/**
+	 * Sets the flag indicating lobs should be fetched lazily. When enabled, lobs fetched within an
+	 * existing transaction are returned as {@link LobHandle}, which opens db streams on demand. Such handles
+	 * are valid only till the enclosing transaction is open. Lobs fetched outside of transaction
+	 * are loaded eagerly (or spilled as per {@link #setLobSpillThreshold(long)}).
+	 *
+	 * @param lazyLobLoading the new flag indicating lobs should be fetched lazily
+	 */
+	public void setLazyLobLoading(boolean lazyLobLoading)
+	{
+		this.lazyLobLoading = lazyLobLoading;
+	}
+
+	/**
+	 * Gets the size beyond which lobs are spilled into temp files.
+	 *
+	 * @return the size beyond which lobs are spilled into temp files
+	 */
+	public long getLobSpillThreshold()
+	{
+		return lobSpillThreshold;
+	}
+
+	/**
+	 * Sets the size (bytes for blobs and chars for clobs) beyond which eagerly fetched lobs are spilled 
+	 * into temp files, instead of loading them into memory. Negative value disables spilling.
+	 *
+	 * @param lobSpillThreshold the new size beyond which lobs are spilled into temp files
+	 */
+	public void setLobSpillThreshold(long lobSpillThreshold)
+	{
+		this.lobSpillThreshold = lobSpillThreshold;
+	}
+	
+	/**
+	 * Enables or disables query plan diagnostics. When enabled, on first execution of each repository finder 
+	 * method, plan of the finder query is captured using explain template of target db and the same 
+	 * can be accessed using {@link #getQueryPlanReport()}. Full table scans are logged as warnings along 
+	 * with suggested indexes.
+	 *
+	 * @param queryPlanDiagnostics true to enable query plan diagnostics
+	 */
+	public void setQueryPlanDiagnostics(boolean queryPlanDiagnostics)
+	{
+		if(!queryPlanDiagnostics)
+		{
+			this.queryPlanReport = null;
+			return;
+		}
+		
+		if(!queryPlanAnalyzer.isSupported())
+		{
+			throw new InvalidStateException("Query plan diagnostics is not supported by current db templates, as no '{}' is defined", RdbmsConfiguration.EXPLAIN_QUERY);
+		}
+		
+		if(this.queryPlanReport == null)
+		{
+			this.queryPlanReport = new QueryPlanReport();
+		}
+	}
+	
+	/**
+	 * Checks if query plan diagnostics is enabled.
+	 *
+	 * @return true if query plan diagnostics is enabled
+	 */
+	public boolean isQueryPlanDiagnostics()
+	{
+		return (queryPlanReport != null);
+	}
+	
+	/**
+	 * Gets the report of captured finder query plans.
+	 *
+	 * @return the report of captured query plans, null if query plan diagnostics is disabled
+	 */
+	public QueryPlanReport getQueryPlanReport()
+	{
+		return queryPlanReport;
+	}
+	
+	/**
+	 * Captures the plan of specified finder query, if query plan diagnostics is enabled and the plan of
+	 * current repository method is not yet captured.
+	 */
+	private void captureQueryPlan(Connection connection, FinderQuery findQuery, EntityDetails entityDetails, String query, List<Object> params)
+	{
+		QueryPlanReport planReport = this.queryPlanReport;
+		StatementMetricsContext context = StatementMetricsContext.current();
+		
+		if(planReport == null || context == null || !planReport.startCapture(context.getKey()))
+		{
+			return;
+		}
+		
+		planReport.addPlan(queryPlanAnalyzer.capturePlan(context.getKey(), connection, findQuery, entityDetails, query, params));
+	}
+	
+	/**
+	 * Adds listener to be notified with metrics of executed statements.
+	 * @param listener listener to add
+	 */
+	public void addMetricsListener(IStatementMetricsListener listener)
+	{
+		if(listener == null)
+		{
+			throw new NullPointerException("Listener can not be null");
+		}
+		
+		metricsListeners.add(listener);
+	}
+	
+	/**
+	 * Removes specified metrics listener.
+	 * @param listener listener to remove
+	 */
+	public void removeMetricsListener(IStatementMetricsListener listener)
+	{
+		metricsListeners.remove(listener);
+	}
+	
+	/**
+	 * Creates metrics instance for a statement execution. When no listeners are configured
+	 * a disabled instance is returned, which ignores all mutations.
+	 * @param operation operation being performed
+	 * @param tableName table (or native query name) on which operation is performed
+	 * @return metrics instance to be populated
+	 */
+	private StatementMetrics newMetrics(String operation, String tableName)
+	{
+		if(metricsListeners.isEmpty())
+		{
+			return StatementMetrics.DISABLED;
+		}
+		
+		return new StatementMetrics(StatementMetricsContext.current(), operation, tableName);
+	}
+	
+	/**
+	 * Publishes specified metrics to configured listeners. Listener errors are logged and ignored.
+	 * @param metrics metrics to publish
+	 */
+	void publishMetrics(StatementMetrics metrics)
+	{
+		if(!metrics.isEnabled())
+		{
+			return;
+		}
+		
+		for(IStatementMetricsListener listener : metricsListeners)
+		{
+			try
+			{
+				listener.statementCompleted(metrics);
+			}catch(Exception ex)
+			{
+				logger.error("An error occurred while publishing statement metrics to listener: {}", listener, ex);
+			}
+		}
+	}
+	
+	/**
+	 * Groups the indexes of specified queries based on the query string they result in. Groups
+	 * are maintained in the order of their first occurrence.
+	 * @param templateName template to be used to build the queries
+	 * @param queries queries to be grouped
+	 * @return query string to indexes mapping
+	 */
+	private Map<String, List<Integer>> groupByQueryString(String templateName, List<? extends Query> queries)
+	{
+		Map<String, List<Integer>> groups = new LinkedHashMap<>();
+		int size = queries.size();
+		
+		for(int i = 0; i < size; i++)
+		{
+			String query = buildQuery(templateName, queries.get(i));
+			groups.computeIfAbsent(query, key -> new ArrayList<>()).add(i);
+		}
+		
+		return groups;
+	}
+	
+	/**
+	 * Builds the query string for specified query using specified template. Query strings are
+	 * cached based on shape of the query.
+	 * @param templateName template to be used
+	 * @param query query for which string needs to be built
+	 * @return built query string
+	 */
+	private String buildQuery(String templateName, Query query)
+	{
+		return queryCache.getQuery(templateName, query, () -> rdbmsConfig.buildQuery(templateName, "query", query));
+	}
+	
+	void closeResources(ResultSet rs, Statement statement)
 	{
 		try
 		{
@@ -189,7 +623,13 @@ public class RdbmsDataStore implements IDataStore
 			
 			if(statement != null)
 			{
-				statement.close();
+				RdbmsTransaction transaction = transactionManager.getBoundTransaction();
+				
+				//statements obtained from transaction are released back for reuse
+				if(transaction == null || !transaction.releaseStatement(statement))
+				{
+					statement.close();
+				}
 			}
 		}catch(Exception ex)
 		{
@@ -205,6 +645,13 @@ public class RdbmsDataStore implements IDataStore
 			tableName = tableName.toLowerCase();
 		}
 		
+		SchemaSnapshot snapshot = this.schemaSnapshot;
+		
+		if(snapshot != null && snapshot.getColumns(tableName) != null)
+		{
+			return true;
+		}
+		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			Connection connection = transaction.getTransaction().getConnection();
@@ -232,6 +679,15 @@ public class RdbmsDataStore implements IDataStore
 			tableName = tableName.toLowerCase();
 		}
 		
+		SchemaSnapshot snapshot = this.schemaSnapshot;
+		Set<String> snapshotColumns = (snapshot != null) ? snapshot.getColumns(tableName) : null;
+		
+		//tables not found in snapshot are checked against db, as they might have been created later
+		if(snapshotColumns != null)
+		{
+			return new HashSet<>(snapshotColumns);
+		}
+		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			Connection connection = transaction.getTransaction().getConnection();
@@ -262,6 +718,72 @@ public class RdbmsDataStore implements IDataStore
 		}
 	}
 
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.IDataStore#loadSchemaMetadata()
+	 */
+	@Override
+	public void loadSchemaMetadata()
+	{
+		if(schemaSnapshotFile != null && schemaVersion != null)
+		{
+			SchemaSnapshot snapshot = SchemaSnapshot.load(schemaSnapshotFile);
+			
+			if(snapshot != null && schemaVersion.equals(snapshot.getVersion()))
+			{
+				logger.debug("Using persisted schema snapshot of version '{}' from file: {}", schemaVersion, schemaSnapshotFile.getPath());
+				this.schemaSnapshot = snapshot;
+				return;
+			}
+		}
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			SchemaSnapshot snapshot = SchemaSnapshot.load(transaction.getTransaction().getConnection(), schemaVersion);
+			transaction.commit();
+			
+			if(schemaSnapshotFile != null && schemaVersion != null)
+			{
+				logger.debug("Persisting schema snapshot of version '{}' to file: {}", schemaVersion, schemaSnapshotFile.getPath());
+				snapshot.store(schemaSnapshotFile);
+			}
+			
+			this.schemaSnapshot = snapshot;
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while loading schema metadata", ex);
+			throw new PersistenceException("An error occurred while loading schema metadata", ex);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.IDataStore#clearSchemaMetadata()
+	 */
+	@Override
+	public void clearSchemaMetadata()
+	{
+		this.schemaSnapshot = null;
+	}
+	
+	/**
+	 * Invoked when structure of specified table is changed. Removes the table from loaded schema metadata
+	 * and deletes the persisted snapshot, so that next bootstrap will introspect the schema again.
+	 * @param tableName table being changed
+	 */
+	private void schemaChanged(String tableName)
+	{
+		SchemaSnapshot snapshot = this.schemaSnapshot;
+		
+		if(snapshot != null)
+		{
+			snapshot.removeTable(rdbmsConfig.isLowerCaseNames() ? tableName.toLowerCase() : tableName);
+		}
+		
+		if(schemaSnapshotFile != null && schemaSnapshotFile.exists() && !schemaSnapshotFile.delete())
+		{
+			logger.warn("Failed to delete stale schema snapshot file: {}", schemaSnapshotFile.getPath());
+		}
+	}
+
 	@Override
 	public void createTable(CreateTableQuery createQuery)
 	{
@@ -273,6 +795,8 @@ public class RdbmsDataStore implements IDataStore
 
 			statement = connection.createStatement();
 			
+			schemaChanged(createQuery.getTableName());
+			
 			RdbmsConfiguration.Query queryObj = rdbmsConfig.getQuery(RdbmsConfiguration.CREATE_TABLE);
 			
 			int index = 0;
@@ -329,6 +853,8 @@ public class RdbmsDataStore implements IDataStore
 
 			statement = connection.createStatement();
 			
+			schemaChanged(createExtendedTableQuery.getExtendedTableDetails().getTableName());
+			
 			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.CREATE_EXTENDED_TABLE, "query", createExtendedTableQuery);
 			
 			logger.debug("Built create-extended-table query as: \n\t{}", query);
@@ -377,17 +903,18 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.debug("Fetching aggregate value of records from table '{}' using query: {}", countQuery.getTableName(), countQuery);
 		
+		StatementMetrics metrics = newMetrics("fetchAggregateValue", countQuery.getTableName());
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.AGGREGATE_QUERY, "query", countQuery);
+			String query = buildQuery(RdbmsConfiguration.AGGREGATE_QUERY, countQuery);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built aggregate query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			List<Object> params = new ArrayList<>();
 			
 			for(QueryCondition condition: countQuery.getConditions())
@@ -400,14 +927,17 @@ public class RdbmsDataStore implements IDataStore
 			logger.debug("Executing using params: {}", params);
 			
 			rs = pstmt.executeQuery();
+			metrics.executed();
 			
 			if(!rs.next())
 			{
+				metrics.completed(0);
 				transaction.commit();
 				return 0.0;
 			}
 			
 			Double value = rs.getDouble(1);
+			metrics.completed(1);
 			
 			logger.debug("Aggregate value {} found from table: {}", value, countQuery.getTableName());
 			
@@ -421,6 +951,67 @@ public class RdbmsDataStore implements IDataStore
 						+ countQuery.getTableName() + "' using query: " + countQuery, ex);
 		}finally
 		{
+			publishMetrics(metrics);
+			closeResources(rs, pstmt);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.IDataStore#checkExistence(com.yukthitech.persistence.query.ConstraintCheckQuery)
+	 */
+	@Override
+	public boolean[] checkExistence(ConstraintCheckQuery constraintCheckQuery)
+	{
+		logger.debug("Checking existence of records for table '{}' using query: {}", constraintCheckQuery.getTableName(), constraintCheckQuery);
+		
+		StatementMetrics metrics = newMetrics("checkExistence", constraintCheckQuery.getTableName());
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			String query = buildQuery(RdbmsConfiguration.CONSTRAINT_CHECK_QUERY, constraintCheckQuery);
+			metrics.queryBuilt(query);
+			
+			logger.debug("Built constraint check query as: \n\t{}", query);
+			
+			pstmt = transaction.getTransaction().prepareStatement(query);
+			List<Object> params = new ArrayList<>();
+			
+			for(ConstraintCheckQuery.ExistenceCheck check : constraintCheckQuery.getChecks())
+			{
+				for(QueryCondition condition : check.getConditions())
+				{
+					addParamsRecursively(condition, pstmt, params);
+				}
+			}
+
+			logParams(params);
+
+			rs = pstmt.executeQuery();
+			metrics.executed();
+			
+			boolean result[] = new boolean[constraintCheckQuery.getChecks().size()];
+			
+			if(rs.next())
+			{
+				for(int i = 0; i < result.length; i++)
+				{
+					result[i] = (rs.getInt(i + 1) > 0);
+				}
+			}
+			
+			metrics.completed(1);
+			transaction.commit();
+			
+			return result;
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while checking records existence using query: " + constraintCheckQuery, ex);
+			throw new PersistenceException("An error occurred while checking records existence using query: " + constraintCheckQuery, ex);
+		}finally
+		{
+			publishMetrics(metrics);
 			closeResources(rs, pstmt);
 		}
 	}
@@ -430,17 +1021,18 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.debug("Checking children records from table '{}' using query: {}", childrenExistenceQuery.getChildTableName(), childrenExistenceQuery);
 		
+		StatementMetrics metrics = newMetrics("checkChildrenExistence", childrenExistenceQuery.getChildTableName());
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.CHILDREN_EXISTENCE_QUERY, "query", childrenExistenceQuery);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built children-existence query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			List<Object> params = new ArrayList<>();
 			
 			for(QueryCondition condition: childrenExistenceQuery.getParentConditions())
@@ -456,13 +1048,16 @@ public class RdbmsDataStore implements IDataStore
 			logParams(params);
 
 			rs = pstmt.executeQuery();
+			metrics.executed();
 			
 			if(!rs.next())
 			{
+				metrics.completed(0);
 				return 0;
 			}
 			
 			int res = rs.getInt(1);
+			metrics.completed(1);
 			
 			logger.debug("Found {} child record(s)", res);
 			
@@ -476,6 +1071,7 @@ public class RdbmsDataStore implements IDataStore
 						+ childrenExistenceQuery.getTableName() + "' using query: " + childrenExistenceQuery, ex);
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(rs, pstmt);
 		}
 	}
@@ -485,17 +1081,18 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.debug("Fetching children records from table '{}' using query: {}", fetchChildrenIdsQuery.getChildTableName(), fetchChildrenIdsQuery);
 		
+		StatementMetrics metrics = newMetrics("fetchChildrenIds", fetchChildrenIdsQuery.getChildTableName());
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.FETCH_CHILDREN_IDS_QUERY, "query", fetchChildrenIdsQuery);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built children-fetch query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			List<Object> params = new ArrayList<>();
 			
 			for(QueryCondition condition: fetchChildrenIdsQuery.getParentConditions())
@@ -511,6 +1108,7 @@ public class RdbmsDataStore implements IDataStore
 			logParams(params);
 
 			rs = pstmt.executeQuery();
+			metrics.executed();
 			
 			List<Object> ids = new LinkedList<Object>();
 			
@@ -519,6 +1117,7 @@ public class RdbmsDataStore implements IDataStore
 				ids.add(rs.getObject(1));
 			}
 			
+			metrics.completed(ids.size());
 			logger.debug("Found {} child record(s)", ids.size());
 			
 			transaction.commit();
@@ -531,6 +1130,7 @@ public class RdbmsDataStore implements IDataStore
 						+ fetchChildrenIdsQuery.getTableName() + "' using query: " + fetchChildrenIdsQuery, ex);
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(rs, pstmt);
 		}
 	}
@@ -568,8 +1168,7 @@ public class RdbmsDataStore implements IDataStore
 			
 			logger.debug("Built auto-id-conversion query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			List<Object> params = Arrays.asList(autoId);
 			
 			logParams(params);
@@ -601,232 +1200,483 @@ public class RdbmsDataStore implements IDataStore
 		
 	}
 
+	/**
+	 * Binds the values of specified columns to specified statement starting from specified index. Sequence generated
+	 * columns are skipped, as their values are generated by the query itself.
+	 * @param pstmt statement to which values should be bound
+	 * @param columns columns whose values needs to be bound
+	 * @param index starting parameter index
+	 * @param params list to which bound values will be added (for logging)
+	 * @param closeables list to which opened lob streams will be added, which should be closed after execution
+	 * @return next parameter index
+	 */
+	private int bindColumnParams(PreparedStatement pstmt, List<? extends ColumnParam> columns, int index, List<Object> params, List<Closeable> closeables) throws Exception
+	{
+		Object value = null;
+		
+		for(ColumnParam column: columns)
+		{
+			if(column.isSequenceGenerated())
+			{
+				continue;
+			}
+			
+			value = column.getValue();
+			
+			try
+			{
+				if(value instanceof LobData)
+				{
+					LobData lobData = (LobData)value;
+					closeables.add(lobData);
+					
+					if(lobData.isTextStream())
+					{
+						pstmt.setCharacterStream(index, lobData.openReader() );
+					}
+					else
+					{
+						pstmt.setBinaryStream(index,  lobData.openStream() );
+					}
+				}
+				else
+				{
+					pstmt.setObject(index, value);
+				}
+			}catch(Exception ex)
+			{
+				logger.error("An error occurred while setting parameter [Index: {}, Column: {}, Value-type: {}, Value: {}]", index, column.getName(), 
+						(value != null) ? value.getClass().getName() : "null",
+						value);
+				throw ex;
+			}
+			
+			params.add(value);
+			index++;
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * Binds the column values and condition values of specified update query to specified statement.
+	 * @param pstmt statement to which values should be bound
+	 * @param updateQuery query whose values needs to be bound
+	 * @param params list to which bound values will be added (for logging)
+	 * @param closeables list to which opened lob streams will be added, which should be closed after execution
+	 */
+	private void bindUpdateParams(PreparedStatement pstmt, UpdateQuery updateQuery, List<Object> params, List<Closeable> closeables) throws Exception
+	{
+		int index = bindColumnParams(pstmt, updateQuery.getColumns(), 1, params, closeables);
+		
+		//fetch parameter values for conditions
+		List<Object> conditionParams = new ArrayList<>();
+		updateQuery.getConditions().stream().forEach(condition -> condition.fetchQueryParameters(conditionParams));
+		
+		params.addAll(conditionParams);
+		
+		//set the condition parameters on query
+		for(Object param : conditionParams)
+		{
+			pstmt.setObject(index, param);
+			index++;
+		}
+	}
+	
+	/**
+	 * Closes specified closeables (like lob streams) and clears the list.
+	 * @param closeables closeables to close
+	 */
+	private void closeAll(List<Closeable> closeables) throws Exception
+	{
+		for(Closeable closeable : closeables)
+		{
+			closeable.close();
+		}
+		
+		closeables.clear();
+	}
+
 	@Override
 	public int save(SaveQuery saveQuery, EntityDetails entityDetails, ObjectWrapper<Object> idGenerated)
 	{
 		logger.debug("Trying to save entity to table '{}' using query: {}", saveQuery.getTableName(), saveQuery);
 		
+		StatementMetrics metrics = newMetrics("save", saveQuery.getTableName());
 		PreparedStatement pstmt = null;
 		ResultSet keysRs = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.SAVE_QUERY, "query", saveQuery);
+			String query = buildQuery(RdbmsConfiguration.SAVE_QUERY, saveQuery);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built save query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-			int index = 1;
+			pstmt = transaction.getTransaction().prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
 			List<Object> params = new ArrayList<>();
-			Object value = null;
 			List<Closeable> closeables = new ArrayList<>();
 			
-			for(ColumnParam column: saveQuery.getColumns())
+			bindColumnParams(pstmt, saveQuery.getColumns(), 1, params, closeables);
+
+			if(logger.isDebugEnabled())
 			{
-				if(column.isSequenceGenerated())
-				{
-					continue;
-				}
-				
-				value = column.getValue();
+				logger.debug("Executing using params: {}", toParamString(params));
+			}
+			
+			int count = pstmt.executeUpdate();
+			metrics.executed();
+			
+			//close any open closeables (like blob streams)
+			for(Closeable closeable : closeables)
+			{
+				closeable.close();
+			}
+			
+			//if the save was successful
+			if(count > 0)
+			{
+				//try to fetch generated ids
+				keysRs = pstmt.getGeneratedKeys();
 				
-				try
+				//if keys are found to be generated
+				if(keysRs != null && keysRs.next())
 				{
-					if(value instanceof LobData)
-					{
-						LobData lobData = (LobData)value;
-						closeables.add(lobData);
-						
-						if(lobData.isTextStream())
-						{
-							pstmt.setCharacterStream(index, lobData.openReader() );
-						}
-						else
-						{
-							pstmt.setBinaryStream(index,  lobData.openStream() );
-						}
-					}
-					else
-					{
-						pstmt.setObject(index, value);
-					}
-				}catch(Exception ex)
+					Object autoId = keysRs.getObject(1);
+					
+					idGenerated.setValue(convertAutoId(saveQuery, autoId));
+				}
+				else
 				{
-					logger.error("An error occurred while setting parameter [Index: {}, Column: {}, Value-type: {}, Value: {}]", index, column.getName(), 
-							(value != null) ? value.getClass().getName() : "null",
-							value);
-					throw ex;
+					logger.debug("No keys are generated as part of the last statement");
 				}
-				
-				params.add(value);
-				index++;
 			}
+			
+			metrics.completed(count);
+			logger.debug("Saved {} records with generated-id '{}' into table: {}", count, idGenerated.getValue(), saveQuery.getTableName());
+			
+			transaction.commit();
+			return count;
+		}catch(Exception ex)
+		{
+			logger.debug("An error occurred while saving entity to table '{}' using query: {}. Error - " + ex, saveQuery.getTableName(), saveQuery);
+
+			SqlExceptionHandler.handleException("An error occurred while saving entity to table '" 
+					+ saveQuery.getTableName() + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
+			return -1;
+		}finally
+		{
+			publishMetrics(metrics);
+			closeResources(keysRs, pstmt);
+		}
+	}
+
+	@Override
+	public int update(UpdateQuery updateQuery, EntityDetails entityDetails)
+	{
+		logger.debug("Trying to update entity in table '{}' using query: ", updateQuery.getTableName(), updateQuery);
+		
+		StatementMetrics metrics = newMetrics("update", updateQuery.getTableName());
+		PreparedStatement pstmt = null;
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			String query = buildQuery(RdbmsConfiguration.UPDATE_QUERY, updateQuery);
+			metrics.queryBuilt(query);
+			
+			logger.debug("Built update query as: \n\t{}", query);
+			
+			pstmt = transaction.getTransaction().prepareStatement(query);
+			List<Object> params = new ArrayList<>();
+			List<Closeable> closeables = new ArrayList<>();
+			
+			bindUpdateParams(pstmt, updateQuery, params, closeables);
 
 			if(logger.isDebugEnabled())
 			{
-				String paramStr = params.stream().map(param -> 
+				logger.debug("Executing using params: {}", toParamString(params));
+			}
+
+			int count = pstmt.executeUpdate();
+			metrics.executed();
+			
+			//close any open closeables (like blob streams)
+			for(Closeable closeable : closeables)
+			{
+				closeable.close();
+			}
+
+			metrics.completed(count);
+			logger.debug("Updated " + count + " records in table: " + updateQuery.getTableName());
+			
+			transaction.commit();
+			return count;
+		}catch(Exception ex)
+		{
+			logger.error("An error occurred while updating entity(s) to table '" 
+					+ updateQuery.getTableName() + "' using query: " + updateQuery, ex);
+
+			SqlExceptionHandler.handleException("An error occurred while updating entity(s) to table '" 
+					+ updateQuery.getTableName() + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
+			return -1;
+		}finally
+		{
+			publishMetrics(metrics);
+			closeResources(null, pstmt);
+		}
+	}
+	
+	@Override
+	public int[] saveBatch(List<SaveQuery> saveQueries, EntityDetails entityDetails, List<ObjectWrapper<Object>> idsGenerated)
+	{
+		int counts[] = new int[saveQueries.size()];
+		
+		if(saveQueries.isEmpty())
+		{
+			return counts;
+		}
+		
+		String tableName = saveQueries.get(0).getTableName();
+		logger.debug("Trying to save {} entities to table '{}' in batches", saveQueries.size(), tableName);
+		
+		//when db can not return generated keys for batch and keys are needed, save rows one by one
+		if(!rdbmsConfig.isBatchGeneratedKeysSupported() && isIdGenerationNeeded(saveQueries, idsGenerated))
+		{
+			logger.debug("As generated keys are needed and not supported for batches, saving entities one by one into table: {}", tableName);
+			
+			try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+			{
+				for(int i = 0; i < counts.length; i++)
 				{
-					if(param == null)
+					counts[i] = save(saveQueries.get(i), entityDetails, idsGenerated.get(i));
+				}
+				
+				transaction.commit();
+				return counts;
+			}catch(PersistenceException ex)
+			{
+				//errors of individual saves would already be translated (like constraint violations)
+				throw ex;
+			}catch(Exception ex)
+			{
+				SqlExceptionHandler.handleException("An error occurred while saving entities to table '" 
+						+ tableName + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
+				return null;
+			}
+		}
+		
+		StatementMetrics metrics = newMetrics("saveBatch", tableName);
+		metrics.setBatchSize(saveQueries.size());
+		
+		PreparedStatement pstmt = null;
+		ResultSet keysRs = null;
+		List<Closeable> closeables = new ArrayList<>();
+		
+		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+		{
+			Map<String, List<Integer>> queryGroups = groupByQueryString(RdbmsConfiguration.SAVE_QUERY, saveQueries);
+			metrics.queryBuilt(queryGroups.size() == 1 ? queryGroups.keySet().iterator().next() : null);
+			
+			for(Map.Entry<String, List<Integer>> entry : queryGroups.entrySet())
+			{
+				String query = entry.getKey();
+				List<Integer> indexes = entry.getValue();
+				
+				logger.debug("Built batch save query as: \n\t{}", query);
+				
+				for(int start = 0; start < indexes.size(); start += batchSize)
+				{
+					List<Integer> batchIndexes = indexes.subList(start, Math.min(start + batchSize, indexes.size()));
+					pstmt = transaction.getTransaction().prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+					
+					for(int idx : batchIndexes)
 					{
-						return "null";
+						List<Object> params = new ArrayList<>();
+						bindColumnParams(pstmt, saveQueries.get(idx).getColumns(), 1, params, closeables);
+						pstmt.addBatch();
+						
+						if(logger.isTraceEnabled())
+						{
+							logger.trace("Added batch entry with params: {}", toParamString(params));
+						}
 					}
 					
-					String s = param.toString();
+					int batchCounts[] = pstmt.executeBatch();
+					metrics.executed();
+					closeAll(closeables);
+					
+					//fetch generated keys, if any
+					List<Object> keys = new ArrayList<>();
+					keysRs = pstmt.getGeneratedKeys();
 					
-					//TODO: Below 50 limit should be configurable
-					if(s.length() > 50)
+					while(keysRs != null && keysRs.next())
 					{
-						s = s.substring(0, 50) + "...";
+						keys.add(keysRs.getObject(1));
 					}
 					
-					return s;
-				}).collect(Collectors.joining(", "));
-				
-				logger.debug("Executing using params: {}", paramStr);
-			}
-			
-			int count = pstmt.executeUpdate();
-			
-			//close any open closeables (like blob streams)
-			for(Closeable closeable : closeables)
-			{
-				closeable.close();
-			}
-			
-			//if the save was successful
-			if(count > 0)
-			{
-				//try to fetch generated ids
-				keysRs = pstmt.getGeneratedKeys();
-				
-				//if keys are found to be generated
-				if(keysRs != null && keysRs.next())
-				{
-					Object autoId = keysRs.getObject(1);
+					//keys can be mapped to rows only when keys are generated for all rows
+					boolean keysMatched = (keys.size() == batchIndexes.size());
 					
-					idGenerated.setValue(convertAutoId(saveQuery, autoId));
-				}
-				else
-				{
-					logger.debug("No keys are generated as part of the last statement");
+					if(!keys.isEmpty() && !keysMatched)
+					{
+						logger.warn("Number of generated keys {} did not match with batch size {} for table: {}. Ignoring generated keys.", 
+								keys.size(), batchIndexes.size(), tableName);
+					}
+					
+					for(int i = 0; i < batchIndexes.size(); i++)
+					{
+						int idx = batchIndexes.get(i);
+						
+						//some drivers do not provide count of rows effected for batches
+						counts[idx] = (batchCounts[i] == Statement.SUCCESS_NO_INFO) ? 1 : batchCounts[i];
+						
+						if(keysMatched)
+						{
+							idsGenerated.get(idx).setValue(convertAutoId(saveQueries.get(idx), keys.get(i)));
+						}
+					}
+					
+					closeResources(keysRs, pstmt);
+					keysRs = null;
+					pstmt = null;
 				}
 			}
 			
-			logger.debug("Saved {} records with generated-id '{}' into table: {}", count, idGenerated.getValue(), saveQuery.getTableName());
+			metrics.completed(saveQueries.size());
+			logger.debug("Saved {} records in batches into table: {}", saveQueries.size(), tableName);
 			
 			transaction.commit();
-			return count;
+			return counts;
 		}catch(Exception ex)
 		{
-			logger.debug("An error occurred while saving entity to table '{}' using query: {}. Error - " + ex, saveQuery.getTableName(), saveQuery);
+			logger.debug("An error occurred while saving entities in batch to table '{}'. Error - " + ex, tableName);
 
-			SqlExceptionHandler.handleException("An error occurred while saving entity to table '" 
-					+ saveQuery.getTableName() + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
-			return -1;
+			SqlExceptionHandler.handleException("An error occurred while saving entities to table '" 
+					+ tableName + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
+			return null;
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(keysRs, pstmt);
+			
+			try
+			{
+				closeAll(closeables);
+			}catch(Exception ex)
+			{
+				logger.error("An error occurred while closing lob streams", ex);
+			}
 		}
 	}
-
+	
+	/**
+	 * Checks if id needs to be generated for any of the specified save queries.
+	 * @param saveQueries queries to check
+	 * @param idsGenerated id wrappers of the queries, which would have value if id is specified explicitly
+	 * @return true if id generation is needed
+	 */
+	private boolean isIdGenerationNeeded(List<SaveQuery> saveQueries, List<ObjectWrapper<Object>> idsGenerated)
+	{
+		int size = saveQueries.size();
+		
+		for(int i = 0; i < size; i++)
+		{
+			if(saveQueries.get(i).getEntityDetails().getIdField() != null && idsGenerated.get(i).getValue() == null)
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
 	@Override
-	public int update(UpdateQuery updateQuery, EntityDetails entityDetails)
+	public int[] updateBatch(List<UpdateQuery> updateQueries, EntityDetails entityDetails)
 	{
-		logger.debug("Trying to update entity in table '{}' using query: ", updateQuery.getTableName(), updateQuery);
+		int counts[] = new int[updateQueries.size()];
+		
+		if(updateQueries.isEmpty())
+		{
+			return counts;
+		}
+		
+		String tableName = updateQueries.get(0).getTableName();
+		logger.debug("Trying to update {} entities in table '{}' in batches", updateQueries.size(), tableName);
+		
+		StatementMetrics metrics = newMetrics("updateBatch", tableName);
+		metrics.setBatchSize(updateQueries.size());
 		
 		PreparedStatement pstmt = null;
+		List<Closeable> closeables = new ArrayList<>();
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.UPDATE_QUERY, "query", updateQuery);
-			
-			logger.debug("Built update query as: \n\t{}", query);
-			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
-			int index = 1;
-			List<Object> params = new ArrayList<>();
-			Object value = null;
-			List<Closeable> closeables = new ArrayList<>();
+			Map<String, List<Integer>> queryGroups = groupByQueryString(RdbmsConfiguration.UPDATE_QUERY, updateQueries);
+			metrics.queryBuilt(queryGroups.size() == 1 ? queryGroups.keySet().iterator().next() : null);
 			
-			for(ColumnParam column: updateQuery.getColumns())
+			for(Map.Entry<String, List<Integer>> entry : queryGroups.entrySet())
 			{
-				value = column.getValue();
+				String query = entry.getKey();
+				List<Integer> indexes = entry.getValue();
 				
-				try
+				logger.debug("Built batch update query as: \n\t{}", query);
+				
+				for(int start = 0; start < indexes.size(); start += batchSize)
 				{
-					if(value instanceof LobData)
+					List<Integer> batchIndexes = indexes.subList(start, Math.min(start + batchSize, indexes.size()));
+					pstmt = transaction.getTransaction().prepareStatement(query);
+					
+					for(int idx : batchIndexes)
 					{
-						LobData lobData = (LobData)value;
-						closeables.add(lobData);
+						List<Object> params = new ArrayList<>();
+						bindUpdateParams(pstmt, updateQueries.get(idx), params, closeables);
+						pstmt.addBatch();
 						
-						if(lobData.isTextStream())
-						{
-							pstmt.setCharacterStream(index, lobData.openReader() );
-						}
-						else
+						if(logger.isTraceEnabled())
 						{
-							pstmt.setBinaryStream(index,  lobData.openStream() );
+							logger.trace("Added batch entry with params: {}", toParamString(params));
 						}
 					}
-					else
+					
+					int batchCounts[] = pstmt.executeBatch();
+					metrics.executed();
+					closeAll(closeables);
+					
+					for(int i = 0; i < batchIndexes.size(); i++)
 					{
-						pstmt.setObject(index, value);
+						//some drivers do not provide count of rows effected for batches
+						counts[batchIndexes.get(i)] = (batchCounts[i] == Statement.SUCCESS_NO_INFO) ? 1 : batchCounts[i];
 					}
-				}catch(Exception ex)
-				{
-					logger.error("An error occurred while setting parameter [Index: {}, Column: {}, Value-type: {}, Value: {}]", index, column.getName(), 
-							(value != null) ? value.getClass().getName() : "null",
-							value);
-					throw ex;
+					
+					closeResources(null, pstmt);
+					pstmt = null;
 				}
-
-				params.add(value);
-				index++;
-			}
-			
-			//fetch parameter values for conditions
-			List<Object> conditionParams = new ArrayList<>();
-			updateQuery.getConditions().stream().forEach(condition -> condition.fetchQueryParameters(conditionParams));
-			
-			params.addAll(conditionParams);
-
-			if(logger.isDebugEnabled())
-			{
-				logger.debug("Executing using params: {}", toParamString(params));
 			}
 			
-			//set the condition parameters on query
-			for(Object param : conditionParams)
-			{
-				pstmt.setObject(index, param);
-				index++;
-			}
-
-			int count = pstmt.executeUpdate();
-			
-			//close any open closeables (like blob streams)
-			for(Closeable closeable : closeables)
-			{
-				closeable.close();
-			}
-
-			logger.debug("Updated " + count + " records in table: " + updateQuery.getTableName());
+			metrics.completed(updateQueries.size());
+			logger.debug("Updated {} records in batches in table: {}", updateQueries.size(), tableName);
 			
 			transaction.commit();
-			return count;
+			return counts;
 		}catch(Exception ex)
 		{
-			logger.error("An error occurred while updating entity(s) to table '" 
-					+ updateQuery.getTableName() + "' using query: " + updateQuery, ex);
+			logger.error("An error occurred while updating entities in batch in table '" + tableName + "'", ex);
 
 			SqlExceptionHandler.handleException("An error occurred while updating entity(s) to table '" 
-					+ updateQuery.getTableName() + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
-			return -1;
+					+ tableName + "'", ex, entityDetailsFactory, false, rdbmsConfig.getConstraintErrorPatterns());
+			return null;
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(null, pstmt);
+			
+			try
+			{
+				closeAll(closeables);
+			}catch(Exception ex)
+			{
+				logger.error("An error occurred while closing lob streams", ex);
+			}
 		}
 	}
 	
@@ -864,16 +1714,17 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.debug("Deleting rows from table '{}' using query: {}", deleteQuery.getTableName(), deleteQuery);
 		
+		StatementMetrics metrics = newMetrics("delete", deleteQuery.getTableName());
 		PreparedStatement pstmt = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.DELETE_QUERY, "query", deleteQuery);
+			String query = buildQuery(RdbmsConfiguration.DELETE_QUERY, deleteQuery);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built delete query as: \n\t{}", query);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			int index = 1;
 			List<Object> params = new ArrayList<>();
 			
@@ -888,6 +1739,8 @@ public class RdbmsDataStore implements IDataStore
 			logParams(params);
 			
 			int deleteCount = pstmt.executeUpdate();
+			metrics.executed();
+			metrics.completed(deleteCount);
 			
 			logger.debug("Deleted " + deleteCount + " records from table: " + deleteQuery.getTableName());
 			
@@ -903,6 +1756,7 @@ public class RdbmsDataStore implements IDataStore
 			return -1;
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(null, pstmt);
 		}
 	}
@@ -930,52 +1784,50 @@ public class RdbmsDataStore implements IDataStore
 		return pstmt;
 	}
 	
-	private char[] convertClob(Clob clob)
+	/**
+	 * Converts specified lob cell value into value which can be used after the result set is closed. When lob can be retained
+	 * the lob is wrapped into {@link LobHandle}. Otherwise, lobs bigger than {@link #lobSpillThreshold} are spilled into
+	 * temp file backed handles and others are loaded into memory.
+	 * @param lob lob to be converted
+	 * @param retainLob flag indicating if lob can be retained (without reading its content)
+	 * @return converted value
+	 */
+	private Object convertLob(Object lob, boolean retainLob)
 	{
-		try
+		LobHandle handle = (lob instanceof Clob) ? new LobHandle((Clob) lob) : new LobHandle((Blob) lob);
+		
+		if(retainLob)
 		{
-			Reader reader = clob.getCharacterStream();
-			char buf[] = new char[1024];
-			int len = 0;
-			CharArrayWriter charWriter = new CharArrayWriter();
-			
-			while((len = reader.read(buf)) > 0)
-			{
-				charWriter.write(buf, 0, len);
-			}
-	
-			reader.close();
-			return charWriter.toCharArray();
-		}catch(Exception ex)
+			return handle;
+		}
+		
+		if(lobSpillThreshold >= 0 && handle.length() > lobSpillThreshold)
 		{
-			logger.error("An error occurred while reading clob", ex);
-			throw new IllegalStateException("An error occurred while reading clob", ex);
+			return handle.spill();
 		}
 		
-	}
-
-	private byte[] convertBlob(Blob blob)
-	{
 		try
 		{
-			InputStream is = blob.getBinaryStream();
-			byte buf[] = new byte[1024];
-			int len = 0;
-			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-			
-			while((len = is.read(buf)) > 0)
-			{
-				bos.write(buf, 0, len);
-			}
-	
-			is.close();
-			return bos.toByteArray();
+			return handle.isTextLob() ? handle.readString().toCharArray() : handle.readBytes();
 		}catch(Exception ex)
 		{
-			logger.error("An error occurred while reading blob", ex);
-			throw new IllegalStateException("An error occurred while reading blob", ex);
+			logger.error("An error occurred while reading lob", ex);
+			throw new IllegalStateException("An error occurred while reading lob", ex);
+		}finally
+		{
+			handle.close();
 		}
-		
+	}
+	
+	/**
+	 * Checks if lobs fetched in specified transaction can be retained as {@link LobHandle} without reading 
+	 * their content.
+	 * @param transaction transaction in which lobs are being fetched
+	 * @return true if lobs can be retained
+	 */
+	boolean isLobRetainable(TransactionWrapper<RdbmsTransaction> transaction)
+	{
+		return lazyLobLoading && transaction.isExistingTransaction();
 	}
 	
 	private void addParamsRecursively(QueryCondition condition, PreparedStatement stmt, List<Object> params) throws SQLException
@@ -1059,18 +1911,19 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.debug("Fetching records from table '{}' using query: {}", findQuery.getTableName(), findQuery);
 		
+		StatementMetrics metrics = newMetrics("executeFinder", findQuery.getTableName());
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
-			String query = rdbmsConfig.buildQuery(RdbmsConfiguration.FINDER_QUERY, "query", findQuery);
+			String query = buildQuery(RdbmsConfiguration.FINDER_QUERY, findQuery);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built find query as: \n\t{}", query);
 			List<Object> params = new ArrayList<>();
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			
 			for(QueryCondition condition: findQuery.getConditions())
 			{
@@ -1078,16 +1931,16 @@ public class RdbmsDataStore implements IDataStore
 			}
 
 			logParams(params);
+			captureQueryPlan(transaction.getTransaction().getConnection(), findQuery, entityDetails, query, params);
 			
 			rs = pstmt.executeQuery();
+			metrics.executed();
 			
 			List<Record> records = new ArrayList<>();
-			ResultSetMetaData metaData = rs.getMetaData();
 			Record  rec = null;
-			int colCount = metaData.getColumnCount();
 			String colNames[] = null;
-			Object cellValue = null;
 			long recordNo = -1;
+			boolean retainLobs = isLobRetainable(transaction);
 			IFinderRecordProcessor.Action action = null;
 			
 			while(rs.next())
@@ -1098,36 +1951,10 @@ public class RdbmsDataStore implements IDataStore
 				//are shared across the records
 				if(colNames == null)
 				{
-					colNames = new String[colCount];
-					
-					for(int i = 0 ; i < colCount ; i++)
-					{
-						colNames[i] = metaData.getColumnLabel(i + 1);
-					}
+					colNames = fetchColumnNames(rs);
 				}
 				
-				rec = new Record(colCount);
-				
-				//fetch column values for each record
-				for(int i = 0 ; i < colCount ; i++)
-				{
-					cellValue = rs.getObject(i + 1);
-					
-					if(cellValue instanceof Clob)
-					{
-						cellValue = convertClob((Clob)cellValue);
-					}
-					else if(cellValue instanceof Blob)
-					{
-						cellValue = convertBlob((Blob)cellValue);
-					}
-					else if(cellValue instanceof Date)
-					{
-						cellValue = new Date( ((Date) cellValue).getTime() );
-					}
-					
-					rec.set(i, colNames[i], cellValue);
-				}
+				rec = readRecord(rs, colNames, retainLobs);
 				
 				if(recordProcessor != null)
 				{
@@ -1150,6 +1977,7 @@ public class RdbmsDataStore implements IDataStore
 				records.add(rec);
 			}
 			
+			metrics.completed((int) (recordNo + 1));
 			logger.debug("Processed " + (recordNo + 1) + " records from db from table: " + findQuery.getTableName());
 			
 			transaction.commit();
@@ -1160,7 +1988,118 @@ public class RdbmsDataStore implements IDataStore
 						+ findQuery.getTableName() + "' using query: " + findQuery, ex);
 		}finally
 		{
+			publishMetrics(metrics);
+			closeResources(rs, pstmt);
+		}
+	}
+	
+	/**
+	 * Fetches the column labels of specified result set.
+	 * @param rs result set whose column names needs to be fetched
+	 * @return column names
+	 */
+	String[] fetchColumnNames(ResultSet rs) throws SQLException
+	{
+		ResultSetMetaData metaData = rs.getMetaData();
+		int colCount = metaData.getColumnCount();
+		String colNames[] = new String[colCount];
+		
+		for(int i = 0 ; i < colCount ; i++)
+		{
+			colNames[i] = metaData.getColumnLabel(i + 1);
+		}
+		
+		return colNames;
+	}
+	
+	/**
+	 * Reads the current row of specified result set as record.
+	 * @param rs result set to read
+	 * @param colNames column names of the result set
+	 * @param retainLobs flag indicating lobs can be retained as {@link LobHandle}
+	 * @return current row as record
+	 */
+	Record readRecord(ResultSet rs, String colNames[], boolean retainLobs) throws SQLException
+	{
+		Record rec = new Record(colNames.length);
+		Object cellValue = null;
+		
+		//fetch column values for each record
+		for(int i = 0 ; i < colNames.length ; i++)
+		{
+			cellValue = rs.getObject(i + 1);
+			
+			if((cellValue instanceof Clob) || (cellValue instanceof Blob))
+			{
+				cellValue = convertLob(cellValue, retainLobs);
+			}
+			else if(cellValue instanceof Date)
+			{
+				cellValue = new Date( ((Date) cellValue).getTime() );
+			}
+			
+			rec.set(i, colNames[i], cellValue);
+		}
+		
+		return rec;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.IDataStore#openFinderCursor(com.yukthitech.persistence.query.FinderQuery, com.yukthitech.persistence.EntityDetails, com.yukthitech.persistence.IFinderRecordProcessor, int)
+	 */
+	@Override
+	public ICloseableIterator<Record> openFinderCursor(FinderQuery findQuery, EntityDetails entityDetails, IFinderRecordProcessor recordProcessor, int fetchSize)
+	{
+		logger.debug("Opening cursor on table '{}' using query: {}", findQuery.getTableName(), findQuery);
+		
+		StatementMetrics metrics = newMetrics("openFinderCursor", findQuery.getTableName());
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		TransactionWrapper<RdbmsTransaction> transaction = null;
+		
+		try
+		{
+			transaction = transactionManager.newCursorTransaction();
+			String query = buildQuery(RdbmsConfiguration.FINDER_QUERY, findQuery);
+			metrics.queryBuilt(query);
+			
+			logger.debug("Built find query as: \n\t{}", query);
+			List<Object> params = new ArrayList<>();
+			
+			Connection connection = transaction.getTransaction().getConnection();
+			pstmt = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			pstmt.setFetchSize(fetchSize > 0 ? fetchSize : this.fetchSize);
+			
+			for(QueryCondition condition: findQuery.getConditions())
+			{
+				addParamsRecursively(condition, pstmt, params);
+			}
+
+			logParams(params);
+			captureQueryPlan(connection, findQuery, entityDetails, query, params);
+			
+			rs = pstmt.executeQuery();
+			metrics.executed();
+			
+			return new RdbmsRecordCursor(this, transaction, pstmt, rs, recordProcessor, metrics);
+		}catch(Exception ex)
+		{
+			publishMetrics(metrics);
 			closeResources(rs, pstmt);
+			
+			try
+			{
+				if(transaction != null && !transaction.isExistingTransaction())
+				{
+					transaction.rollback();
+				}
+			}catch(Exception closeEx)
+			{
+				logger.error("An error occurred while closing transaction", closeEx);
+			}
+			
+			throw new PersistenceException("An error occurred while opening cursor on table '" 
+						+ findQuery.getTableName() + "' using query: " + findQuery, ex);
 		}
 	}
 	
@@ -1171,6 +2110,7 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.trace("Started method: executeNativeFinder with query - {}", queryName);
 		
+		StatementMetrics metrics = newMetrics("executeNativeFinder", queryName);
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		IFinderRecordProcessor.Action action = null;
@@ -1180,12 +2120,12 @@ public class RdbmsDataStore implements IDataStore
 		{
 			List<Object> params = new ArrayList<>();
 			String query = nativeQueryFactory.buildQuery(queryName, params, context);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built native find query as: \n\t{}", query);
 			logger.debug("Executing using params: {}", params);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 
 			int paramCount = params.size();
 			
@@ -1195,6 +2135,7 @@ public class RdbmsDataStore implements IDataStore
 			}
 			
 			rs = pstmt.executeQuery();
+			metrics.executed();
 			
 			List<Record> records = new ArrayList<>();
 			ResultSetMetaData metaData = rs.getMetaData();
@@ -1202,6 +2143,7 @@ public class RdbmsDataStore implements IDataStore
 			int colCount = metaData.getColumnCount();
 			String colNames[] = null;
 			Object cellValue = null;
+			boolean retainLobs = isLobRetainable(transaction);
 			
 			while(rs.next())
 			{
@@ -1226,13 +2168,9 @@ public class RdbmsDataStore implements IDataStore
 				{
 					cellValue = rs.getObject(i + 1);
 					
-					if(cellValue instanceof Clob)
+					if((cellValue instanceof Clob) || (cellValue instanceof Blob))
 					{
-						cellValue = convertClob((Clob)cellValue);
-					}
-					else if(cellValue instanceof Blob)
-					{
-						cellValue = convertBlob((Blob)cellValue);
+						cellValue = convertLob(cellValue, retainLobs);
 					}
 					
 					rec.set(i, colNames[i], cellValue);
@@ -1259,6 +2197,7 @@ public class RdbmsDataStore implements IDataStore
 				records.add(rec);
 			}
 			
+			metrics.completed(recNo + 1);
 			logger.debug("Found {} records. Out of which {} records are filtered by custom filter.", (recNo + 1), records.size());
 			
 			transaction.commit();
@@ -1270,6 +2209,7 @@ public class RdbmsDataStore implements IDataStore
 			throw new PersistenceException("An error occurred while executing native finder query - " + queryName, ex);
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(rs, pstmt);
 		}
 	}
@@ -1279,18 +2219,19 @@ public class RdbmsDataStore implements IDataStore
 	{
 		logger.trace("Started method: executeNativeDml - " + queryName);
 		
+		StatementMetrics metrics = newMetrics("executeNativeDml", queryName);
 		PreparedStatement pstmt = null;
 		
 		try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
 		{
 			List<Object> params = new ArrayList<>();
 			String query = nativeQueryFactory.buildQuery(queryName, params, context);
+			metrics.queryBuilt(query);
 			
 			logger.debug("Built update query as: \n\t{}", query);
 			logger.debug("Executing using params: {}", params);
 			
-			Connection connection = transaction.getTransaction().getConnection();
-			pstmt = connection.prepareStatement(query);
+			pstmt = transaction.getTransaction().prepareStatement(query);
 			int index = 1;
 			Object value = null;
 			List<Closeable> closeables = new ArrayList<>();
@@ -1325,6 +2266,8 @@ public class RdbmsDataStore implements IDataStore
 			
 			
 			int count = pstmt.executeUpdate();
+			metrics.executed();
+			metrics.completed(count);
 			
 			//close any open closeables (like blob streams)
 			for(Closeable closeable : closeables)
@@ -1344,6 +2287,7 @@ public class RdbmsDataStore implements IDataStore
 			return -1;
 		}finally
 		{
+			publishMetrics(metrics);
 			closeResources(null, pstmt);
 		}
 	}
@@ -1379,6 +2323,8 @@ public class RdbmsDataStore implements IDataStore
 				return;
 			}
 			
+			schemaChanged(dropQuery.getTableName());
+			
 			RdbmsConfiguration.Query queryObj = rdbmsConfig.getQuery(RdbmsConfiguration.DROP_QUERY);
 			
 			int index = 0;
@@ -1450,17 +2396,20 @@ public class RdbmsDataStore implements IDataStore
 	@Override
 	public void close(IDataSourceCloser closer) throws SQLException
 	{
-		DataSource dataSource = transactionManager.getDataSource();
+		List<DataSource> dataSources = new ArrayList<>();
+		dataSources.add(transactionManager.getDataSource());
+		dataSources.addAll(transactionManager.getReadDataSources());
 		
-		if(closer != null)
+		for(DataSource dataSource : dataSources)
 		{
-			closer.close(dataSource);
-			return;
-		}
-		
-		if(dataSource instanceof BasicDataSource)
-		{
-			((BasicDataSource) dataSource).close();
+			if(closer != null)
+			{
+				closer.close(dataSource);
+			}
+			else if(dataSource instanceof BasicDataSource)
+			{
+				((BasicDataSource) dataSource).close();
+			}
 		}
 	}
 }
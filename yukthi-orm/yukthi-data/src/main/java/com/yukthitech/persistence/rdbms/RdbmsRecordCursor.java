@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.rdbms;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthitech.persistence.ICloseableIterator;
+import com.yukthitech.persistence.IFinderRecordProcessor;
+import com.yukthitech.persistence.IFinderRecordProcessor.Action;
+import com.yukthitech.persistence.PersistenceException;
+import com.yukthitech.persistence.Record;
+import com.yukthitech.persistence.TransactionException;
+import com.yukthitech.persistence.TransactionWrapper;
+import com.yukthitech.persistence.metrics.StatementMetrics;
+
+/**
+ * Cursor over live result set, which reads records one by one as and when requested. The
+ * connection used to open the cursor is held till the cursor is closed, so cursor should always be closed.
+ * 
+ * If cursor is opened within a transaction, cursor is part of that transaction. Otherwise cursor uses
+ * its own read only transaction, which is not bound to the thread. So writes done while iterating such
+ * cursor are executed in their own transactions and are not affected by cursor closing.
+ * 
+ * @author akiran
+ */
+class RdbmsRecordCursor implements ICloseableIterator<Record>
+{
+	private static Logger logger = LogManager.getLogger(RdbmsRecordCursor.class);
+	
+	/**
+	 * Data store used to read the records.
+	 */
+	private RdbmsDataStore dataStore;
+	
+	/**
+	 * Transaction in which cursor is opened.
+	 */
+	private TransactionWrapper<RdbmsTransaction> transaction;
+	
+	/**
+	 * Statement used to fetch result set.
+	 */
+	private PreparedStatement statement;
+	
+	/**
+	 * Result set being iterated.
+	 */
+	private ResultSet resultSet;
+	
+	/**
+	 * Optional processor to filter records.
+	 */
+	private IFinderRecordProcessor recordProcessor;
+	
+	/**
+	 * Column names of the result set.
+	 */
+	private String colNames[];
+	
+	/**
+	 * Next record to be returned.
+	 */
+	private Record nextRecord;
+	
+	/**
+	 * Number of records read from result set.
+	 */
+	private long recordNo = -1;
+	
+	/**
+	 * Flag indicating if the cursor is closed.
+	 */
+	private boolean closed = false;
+	
+	/**
+	 * Metrics of the statement, which will be published on close.
+	 */
+	private StatementMetrics metrics;
+
+	RdbmsRecordCursor(RdbmsDataStore dataStore, TransactionWrapper<RdbmsTransaction> transaction, PreparedStatement statement, ResultSet resultSet, 
+			IFinderRecordProcessor recordProcessor, StatementMetrics metrics)
+	{
+		this.metrics = metrics;
+		this.dataStore = dataStore;
+		this.transaction = transaction;
+		this.statement = statement;
+		this.resultSet = resultSet;
+		this.recordProcessor = recordProcessor;
+	}
+	
+	/**
+	 * Reads next acceptable record from the result set into {@link #nextRecord}. If end is reached
+	 * cursor will be closed.
+	 */
+	private void fetchNext()
+	{
+		try
+		{
+			while(resultSet.next())
+			{
+				recordNo++;
+				
+				if(colNames == null)
+				{
+					colNames = dataStore.fetchColumnNames(resultSet);
+				}
+				
+				Record rec = dataStore.readRecord(resultSet, colNames, dataStore.isLobRetainable(transaction));
+				
+				if(recordProcessor != null)
+				{
+					Action action = recordProcessor.process(recordNo, rec);
+					
+					if(action == Action.STOP)
+					{
+						break;
+					}
+					
+					if(action == Action.IGNORE)
+					{
+						continue;
+					}
+				}
+				
+				nextRecord = rec;
+				return;
+			}
+		}catch(Exception ex)
+		{
+			close();
+			throw new PersistenceException("An error occurred while reading record from cursor", ex);
+		}
+		
+		close();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		if(nextRecord != null)
+		{
+			return true;
+		}
+		
+		if(closed)
+		{
+			return false;
+		}
+		
+		fetchNext();
+		return (nextRecord != null);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public Record next()
+	{
+		if(!hasNext())
+		{
+			throw new NoSuchElementException();
+		}
+		
+		Record rec = nextRecord;
+		nextRecord = null;
+		
+		return rec;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.ICloseableIterator#close()
+	 */
+	@Override
+	public void close()
+	{
+		if(closed)
+		{
+			return;
+		}
+		
+		closed = true;
+		logger.debug("Closing cursor after reading {} records", recordNo + 1);
+		
+		dataStore.closeResources(resultSet, statement);
+		
+		metrics.completed((int) (recordNo + 1));
+		dataStore.publishMetrics(metrics);
+		
+		//when cursor is part of caller's transaction, caller is responsible for completing the transaction
+		if(transaction.isExistingTransaction())
+		{
+			return;
+		}
+		
+		try
+		{
+			//cursor's own transaction is used only for reading, so it is rolled back to release the connection
+			transaction.rollback();
+		}catch(TransactionException ex)
+		{
+			throw new PersistenceException("An error occurred while closing cursor transaction", ex);
+		}
+	}
+}
@@ -16,7 +16,15 @@
 package com.yukthitech.persistence.rdbms;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,10 +45,37 @@ public class RdbmsTransaction implements ITransaction
 	
 	private Connection connection;
 	
+	/**
+	 * Prepared statements (which are not in use) cached by query string, in access order. Used to reuse 
+	 * the statements for the life of the connection.
+	 */
+	private LinkedHashMap<String, PreparedStatement> statementCache = new LinkedHashMap<>(16, 0.75f, true);
+	
+	/**
+	 * Cacheable statements which are currently in use, mapped to their cache keys.
+	 */
+	private Map<PreparedStatement, String> statementsInUse = new IdentityHashMap<>();
+	
+	/**
+	 * Actions to be executed after successful commit of this transaction.
+	 */
+	private List<Runnable> postCommitActions;
+	
+	/**
+	 * Read replica from which the connection is obtained. Null if connection is obtained from primary data source.
+	 */
+	private ReadReplica readReplica;
+	
 	RdbmsTransaction(RdbmsTransactionManager manager, Connection connection)
+	{
+		this(manager, connection, null);
+	}
+	
+	RdbmsTransaction(RdbmsTransactionManager manager, Connection connection, ReadReplica readReplica)
 	{
 		this.manager = manager;
 		this.connection = connection;
+		this.readReplica = readReplica;
 		
 		try
 		{
@@ -64,6 +99,8 @@ public class RdbmsTransaction implements ITransaction
 			}
 		}
 		
+		closeCachedStatements();
+		
 		try
 		{
 			connection.close();
@@ -73,7 +110,13 @@ public class RdbmsTransaction implements ITransaction
 		}
 		
 		
-		manager.removeTransaction();
+		manager.removeTransaction(this);
+		
+		if(readReplica != null && !closed)
+		{
+			readReplica.released();
+		}
+		
 		closed =  true;
 		logger.trace("Closed transaction");
 	}
@@ -105,6 +148,50 @@ public class RdbmsTransaction implements ITransaction
 		{
 			this.close();
 		}
+		
+		executePostCommitActions();
+	}
+	
+	/**
+	 * Adds action to be executed after successful commit of this transaction. On rollback the
+	 * actions are discarded.
+	 * @param action action to be executed
+	 */
+	public void addPostCommitAction(Runnable action)
+	{
+		checkIfClosed();
+		
+		if(postCommitActions == null)
+		{
+			postCommitActions = new ArrayList<>();
+		}
+		
+		postCommitActions.add(action);
+	}
+	
+	/**
+	 * Executes post commit actions, if any. Failure of an action does not affect other actions.
+	 */
+	private void executePostCommitActions()
+	{
+		if(postCommitActions == null)
+		{
+			return;
+		}
+		
+		List<Runnable> actions = postCommitActions;
+		postCommitActions = null;
+		
+		for(Runnable action : actions)
+		{
+			try
+			{
+				action.run();
+			}catch(Exception ex)
+			{
+				logger.error("An error occurred while executing post commit action: {}", action, ex);
+			}
+		}
 	}
 
 	@Override
@@ -115,6 +202,7 @@ public class RdbmsTransaction implements ITransaction
 		try
 		{
 			rolledBack = true;
+			postCommitActions = null;
 			connection.rollback();
 			logger.trace("Rolling back transaction");
 		}catch(SQLException ex)
@@ -126,11 +214,132 @@ public class RdbmsTransaction implements ITransaction
 		}
 	}
 	
+	/**
+	 * Checks if this transaction is served by a read replica.
+	 * @return true if connection of this transaction is obtained from read replica
+	 */
+	public boolean isReadReplica()
+	{
+		return (readReplica != null);
+	}
+	
 	public Connection getConnection()
 	{
 		return connection;
 	}
 	
+	/**
+	 * Prepares statement for specified query. If a statement for the same query was prepared earlier on this 
+	 * transaction and is not in use, the same will be reused (after clearing its parameters). 
+	 * Statements obtained by this method should be released using {@link #releaseStatement(Statement)}.
+	 * 
+	 * @param query query to prepare
+	 * @return prepared statement
+	 */
+	public PreparedStatement prepareStatement(String query) throws SQLException
+	{
+		return prepareStatement(query, Statement.NO_GENERATED_KEYS);
+	}
+	
+	/**
+	 * Prepares statement for specified query, with specified auto generated keys flag. Reuses 
+	 * earlier statement if possible, similar to {@link #prepareStatement(String)}.
+	 * 
+	 * @param query query to prepare
+	 * @param autoGeneratedKeys one of {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}
+	 * @return prepared statement
+	 */
+	public PreparedStatement prepareStatement(String query, int autoGeneratedKeys) throws SQLException
+	{
+		checkIfClosed();
+		
+		if(manager.getStatementCacheSize() <= 0)
+		{
+			return connection.prepareStatement(query, autoGeneratedKeys);
+		}
+		
+		String key = autoGeneratedKeys + "#" + query;
+		
+		//remove the statement from cache while in use, so that nested usage of same query gets a different statement
+		PreparedStatement statement = statementCache.remove(key);
+		
+		if(statement != null && !statement.isClosed())
+		{
+			statement.clearParameters();
+			statement.clearBatch();
+			
+			manager.statementReused();
+		}
+		else
+		{
+			statement = connection.prepareStatement(query, autoGeneratedKeys);
+			manager.statementPrepared();
+		}
+		
+		statementsInUse.put(statement, key);
+		return statement;
+	}
+	
+	/**
+	 * Releases specified statement, obtained earlier by {@link #prepareStatement(String)}, back to cache. 
+	 * If cache is full, least recently used statement will be closed.
+	 * @param statement statement to release
+	 * @return true if the statement is released to cache. False, if statement is not obtained from this transaction
+	 * or if this transaction is closed, in which case caller is expected to close the statement.
+	 */
+	public boolean releaseStatement(Statement statement)
+	{
+		String key = statementsInUse.remove(statement);
+		
+		if(key == null || closed)
+		{
+			return false;
+		}
+		
+		PreparedStatement existing = statementCache.put(key, (PreparedStatement) statement);
+		
+		//when same query was used in nested fashion, keep only the latest one
+		if(existing != null)
+		{
+			closeStatement(existing);
+		}
+		
+		Iterator<PreparedStatement> it = statementCache.values().iterator();
+		
+		while(statementCache.size() > manager.getStatementCacheSize())
+		{
+			closeStatement(it.next());
+			it.remove();
+		}
+		
+		return true;
+	}
+	
+	private void closeStatement(Statement statement)
+	{
+		try
+		{
+			statement.close();
+		}catch(SQLException ex)
+		{
+			logger.warn("An error occurred while closing cached statement", ex);
+		}
+	}
+	
+	/**
+	 * Closes the cached statements. Invoked when this transaction is getting closed.
+	 */
+	private void closeCachedStatements()
+	{
+		for(PreparedStatement statement : statementCache.values())
+		{
+			closeStatement(statement);
+		}
+		
+		statementCache.clear();
+		statementsInUse.clear();
+	}
+	
 	@Override
 	public boolean isClosed()
 	{
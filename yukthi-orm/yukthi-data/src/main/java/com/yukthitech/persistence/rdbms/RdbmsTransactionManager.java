@@ -15,9 +15,12 @@
  */
 package com.yukthitech.persistence.rdbms;
 
+import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.sql.DataSource;
 
@@ -32,10 +35,54 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 {
 	private static Logger logger = LogManager.getLogger(RdbmsTransactionManager.class);
 	
-	private Map<Thread, RdbmsTransaction> threadToTransaction = new HashMap<>();
+	/**
+	 * Default max number of prepared statements to be cached per transaction.
+	 */
+	public static final int DEFAULT_STATEMENT_CACHE_SIZE = 50;
+	
+	/**
+	 * Transaction bound to current thread. Thread local is used so that transaction lookup
+	 * does not need any synchronization and bindings do not outlive the threads.
+	 */
+	private ThreadLocal<RdbmsTransaction> currentTransaction = new ThreadLocal<>();
 	
 	private DataSource dataSource;
 	
+	/**
+	 * Read replicas to be used for read-only operations, when no transaction is active.
+	 */
+	private volatile ReadReplica readReplicas[] = new ReadReplica[0];
+	
+	/**
+	 * Strategy to be used to choose read replica.
+	 */
+	private ReadReplicaStrategy readReplicaStrategy = ReadReplicaStrategy.ROUND_ROBIN;
+	
+	/**
+	 * Index used to choose next replica in round robin fashion.
+	 */
+	private AtomicInteger nextReplicaIndex = new AtomicInteger();
+	
+	/**
+	 * Flag indicating if current thread is executing read-only operation.
+	 */
+	private ThreadLocal<Boolean> readOnlyMode = new ThreadLocal<>();
+	
+	/**
+	 * Max number of prepared statements to be cached per transaction (connection). Zero or negative value disables the caching.
+	 */
+	private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+	
+	/**
+	 * Number of statements prepared freshly.
+	 */
+	private LongAdder preparedCount = new LongAdder();
+	
+	/**
+	 * Number of times cached statements are reused.
+	 */
+	private LongAdder reusedCount = new LongAdder();
+	
 	public void setDataSource(DataSource dataSource)
 	{
 		this.dataSource = dataSource;
@@ -46,6 +93,164 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 		return dataSource;
 	}
 	
+	/**
+	 * Sets the data sources of read replicas, to be used for read-only operations when no transaction is active.
+	 *
+	 * @param readDataSources the new read replica data sources
+	 */
+	public void setReadDataSources(List<DataSource> readDataSources)
+	{
+		ReadReplica replicas[] = new ReadReplica[readDataSources == null ? 0 : readDataSources.size()];
+		
+		for(int i = 0; i < replicas.length; i++)
+		{
+			replicas[i] = new ReadReplica(readDataSources.get(i));
+		}
+		
+		this.readReplicas = replicas;
+	}
+	
+	/**
+	 * Gets the data sources of read replicas.
+	 *
+	 * @return the read replica data sources
+	 */
+	public List<DataSource> getReadDataSources()
+	{
+		List<DataSource> dataSources = new ArrayList<>();
+		
+		for(ReadReplica replica : readReplicas)
+		{
+			dataSources.add(replica.getDataSource());
+		}
+		
+		return dataSources;
+	}
+	
+	/**
+	 * Gets the strategy to be used to choose read replica.
+	 *
+	 * @return the strategy to be used to choose read replica
+	 */
+	public ReadReplicaStrategy getReadReplicaStrategy()
+	{
+		return readReplicaStrategy;
+	}
+
+	/**
+	 * Sets the strategy to be used to choose read replica.
+	 *
+	 * @param readReplicaStrategy the new strategy to be used to choose read replica
+	 */
+	public void setReadReplicaStrategy(ReadReplicaStrategy readReplicaStrategy)
+	{
+		if(readReplicaStrategy == null)
+		{
+			throw new NullPointerException("Read replica strategy can not be null");
+		}
+		
+		this.readReplicaStrategy = readReplicaStrategy;
+	}
+	
+	/**
+	 * Gets the number of transactions served by each read replica, in the order replicas are configured.
+	 *
+	 * @return number of transactions served by read replicas
+	 */
+	public long[] getReplicaReadCounts()
+	{
+		ReadReplica replicas[] = this.readReplicas;
+		long counts[] = new long[replicas.length];
+		
+		for(int i = 0; i < replicas.length; i++)
+		{
+			counts[i] = replicas[i].getUseCount();
+		}
+		
+		return counts;
+	}
+	
+	/**
+	 * Gets the max number of prepared statements to be cached per transaction.
+	 *
+	 * @return the max number of prepared statements to be cached per transaction
+	 */
+	public int getStatementCacheSize()
+	{
+		return statementCacheSize;
+	}
+
+	/**
+	 * Sets the max number of prepared statements to be cached per transaction. Zero or negative value disables the caching.
+	 *
+	 * @param statementCacheSize the new max number of prepared statements to be cached per transaction
+	 */
+	public void setStatementCacheSize(int statementCacheSize)
+	{
+		this.statementCacheSize = statementCacheSize;
+	}
+	
+	void statementPrepared()
+	{
+		preparedCount.increment();
+	}
+	
+	void statementReused()
+	{
+		reusedCount.increment();
+	}
+	
+	/**
+	 * Gets the number of statements prepared freshly, when caching is enabled.
+	 *
+	 * @return the number of statements prepared freshly
+	 */
+	public long getPreparedStatementCount()
+	{
+		return preparedCount.sum();
+	}
+	
+	/**
+	 * Gets the number of times cached statements are reused.
+	 *
+	 * @return the number of times cached statements are reused
+	 */
+	public long getReusedStatementCount()
+	{
+		return reusedCount.sum();
+	}
+	
+	/**
+	 * Gets the ratio of statement requests served by reusing cached statements.
+	 *
+	 * @return statement reuse ratio (0 to 1)
+	 */
+	public double getStatementReuseRatio()
+	{
+		long reused = reusedCount.sum();
+		long total = reused + preparedCount.sum();
+		
+		return (total == 0) ? 0 : ((double) reused / total);
+	}
+	
+	/**
+	 * Resets the statement cache counters.
+	 */
+	public void resetStatementCounters()
+	{
+		preparedCount.reset();
+		reusedCount.reset();
+	}
+	
+	/**
+	 * Fetches the transaction bound to current thread.
+	 * @return current transaction, null if none
+	 */
+	RdbmsTransaction getBoundTransaction()
+	{
+		return currentTransaction.get();
+	}
+	
 	private RdbmsTransaction createTransaction() throws TransactionException
 	{
 		RdbmsTransaction transaction = null;
@@ -59,14 +264,66 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 			throw new TransactionException("An error occurred while opnening new DB connection", ex);
 		}
 		
-		threadToTransaction.put(Thread.currentThread(), transaction);
+		currentTransaction.set(transaction);
 		return transaction;
 	}
 	
+	/**
+	 * Chooses the read replica to be used based on current strategy.
+	 */
+	private ReadReplica chooseReplica(ReadReplica replicas[])
+	{
+		if(readReplicaStrategy == ReadReplicaStrategy.ROUND_ROBIN)
+		{
+			return replicas[Math.floorMod(nextReplicaIndex.getAndIncrement(), replicas.length)];
+		}
+		
+		//start the search at different replica each time, so that ties are not always resolved to first replica
+		int start = Math.floorMod(nextReplicaIndex.getAndIncrement(), replicas.length);
+		ReadReplica selected = replicas[start];
+		
+		for(int i = 1; i < replicas.length; i++)
+		{
+			ReadReplica replica = replicas[(start + i) % replicas.length];
+			
+			if(replica.getActiveCount() < selected.getActiveCount())
+			{
+				selected = replica;
+			}
+		}
+		
+		return selected;
+	}
+	
+	/**
+	 * Creates a transaction on a read replica. Replica transactions are not bound to the thread, so that any writes 
+	 * during the read operation still go to primary data source.
+	 * @return replica transaction, null if connection could not be obtained from the replica
+	 */
+	private RdbmsTransaction createReplicaTransaction(ReadReplica replicas[])
+	{
+		ReadReplica replica = chooseReplica(replicas);
+		replica.acquired();
+		
+		try
+		{
+			Connection connection = replica.getDataSource().getConnection();
+			RdbmsTransaction transaction = new RdbmsTransaction(this, connection, replica);
+			
+			logger.trace("Created new read replica transaction: {}", transaction);
+			return transaction;
+		}catch(SQLException | RuntimeException ex)
+		{
+			replica.released();
+			logger.warn("Failed to obtain connection from read replica. Falling back to primary data source", ex);
+			return null;
+		}
+	}
+	
 	@Override
 	public RdbmsTransaction newTransaction() throws TransactionException
 	{
-		RdbmsTransaction transaction = threadToTransaction.get(Thread.currentThread());
+		RdbmsTransaction transaction = currentTransaction.get();
 		
 		if(transaction != null)
 		{
@@ -80,7 +337,7 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 	@Override
 	public TransactionWrapper<RdbmsTransaction> currentTransaction() throws TransactionException
 	{
-		RdbmsTransaction transaction = threadToTransaction.get(Thread.currentThread());
+		RdbmsTransaction transaction = currentTransaction.get();
 		
 		if(transaction != null)
 		{
@@ -93,7 +350,7 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 	@Override
 	public TransactionWrapper<RdbmsTransaction> newOrExistingTransaction() throws TransactionException
 	{
-		RdbmsTransaction transaction = threadToTransaction.get(Thread.currentThread());
+		RdbmsTransaction transaction = currentTransaction.get();
 		
 		if(transaction != null)
 		{
@@ -101,11 +358,122 @@ public class RdbmsTransactionManager implements ITransactionManager<RdbmsTransac
 			return new TransactionWrapper<RdbmsTransaction>(transaction, true);
 		}
 		
+		ReadReplica replicas[] = this.readReplicas;
+		
+		if(replicas.length > 0 && Boolean.TRUE.equals(readOnlyMode.get()))
+		{
+			transaction = createReplicaTransaction(replicas);
+			
+			if(transaction != null)
+			{
+				return new TransactionWrapper<RdbmsTransaction>(transaction, false);
+			}
+		}
+		
 		return new TransactionWrapper<RdbmsTransaction>(createTransaction(), false);
 	}
+	
+	/**
+	 * Fetches transaction to be used by cursors. If current thread has a transaction in progress, same
+	 * will be returned and cursor will be part of that transaction. Otherwise a new transaction is created
+	 * which is not bound to current thread, so that writes done while iterating the cursor do not
+	 * join cursor's transaction.
+	 * @return transaction to be used for cursor
+	 */
+	TransactionWrapper<RdbmsTransaction> newCursorTransaction() throws TransactionException
+	{
+		RdbmsTransaction transaction = currentTransaction.get();
+		
+		if(transaction != null)
+		{
+			logger.trace("Using existing transaction for cursor: {}", transaction);
+			return new TransactionWrapper<RdbmsTransaction>(transaction, true);
+		}
+		
+		ReadReplica replicas[] = this.readReplicas;
+		
+		if(replicas.length > 0 && Boolean.TRUE.equals(readOnlyMode.get()))
+		{
+			transaction = createReplicaTransaction(replicas);
+			
+			if(transaction != null)
+			{
+				return new TransactionWrapper<RdbmsTransaction>(transaction, false);
+			}
+		}
+		
+		try
+		{
+			transaction = new RdbmsTransaction(this, dataSource.getConnection());
+			logger.trace("Created new unbound cursor transaction: {}", transaction);
+		}catch(SQLException ex)
+		{
+			throw new TransactionException("An error occurred while opnening new DB connection", ex);
+		}
+		
+		return new TransactionWrapper<RdbmsTransaction>(transaction, false);
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.ITransactionManager#isTransactionActive()
+	 */
+	@Override
+	public boolean isTransactionActive()
+	{
+		return (currentTransaction.get() != null);
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.ITransactionManager#executeAfterCommit(java.lang.Runnable)
+	 */
+	@Override
+	public void executeAfterCommit(Runnable action)
+	{
+		RdbmsTransaction transaction = currentTransaction.get();
+		
+		if(transaction == null)
+		{
+			action.run();
+			return;
+		}
+		
+		transaction.addPostCommitAction(action);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.ITransactionManager#setReadOnlyMode(boolean)
+	 */
+	@Override
+	public boolean setReadOnlyMode(boolean readOnly)
+	{
+		boolean prevMode = Boolean.TRUE.equals(readOnlyMode.get());
+		
+		if(readOnly)
+		{
+			readOnlyMode.set(Boolean.TRUE);
+		}
+		else
+		{
+			readOnlyMode.remove();
+		}
+		
+		return prevMode;
+	}
 
-	void removeTransaction()
+	/**
+	 * Removes specified transaction binding from current thread. If current thread is bound to different
+	 * transaction (or none), the binding is left untouched. This ensures repeated close calls on a
+	 * transaction does not unbind newer transaction.
+	 * @param transaction transaction to be removed
+	 */
+	void removeTransaction(RdbmsTransaction transaction)
 	{
-		threadToTransaction.remove(Thread.currentThread());
+		if(currentTransaction.get() != transaction)
+		{
+			logger.trace("Transaction being removed is not bound to current thread. Ignoring removal: {}", transaction);
+			return;
+		}
+		
+		currentTransaction.remove();
 	}
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.rdbms;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica data source along with its usage counters.
+ * @author akiran
+ */
+class ReadReplica
+{
+	/**
+	 * Data source of the replica.
+	 */
+	private DataSource dataSource;
+	
+	/**
+	 * Number of connections of this replica currently in use.
+	 */
+	private AtomicInteger activeCount = new AtomicInteger();
+	
+	/**
+	 * Number of transactions served by this replica.
+	 */
+	private LongAdder useCount = new LongAdder();
+	
+	public ReadReplica(DataSource dataSource)
+	{
+		this.dataSource = dataSource;
+	}
+	
+	public DataSource getDataSource()
+	{
+		return dataSource;
+	}
+	
+	public int getActiveCount()
+	{
+		return activeCount.get();
+	}
+	
+	public long getUseCount()
+	{
+		return useCount.sum();
+	}
+	
+	/**
+	 * Marks the replica as being used by a new transaction.
+	 */
+	public void acquired()
+	{
+		activeCount.incrementAndGet();
+		useCount.increment();
+	}
+	
+	/**
+	 * Marks that a transaction of this replica is closed.
+	 */
+	public void released()
+	{
+		activeCount.decrementAndGet();
+	}
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.rdbms;
+
+/**
+ * Strategy used to choose the read replica for read-only operations.
+ * @author akiran
+ */
+public enum ReadReplicaStrategy
+{
+	/**
+	 * Replicas are used one after the other.
+	 */
+	ROUND_ROBIN,
+	
+	/**
+	 * Replica with least number of connections in use is used.
+	 */
+	LEAST_LOADED;
+}
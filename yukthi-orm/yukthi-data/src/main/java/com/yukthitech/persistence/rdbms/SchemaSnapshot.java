@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.rdbms;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.yukthitech.persistence.PersistenceException;
+
+/**
+ * Snapshot of schema metadata (tables and their columns), loaded in single metadata pass. Used during 
+ * bulk bootstrap of repositories, to avoid metadata queries per table. The snapshot can be persisted
+ * against a schema version, so that restarts with same schema version can skip introspection completely.
+ * 
+ * @author akiran
+ */
+public class SchemaSnapshot
+{
+	/**
+	 * Property key used to persist schema version.
+	 */
+	private static final String VERSION_KEY = "#version";
+	
+	/**
+	 * Schema version for which this snapshot is loaded.
+	 */
+	private String version;
+	
+	/**
+	 * Table name to column names mapping.
+	 */
+	private Map<String, Set<String>> tableColumns = new ConcurrentHashMap<>();
+	
+	private SchemaSnapshot(String version)
+	{
+		this.version = version;
+	}
+	
+	/**
+	 * Loads columns of all tables of current schema of specified connection, in single metadata pass.
+	 * @param connection connection to use
+	 * @param version schema version to be associated with snapshot
+	 * @return loaded snapshot
+	 */
+	public static SchemaSnapshot load(Connection connection, String version) throws SQLException
+	{
+		SchemaSnapshot snapshot = new SchemaSnapshot(version);
+		
+		try(ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(), null, null))
+		{
+			while(rs.next())
+			{
+				snapshot.tableColumns.computeIfAbsent(rs.getString("TABLE_NAME"), key -> new HashSet<>()).add(rs.getString("COLUMN_NAME"));
+			}
+		}
+		
+		return snapshot;
+	}
+	
+	/**
+	 * Loads snapshot from specified file, which was persisted using {@link #store(File)}.
+	 * @param file file to load
+	 * @return loaded snapshot, null if the file does not exist
+	 */
+	public static SchemaSnapshot load(File file)
+	{
+		if(!file.exists())
+		{
+			return null;
+		}
+		
+		Properties properties = new Properties();
+		
+		try(Reader reader = new FileReader(file))
+		{
+			properties.load(reader);
+		}catch(IOException ex)
+		{
+			throw new PersistenceException("An error occurred while loading schema snapshot from file: " + file.getPath(), ex);
+		}
+		
+		SchemaSnapshot snapshot = new SchemaSnapshot(properties.getProperty(VERSION_KEY));
+		
+		for(String table : properties.stringPropertyNames())
+		{
+			if(VERSION_KEY.equals(table))
+			{
+				continue;
+			}
+			
+			snapshot.tableColumns.put(table, new HashSet<>(Arrays.asList(properties.getProperty(table).split(","))));
+		}
+		
+		return snapshot;
+	}
+	
+	/**
+	 * Persists this snapshot into specified file.
+	 * @param file file to which snapshot should be persisted
+	 */
+	public void store(File file)
+	{
+		Properties properties = new Properties();
+		properties.setProperty(VERSION_KEY, version);
+		
+		for(Map.Entry<String, Set<String>> entry : tableColumns.entrySet())
+		{
+			properties.setProperty(entry.getKey(), String.join(",", entry.getValue()));
+		}
+		
+		try(Writer writer = new FileWriter(file))
+		{
+			properties.store(writer, "Schema snapshot");
+		}catch(IOException ex)
+		{
+			throw new PersistenceException("An error occurred while persisting schema snapshot to file: " + file.getPath(), ex);
+		}
+	}
+	
+	/**
+	 * Gets the schema version for which this snapshot is loaded.
+	 *
+	 * @return the schema version
+	 */
+	public String getVersion()
+	{
+		return version;
+	}
+	
+	/**
+	 * Fetches the columns of specified table.
+	 * @param tableName table name
+	 * @return columns of the table, null if table is not part of snapshot
+	 */
+	public Set<String> getColumns(String tableName)
+	{
+		Set<String> columns = tableColumns.get(tableName);
+		return (columns != null) ? Collections.unmodifiableSet(columns) : null;
+	}
+	
+	/**
+	 * Removes specified table from the snapshot. Used when the table structure is changed.
+	 * @param tableName table to remove
+	 */
+	public void removeTable(String tableName)
+	{
+		tableColumns.remove(tableName);
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.rdbms;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.yukthitech.persistence.query.Query;
+
+/**
+ * Cache of built sql query strings. Query strings are cached against template name and
+ * shape key of the query, so that query template processing is done only once for queries
+ * of same structure. Only the parameters need to be bound for subsequent executions.
+ *
+ * @author akiran
+ */
+public class SqlQueryCache
+{
+	/**
+	 * Default max number of queries to be cached.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 2000;
+
+	/**
+	 * Cached queries.
+	 */
+	private Map<String, String> queries = new ConcurrentHashMap<>();
+
+	/**
+	 * Max number of queries to be cached. Once the limit is reached, new query strings
+	 * will not be cached.
+	 */
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Flag indicating if caching is enabled.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Number of times query is served from cache.
+	 */
+	private AtomicLong hitCount = new AtomicLong();
+
+	/**
+	 * Number of times query has to be built.
+	 */
+	private AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Fetches query string for specified query from cache. If not found, query is built
+	 * using specified builder and cached.
+	 * @param templateName template name used to build the query
+	 * @param query query whose string is needed
+	 * @param builder builder to be used on cache miss
+	 * @return query string
+	 */
+	public String getQuery(String templateName, Query query, Supplier<String> builder)
+	{
+		if(!enabled)
+		{
+			return builder.get();
+		}
+
+		String key = templateName + "#" + query.getShapeKey();
+		String queryStr = queries.get(key);
+
+		if(queryStr != null)
+		{
+			hitCount.incrementAndGet();
+			return queryStr;
+		}
+
+		missCount.incrementAndGet();
+		queryStr = builder.get();
+
+		if(queries.size() < maxSize)
+		{
+			queries.put(key, queryStr);
+		}
+
+		return queryStr;
+	}
+
+	/**
+	 * Clears the cached queries and the statistics.
+	 */
+	public void clear()
+	{
+		queries.clear();
+		hitCount.set(0);
+		missCount.set(0);
+	}
+
+	/**
+	 * Gets the max number of queries to be cached.
+	 *
+	 * @return the max number of queries to be cached
+	 */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	/**
+	 * Sets the max number of queries to be cached.
+	 *
+	 * @param maxSize the new max number of queries to be cached
+	 */
+	public void setMaxSize(int maxSize)
+	{
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Checks if is flag indicating if caching is enabled.
+	 *
+	 * @return the flag indicating if caching is enabled
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Sets the flag indicating if caching is enabled.
+	 *
+	 * @param enabled the new flag indicating if caching is enabled
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Gets the number of queries currently cached.
+	 *
+	 * @return the number of queries cached
+	 */
+	public int getSize()
+	{
+		return queries.size();
+	}
+
+	/**
+	 * Gets the number of times query is served from cache.
+	 *
+	 * @return the number of times query is served from cache
+	 */
+	public long getHitCount()
+	{
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of times query has to be built.
+	 *
+	 * @return the number of times query has to be built
+	 */
+	public long getMissCount()
+	{
+		return missCount.get();
+	}
+}
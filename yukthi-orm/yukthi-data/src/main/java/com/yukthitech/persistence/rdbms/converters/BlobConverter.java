@@ -29,6 +29,7 @@ import java.sql.Blob;
 import org.apache.commons.io.IOUtils;
 
 import com.yukthitech.persistence.LobData;
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.UnsupportedOperationException;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.conversion.IPersistenceConverter;
@@ -70,6 +71,10 @@ public class BlobConverter implements IPersistenceConverter
 			{
 				is = new ByteArrayInputStream((byte[])dbObject);
 			}
+			else if(dbObject instanceof LobHandle)
+			{
+				return ((LobHandle)dbObject).toFile();
+			}
 			else if(dbObject instanceof Blob)
 			{
 				is = ((Blob)dbObject).getBinaryStream();			
@@ -92,6 +97,31 @@ public class BlobConverter implements IPersistenceConverter
 		}
 	}
 	
+	/**
+	 * Wraps specified db object into lob handle.
+	 * @param dbObject db object to wrap
+	 * @return lob handle for db object
+	 */
+	private LobHandle toLobHandle(Object dbObject)
+	{
+		if(dbObject instanceof LobHandle)
+		{
+			return (LobHandle)dbObject;
+		}
+		
+		if(dbObject instanceof byte[])
+		{
+			return new LobHandle((byte[])dbObject);
+		}
+		
+		if(dbObject instanceof Blob)
+		{
+			return new LobHandle((Blob)dbObject);
+		}
+
+		throw new UnsupportedOperationException("Unsupported blob db object encountered - " + dbObject.getClass().getName());
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.fw.persistence.conversion.IPersistenceConverter#convertToJavaType(java.lang.Object, com.fw.persistence.annotations.DataType, java.lang.Class)
 	 */
@@ -119,39 +149,48 @@ public class BlobConverter implements IPersistenceConverter
 			return file;
 		}
 		
-		//if db object is char[] and target is string
+		//if target java type is lob handle, return handle without reading content
+		if(LobHandle.class.equals(javaType))
+		{
+			return toLobHandle(dbObject);
+		}
+		
+		byte data[] = null;
+		
+		//if db object is byte[]
 		if(dbObject instanceof byte[])
 		{
+			data = (byte[])dbObject;
+		}
+		//if db object is lob handle
+		else if(dbObject instanceof LobHandle)
+		{
+			LobHandle handle = (LobHandle) dbObject;
+			
 			try
 			{
-				byte data[] = (byte[])dbObject;
-				
-				if(dbType == DataType.ZIP_BLOB)
-				{
-					data = ZipUtils.unzipBytes(data);
-				}
-				
-				if(byte[].class.equals(javaType))
-				{
-					return data;
-				}
-				
-				return readObject(new ByteArrayInputStream(data));
+				data = handle.readBytes();
+			}finally
+			{
+				handle.deleteSpilledFile();
+			}
+		}
+		//if db object is blob
+		else if(dbObject instanceof Blob)
+		{
+			try
+			{
+				data = IOUtils.toByteArray(((Blob)dbObject).getBinaryStream());
 			}catch(Exception ex)
 			{
 				throw new IllegalStateException("An error occurred while reading object from blob", ex);
 			}
 		}
 
-		//if db object is blob and target is string
-		if(dbObject instanceof Blob)
+		if(data != null)
 		{
-			Blob blob = (Blob)dbObject;
-			
 			try
 			{
-				byte data[] = IOUtils.toByteArray(blob.getBinaryStream());
-				
 				if(dbType == DataType.ZIP_BLOB)
 				{
 					data = ZipUtils.unzipBytes(data);
@@ -161,8 +200,8 @@ public class BlobConverter implements IPersistenceConverter
 				{
 					return data;
 				}
-
-				return readObject(blob.getBinaryStream());
+				
+				return readObject(new ByteArrayInputStream(data));
 			}catch(Exception ex)
 			{
 				throw new IllegalStateException("An error occurred while reading object from blob", ex);
@@ -201,6 +240,12 @@ public class BlobConverter implements IPersistenceConverter
 		{
 			return new LobData((byte[]) javaObject);
 		}
+		
+		//if java object is lob handle, stream its content
+		if(javaObject instanceof LobHandle)
+		{
+			return new LobData(((LobHandle) javaObject).openStream());
+		}
 			
 		//convert java object into byte[]
 		byte dataBytes[] = toBytes(javaObject);
@@ -17,15 +17,18 @@ package com.yukthitech.persistence.rdbms.converters;
 
 import java.io.CharArrayReader;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.Writer;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Clob;
 
 import org.apache.commons.io.IOUtils;
 
 import com.yukthitech.persistence.LobData;
+import com.yukthitech.persistence.LobHandle;
 import com.yukthitech.persistence.UnsupportedOperationException;
 import com.yukthitech.persistence.annotations.DataType;
 import com.yukthitech.persistence.conversion.IPersistenceConverter;
@@ -56,6 +59,39 @@ public class ClobConverter implements IPersistenceConverter
 			return convertToFile(dbObject);
 		}
 
+		//if target java type is lob handle, return handle without reading content
+		if(LobHandle.class.equals(javaType))
+		{
+			if(dbObject instanceof LobHandle)
+			{
+				return dbObject;
+			}
+			
+			if(dbObject instanceof char[])
+			{
+				return new LobHandle((char[])dbObject);
+			}
+			
+			if(dbObject instanceof Clob)
+			{
+				return new LobHandle((Clob)dbObject);
+			}
+		}
+
+		//if db object is lob handle
+		if(dbObject instanceof LobHandle)
+		{
+			LobHandle handle = (LobHandle) dbObject;
+			
+			try
+			{
+				return handle.readString();
+			}finally
+			{
+				handle.deleteSpilledFile();
+			}
+		}
+
 		//if db object is char[] and target is string
 		if(dbObject instanceof char[])
 		{
@@ -98,6 +134,10 @@ public class ClobConverter implements IPersistenceConverter
 			{
 				reader = new StringReader((String)dbObject);
 			}
+			else if(dbObject instanceof LobHandle)
+			{
+				return ((LobHandle)dbObject).toFile();
+			}
 			else if(dbObject instanceof Clob)
 			{
 				reader = ((Clob)dbObject).getCharacterStream();			
@@ -108,7 +148,7 @@ public class ClobConverter implements IPersistenceConverter
 			}
 	
 			File tempFile = File.createTempFile("temp", ".tmp");
-			FileWriter fos = new FileWriter(tempFile);
+			Writer fos = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8);
 			IOUtils.copy(reader, fos);
 			fos.close();
 			reader.close();
@@ -138,6 +178,12 @@ public class ClobConverter implements IPersistenceConverter
 			return new LobData((File)javaObject, true);
 		}
 		
+		//if java object is lob handle, stream its content
+		if(javaObject instanceof LobHandle)
+		{
+			return new LobData(((LobHandle)javaObject).openReader());
+		}
+		
 		//ensure java type is string
 		if(!(javaObject instanceof String))
 		{
@@ -19,13 +19,24 @@ import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import javax.persistence.Table;
 
 import org.apache.commons.lang3.reflect.TypeUtils;
 
+import com.yukthitech.persistence.EntityCache;
 import com.yukthitech.persistence.EntityDetails;
 import com.yukthitech.persistence.EntityDetailsFactory;
 import com.yukthitech.persistence.ICrudRepository;
@@ -33,9 +44,15 @@ import com.yukthitech.persistence.IDataStore;
 import com.yukthitech.persistence.IInternalRepository;
 import com.yukthitech.persistence.InvalidMappingException;
 import com.yukthitech.persistence.listeners.EntityListenerManager;
+import com.yukthitech.utils.exceptions.InvalidStateException;
 
 public class RepositoryFactory
 {
+	/**
+	 * Default number of lazy relations to be loaded in single query.
+	 */
+	public static final int DEFAULT_LAZY_LOAD_BATCH_SIZE = 50;
+	
 	/**
 	 * Name of the factory used for easy identification.
 	 */
@@ -43,8 +60,15 @@ public class RepositoryFactory
 	
 	private IDataStore dataStore;
 	
-	private Map<Class<?>, ICrudRepository<?>> typeToRepo = new HashMap<>();
-	private Map<Class<?>, ICrudRepository<?>> entityTypeToRepo = new HashMap<>();
+	/**
+	 * Repositories by repository type. Concurrent map is used so that lookups of created repositories need no locking.
+	 */
+	private Map<Class<?>, ICrudRepository<?>> typeToRepo = new ConcurrentHashMap<>();
+	
+	/**
+	 * Repositories by entity type.
+	 */
+	private Map<Class<?>, ICrudRepository<?>> entityTypeToRepo = new ConcurrentHashMap<>();
 
 	private boolean createTables;
 	
@@ -59,6 +83,23 @@ public class RepositoryFactory
 	
 	private IDataSourceCloser dataSourceCloser;
 	
+	/**
+	 * Max number of lazy relations (of same type, from same result) to be loaded in single query, 
+	 * when one of them is accessed. Value less than 2 disables batch loading.
+	 */
+	private int lazyLoadBatchSize = DEFAULT_LAZY_LOAD_BATCH_SIZE;
+	
+	/**
+	 * Executor used to execute asynchronous repository methods. When not specified, a default
+	 * pool of daemon threads is created on first usage.
+	 */
+	private Executor asyncExecutor;
+	
+	/**
+	 * Default executor created by this factory, which needs to be shutdown on close.
+	 */
+	private ExecutorService defaultAsyncExecutor;
+	
 	public IDataStore getDataStore()
 	{
 		return dataStore;
@@ -75,6 +116,113 @@ public class RepositoryFactory
 		this.dataSourceCloser = dataSourceCloser;
 	}
 	
+	/**
+	 * Gets the max number of lazy relations to be loaded in single query.
+	 *
+	 * @return the max number of lazy relations to be loaded in single query
+	 */
+	public int getLazyLoadBatchSize()
+	{
+		return lazyLoadBatchSize;
+	}
+
+	/**
+	 * Sets the max number of lazy relations to be loaded in single query. Value less than 2 disables batch loading.
+	 *
+	 * @param lazyLoadBatchSize the max number of lazy relations to be loaded in single query
+	 */
+	public void setLazyLoadBatchSize(int lazyLoadBatchSize)
+	{
+		this.lazyLoadBatchSize = lazyLoadBatchSize;
+	}
+
+	/**
+	 * Gets the executor used to execute asynchronous repository methods. If not specified explicitly, a default
+	 * cached pool of daemon threads will be created and used. As every asynchronous task uses its own transaction
+	 * (connection), pool size is effectively limited by the data source.
+	 *
+	 * @return the executor used to execute asynchronous repository methods
+	 */
+	public synchronized Executor getAsyncExecutor()
+	{
+		if(asyncExecutor != null)
+		{
+			return asyncExecutor;
+		}
+		
+		if(defaultAsyncExecutor == null)
+		{
+			AtomicInteger threadCount = new AtomicInteger(0);
+			String threadPrefix = "repository-async-" + (name != null ? name : "default") + "-";
+			
+			defaultAsyncExecutor = Executors.newCachedThreadPool(runnable -> 
+			{
+				Thread thread = new Thread(runnable, threadPrefix + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		
+		return defaultAsyncExecutor;
+	}
+
+	/**
+	 * Sets the executor used to execute asynchronous repository methods.
+	 *
+	 * @param asyncExecutor the new executor used to execute asynchronous repository methods
+	 */
+	public synchronized void setAsyncExecutor(Executor asyncExecutor)
+	{
+		this.asyncExecutor = asyncExecutor;
+	}
+	
+	/**
+	 * Executes specified action asynchronously using async executor of this factory. The action will be executed 
+	 * in its own transaction, that is, transaction of caller thread will not be used by the action.
+	 * @param action action to execute
+	 * @return future of the action result
+	 */
+	public <T> CompletableFuture<T> executeAsync(Supplier<T> action)
+	{
+		return CompletableFuture.supplyAsync(action, getAsyncExecutor());
+	}
+	
+	/**
+	 * Executes specified actions (typically repository finders) concurrently and waits for all of them to complete.
+	 * If any of the actions fail, the first failure (in the order of actions) is thrown.
+	 * @param actions actions to execute
+	 * @return results of the actions in the same order as actions
+	 */
+	public List<Object> executeConcurrently(Supplier<?>... actions)
+	{
+		List<CompletableFuture<?>> futures = new ArrayList<>(actions.length);
+		
+		for(Supplier<?> action : actions)
+		{
+			futures.add(executeAsync(action));
+		}
+		
+		List<Object> results = new ArrayList<>(actions.length);
+		
+		for(CompletableFuture<?> future : futures)
+		{
+			try
+			{
+				results.add(future.join());
+			}catch(CompletionException ex)
+			{
+				if(ex.getCause() instanceof RuntimeException)
+				{
+					throw (RuntimeException) ex.getCause();
+				}
+				
+				throw new InvalidStateException("An error occurred while executing concurrent action", ex.getCause());
+			}
+		}
+		
+		return results;
+	}
+
 	public boolean isCreateTables()
 	{
 		return createTables;
@@ -99,7 +247,7 @@ public class RepositoryFactory
 		return listenerManager;
 	}
 	
-	public ExecutorFactory getExecutorFactory()
+	public synchronized ExecutorFactory getExecutorFactory()
 	{
 		if(executorFactory == null)
 		{
@@ -109,7 +257,7 @@ public class RepositoryFactory
 		return executorFactory;
 	}
 
-	public void setExecutorFactory(ExecutorFactory executorFactory)
+	public synchronized void setExecutorFactory(ExecutorFactory executorFactory)
 	{
 		this.executorFactory = executorFactory;
 	}
@@ -163,8 +311,29 @@ public class RepositoryFactory
 	}
 	
 	@SuppressWarnings("unchecked")
-	public synchronized <R extends ICrudRepository<?>> R getRepository(Class<R> repositoryType)
+	public <R extends ICrudRepository<?>> R getRepository(Class<R> repositoryType)
+	{
+		//lock free lookup for already created repositories
+		R repo = (R)typeToRepo.get(repositoryType);
+		
+		if(repo != null)
+		{
+			return repo;
+		}
+		
+		return createRepository(repositoryType);
+	}
+	
+	/**
+	 * Creates the repository of specified type, if not created already. Creation is done under factory lock, 
+	 * so that a repository is created only once.
+	 * @param repositoryType type of repository to create
+	 * @return created repository
+	 */
+	@SuppressWarnings("unchecked")
+	private synchronized <R extends ICrudRepository<?>> R createRepository(Class<R> repositoryType)
 	{
+		//check again, as the repository might have been created while waiting for the lock
 		R repo = (R)typeToRepo.get(repositoryType);
 		
 		if(repo != null)
@@ -175,16 +344,88 @@ public class RepositoryFactory
 		EntityDetails entityDetails = fetchEntityDetails(repositoryType);
 		RepositoryProxy proxyImpl = new RepositoryProxy(dataStore, repositoryType, entityDetails, getExecutorFactory(), this);
 		
-		repo = (R)Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType, IInternalRepository.class}, proxyImpl);
+		return registerRepository(repositoryType, entityDetails, proxyImpl);
+	}
+	
+	/**
+	 * Creates repository proxy using specified proxy implementation and registers it.
+	 * @param repositoryType type of repository
+	 * @param entityDetails entity details of the repository
+	 * @param proxyImpl proxy implementation
+	 * @return registered repository
+	 */
+	@SuppressWarnings("unchecked")
+	private synchronized <R extends ICrudRepository<?>> R registerRepository(Class<R> repositoryType, EntityDetails entityDetails, RepositoryProxy proxyImpl)
+	{
+		R repo = (R)Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType, IInternalRepository.class}, proxyImpl);
 		typeToRepo.put(repositoryType, repo);
 		entityTypeToRepo.put(entityDetails.getEntityType(), repo);
 		
 		return repo;
 	}
 	
+	/**
+	 * Loads repositories of specified types in bulk, typically during application startup. Schema metadata
+	 * of all the tables is loaded in single pass and entity details are built in the specified order (table creation
+	 * of dependent entities is ordered by entity details monitor). Then the repositories, whose method parsing is 
+	 * independent of each other, are built in parallel using async executor.
+	 * @param repositoryTypes repository types to load
+	 */
+	public void loadRepositories(Collection<Class<? extends ICrudRepository<?>>> repositoryTypes)
+	{
+		List<Class<? extends ICrudRepository<?>>> pendingTypes = new ArrayList<>(repositoryTypes.size());
+		List<EntityDetails> entityDetailsList = new ArrayList<>(repositoryTypes.size());
+		
+		dataStore.loadSchemaMetadata();
+		
+		try
+		{
+			for(Class<? extends ICrudRepository<?>> repositoryType : repositoryTypes)
+			{
+				if(typeToRepo.containsKey(repositoryType))
+				{
+					continue;
+				}
+				
+				pendingTypes.add(repositoryType);
+				entityDetailsList.add(fetchEntityDetails(repositoryType));
+			}
+		}finally
+		{
+			dataStore.clearSchemaMetadata();
+		}
+		
+		ExecutorFactory executorFactory = getExecutorFactory();
+		Supplier<?> builders[] = new Supplier<?>[pendingTypes.size()];
+		
+		for(int i = 0; i < builders.length; i++)
+		{
+			Class<? extends ICrudRepository<?>> repositoryType = pendingTypes.get(i);
+			EntityDetails entityDetails = entityDetailsList.get(i);
+			
+			builders[i] = () -> new RepositoryProxy(dataStore, repositoryType, entityDetails, executorFactory, this);
+		}
+		
+		//note: lock on this factory should not be held here, as repository building may need generic repositories
+		List<Object> proxies = executeConcurrently(builders);
+		
+		synchronized(this)
+		{
+			for(int i = 0; i < builders.length; i++)
+			{
+				//ignore the repositories loaded by other threads in the meantime
+				if(!typeToRepo.containsKey(pendingTypes.get(i)))
+				{
+					registerRepository(pendingTypes.get(i), entityDetailsList.get(i), (RepositoryProxy) proxies.get(i));
+				}
+			}
+		}
+	}
+	
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	private synchronized ICrudRepository<?> getGenericRepository(Class<?> entityType)
 	{
+		//check again, as the repository might have been created while waiting for the lock
 		ICrudRepository<?> repo = entityTypeToRepo.get(entityType);
 		
 		if(repo != null)
@@ -205,6 +446,7 @@ public class RepositoryFactory
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	public <T> ICrudRepository<T> getRepositoryForEntity(Class<T> entityType)
 	{
+		//lock free lookup for already created repositories
 		ICrudRepository<?> repo = entityTypeToRepo.get(entityType);
 		
 		if(repo != null)
@@ -215,6 +457,17 @@ public class RepositoryFactory
 		return (ICrudRepository)getGenericRepository(entityType);
 	}
 	
+	/**
+	 * Fetches the second level cache of specified entity type, which can be used to inspect
+	 * cache statistics or to clear the cache.
+	 * @param entityType entity type whose cache needs to be fetched
+	 * @return entity cache, null if entity is not marked as cacheable
+	 */
+	public EntityCache getEntityCache(Class<?> entityType)
+	{
+		return getRepositoryForEntity(entityType).getEntityDetails().getEntityCache();
+	}
+	
 	/**
 	 * Drops the specified entity type table and cleans up local caches
 	 * @param entityType
@@ -284,6 +537,15 @@ public class RepositoryFactory
 	
 	public void close() throws SQLException
 	{
+		synchronized(this)
+		{
+			if(defaultAsyncExecutor != null)
+			{
+				defaultAsyncExecutor.shutdown();
+				defaultAsyncExecutor = null;
+			}
+		}
+		
 		dataStore.close(dataSourceCloser);
 	}
 
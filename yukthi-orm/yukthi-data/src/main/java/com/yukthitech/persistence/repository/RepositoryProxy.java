@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
@@ -35,6 +36,7 @@ import com.yukthitech.persistence.ITransaction;
 import com.yukthitech.persistence.JoinTableDetails;
 import com.yukthitech.persistence.PersistenceException;
 import com.yukthitech.persistence.TransactionException;
+import com.yukthitech.persistence.metrics.StatementMetricsContext;
 import com.yukthitech.persistence.query.DropTableQuery;
 import com.yukthitech.persistence.repository.annotations.NotExecutableMethod;
 import com.yukthitech.persistence.repository.executors.QueryExecutionContext;
@@ -67,6 +69,16 @@ class RepositoryProxy implements InvocationHandler
 	
 	private ExecutorFactory executorFactory;
 	
+	/**
+	 * Metrics context of executable methods, which are used to key the statement metrics.
+	 */
+	private Map<String, StatementMetricsContext> methodToMetricsContext = new HashMap<>();
+	
+	/**
+	 * Names of methods which are expected to be executed asynchronously.
+	 */
+	private Set<String> asyncMethods = new HashSet<>();
+	
 	public RepositoryProxy(IDataStore dataStore, Class<? extends ICrudRepository<?>> repositoryType, EntityDetails entityDetails, 
 			ExecutorFactory executorFactory, RepositoryFactory repositoryFactory)
 	{
@@ -122,6 +134,13 @@ class RepositoryProxy implements InvocationHandler
 			if(queryExecutor != null)
 			{
 				methodToExecutor.put(methodName, queryExecutor);
+				methodToMetricsContext.put(methodName, new StatementMetricsContext(repositoryType, methodName));
+				
+				if(QueryExecutor.isAsyncMethod(method))
+				{
+					asyncMethods.add(methodName);
+				}
+				
 				continue;
 			}
 			
@@ -154,16 +173,48 @@ class RepositoryProxy implements InvocationHandler
 			return defaultedMethods.get(methodName).apply(args);
 		}
 		
+		//async methods are executed on executor thread, and so will use their own transaction
+		if(asyncMethods.contains(methodName))
+		{
+			return CompletableFuture.supplyAsync(() -> executeMethod(methodName, args), repositoryFactory.getAsyncExecutor());
+		}
+		
+		return executeMethod(methodName, args);
+	}
+	
+	/**
+	 * Executes specified method using its query executor.
+	 * @param methodName method to execute
+	 * @param args arguments to the method
+	 * @return result of execution
+	 */
+	private Object executeMethod(String methodName, Object args[])
+	{
+		StatementMetricsContext prevMetricsContext = StatementMetricsContext.enter(methodToMetricsContext.get(methodName));
+		Boolean prevReadOnlyMode = null;
+		
 		try
 		{
+			QueryExecutor queryExecutor = methodToExecutor.get(methodName);
+			
+			//read-only methods can be served by read replicas, while other methods (even if nested) should use primary
+			prevReadOnlyMode = dataStore.getTransactionManager().setReadOnlyMode(queryExecutor.isReadOnly());
+			
 			logger.debug("Executing repository method {}.{}()", repositoryType.getName(), methodName);
 			
-			QueryExecutor queryExecutor = methodToExecutor.get(method.getName());
 			return queryExecutor.execute(queryExecutionContext, dataStore, dataStore.getConversionService(), args);
 		}catch(RuntimeException ex)
 		{
-			logger.debug("An error occurred while executing method: " + method.getName() + "\nError: " + ex);
+			logger.debug("An error occurred while executing method: " + methodName + "\nError: " + ex);
 			throw ex;
+		}finally
+		{
+			StatementMetricsContext.exit(prevMetricsContext);
+			
+			if(prevReadOnlyMode != null)
+			{
+				dataStore.getTransactionManager().setReadOnlyMode(prevReadOnlyMode);
+			}
 		}
 	}
 
@@ -15,8 +15,14 @@
  */
 package com.yukthitech.persistence.repository.executors;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,9 +35,9 @@ import com.yukthitech.persistence.IDataStore;
 import com.yukthitech.persistence.UniqueConstraintDetails;
 import com.yukthitech.persistence.UniqueConstraintViolationException;
 import com.yukthitech.persistence.conversion.ConversionService;
-import com.yukthitech.persistence.query.AggregateQuery;
+import com.yukthitech.persistence.query.ConstraintCheckQuery;
+import com.yukthitech.persistence.query.ConstraintCheckQuery.ExistenceCheck;
 import com.yukthitech.persistence.query.QueryCondition;
-import com.yukthitech.persistence.repository.annotations.AggregateFunctionType;
 import com.yukthitech.persistence.repository.annotations.JoinOperator;
 import com.yukthitech.persistence.repository.annotations.Operator;
 import com.yukthitech.utils.CommonUtils;
@@ -40,6 +46,90 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 {
 	private static Logger logger = LogManager.getLogger(AbstractPersistQueryExecutor.class);
 	
+	/**
+	 * Max number of constraint checks to be combined into single query.
+	 */
+	private static final int MAX_CHECKS_PER_QUERY = 100;
+	
+	/**
+	 * Pending constraint checks, which are executed together as single query.
+	 * @author akiran
+	 */
+	private class ConstraintChecks
+	{
+		/**
+		 * Data store to be used.
+		 */
+		private IDataStore dataStore;
+		
+		/**
+		 * Query being built.
+		 */
+		private ConstraintCheckQuery query;
+		
+		/**
+		 * Expected existence flag of each check of the query.
+		 */
+		private List<Boolean> expectedResults = new ArrayList<>();
+		
+		/**
+		 * Exception suppliers to be used when corresponding check fails.
+		 */
+		private List<Supplier<RuntimeException>> violations = new ArrayList<>();
+		
+		public ConstraintChecks(IDataStore dataStore)
+		{
+			this.dataStore = dataStore;
+			this.query = new ConstraintCheckQuery(entityDetails);
+		}
+		
+		public ExistenceCheck addCheck(EntityDetails targetEntityDetails)
+		{
+			return query.addCheck(targetEntityDetails);
+		}
+		
+		/**
+		 * Sets the expectation for the last added check.
+		 * @param exists expected existence of records
+		 * @param violation supplier of exception to be thrown when expectation is not met
+		 */
+		public void expect(boolean exists, Supplier<RuntimeException> violation)
+		{
+			expectedResults.add(exists);
+			violations.add(violation);
+		}
+		
+		public int size()
+		{
+			return expectedResults.size();
+		}
+		
+		/**
+		 * Executes pending checks, if any, and throws exception for first failed check.
+		 */
+		public void execute()
+		{
+			if(expectedResults.isEmpty())
+			{
+				return;
+			}
+			
+			boolean results[] = dataStore.checkExistence(query);
+			
+			for(int i = 0; i < results.length; i++)
+			{
+				if(results[i] != expectedResults.get(i))
+				{
+					throw violations.get(i).get();
+				}
+			}
+			
+			query = new ConstraintCheckQuery(entityDetails);
+			expectedResults.clear();
+			violations.clear();
+		}
+	}
+	
 	private String formatMessage(String messageTemplate, Map<String, Object> context)
 	{
 		if(messageTemplate == null || messageTemplate.trim().length() == 0)
@@ -50,15 +140,65 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 		return CommonUtils.replaceExpressions(context, messageTemplate, null);
 	}
 	
-	protected void checkForUniqueConstraints(IDataStore dataStore, ConversionService conversionService, Object entity, boolean excludeId)
+	/**
+	 * Checks the unique and foreign constraints (as required by the data store) of specified entities. Checks of all
+	 * entities are combined into existence queries (each having max {@link #MAX_CHECKS_PER_QUERY} checks), so that
+	 * validation of an entity needs single round trip and validation of a batch needs few round trips. Unique constraint
+	 * violations among the specified entities themselves are also detected.
+	 * @param dataStore data store to be used
+	 * @param conversionService conversion service to be used
+	 * @param entities entities to be checked
+	 * @param excludeId if true, entity's own record will be excluded during unique checks (needed during updates)
+	 */
+	protected void checkForConstraints(IDataStore dataStore, ConversionService conversionService, Collection<?> entities, boolean excludeId)
 	{
-		logger.trace("Started method: checkForUniqueConstraints");
+		boolean uniqueCheck = dataStore.isExplicitUniqueCheckRequired();
+		boolean foreignCheck = dataStore.isExplicitForeignCheckRequired();
+		
+		if(!uniqueCheck && !foreignCheck)
+		{
+			return;
+		}
+		
+		logger.trace("Started method: checkForConstraints");
+		
+		ConstraintChecks checks = new ConstraintChecks(dataStore);
+		Map<UniqueConstraintDetails, Set<List<Object>>> batchValues = (entities.size() > 1) ? new HashMap<>() : null;
+		
+		for(Object entity : entities)
+		{
+			if(uniqueCheck)
+			{
+				addUniqueChecks(checks, conversionService, entity, excludeId, batchValues);
+			}
+			
+			if(foreignCheck)
+			{
+				addForeignChecks(checks, conversionService, entity);
+			}
+			
+			if(checks.size() >= MAX_CHECKS_PER_QUERY)
+			{
+				checks.execute();
+			}
+		}
 		
-		AggregateQuery existenceQuery = new AggregateQuery(entityDetails, AggregateFunctionType.COUNT, entityDetails.getIdField().getDbColumnName());
+		checks.execute();
+	}
+	
+	/**
+	 * Adds existence checks for unique constraints of specified entity.
+	 * @param checks checks to which new checks should be added
+	 * @param conversionService conversion service to be used
+	 * @param entity entity being checked
+	 * @param excludeId if true, entity's own record will be excluded
+	 * @param batchValues if not null, used to detect unique constraint violations within current batch
+	 */
+	private void addUniqueChecks(ConstraintChecks checks, ConversionService conversionService, Object entity, boolean excludeId, 
+			Map<UniqueConstraintDetails, Set<List<Object>>> batchValues)
+	{
 		FieldDetails fieldDetails = null;
 		Object value = null;
-		String message = null;
-		Map<String, Object> fieldValues = new HashMap<>();
 		
 		//validate unique constraint violation is not happening
 		for(UniqueConstraintDetails uniqueConstraint: entityDetails.getUniqueConstraints())
@@ -68,8 +208,10 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 				continue;
 			}
 			
-			existenceQuery.clearConditions();
-			fieldValues.clear();
+			ExistenceCheck existenceCheck = checks.addCheck(entityDetails);
+			Map<String, Object> fieldValues = new HashMap<>();
+			List<Object> values = new ArrayList<>();
+			boolean hasNullValue = false;
 			
 			for(String field: uniqueConstraint.getFields())
 			{
@@ -78,41 +220,49 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 				value = fieldDetails.getValue(entity);
 				value = conversionService.convertToDBType(value, fieldDetails);
 				
-				existenceQuery.addCondition(new QueryCondition(null, fieldDetails.getDbColumnName(), Operator.EQ, value, JoinOperator.AND, false));
+				existenceCheck.addCondition(new QueryCondition(null, fieldDetails.getDbColumnName(), Operator.EQ, value, JoinOperator.AND, false));
 				fieldValues.put(field, value);
+				values.add(value);
+				hasNullValue |= (value == null);
 			}
 			
 			if(excludeId)
 			{
-				existenceQuery.addCondition(new QueryCondition(null, entityDetails.getIdField().getDbColumnName(), Operator.NE, entityDetails.getIdField().getValue(entity), JoinOperator.AND, false));
+				existenceCheck.addCondition(new QueryCondition(null, entityDetails.getIdField().getDbColumnName(), Operator.NE, entityDetails.getIdField().getValue(entity), JoinOperator.AND, false));
 			}
 			
-			if(dataStore.fetchAggregateValue(existenceQuery, entityDetails) > 0)
+			Supplier<RuntimeException> violation = () -> 
 			{
-				message = formatMessage(uniqueConstraint.getMessage(), fieldValues);
+				String message = formatMessage(uniqueConstraint.getMessage(), fieldValues);
 				message = (message != null) ? message : "Unique constraint violated: " + uniqueConstraint.getName();
 				
-				throw new UniqueConstraintViolationException(entityDetails.getEntityType(), uniqueConstraint.getFields().toArray(new String[0]), 
+				return new UniqueConstraintViolationException(entityDetails.getEntityType(), uniqueConstraint.getFields().toArray(new String[0]), 
 						uniqueConstraint.getName(), message);
+			};
+			
+			checks.expect(false, violation);
+			
+			//if same values are already used by other entity of the batch
+			//	(like db, nulls are not considered equal, so values with null are never considered duplicates)
+			if(batchValues != null && !hasNullValue && !batchValues.computeIfAbsent(uniqueConstraint, key -> new HashSet<>()).add(values))
+			{
+				//violations of preceding entities should take precedence
+				checks.execute();
+				throw violation.get();
 			}
 		}
 	}
 	
-	protected void checkForForeignConstraints(IDataStore dataStore, ConversionService conversionService, Object entity)
+	/**
+	 * Adds existence checks for foreign constraints (owned by current entity) of specified entity.
+	 * @param checks checks to which new checks should be added
+	 * @param conversionService conversion service to be used
+	 * @param entity entity being checked
+	 */
+	private void addForeignChecks(ConstraintChecks checks, ConversionService conversionService, Object entity)
 	{
-		//if explicit foreign key validation is not required
-		if(!dataStore.isExplicitForeignCheckRequired())
-		{
-			return;
-		}
-		
-		logger.trace("Started method: checkForForeignConstraints");
-		
-		AggregateQuery existenceQuery = null;
 		Object value = null;
-		String message = null;
 		EntityDetails foreignEntityDetails = null;
-		
 		FieldDetails ownerFieldDetails = null;
 		
 		//validate foreign constraint violation is not happening
@@ -124,15 +274,18 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 				continue;
 			}
 			
-			//create existence query that needs to be executed against parent table
-			existenceQuery = new AggregateQuery(foreignConstraint.getTargetEntityDetails(), AggregateFunctionType.COUNT, 
-					foreignConstraint.getTargetEntityDetails().getIdField().getDbColumnName());
-
 			foreignEntityDetails = foreignConstraint.getTargetEntityDetails();
-			ownerFieldDetails = foreignEntityDetails.getFieldDetailsByField(foreignConstraint.getOwnerField().getName());
+			ownerFieldDetails = entityDetails.getFieldDetailsByField(foreignConstraint.getOwnerField().getName());
 
 			value = ownerFieldDetails.getValue(entity);
-			value = conversionService.convertToDBType(value, ownerFieldDetails);
+			
+			//for relation fields, existence of related entity id has to be checked
+			if(value != null && ownerFieldDetails.isRelationField())
+			{
+				value = foreignEntityDetails.getIdField().getValue(value);
+			}
+			
+			value = conversionService.convertToDBType(value, foreignEntityDetails.getIdField());
 
 			//if no value is defined for relationship
 			if(value == null)
@@ -140,15 +293,17 @@ public abstract class AbstractPersistQueryExecutor extends QueryExecutor
 				continue;
 			}
 			
-			existenceQuery.addCondition(new QueryCondition(null, foreignEntityDetails.getIdField().getDbColumnName(), Operator.EQ, value, JoinOperator.AND, false));
+			//existence check that needs to be executed against parent table
+			checks.addCheck(foreignEntityDetails)
+				.addCondition(new QueryCondition(null, foreignEntityDetails.getIdField().getDbColumnName(), Operator.EQ, value, JoinOperator.AND, false));
 			
-			if(dataStore.fetchAggregateValue(existenceQuery, foreignEntityDetails) <= 0)
+			checks.expect(true, () -> 
 			{
-				message = "Foreign constraint violated: " + foreignConstraint.getConstraintName();
+				String message = "Foreign constraint violated: " + foreignConstraint.getConstraintName();
 				
 				logger.error(message);
-				throw new ForeignConstraintViolationException(entityDetails.getEntityType(), foreignConstraint.getConstraintName(), message);
-			}
+				return new ForeignConstraintViolationException(entityDetails.getEntityType(), foreignConstraint.getConstraintName(), message);
+			});
 		}
 	}
 }
@@ -22,17 +22,25 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.yukthitech.persistence.FieldDetails;
+import com.yukthitech.persistence.ICloseableIterator;
 import com.yukthitech.persistence.ICrudRepository;
 import com.yukthitech.persistence.InvalidMappingException;
+import com.yukthitech.persistence.Record;
+import com.yukthitech.persistence.conversion.ConversionService;
 import com.yukthitech.persistence.repository.InvalidRepositoryException;
 import com.yukthitech.persistence.repository.annotations.ExtendedFieldNames;
+import com.yukthitech.persistence.repository.annotations.FetchSize;
 import com.yukthitech.persistence.repository.annotations.Field;
 import com.yukthitech.persistence.repository.annotations.FirstRowOnly;
 import com.yukthitech.persistence.repository.annotations.OrderBy;
@@ -46,6 +54,7 @@ import com.yukthitech.utils.PropertyAccessor;
 import com.yukthitech.utils.PropertyAccessor.Property;
 import com.yukthitech.utils.annotations.RecursiveAnnotationFactory;
 import com.yukthitech.utils.exceptions.InvalidConfigurationException;
+import com.yukthitech.utils.exceptions.InvalidStateException;
 
 /**
  * Provides common base functionality for search query type executors - Finder and Search queries
@@ -63,6 +72,17 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 	
 	protected Class<?> collectionReturnType = null;
 	
+	/**
+	 * Cursor type (stream or closeable iterator) expected as return type. In which case results
+	 * are read lazily from db.
+	 */
+	protected Class<?> cursorReturnType = null;
+	
+	/**
+	 * Number of rows to be fetched in single round trip, when cursor is used. Zero indicates default fetch size.
+	 */
+	protected int fetchSize = 0;
+	
 	/**
 	 * Flag indicating only first row only should be fetched.
 	 */
@@ -192,20 +212,31 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 	{
 		logger.trace("Started method: fetchReturnDetails");
 		
-		this.returnType = method.getReturnType();
-		this.genericReturnType = method.getGenericReturnType();
+		this.returnType = getReturnType(method);
+		this.genericReturnType = getGenericReturnType(method);
 		
 		if(void.class.equals(this.returnType))
 		{
 			throw new InvalidRepositoryException("Found void return type, when return type is expected. [Repository: {}, Method: {}]", repositoryType.getName(), method.getName());
 		}
 		
+		//if cursor is expected as result, results will be read lazily
+		if(Stream.class.equals(returnType) || ICloseableIterator.class.equals(returnType))
+		{
+			this.cursorReturnType = returnType;
+			
+			ParameterizedType type = (ParameterizedType)getGenericReturnType(method);
+			this.returnType = TypeUtils.getRawType(type.getActualTypeArguments()[0], repositoryType);
+			
+			FetchSize fetchSizeAnnot = recursiveAnnotationFactory.findAnnotationRecursively(method, FetchSize.class);
+			this.fetchSize = (fetchSizeAnnot != null) ? fetchSizeAnnot.value() : 0;
+		}
 		//TODO: Support map types
-		if(Collection.class.isAssignableFrom(returnType))
+		else if(Collection.class.isAssignableFrom(returnType))
 		{
 			this.collectionReturnType = getCollectionType(returnType, method.getName());
 			
-			ParameterizedType type = (ParameterizedType)method.getGenericReturnType();
+			ParameterizedType type = (ParameterizedType)getGenericReturnType(method);
 			Type typeArgs[] = type.getActualTypeArguments();
 			
 			if(typeArgs.length != 1)
@@ -218,7 +249,7 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 		}
 		else
 		{
-			this.returnType = TypeUtils.getRawType(method.getGenericReturnType(), repositoryType);
+			this.returnType = TypeUtils.getRawType(getGenericReturnType(method), repositoryType);
 		}
 		
 		SearchResult searchResult = recursiveAnnotationFactory.findAnnotationRecursively(method, SearchResult.class);
@@ -240,10 +271,10 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 			//In case of converted field type (json fields, etc), if return type matches with field type,
 			// 	then actual return type should be used (even in case of collection return type), not collection element type
 			if(fieldDetails != null && !fieldDetails.isRelationField() && 
-				fieldDetails.getField().getGenericType().equals(method.getGenericReturnType()))
+				fieldDetails.getField().getGenericType().equals(getGenericReturnType(method)))
 			{
 				this.collectionReturnType = null;
-				this.returnType = method.getReturnType();
+				this.returnType = getReturnType(method);
 			}
 			
 			conditionQueryBuilder.addResultField(null, this.returnType, this.genericReturnType, field.value(), methodDesc);
@@ -368,6 +399,36 @@ public abstract class AbstractSearchQuery extends QueryExecutor
 		return -1;
 	}
 
+	/**
+	 * Converts specified record cursor into required cursor return type, which converts
+	 * records into result beans lazily.
+	 * @param cursor record cursor to be converted
+	 * @param conditionQueryBuilder query builder to be used to parse records
+	 * @param conversionService conversion service to be used
+	 * @return stream or closeable iterator, based on return type
+	 */
+	protected Object toCursorResult(ICloseableIterator<Record> cursor, ConditionQueryBuilder conditionQueryBuilder, ConversionService conversionService)
+	{
+		ResultCursor<Object> resultCursor = new ResultCursor<>(cursor, record -> 
+		{
+			try
+			{
+				return conditionQueryBuilder.parseResult(record, returnType, conversionService, persistenceExecutionContext);
+			}catch(Exception ex)
+			{
+				throw new InvalidStateException("An error occurred while converting record object into result bean of type: {}", returnType.getName(), ex);
+			}
+		});
+		
+		if(ICloseableIterator.class.equals(cursorReturnType))
+		{
+			return resultCursor;
+		}
+		
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultCursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(resultCursor::close);
+	}
+	
 	/**
 	 * Gets the collection return type.
 	 *
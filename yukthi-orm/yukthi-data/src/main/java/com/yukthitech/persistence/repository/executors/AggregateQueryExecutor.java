@@ -87,7 +87,7 @@ public class AggregateQueryExecutor extends QueryExecutor
 		
 		super.fetchMethodLevelConditions(method, conditionQueryBuilder, methodDesc, true);
 		
-		this.returnType = method.getReturnType();
+		this.returnType = getReturnType(method);
 		
 		if(!SUPPORTED_RETURN_TYPES.contains(returnType))
 		{
@@ -115,6 +115,8 @@ public class AggregateQueryExecutor extends QueryExecutor
 			
 			this.column = fieldDetails.getDbColumnName();
 		}
+		
+		super.markReadOnly(method);
 	}
 	
 	/* (non-Javadoc)
@@ -17,13 +17,17 @@ package com.yukthitech.persistence.repository.executors;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.yukthitech.persistence.ChildConstraintViolationException;
+import com.yukthitech.persistence.EntityCache;
 import com.yukthitech.persistence.EntityDetails;
 import com.yukthitech.persistence.FieldDetails;
 import com.yukthitech.persistence.ForeignConstraintDetails;
@@ -31,14 +35,20 @@ import com.yukthitech.persistence.ICrudRepository;
 import com.yukthitech.persistence.IDataStore;
 import com.yukthitech.persistence.ITransaction;
 import com.yukthitech.persistence.PersistenceException;
+import com.yukthitech.persistence.Record;
 import com.yukthitech.persistence.conversion.ConversionService;
 import com.yukthitech.persistence.listeners.EntityEventType;
-import com.yukthitech.persistence.query.ChildrenExistenceQuery;
+import com.yukthitech.persistence.query.AggregateQuery;
 import com.yukthitech.persistence.query.DeleteQuery;
-import com.yukthitech.persistence.query.FetchChildrenIdsQuery;
-import com.yukthitech.persistence.query.IChildQuery;
+import com.yukthitech.persistence.query.FinderQuery;
 import com.yukthitech.persistence.query.QueryCondition;
+import com.yukthitech.persistence.query.QueryJoinCondition;
+import com.yukthitech.persistence.query.QueryResultField;
+import com.yukthitech.persistence.query.Subquery;
 import com.yukthitech.persistence.repository.InvalidRepositoryException;
+import com.yukthitech.persistence.repository.annotations.AggregateFunctionType;
+import com.yukthitech.persistence.repository.annotations.JoinOperator;
+import com.yukthitech.persistence.repository.annotations.Operator;
 import com.yukthitech.persistence.repository.executors.builder.ConditionQueryBuilder;
 
 /**
@@ -56,6 +66,11 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 	private ConditionQueryBuilder conditionQueryBuilder;
 	private String methodDesc;
 	
+	/**
+	 * Flag indicating if this executor represents delete-by-id method of crud repository. Used
+	 * to invalidate single entry from entity cache.
+	 */
+	private boolean idDelete = false;
 	
 	public DeleteQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
 	{
@@ -74,45 +89,68 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 		
 		super.fetchMethodLevelConditions(method, conditionQueryBuilder, methodDesc, false);
 		
-		returnType = method.getReturnType();
+		returnType = getReturnType(method);
 		
 		if(!boolean.class.equals(returnType) && !void.class.equals(returnType) && !int.class.equals(returnType))
 		{
 			throw new InvalidRepositoryException("Delete method '" + method.getName() + "' found with non-boolean, non-void and non-int return type in repository: " + repositoryType.getName());
 		}
+		
+		idDelete = ICrudRepository.class.equals(method.getDeclaringClass()) && "deleteById".equals(method.getName());
 	}
 	
-	private void populateChildQuery(ForeignConstraintDetails childConstraint, DeleteQuery deleteQuery, IChildQuery childQuery, 
-			IDataStore dataStore, ConversionService conversionService, Object... params)
+	/**
+	 * Fetches the column of child entity, which refers to parent entity, for specified child constraint.
+	 * @param childConstraint child constraint
+	 * @return foreign key column name
+	 */
+	private String getForeignKeyColumn(ForeignConstraintDetails childConstraint)
 	{
-		logger.trace("Started method: populateChildQuery");
-		
-		//add conditions from main delete query as parent conditions
-		if(deleteQuery.getConditions() != null)
-		{
-			for(QueryCondition condition: deleteQuery.getConditions())
-			{
-				childQuery.addParentCondition(condition.clone());
-			}
-		}
-		
-		//add parent to child mappings
 		Field ownerField = childConstraint.getOwnerField();
 		FieldDetails ownerFieldDetails = childConstraint.getOwnerEntityDetails().getFieldDetailsByField(ownerField.getName());
-		EntityDetails childTargetEntity = childConstraint.getTargetEntityDetails();
 		
-		childQuery.addMapping( ownerFieldDetails.getDbColumnName(), childTargetEntity.getIdField().getDbColumnName());
+		return ownerFieldDetails.getDbColumnName();
+	}
+	
+	/**
+	 * Creates condition which checks specified foreign key column is referring to ids returned by specified parent id query.
+	 * @param tableCode table code of the column
+	 * @param foreignKeyColumn foreign key column
+	 * @param parentIdQuery query fetching parent ids
+	 * @return built condition
+	 */
+	private QueryCondition newParentCondition(String tableCode, String foreignKeyColumn, Subquery parentIdQuery)
+	{
+		QueryCondition condition = new QueryCondition(tableCode, foreignKeyColumn, Operator.IN, null, JoinOperator.AND, false);
+		condition.setSubquery(parentIdQuery);
+		
+		return condition;
+	}
+	
+	/**
+	 * Creates subquery which fetches the ids of entities (of specified type) matching with specified conditions.
+	 * @param entityDetails entity whose ids needs to be fetched
+	 * @param tableCode table code to be used
+	 * @return id subquery
+	 */
+	private Subquery newIdQuery(EntityDetails entityDetails, String tableCode)
+	{
+		Subquery idQuery = new Subquery(entityDetails, tableCode);
+		idQuery.addResultField(new QueryResultField(tableCode, entityDetails.getIdField().getDbColumnName(), null));
+		
+		return idQuery;
 	}
 	
 	/**
-	 * Based on the "deleteCascade" enabled on child tables, child entities will be deleted recursively. 
-	 * If deleteCascade is false, then this method ensures no child entities are refering the entity being deleted. If not an error will be thrown.
+	 * Based on the "deleteCascade" enabled on child tables, child entities will be deleted. Complete cascade closure
+	 * is computed from child constraints and every level is deleted with single set based query (using parent ids as subquery),
+	 * bottom-up. 
+	 * If deleteCascade is false, then this method ensures no child entities are refering the entities being deleted. If not an error will be thrown.
 	 * Note - This functionality is mainly required for NO SQL DBs.
 	 * @param dataStore
-	 * @param conversionService
-	 * @param params
+	 * @param deleteQuery main delete query
 	 */
-	private void processChildConstraints(IDataStore dataStore, DeleteQuery deleteQuery, ConversionService conversionService, Object... params)
+	private void processChildConstraints(IDataStore dataStore, DeleteQuery deleteQuery)
 	{
 		logger.trace("Started method: processChildConstraints");
 		
@@ -124,48 +162,165 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 			return;
 		}
 		
-		//DeleteChildrenQuery deleteChildQuery = null;
-		ChildrenExistenceQuery childrenExistenceQuery = null;
+		//build query to fetch ids of entities being deleted, using main delete query conditions
+		Subquery parentIdQuery = newIdQuery(entityDetails, deleteQuery.getDefaultTableCode());
 		
-		//loop through child constraints
+		if(deleteQuery.getConditions() != null)
+		{
+			for(QueryCondition condition: deleteQuery.getConditions())
+			{
+				parentIdQuery.addCondition(condition.clone());
+			}
+		}
+		
+		for(QueryJoinCondition joinCondition : deleteQuery.getJoinConditions())
+		{
+			parentIdQuery.addJoinCondition(joinCondition);
+		}
+		
+		Set<EntityDetails> path = new HashSet<>();
+		path.add(entityDetails);
+		
+		deleteChildren(dataStore, entityDetails, parentIdQuery, path, new AtomicInteger(0));
+	}
+	
+	/**
+	 * Deletes the children (recursively) of parent entities returned by specified parent id query. Before deleting
+	 * children, it is ensured that no non-cascaded children are referring to the parent entities.
+	 * @param dataStore data store to use
+	 * @param parentEntity parent entity type
+	 * @param parentIdQuery query fetching ids of parent entities being deleted
+	 * @param path entities being processed in current recursion path, used to detect cyclic relations
+	 * @param tableCodeCounter counter used to generate unique table codes for subqueries
+	 */
+	private void deleteChildren(IDataStore dataStore, EntityDetails parentEntity, Subquery parentIdQuery, Set<EntityDetails> path, AtomicInteger tableCodeCounter)
+	{
+		List<ForeignConstraintDetails> childConstraints = parentEntity.getChildConstraints();
+		
+		if(childConstraints == null || childConstraints.isEmpty())
+		{
+			return;
+		}
+		
+		//ensure no non-cascaded children refer to entities being deleted
 		for(ForeignConstraintDetails childConstraint: childConstraints)
 		{
-			//if delete cascade is enabled
 			if(childConstraint.isDeleteCascaded())
 			{
-				//fetch child entity ids referring to current entity
-				//  This is needed to perform delete recursively
-				FetchChildrenIdsQuery fetchChildrenIdsQuery = new FetchChildrenIdsQuery(childConstraint.getOwnerEntityDetails(), entityDetails);
-				populateChildQuery(childConstraint, deleteQuery, fetchChildrenIdsQuery, dataStore, conversionService, params);
-				
-				List<Object> childrenIds = dataStore.fetchChildrenIds(fetchChildrenIdsQuery);
-				
-				//if child entities are present
-				if(childrenIds != null)
-				{
-					//execute delete on child entities recursively 
-					ICrudRepository<?> childRepository = super.getCrudRepository(childConstraint.getOwnerEntityDetails().getEntityType());
-					
-					for(Object childId: childrenIds)
-					{
-						childRepository.deleteById(childId);
-					}
-				}
+				continue;
+			}
+			
+			EntityDetails childEntity = childConstraint.getOwnerEntityDetails();
+			String childTableCode = "CD" + tableCodeCounter.incrementAndGet();
+			String foreignKeyColumn = getForeignKeyColumn(childConstraint);
+			
+			AggregateQuery countQuery = new AggregateQuery(childEntity, AggregateFunctionType.COUNT, foreignKeyColumn);
+			countQuery.setDefaultTableCode(childTableCode);
+			countQuery.addCondition(newParentCondition(childTableCode, foreignKeyColumn, parentIdQuery));
+			
+			Double count = dataStore.fetchAggregateValue(countQuery, childEntity);
+			
+			if(count != null && count > 0)
+			{
+				throw new ChildConstraintViolationException(childConstraint.getConstraintName(), "Found child items of type '" 
+						+ childEntity.getEntityType().getName() + "'");
 			}
-			//if delete cascade is not enabled
-			else
+		}
+		
+		//delete cascaded children, bottom-up
+		for(ForeignConstraintDetails childConstraint: childConstraints)
+		{
+			if(!childConstraint.isDeleteCascaded())
 			{
-				//check if any child entities are referring to current entity
-				childrenExistenceQuery = new ChildrenExistenceQuery(childConstraint.getOwnerEntityDetails(), entityDetails);
-				
-				populateChildQuery(childConstraint, deleteQuery, childrenExistenceQuery, dataStore, conversionService, params);
+				continue;
+			}
+			
+			EntityDetails childEntity = childConstraint.getOwnerEntityDetails();
+			String childTableCode = "CD" + tableCodeCounter.incrementAndGet();
+			String foreignKeyColumn = getForeignKeyColumn(childConstraint);
+			
+			//for cyclic relations (like self references) depth is not known, so children are deleted one by one recursively
+			if(path.contains(childEntity))
+			{
+				deleteChildrenById(dataStore, childEntity, childTableCode, foreignKeyColumn, parentIdQuery);
+				continue;
+			}
+			
+			//delete grand children, before deleting children
+			if(childEntity.getIdField() != null && childEntity.getChildConstraints() != null && !childEntity.getChildConstraints().isEmpty())
+			{
+				Subquery childIdQuery = newIdQuery(childEntity, childTableCode);
+				childIdQuery.addCondition(newParentCondition(childTableCode, foreignKeyColumn, parentIdQuery));
 				
-				if(dataStore.checkChildrenExistence(childrenExistenceQuery) > 0)
-				{
-					throw new ChildConstraintViolationException(childConstraint.getConstraintName(), "Found child items of type '" 
-									+ childConstraint.getOwnerEntityDetails().getEntityType().getName() + "'");
-				}
+				path.add(childEntity);
+				deleteChildren(dataStore, childEntity, childIdQuery, path, tableCodeCounter);
+				path.remove(childEntity);
+			}
+			
+			DeleteQuery childDeleteQuery = new DeleteQuery(childEntity);
+			childDeleteQuery.addCondition(newParentCondition(childTableCode, foreignKeyColumn, parentIdQuery));
+			
+			int count = dataStore.delete(childDeleteQuery, childEntity);
+			logger.debug("Deleted {} child records of type '{}' as part of cascade delete", count, childEntity.getEntityType().getName());
+		}
+	}
+	
+	/**
+	 * Deletes the children referring to parents returned by specified parent id query, one by one using child repository.
+	 * Used for cyclic relations.
+	 * @param dataStore data store to use
+	 * @param childEntity child entity type
+	 * @param childTableCode table code to use for child table
+	 * @param foreignKeyColumn foreign key column of child
+	 * @param parentIdQuery query fetching ids of parent entities being deleted
+	 */
+	private void deleteChildrenById(IDataStore dataStore, EntityDetails childEntity, String childTableCode, String foreignKeyColumn, Subquery parentIdQuery)
+	{
+		FinderQuery childIdQuery = new FinderQuery(childEntity);
+		childIdQuery.setDefaultTableCode(childTableCode);
+		childIdQuery.addResultField(new QueryResultField(childTableCode, childEntity.getIdField().getDbColumnName(), "ID"));
+		childIdQuery.addCondition(newParentCondition(childTableCode, foreignKeyColumn, parentIdQuery));
+		
+		List<Record> records = dataStore.executeFinder(childIdQuery, childEntity, null);
+		ICrudRepository<?> childRepository = super.getCrudRepository(childEntity.getEntityType());
+		
+		for(Record record : records)
+		{
+			childRepository.deleteById(record.getObject(0));
+		}
+	}
+	
+	/**
+	 * Clears the entity caches of child entities whose delete is cascaded, recursively.
+	 * @param parentEntity entity whose child caches needs to be cleared
+	 * @param visited entities which are already processed
+	 */
+	private void clearCascadedChildCaches(EntityDetails parentEntity, Set<EntityDetails> visited)
+	{
+		List<ForeignConstraintDetails> childConstraints = parentEntity.getChildConstraints();
+		
+		if(childConstraints == null)
+		{
+			return;
+		}
+		
+		for(ForeignConstraintDetails childConstraint : childConstraints)
+		{
+			EntityDetails childEntity = childConstraint.getOwnerEntityDetails();
+			
+			if(!childConstraint.isDeleteCascaded() || !visited.add(childEntity))
+			{
+				continue;
+			}
+			
+			EntityCache childCache = childEntity.getEntityCache();
+			
+			if(childCache != null)
+			{
+				childCache.clear();
 			}
+			
+			clearCascadedChildCaches(childEntity, visited);
 		}
 	}
 	
@@ -193,7 +348,7 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 			//if datastore requires explicit child delete handling (like NOSQL DBs)
 			if(dataStore.isExplicitForeignCheckRequired())
 			{
-				processChildConstraints(dataStore, deleteQuery, conversionService, params);
+				processChildConstraints(dataStore, deleteQuery);
 			}
 
 			int res = dataStore.delete(deleteQuery, entityDetails);
@@ -206,6 +361,13 @@ public class DeleteQueryExecutor extends AbstractPersistQueryExecutor
 
 			transaction.commit();
 			
+			//as deleted entities are not known in general, entire cache is cleared for non-id based deletes
+			invalidateEntityCache(dataStore, idDelete ? params[0] : null);
+			
+			Set<EntityDetails> visited = new HashSet<>();
+			visited.add(entityDetails);
+			clearCascadedChildCaches(entityDetails, visited);
+			
 			if(int.class.equals(returnType))
 			{
 				return res;
@@ -26,8 +26,10 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.yukthitech.persistence.EntityCache;
 import com.yukthitech.persistence.EntityDetails;
 import com.yukthitech.persistence.FilterAction;
+import com.yukthitech.persistence.ICrudRepository;
 import com.yukthitech.persistence.IDataFilter;
 import com.yukthitech.persistence.IDataStore;
 import com.yukthitech.persistence.IFinderRecordProcessor;
@@ -37,6 +39,7 @@ import com.yukthitech.persistence.conversion.ConversionService;
 import com.yukthitech.persistence.query.FinderQuery;
 import com.yukthitech.persistence.repository.InvalidRepositoryException;
 import com.yukthitech.persistence.repository.executors.builder.ConditionQueryBuilder;
+import com.yukthitech.persistence.repository.executors.proxy.ProxyLoadGroup;
 import com.yukthitech.utils.CommonUtils;
 import com.yukthitech.utils.exceptions.InvalidStateException;
 
@@ -59,6 +62,12 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 	 */
 	private int dataFilterIndex = -1;
 	
+	/**
+	 * Flag indicating if this executor represents find-by-id method of crud repository, results of which
+	 * can be served from entity cache.
+	 */
+	private boolean idFinder = false;
+	
 	public FinderQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
 	{
 		super.repositoryType = repositoryType;
@@ -84,6 +93,15 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 		{
 			checkForDataFilter(method);
 		}
+		
+		idFinder = ICrudRepository.class.equals(method.getDeclaringClass()) && "findById".equals(method.getName());
+		
+		//records fetched by id finder are cached, so they are read from primary. Otherwise stale records
+		//from lagging replicas would get cached
+		if(!idFinder || entityDetails.getEntityCache() == null)
+		{
+			super.markReadOnly(method);
+		}
 	}
 	
 	/**
@@ -136,6 +154,36 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 		{
 			ConditionQueryBuilder conditionQueryBuilder = this.conditionQueryBuilder;
 			
+			//when entity cache is enabled, try to serve find-by-id from cache
+			EntityCache entityCache = (idFinder && params[0] != null) ? entityDetails.getEntityCache() : null;
+			Object cacheKey = null;
+			long cacheVersion = 0;
+			
+			if(entityCache != null)
+			{
+				//version is obtained before read, so that records read before concurrent invalidations are not cached
+				cacheVersion = entityCache.getVersion();
+				cacheKey = toEntityCacheKey(params[0]);
+				Record cachedRecord = entityCache.get(cacheKey);
+				
+				if(cachedRecord != null)
+				{
+					try
+					{
+						return conditionQueryBuilder.parseResult(cachedRecord, returnType, conversionService, persistenceExecutionContext);
+					}catch(Exception ex)
+					{
+						throw new InvalidStateException("An error occurred while converting cached record into result bean of type: {}", returnType.getName(), ex);
+					}
+				}
+				
+				//records read within a transaction may not be committed yet, so such records are not cached
+				if(dataStore.getTransactionManager().isTransactionActive())
+				{
+					entityCache = null;
+				}
+			}
+			
 			if(this.customFieldsIndex >= 0)
 			{
 				Collection<String> customFieldNames = (Collection<String>) params[customFieldsIndex];
@@ -160,12 +208,22 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 			//add order-by fields
 			conditionQueryBuilder.loadOrderByFields(finderQuery);
 			
+			//if cursor is expected, records will be read and converted lazily
+			if(cursorReturnType != null)
+			{
+				return toCursorResult(dataStore.openFinderCursor(finderQuery, entityDetails, null, fetchSize), conditionQueryBuilder, conversionService);
+			}
+			
 			//list that will maintain final result beans
 			final ArrayList<Object> resLst = new ArrayList<>();
 			
 			//identify the data filter
 			final IDataFilter<Object> dataFilter = (dataFilterIndex < 0) ? null : (IDataFilter<Object>) params[dataFilterIndex];
 			final ConditionQueryBuilder finalConditionQueryBuilder = conditionQueryBuilder; 
+			final Record fetchedRecords[] = new Record[1];
+			
+			//lazy relations of all result beans are grouped, so that they get loaded in batches
+			final ProxyLoadGroup loadGroup = (collectionReturnType != null) ? ProxyLoadGroup.newGroup(persistenceExecutionContext.getRepositoryFactory()) : null;
 
 			//execute the query and fetch records
 			dataStore.executeFinder(finderQuery, entityDetails, new IFinderRecordProcessor()
@@ -182,7 +240,7 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 					
 					try
 					{
-						recordBean = finalConditionQueryBuilder.parseResult(record, returnType, conversionService, persistenceExecutionContext);
+						recordBean = finalConditionQueryBuilder.parseResult(record, returnType, conversionService, persistenceExecutionContext, loadGroup);
 					}catch(Exception ex)
 					{
 						throw new InvalidStateException("An error occurred while converting record object into result bean of type: {}", returnType.getName(), ex);
@@ -207,6 +265,7 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 					}
 					
 					resLst.add( recordBean );
+					fetchedRecords[0] = record;
 
 					//TODO: First row fetching limiting should happen within the query itself.
 					if(firstRowOnly)
@@ -247,6 +306,11 @@ public class FinderQueryExecutor extends AbstractSearchQuery
 					throw new RecordCountMistmatchException("Multiple records found when single record is expected.");
 				}
 				
+				if(entityCache != null)
+				{
+					entityCache.put(cacheKey, fetchedRecords[0], cacheVersion);
+				}
+				
 				return resLst.get(0);
 			}
 	
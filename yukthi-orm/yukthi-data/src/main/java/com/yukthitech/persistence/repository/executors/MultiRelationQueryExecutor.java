@@ -20,6 +20,7 @@ import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
@@ -148,7 +149,7 @@ public class MultiRelationQueryExecutor extends AbstractPersistQueryExecutor
 			}
 		}
 		
-		returnType = method.getReturnType();
+		returnType = getReturnType(method);
 		
 		if(!boolean.class.equals(returnType) && !void.class.equals(returnType) && !int.class.equals(returnType))
 		{
@@ -317,17 +318,8 @@ public class MultiRelationQueryExecutor extends AbstractPersistQueryExecutor
 			throw new NullPointerException("Entity can not be null");
 		}
 		
-		if(dataStore.isExplicitUniqueCheckRequired())
-		{
-			//check if unique constraints are getting violated
-			checkForUniqueConstraints(dataStore, conversionService, entity, true);//TODO: Read only fields should be skipped
-		}
-		
-		if(dataStore.isExplicitForeignCheckRequired())
-		{
-			//check if all foreign parent keys are available
-			checkForForeignConstraints(dataStore, conversionService, entity);
-		}
+		//check if unique constraints are getting violated and all foreign parent keys are available
+		checkForConstraints(dataStore, conversionService, Collections.singletonList(entity), true);//TODO: Read only fields should be skipped
 
 		UpdateQuery query = new UpdateQuery(entityDetails);
 		Object value = null;
@@ -123,7 +123,7 @@ public class NativeQueryExecutor extends QueryExecutor
 
 		//fetch native query details
 		nativeQueryAnnotation = method.getAnnotation(NativeQuery.class);
-		returnType = method.getReturnType();
+		returnType = getReturnType(method);
 		
 		//for read methods, load return type field details and set the collection type as needed.
 		if(nativeQueryAnnotation.type() == NativeQueryType.READ)
@@ -151,7 +151,7 @@ public class NativeQueryExecutor extends QueryExecutor
 					}
 				}
 
-				returnType = (Class<?>)((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+				returnType = (Class<?>)((ParameterizedType) getGenericReturnType(method)).getActualTypeArguments()[0];
 			}
 			
 			//load the return type fields for non primitive types
@@ -18,12 +18,18 @@ package com.yukthitech.persistence.repository.executors;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.yukthitech.persistence.EntityCache;
 import com.yukthitech.persistence.EntityDetails;
 import com.yukthitech.persistence.ICrudRepository;
 import com.yukthitech.persistence.IDataFilter;
@@ -43,9 +49,11 @@ import com.yukthitech.persistence.repository.annotations.LimitRows;
 import com.yukthitech.persistence.repository.annotations.MethodConditions;
 import com.yukthitech.persistence.repository.annotations.NullCheck;
 import com.yukthitech.persistence.repository.annotations.Operator;
+import com.yukthitech.persistence.repository.annotations.PrimaryRead;
 import com.yukthitech.persistence.repository.annotations.QueryBean;
 import com.yukthitech.persistence.repository.executors.builder.ConditionQueryBuilder;
 import com.yukthitech.persistence.utils.OrmUtils;
+import com.yukthitech.utils.ConvertUtils;
 import com.yukthitech.utils.StringUtils;
 import com.yukthitech.utils.annotations.RecursiveAnnotationFactory;
 
@@ -60,6 +68,11 @@ public abstract class QueryExecutor
 	
 	protected RecursiveAnnotationFactory recursiveAnnotationFactory = new RecursiveAnnotationFactory();
 	
+	/**
+	 * Flag indicating if this executor only reads data, and hence can be served by read replicas.
+	 */
+	private boolean readOnly = false;
+	
 	public void setPersistenceExecutionContext(PersistenceExecutionContext persistenceExecutionContext)
 	{
 		this.persistenceExecutionContext = persistenceExecutionContext;
@@ -92,6 +105,139 @@ public abstract class QueryExecutor
 		return factory.getEntityListenerManager().isListenerPresent(entityDetails.getEntityType(), eventType);
 	}
 	
+	/**
+	 * Converts specified id into key that can be used with entity cache.
+	 * @param id id to convert
+	 * @return converted key
+	 */
+	protected Object toEntityCacheKey(Object id)
+	{
+		return ConvertUtils.convert(id, entityDetails.getIdField().getField().getType());
+	}
+	
+	/**
+	 * Invalidates the entry with specified id from entity cache, if cache is enabled for current entity. 
+	 * If id is null, entire cache will be cleared. 
+	 * 
+	 * When executed within a transaction, invalidation is repeated after the transaction is committed, so that
+	 * records cached by other threads before the commit (with old values) are not retained.
+	 * @param dataStore data store in use
+	 * @param id id of entity to invalidate
+	 */
+	protected void invalidateEntityCache(IDataStore dataStore, Object id)
+	{
+		EntityCache entityCache = entityDetails.getEntityCache();
+		
+		if(entityCache == null)
+		{
+			return;
+		}
+		
+		Runnable invalidation = null;
+		
+		if(id == null)
+		{
+			invalidation = entityCache::clear;
+		}
+		else
+		{
+			Object cacheKey = toEntityCacheKey(id);
+			invalidation = () -> entityCache.invalidate(cacheKey);
+		}
+		
+		invalidation.run();
+		
+		if(dataStore.getTransactionManager().isTransactionActive())
+		{
+			dataStore.getTransactionManager().executeAfterCommit(invalidation);
+		}
+	}
+	
+	/**
+	 * Marks this executor as read-only, unless specified method is marked with {@link PrimaryRead}. Expected
+	 * to be called by executors which only read data.
+	 * @param method method being executed by this executor
+	 */
+	protected void markReadOnly(Method method)
+	{
+		this.readOnly = (recursiveAnnotationFactory.findAnnotationRecursively(method, PrimaryRead.class) == null);
+	}
+	
+	/**
+	 * Checks if this executor only reads data, and hence can be served by read replicas.
+	 * @return true if executor is read-only
+	 */
+	public boolean isReadOnly()
+	{
+		return readOnly;
+	}
+	
+	/**
+	 * Checks if specified method is asynchronous method, that is method with {@link CompletableFuture} return type.
+	 * @param method method to check
+	 * @return true if method is asynchronous
+	 */
+	public static boolean isAsyncMethod(Method method)
+	{
+		return CompletableFuture.class.equals(method.getReturnType());
+	}
+	
+	/**
+	 * Fetches the generic return type of specified method. For asynchronous methods, type argument of the
+	 * future is returned.
+	 * @param method method whose return type needs to be fetched
+	 * @return effective generic return type
+	 */
+	protected Type getGenericReturnType(Method method)
+	{
+		Type genericType = method.getGenericReturnType();
+		
+		if(!isAsyncMethod(method))
+		{
+			return genericType;
+		}
+		
+		if(!(genericType instanceof ParameterizedType))
+		{
+			throw new InvalidRepositoryException("Result type is not specified for asynchronous method. [Repository: {}, Method: {}]", 
+					method.getDeclaringClass().getName(), method.getName());
+		}
+		
+		return ((ParameterizedType) genericType).getActualTypeArguments()[0];
+	}
+	
+	/**
+	 * Fetches the return type of specified method. For asynchronous methods, type argument of the
+	 * future is returned, with {@link Void} being treated as void and wrapper types as their primitive types.
+	 * @param method method whose return type needs to be fetched
+	 * @return effective return type
+	 */
+	protected Class<?> getReturnType(Method method)
+	{
+		if(!isAsyncMethod(method))
+		{
+			return method.getReturnType();
+		}
+		
+		Type genericType = getGenericReturnType(method);
+		
+		if(Void.class.equals(genericType))
+		{
+			return void.class;
+		}
+		
+		Class<?> rawType = TypeUtils.getRawType(genericType, repositoryType);
+		
+		if(rawType == null)
+		{
+			throw new InvalidRepositoryException("Unsupported result type '{}' specified for asynchronous method. [Repository: {}, Method: {}]", 
+					genericType, method.getDeclaringClass().getName(), method.getName());
+		}
+		
+		Class<?> primitiveType = ClassUtils.wrapperToPrimitive(rawType);
+		return (primitiveType != null) ? primitiveType : rawType;
+	}
+	
 	public abstract Object execute(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params);
 	
 	private ConditionQueryBuilder.ICondition addFieldCondition(Field field, String methodDesc, boolean allowNested, 
@@ -2,10 +2,9 @@ package com.yukthitech.persistence.repository.executors;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -33,21 +32,41 @@ import com.yukthitech.utils.ObjectWrapper;
 import com.yukthitech.utils.exceptions.InvalidStateException;
 
 /**
- * Handles update operations for entity relations in update methods.
+ * Handles update operations for entity relations in update methods. The relation diff is computed over
+ * id sets and applied in bulk - join table entries are inserted in batches, relations are removed
+ * using chunked IN conditions and cascaded child entities are saved/updated in batches.
  */
 public class RelationUpdateHandler
 {
+	/**
+	 * Max number of ids to be used in single IN condition.
+	 */
+	private static final int MAX_IDS_PER_QUERY = 500;
 
 	/**
 	 * Holds the difference between current and incoming relations.
 	 */
 	private static class RelationDiff
 	{
-		Set<Object> entitiesToAdd = new HashSet<Object>();
-		Set<Object> entityIdsToAdd = new HashSet<Object>();
-		Set<Object> entitiesToUpdate = new HashSet<Object>();
-		Set<Object> entityIdsToUpdate = new HashSet<Object>();
-		Set<Object> entityIdsToRemove = new HashSet<Object>();
+		/**
+		 * Incoming entities which are not currently related.
+		 */
+		List<Object> entitiesToAdd = new ArrayList<>();
+		
+		/**
+		 * Ids (non-null) of entities to add.
+		 */
+		Set<Object> entityIdsToAdd = new HashSet<>();
+		
+		/**
+		 * Incoming entities which are already related.
+		 */
+		List<Object> entitiesToUpdate = new ArrayList<>();
+		
+		/**
+		 * Ids of currently related entities, which are not part of incoming entities.
+		 */
+		Set<Object> entityIdsToRemove;
 	}
 	
 	private static class RelationInfo
@@ -84,6 +103,22 @@ public class RelationUpdateHandler
 			EntityDetails ownerEntityDetails = joinTableDetails.getOwnerEntityDetails();
 			return ownerEntityDetails.getTableName().equals(targetEntityDetails.getTableName());
 		}
+		
+		/**
+		 * Join table column referring to the parent entity.
+		 */
+		public String getParentJoinColumn()
+		{
+			return isReverseRelation() ? joinTableDetails.getInverseJoinColumn() : joinTableDetails.getJoinColumn();
+		}
+		
+		/**
+		 * Join table column referring to the child entity.
+		 */
+		public String getChildJoinColumn()
+		{
+			return isReverseRelation() ? joinTableDetails.getJoinColumn() : joinTableDetails.getInverseJoinColumn();
+		}
 	}
 
 	/**
@@ -174,6 +209,46 @@ public class RelationUpdateHandler
 		
 		return ids.get(0);
 	}
+	
+	/**
+	 * Converts specified id into key which can be compared with ids fetched from db. As child ids are fetched
+	 * as long values, numeric ids are converted into long.
+	 * @param id id to convert
+	 * @return converted key
+	 */
+	private static Object toIdKey(Object id)
+	{
+		if(id instanceof Number)
+		{
+			return ((Number) id).longValue();
+		}
+		
+		return id;
+	}
+	
+	/**
+	 * Splits specified ids into chunks of {@link #MAX_IDS_PER_QUERY}, so that each chunk can be used in single IN condition.
+	 * @param ids ids to split
+	 * @return id chunks
+	 */
+	private static List<List<Object>> toChunks(Collection<Object> ids)
+	{
+		List<List<Object>> chunks = new ArrayList<>();
+		List<Object> chunk = null;
+		
+		for(Object id : ids)
+		{
+			if(chunk == null || chunk.size() >= MAX_IDS_PER_QUERY)
+			{
+				chunk = new ArrayList<>(Math.min(MAX_IDS_PER_QUERY, ids.size()));
+				chunks.add(chunk);
+			}
+			
+			chunk.add(id);
+		}
+		
+		return chunks;
+	}
 
 	/**
 	 * Fetches all child ids for the given parent id in one query.
@@ -197,16 +272,8 @@ public class RelationUpdateHandler
 			EntityDetails joinEntityDetails = relationInfo.joinTableDetails.toEntityDetails();
 			query = new FinderQuery(joinEntityDetails);
 			
-			if(relationInfo.isReverseRelation())
-			{
-				query.addResultField(new QueryResultField(query.getDefaultTableCode(), relationInfo.joinTableDetails.getJoinColumn(), "childId"));
-				query.addCondition(new QueryCondition(query.getDefaultTableCode(), relationInfo.joinTableDetails.getInverseJoinColumn(), Operator.EQ, parentId, null, false));
-			}
-			else
-			{
-				query.addResultField(new QueryResultField(query.getDefaultTableCode(), relationInfo.joinTableDetails.getInverseJoinColumn(), "childId"));
-				query.addCondition(new QueryCondition(query.getDefaultTableCode(), relationInfo.joinTableDetails.getJoinColumn(), Operator.EQ, parentId, null, false));
-			}
+			query.addResultField(new QueryResultField(query.getDefaultTableCode(), relationInfo.getChildJoinColumn(), "childId"));
+			query.addCondition(new QueryCondition(query.getDefaultTableCode(), relationInfo.getParentJoinColumn(), Operator.EQ, parentId, null, false));
 		}
 		
 		List<com.yukthitech.persistence.Record> records = dataStore.executeFinder(query, query.getEntityDetails(), null);
@@ -220,43 +287,108 @@ public class RelationUpdateHandler
 		}
 		return childIds;
 	}
+	
+	/**
+	 * Fetches the ids, among specified ids, for which target entity exists.
+	 */
+	private Set<Object> fetchExistingIds(IDataStore dataStore, EntityDetails targetEntityDetails, Collection<Object> ids)
+	{
+		Set<Object> existingIds = new HashSet<>();
+		String idColumn = targetEntityDetails.getIdField().getDbColumnName();
+		
+		for(List<Object> chunk : toChunks(ids))
+		{
+			FinderQuery query = new FinderQuery(targetEntityDetails);
+			query.addResultField(new QueryResultField(query.getDefaultTableCode(), idColumn, "id"));
+			query.addCondition(new QueryCondition(query.getDefaultTableCode(), idColumn, Operator.IN, chunk, null, false));
+			
+			for(com.yukthitech.persistence.Record rec : dataStore.executeFinder(query, targetEntityDetails, null))
+			{
+				existingIds.add(rec.getLong(0));
+			}
+		}
+		
+		return existingIds;
+	}
 
 	/**
-	 * Computes which child ids need to be added and which need to be removed.
+	 * Computes which child ids need to be added and which need to be removed. Specified current
+	 * child id set is reused as the set of ids to be removed.
 	 */
 	private RelationDiff matchCurrentVsIncoming(FieldDetails relationField, Set<Object> currentChildIds, Collection<?> inputChildEntities)
 	{
 		ForeignConstraintDetails foreignConstraintDetails = relationField.getForeignConstraintDetails();
 		EntityDetails childEntityDetails = foreignConstraintDetails.getTargetEntityDetails();
 
-		Set<Object> inputChildIds = new HashSet<>();
-		Map<Object, Object> inputEntityMap = new HashMap<>();
+		Set<Object> matchedChildIds = new HashSet<>();
 		RelationDiff diff = new RelationDiff();
 
 		for(Object childEntity : inputChildEntities)
 		{
-			Object childId = childEntityDetails.getIdField().getValue(childEntity);
+			Object childId = toIdKey(childEntityDetails.getIdField().getValue(childEntity));
 
-			if(currentChildIds.contains(childId))
+			if(childId != null && currentChildIds.contains(childId))
 			{
 				diff.entitiesToUpdate.add(childEntity);
-				diff.entityIdsToUpdate.add(childId);
+				matchedChildIds.add(childId);
 			}
 			else
 			{
 				diff.entitiesToAdd.add(childEntity);
-				diff.entityIdsToAdd.add(childId);
+				
+				if(childId != null)
+				{
+					diff.entityIdsToAdd.add(childId);
+				}
 			}
-
-			inputChildIds.add(childId);
-			inputEntityMap.put(childId, childEntity);
 		}
 
-		diff.entityIdsToRemove = new HashSet<>(currentChildIds);
-		diff.entityIdsToRemove.removeAll(inputChildIds);
+		currentChildIds.removeAll(matchedChildIds);
+		diff.entityIdsToRemove = currentChildIds;
 
 		return diff;
 	}
+	
+	/**
+	 * Inserts join table entries between specified parent and children, in batch.
+	 * @return number of entries inserted
+	 */
+	private int insertJoinEntries(IDataStore dataStore, RelationInfo relationInfo, Object parentId, Collection<Object> childIds)
+	{
+		if(childIds.isEmpty())
+		{
+			return 0;
+		}
+		
+		EntityDetails joinEntityDetails = relationInfo.joinTableDetails.toEntityDetails();
+		String parentColumn = relationInfo.getParentJoinColumn();
+		String childColumn = relationInfo.getChildJoinColumn();
+		
+		List<SaveQuery> queries = new ArrayList<>(childIds.size());
+		List<ObjectWrapper<Object>> idWrappers = new ArrayList<>(childIds.size());
+		
+		for(Object childId : childIds)
+		{
+			SaveQuery insertQuery = new SaveQuery(joinEntityDetails);
+			insertQuery.addColumn(new ColumnParam(parentColumn, parentId, 1));
+			insertQuery.addColumn(new ColumnParam(childColumn, childId, 2));
+			
+			queries.add(insertQuery);
+			idWrappers.add(new ObjectWrapper<Object>(null));
+		}
+		
+		for(int res : dataStore.saveBatch(queries, joinEntityDetails, idWrappers))
+		{
+			//if insert failed
+			if(res == 0)
+			{
+				throw new InvalidStateException("Failed to save join table entry for relation: {}.{}", 
+						relationInfo.entityDetails.getEntityType().getName(), relationInfo.foreignConstraintDetails.getOwnerField().getName());
+			}
+		}
+		
+		return queries.size();
+	}
 
 	/**
 	 * Adds relations for the given parent id and child ids. Returns the number
@@ -269,126 +401,108 @@ public class RelationUpdateHandler
 			return 0;
 		}
 
+		if(relationInfo.joinTableDetails != null)
+		{
+			return insertJoinEntries(dataStore, relationInfo, parentId, diff.entityIdsToAdd);
+		}
+
 		int count = 0;
+		String idCol = relationInfo.targetEntityDetails.getIdField().getDbColumnName();
 
-		if(relationInfo.joinTableDetails == null)
+		for(List<Object> chunk : toChunks(diff.entityIdsToAdd))
 		{
 			UpdateQuery updateQuery = new UpdateQuery(relationInfo.targetEntityDetails);
-			String idCol = relationInfo.targetEntityDetails.getIdField().getDbColumnName();
 			
 			updateQuery.addColumn(new UpdateColumnParam(relationInfo.mappedByRevDetails.getDbColumnName(), parentId, 1, UpdateOperator.NONE));
-			updateQuery.addCondition(new QueryCondition(updateQuery.getDefaultTableCode(), idCol, Operator.IN, diff.entityIdsToAdd, null, false));
-			count = dataStore.update(updateQuery, relationInfo.targetEntityDetails);
-		}
-		else
-		{
-			EntityDetails joinEntityDetails = relationInfo.joinTableDetails.toEntityDetails();
-			boolean reverseRelation = relationInfo.isReverseRelation();
-
-			for(Object childId : diff.entityIdsToAdd)
-			{
-				SaveQuery insertQuery = new SaveQuery(joinEntityDetails);
-				
-				if(reverseRelation)
-				{
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getInverseJoinColumn(), parentId, 1));
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getJoinColumn(), childId, 2));
-				}
-				else
-				{
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getJoinColumn(), parentId, 1));
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getInverseJoinColumn(), childId, 2));
-				}
-				
-				dataStore.save(insertQuery, joinEntityDetails, new ObjectWrapper<Object>(null));
-			}
-
-			count = diff.entityIdsToAdd.size();
+			updateQuery.addCondition(new QueryCondition(updateQuery.getDefaultTableCode(), idCol, Operator.IN, chunk, null, false));
+			count += dataStore.update(updateQuery, relationInfo.targetEntityDetails);
 		}
 
 		return count;
 	}
 
 	/**
-	 * Adds relations for the given parent id and child ids. Returns the number
-	 * of relations added.
+	 * Saves/updates the child entities and adds relations for new child entities. Child entities are saved 
+	 * and updated in batches. Returns the number of changes done.
 	 */
 	@SuppressWarnings("unchecked")
 	private int updateRelationObjects(RepositoryFactory repositoryFactory, RelationInfo relationInfo, Object parentId, RelationDiff diff)
 	{
-		if(CollectionUtils.isEmpty(diff.entityIdsToAdd) && CollectionUtils.isEmpty(diff.entityIdsToUpdate))
+		if(CollectionUtils.isEmpty(diff.entitiesToAdd) && CollectionUtils.isEmpty(diff.entitiesToUpdate))
 		{
 			return 0;
 		}
 
-		int count = 0;
-
 		ICrudRepository<Object> repository = (ICrudRepository<Object>) repositoryFactory.getRepositoryForEntity(relationInfo.targetEntityDetails.getEntityType());
-		EntityDetails joinEntityDetails = (relationInfo.joinTableDetails == null) ? null : relationInfo.joinTableDetails.toEntityDetails();
 		IDataStore dataStore = repositoryFactory.getDataStore();
-		boolean isRevRelation = relationInfo.isReverseRelation();
-
-		// add new relations (new entity (with null id) or existing entity)
-		for(Object childEntity : diff.entitiesToAdd)
+		FieldDetails childIdField = relationInfo.targetEntityDetails.getIdField();
+		
+		// for mapped relation, point new children to parent
+		if(relationInfo.joinTableDetails == null && !diff.entitiesToAdd.isEmpty())
 		{
-			Object childId = relationInfo.targetEntityDetails.getIdField().getValue(childEntity);
-			boolean childEntityExists = childId == null ? false : repository.checkExistsById(childId);
-
-			if(relationInfo.joinTableDetails == null)
+			try
 			{
-				try
+				Object parent = relationInfo.entityDetails.getEntityType().getConstructor().newInstance();
+				relationInfo.entityDetails.getIdField().setValue(parent, parentId);
+				
+				for(Object childEntity : diff.entitiesToAdd)
 				{
-					Object parent = relationInfo.entityDetails.getEntityType().getConstructor().newInstance();
-					relationInfo.entityDetails.getIdField().setValue(parent, parentId);
 					relationInfo.mappedByRevDetails.setValue(childEntity, parent);
-				}catch(Exception ex)
-				{
-					throw new InvalidStateException("An error occurred while creating entity instance of type: {}", 
-							relationInfo.entityDetails.getEntityType().getName(), ex);
 				}
+			}catch(Exception ex)
+			{
+				throw new InvalidStateException("An error occurred while creating entity instance of type: {}", 
+						relationInfo.entityDetails.getEntityType().getName(), ex);
 			}
+		}
 
-			if(!childEntityExists)
+		// new relations can be new entities (with null id or non existing id) or existing entities
+		Set<Object> existingIds = diff.entityIdsToAdd.isEmpty() ? Collections.emptySet() : 
+				fetchExistingIds(dataStore, relationInfo.targetEntityDetails, diff.entityIdsToAdd);
+		
+		List<Object> entitiesToSave = new ArrayList<>();
+		List<Object> entitiesToUpdate = new ArrayList<>(diff.entitiesToUpdate);
+		
+		for(Object childEntity : diff.entitiesToAdd)
+		{
+			Object childId = toIdKey(childIdField.getValue(childEntity));
+			
+			if(childId != null && existingIds.contains(childId))
 			{
-				repository.save(childEntity);
-				childId = relationInfo.targetEntityDetails.getIdField().getValue(childEntity);
-				count++;
+				entitiesToUpdate.add(childEntity);
 			}
 			else
 			{
-				repository.update(childEntity);
-				count++;
-			}
-
-			if(relationInfo.joinTableDetails != null)
-			{
-				SaveQuery insertQuery = new SaveQuery(relationInfo.joinTableDetails.toEntityDetails());
-
-				if(isRevRelation)
-				{
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getJoinColumn(), childId, 1));
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getInverseJoinColumn(), parentId, 2));
-				}
-				else
-				{
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getJoinColumn(), parentId, 1));
-					insertQuery.addColumn(new ColumnParam(relationInfo.joinTableDetails.getInverseJoinColumn(), childId, 2));
-				}
-				
-				dataStore.save(insertQuery, joinEntityDetails, new ObjectWrapper<Object>(null));
+				entitiesToSave.add(childEntity);
 			}
-
-			count++;
+		}
+		
+		int count = 0;
+		
+		if(!entitiesToSave.isEmpty())
+		{
+			count += repository.saveAll(entitiesToSave);
+		}
+		
+		if(!entitiesToUpdate.isEmpty())
+		{
+			count += repository.updateAll(entitiesToUpdate);
 		}
 
-		// update existing relations (only enity needs update)
-		for(Object childEntity : diff.entitiesToUpdate)
+		// add join table entries for new relations
+		if(relationInfo.joinTableDetails != null)
 		{
-			repository.update(childEntity);
-			count++;
+			List<Object> childIds = new ArrayList<>(diff.entitiesToAdd.size());
+			
+			for(Object childEntity : diff.entitiesToAdd)
+			{
+				childIds.add(childIdField.getValue(childEntity));
+			}
+			
+			insertJoinEntries(dataStore, relationInfo, parentId, childIds);
 		}
 
-		return count;
+		return count + diff.entitiesToAdd.size();
 	}
 
 	/**
@@ -406,34 +520,33 @@ public class RelationUpdateHandler
 
 		if(relationInfo.joinTableDetails == null)
 		{
-			UpdateQuery updateQuery = new UpdateQuery(relationInfo.targetEntityDetails);
 			String idCol = relationInfo.targetEntityDetails.getIdField().getDbColumnName();
 			String mapCol = relationInfo.mappedByRevDetails.getDbColumnName();
 			
-			updateQuery.addColumn(new UpdateColumnParam(mapCol, null, 1, UpdateOperator.NONE));
-			updateQuery.addCondition(new QueryCondition(updateQuery.getDefaultTableCode(), idCol, Operator.IN, toRemove, null, false));
-			updateQuery.addCondition(new QueryCondition(updateQuery.getDefaultTableCode(), mapCol, Operator.EQ, parentId, JoinOperator.AND, false));
-			count = dataStore.update(updateQuery, relationInfo.targetEntityDetails);
+			for(List<Object> chunk : toChunks(toRemove))
+			{
+				UpdateQuery updateQuery = new UpdateQuery(relationInfo.targetEntityDetails);
+				
+				updateQuery.addColumn(new UpdateColumnParam(mapCol, null, 1, UpdateOperator.NONE));
+				updateQuery.addCondition(new QueryCondition(updateQuery.getDefaultTableCode(), idCol, Operator.IN, chunk, null, false));
+				updateQuery.addCondition(new QueryCondition(updateQuery.getDefaultTableCode(), mapCol, Operator.EQ, parentId, JoinOperator.AND, false));
+				count += dataStore.update(updateQuery, relationInfo.targetEntityDetails);
+			}
 		}
 		else
 		{
 			EntityDetails joinEntityDetails = relationInfo.joinTableDetails.toEntityDetails();
 			
-			boolean reverseRelation = relationInfo.isReverseRelation();
-			DeleteQuery deleteQuery = new DeleteQuery(joinEntityDetails);
-			
-			if(reverseRelation)
-			{
-				deleteQuery.addCondition(new QueryCondition(deleteQuery.getDefaultTableCode(), relationInfo.joinTableDetails.getJoinColumn(), Operator.IN, toRemove, null, false));
-			}
-			else
+			for(List<Object> chunk : toChunks(toRemove))
 			{
-				deleteQuery.addCondition(new QueryCondition(deleteQuery.getDefaultTableCode(), relationInfo.joinTableDetails.getInverseJoinColumn(), Operator.IN, toRemove, null, false));
+				DeleteQuery deleteQuery = new DeleteQuery(joinEntityDetails);
+				
+				deleteQuery.addCondition(new QueryCondition(deleteQuery.getDefaultTableCode(), relationInfo.getChildJoinColumn(), Operator.IN, chunk, null, false));
+				deleteQuery.addCondition(new QueryCondition(deleteQuery.getDefaultTableCode(), relationInfo.getParentJoinColumn(), Operator.EQ, parentId, JoinOperator.AND, false));
+				count += dataStore.delete(deleteQuery, joinEntityDetails);
 			}
-			
-			count = dataStore.delete(deleteQuery, joinEntityDetails);
 		}
 
 		return count;
 	}
-}
\ No newline at end of file
+}
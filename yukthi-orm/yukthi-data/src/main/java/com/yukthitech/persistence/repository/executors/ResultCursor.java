@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.repository.executors;
+
+import java.util.function.Function;
+
+import com.yukthitech.persistence.ICloseableIterator;
+import com.yukthitech.persistence.Record;
+
+/**
+ * Cursor which converts records of underlying record cursor into result beans, as and when
+ * they are requested.
+ * 
+ * @author akiran
+ * @param <T> result bean type
+ */
+class ResultCursor<T> implements ICloseableIterator<T>
+{
+	/**
+	 * Underlying record cursor.
+	 */
+	private ICloseableIterator<Record> recordCursor;
+	
+	/**
+	 * Converter to convert record into result bean.
+	 */
+	private Function<Record, T> converter;
+
+	ResultCursor(ICloseableIterator<Record> recordCursor, Function<Record, T> converter)
+	{
+		this.recordCursor = recordCursor;
+		this.converter = converter;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		return recordCursor.hasNext();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next()
+	{
+		try
+		{
+			return converter.apply(recordCursor.next());
+		}catch(RuntimeException ex)
+		{
+			recordCursor.close();
+			throw ex;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.ICloseableIterator#close()
+	 */
+	@Override
+	public void close()
+	{
+		recordCursor.close();
+	}
+}
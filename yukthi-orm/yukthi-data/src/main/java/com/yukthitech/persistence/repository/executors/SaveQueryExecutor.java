@@ -17,11 +17,19 @@ package com.yukthitech.persistence.repository.executors;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.persistence.GenerationType;
@@ -81,8 +89,62 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		}
 	}
 	
+	/**
+	 * Encapsulation of save query and relation details of an entity being saved.
+	 * @author akiran
+	 */
+	private static class EntitySaveDetails
+	{
+		/**
+		 * Entity being saved.
+		 */
+		private Object entity;
+
+		/**
+		 * Save query for the entity.
+		 */
+		private SaveQuery query;
+
+		/**
+		 * Wrapper object to hold id value.
+		 */
+		private ObjectWrapper<Object> idWrapper = new ObjectWrapper<>();
+
+		/**
+		 * Random unique id used to fetch id of saved entity. Will be null if entity table does not
+		 * support unique id column.
+		 */
+		private String entityUid;
+
+		/**
+		 * Fields whose join table entries needs to be added after main entity is saved.
+		 */
+		private Map<FieldDetails, Object> tableJoinedFields = new HashMap<>();
+
+		/**
+		 * Child fields that needs to be saved after main entity is saved.
+		 */
+		private Map<FieldDetails, Object> childFieldsPost = new HashMap<>();
+
+		/**
+		 * Fields that needs to be added before main entity is saved.
+		 */
+		private Map<FieldDetails, PrechildDetails> childFieldsPre = new HashMap<>();
+
+		public EntitySaveDetails(Object entity, SaveQuery query)
+		{
+			this.entity = entity;
+			this.query = query;
+		}
+	}
+
 	private Class<?> returnType;
-	
+
+	/**
+	 * Flag indicating if this executor saves collection of entities in batches.
+	 */
+	private boolean batchSave;
+
 	public SaveQueryExecutor(Class<?> repositoryType, Method method, EntityDetails entityDetails)
 	{
 		super.entityDetails = entityDetails;
@@ -95,14 +157,31 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		{
 			throw new InvalidRepositoryException("Non-single parameter save method '" + method.getName() + "' in repository: " + repositoryType.getName());
 		}
-		
-		if(!entityDetails.getEntityType().equals(paramTypes[0]) && !isCoreInterface)
+
+		batchSave = Collection.class.isAssignableFrom(paramTypes[0]);
+
+		if(batchSave && !isCoreInterface)
+		{
+			Type paramType = method.getGenericParameterTypes()[0];
+			Type elemType = (paramType instanceof ParameterizedType) ? ((ParameterizedType) paramType).getActualTypeArguments()[0] : null;
+
+			if(!entityDetails.getEntityType().equals(elemType))
+			{
+				throw new InvalidRepositoryException("Save method '" + method.getName() + "' found with non-entity collection parameter in repository: " + repositoryType.getName());
+			}
+		}
+		else if(!batchSave && !entityDetails.getEntityType().equals(paramTypes[0]) && !isCoreInterface)
 		{
 			throw new InvalidRepositoryException("Save method '" + method.getName() + "' found with non-entity parameter in repository: " + repositoryType.getName());
 		}
-		
-		returnType = method.getReturnType();
-		
+
+		returnType = getReturnType(method);
+
+		if(batchSave && int.class.equals(returnType))
+		{
+			return;
+		}
+
 		if(!boolean.class.equals(returnType) && !void.class.equals(returnType))
 		{
 			throw new InvalidRepositoryException("Save method '" + method.getName() + "' found with non-boolean and non-void return type in repository: " + repositoryType.getName());
@@ -132,49 +211,27 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		return number.intValue() > 0;
 	}
 	
-	/* (non-Javadoc)
-	 * @see com.yukthitech.persistence.repository.executors.QueryExecutor#execute(com.yukthitech.persistence.repository.executors.QueryExecutionContext, com.yukthitech.persistence.IDataStore, com.yukthitech.persistence.conversion.ConversionService, java.lang.Object[])
+	/**
+	 * Builds the save details (save query and relation details) for specified entity.
+	 * @param entity entity to be saved
+	 * @param dataStore data store to be used
+	 * @param conversionService conversion service to be used
+	 * @return save details of the entity
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	@Override
-	public Object execute(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	private EntitySaveDetails buildSaveDetails(Object entity, IDataStore dataStore, ConversionService conversionService)
 	{
-		logger.trace("Started method: execute");
-		
-		Object entity = params[0];
-
 		if(entity == null)
 		{
 			throw new NullPointerException("Entity can not be null");
 		}
-		
-		if(dataStore.isExplicitUniqueCheckRequired())
-		{
-			//check if unique constraints are getting violated
-			checkForUniqueConstraints(dataStore, conversionService, entity, false);
-		}
-		
-		if(dataStore.isExplicitForeignCheckRequired())
-		{
-			//check if all foreign parent keys are available
-			checkForForeignConstraints(dataStore, conversionService, entity);
-		}
 
-		SaveQuery query = new SaveQuery(entityDetails);
+		EntitySaveDetails saveDetails = new EntitySaveDetails(entity, new SaveQuery(entityDetails));
+		SaveQuery query = saveDetails.query;
 		Object value = null;
-		
-		//wrapper object to hold id value
-		ObjectWrapper<Object> idWrapper = new ObjectWrapper<>();
+
 		ForeignConstraintDetails foreignConstraint = null;
-		
-		//keep track of the fields that needs to be added after main entity is saved
-		Map<FieldDetails, Object> tableJoinedFields = new HashMap<>();
-		Map<FieldDetails, Object> childFieldsPost = new HashMap<>();
-		
-		//keep track of the fields that needs to be added before main entity is saved
-		Map<FieldDetails, PrechildDetails> childFieldsPre = new HashMap<>();
 		PrechildDetails prechildDetails = null;
-		
+
 		for(FieldDetails field: entityDetails.getFieldDetails())
 		{
 			if(field.isIdField())
@@ -183,17 +240,17 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 				{
 					continue;
 				}
-				
+
 				if(field.getGenerationType() == GenerationType.SEQUENCE)
 				{
 					query.addColumn(new ColumnParam(field.getDbColumnName(), null, -1, field.getSequenceName()));
 					continue;
 				}
 			}
-			
+
 			//reset prechild details for current field
 			prechildDetails = null;
-			
+
 			//get the value of the field
 			value = field.getValue(entity);
 
@@ -205,15 +262,15 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 				{
 					 continue;
 				}
-				
+
 				foreignConstraint = field.getForeignConstraintDetails();
-				
+
 				//if the field is part of current table
 				if(field.isTableOwned())
 				{
 					//fetch the value of related entity and store it in this table
 					Object idValue = null;
-					
+
 					if(value instanceof IProxyEntity)
 					{
 						idValue = ((IProxyEntity) value).$getProxyEntityId();
@@ -222,13 +279,13 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 					{
 						idValue = foreignConstraint.getTargetEntityDetails().getIdField().getValue(value);
 					}
-					
+
 					//if child is not persisted yet
 					if(!isPersistedId(idValue))
 					{
 						//mark it as prechild
 						prechildDetails = new PrechildDetails(value);
-						childFieldsPre.put(field, prechildDetails);
+						saveDetails.childFieldsPre.put(field, prechildDetails);
 					}
 					//if child is already persisted use its id value
 					else
@@ -239,7 +296,7 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 				//if the relation is maintained by using intermediate table
 				else if(field.isTableJoined())
 				{
-					tableJoinedFields.put(field, value);
+					saveDetails.tableJoinedFields.put(field, value);
 					continue;
 				}
 				//if the relation is mapped relation
@@ -250,8 +307,8 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 					{
 						//this should never be the case. As the relation is not owned by this table and is not table joined
 						//		it should be mapped relation by parent entity
-						
-						throw new IllegalStateException( String.format("Non mapped-by relation encountered when expecting mapped relation - %s.%s", 
+
+						throw new IllegalStateException( String.format("Non mapped-by relation encountered when expecting mapped relation - %s.%s",
 								entityDetails.getEntityType().getName(), field.getName()) );
 					}
 					//if save is not cascaded to child entities
@@ -260,112 +317,177 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 						logger.trace("Ignoring child entity maintained by field {} as relation is not PERSIST cascaded", field.getName());
 						continue;
 					}
-					
-					childFieldsPost.put(field, value);
+
+					saveDetails.childFieldsPost.put(field, value);
 					continue;
 				}
 			}
 
 			//convert to db data type
 			value = conversionService.convertToDBType(value, field);
-			
+
 			ColumnParam columnParam = new ColumnParam(field.getDbColumnName(), value, -1);
 			query.addColumn(columnParam);
-			
+
 			//if current field represents a child that needs to be persisted before main entity
 			if(prechildDetails != null)
 			{
 				//set current column details on prechild details
 				prechildDetails.columnParam = columnParam;
 			}
-			
+
 			//if field is id field and value was set manually
 			if(field.isIdField())
 			{
-				idWrapper.setValue(value);
+				saveDetails.idWrapper.setValue(value);
 			}
 		}
-		
+
 		//add random unique id while persisting entity, which in turn can be used to fetch primary key value
-		String entityUid = UUID.randomUUID().toString();
-		boolean hasUqIdCol = entityDetails.hasColumn(EntityDetails.COL_UQ_ENTITY_ID);
-		
-		if(hasUqIdCol)
+		if(entityDetails.hasColumn(EntityDetails.COL_UQ_ENTITY_ID))
 		{
-			query.addColumn(new ColumnParam(EntityDetails.COL_UQ_ENTITY_ID, entityUid, -1));
+			saveDetails.entityUid = UUID.randomUUID().toString();
+			query.addColumn(new ColumnParam(EntityDetails.COL_UQ_ENTITY_ID, saveDetails.entityUid, -1));
 		}
-		
+
+		return saveDetails;
+	}
+
+	/**
+	 * Persists the prechild entities (relation entities to be persisted before main entity) of specified entity.
+	 * @param saveDetails save details of the entity
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void savePrechildEntities(EntitySaveDetails saveDetails)
+	{
+		PrechildDetails prechildDetails = null;
+
+		for(FieldDetails field : saveDetails.childFieldsPre.keySet())
+		{
+			prechildDetails = saveDetails.childFieldsPre.get(field);
+
+			ICrudRepository repo = super.getCrudRepository(field.getField().getType());
+
+			if(!repo.save(prechildDetails.childEntity))
+			{
+				throw new InvalidStateException("Failed to save child entity linked by field '{}'. Entity: {}", field.getName(), prechildDetails.childEntity);
+			}
+
+			//fetch newly saved entity and set it on parent save column
+			prechildDetails.columnParam.setValue(repo.getEntityDetails().getIdField().getValue(prechildDetails.childEntity));
+		}
+	}
+
+	/**
+	 * Sets the id of the saved entity on the entity and saves the extension fields.
+	 * @param saveDetails save details of the saved entity
+	 * @param dataStore data store to be used
+	 * @param conversionService conversion service to be used
+	 */
+	private void processSavedEntity(EntitySaveDetails saveDetails, IDataStore dataStore, ConversionService conversionService)
+	{
+		ObjectWrapper<Object> idWrapper = saveDetails.idWrapper;
+
+		//if id value is not found from statement or was explicitly specified
+		if(idWrapper.getValue() == null)
+		{
+			if(saveDetails.entityUid == null)
+			{
+				throw new InvalidStateException("No unique id column [{}] configured. Failed to fetch id of saved entity. Entity: {}", EntityDetails.COL_UQ_ENTITY_ID, entityDetails);
+			}
+
+			//fetch the newly save entry id and populate it to entity
+			idWrapper.setValue( fetchId(saveDetails.entity, dataStore, saveDetails.entityUid, conversionService) );
+		}
+		else
+		{
+			Object idValue = conversionService.convertToJavaType(idWrapper.getValue(), entityDetails.getIdField());
+			idWrapper.setValue(idValue);
+
+			//set the id value on entity
+			entityDetails.getIdField().setValue(saveDetails.entity, idWrapper.getValue());
+		}
+
+		//ensure no stale entry is served for explicitly specified ids
+		invalidateEntityCache(dataStore, idWrapper.getValue());
+
+		saveExtensionFields((Long)idWrapper.getValue(), saveDetails.entity, entityDetails, conversionService, dataStore);
+	}
+
+	/**
+	 * Fetches the result to be returned based on return type.
+	 * @param success flag indicating if save was successful
+	 * @param count number of entities saved
+	 * @return result to be returned
+	 */
+	private Object toResult(boolean success, int count)
+	{
+		if(int.class.equals(returnType))
+		{
+			return count;
+		}
+
+		return (boolean.class.equals(returnType)) ? success : null;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.persistence.repository.executors.QueryExecutor#execute(com.yukthitech.persistence.repository.executors.QueryExecutionContext, com.yukthitech.persistence.IDataStore, com.yukthitech.persistence.conversion.ConversionService, java.lang.Object[])
+	 */
+	@SuppressWarnings({ "unchecked" })
+	@Override
+	public Object execute(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	{
+		logger.trace("Started method: execute");
+
+		if(batchSave)
+		{
+			return saveAll((Collection<Object>) params[0], dataStore, conversionService);
+		}
+
+		EntitySaveDetails saveDetails = buildSaveDetails(params[0], dataStore, conversionService);
+		Object entity = saveDetails.entity;
+
+		//check if unique constraints are getting violated and all foreign parent keys are available
+		checkForConstraints(dataStore, conversionService, Collections.singletonList(entity), false);
+
 		//save the entity
 		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
 		{
 			super.notifyEntityEvent(null, entity, EntityEventType.PRE_SAVE);
-			
+
 			//persist prechild entities if any
-			for(FieldDetails field : childFieldsPre.keySet())
-			{
-				prechildDetails = childFieldsPre.get(field);
-				
-				ICrudRepository repo = super.getCrudRepository(field.getField().getType());
-				
-				if(!repo.save(prechildDetails.childEntity))
-				{
-					throw new InvalidStateException("Failed to save child entity linked by field '{}'. Entity: {}", field.getName(), prechildDetails.childEntity);
-				}
-				
-				//fetch newly saved entity and set it on parent save column
-				prechildDetails.columnParam.setValue(repo.getEntityDetails().getIdField().getValue(prechildDetails.childEntity));
-			}
+			savePrechildEntities(saveDetails);
 
 			//persist main entity
-			int res = dataStore.save(query, entityDetails, idWrapper);
-			
+			int res = dataStore.save(saveDetails.query, entityDetails, saveDetails.idWrapper);
+
 			//if insertion was successful
 			if(res > 0)
 			{
-				//if id value is not found from statement or was explicitly specified
-				if(idWrapper.getValue() == null)
-				{
-					if(!hasUqIdCol)
-					{
-						throw new InvalidStateException("No unique id column [{}] configured. Failed to fetch id of saved entity. Entity: {}", EntityDetails.COL_UQ_ENTITY_ID, entityDetails);
-					}
-					
-					//fetch the newly save entry id and populate it to entity
-					idWrapper.setValue( fetchId(entity, dataStore, entityUid, conversionService) );
-				}
-				else
-				{
-					Object idValue = conversionService.convertToJavaType(idWrapper.getValue(), entityDetails.getIdField());
-					idWrapper.setValue(idValue);
-					
-					//set the id value on entity
-					entityDetails.getIdField().setValue(entity, idWrapper.getValue());
-				}
-				
-				saveExtensionFields((Long)idWrapper.getValue(), entity, entityDetails, conversionService, dataStore);
-				
+				processSavedEntity(saveDetails, dataStore, conversionService);
+
 				//save child entities, if any
-				for(FieldDetails field : childFieldsPost.keySet())
+				for(FieldDetails field : saveDetails.childFieldsPost.keySet())
 				{
 					/*
 					 * Child fields are fields with mapped relation under current entity.
-					 * Saving child entity with inverse relation will take care of populating join 
+					 * Saving child entity with inverse relation will take care of populating join
 					 * table update, if required
 					 */
-					saveChildEntities(field, childFieldsPost.get(field), entity);
+					saveChildEntities(field, saveDetails.childFieldsPost.get(field), entity);
 				}
-				
+
 				//save join table entries if any
-				for(FieldDetails field : tableJoinedFields.keySet())
+				for(FieldDetails field : saveDetails.tableJoinedFields.keySet())
 				{
-					saveJoinTableEntry(field, entity, tableJoinedFields.get(field), conversionService, dataStore);
+					saveJoinTableEntry(field, entity, saveDetails.tableJoinedFields.get(field), conversionService, dataStore);
 				}
-				
+
 				super.notifyEntityEvent(null, entity, EntityEventType.POST_SAVE);
 			}
-			
+
 			transaction.commit();
-			return (boolean.class.equals(returnType)) ? (res > 0) : null;
+			return toResult(res > 0, res);
 		}catch(Exception ex)
 		{
 			//rethrow the catched exception
@@ -373,11 +495,235 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 			{
 				throw (RuntimeException)ex;
 			}
-			
+
 			throw new IllegalStateException(ex);
 		}
 	}
-	
+
+	/**
+	 * Saves specified entities in batches. Prechild entities, child entities and join table entries of
+	 * all the entities are also saved together.
+	 * @param entities entities to save
+	 * @param dataStore data store to be used
+	 * @param conversionService conversion service to be used
+	 * @return result based on return type
+	 */
+	private Object saveAll(Collection<Object> entities, IDataStore dataStore, ConversionService conversionService)
+	{
+		if(entities == null)
+		{
+			throw new NullPointerException("Entities can not be null");
+		}
+
+		List<EntitySaveDetails> saveDetailsList = new ArrayList<>(entities.size());
+
+		for(Object entity : entities)
+		{
+			saveDetailsList.add(buildSaveDetails(entity, dataStore, conversionService));
+		}
+
+		if(saveDetailsList.isEmpty())
+		{
+			return toResult(true, 0);
+		}
+
+		//check constraints of all entities together
+		checkForConstraints(dataStore, conversionService, entities, false);
+
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			for(EntitySaveDetails saveDetails : saveDetailsList)
+			{
+				super.notifyEntityEvent(null, saveDetails.entity, EntityEventType.PRE_SAVE);
+			}
+
+			saveAllPrechildEntities(saveDetailsList);
+
+			List<SaveQuery> queries = new ArrayList<>(saveDetailsList.size());
+			List<ObjectWrapper<Object>> idWrappers = new ArrayList<>(saveDetailsList.size());
+
+			for(EntitySaveDetails saveDetails : saveDetailsList)
+			{
+				queries.add(saveDetails.query);
+				idWrappers.add(saveDetails.idWrapper);
+			}
+
+			//persist main entities
+			int res[] = dataStore.saveBatch(queries, entityDetails, idWrappers);
+			List<EntitySaveDetails> savedList = new ArrayList<>(saveDetailsList.size());
+
+			for(int i = 0; i < res.length; i++)
+			{
+				if(res[i] <= 0)
+				{
+					continue;
+				}
+
+				processSavedEntity(saveDetailsList.get(i), dataStore, conversionService);
+				savedList.add(saveDetailsList.get(i));
+			}
+
+			saveAllChildEntities(savedList);
+			saveAllJoinTableEntries(savedList, conversionService, dataStore);
+
+			for(EntitySaveDetails saveDetails : savedList)
+			{
+				super.notifyEntityEvent(null, saveDetails.entity, EntityEventType.POST_SAVE);
+			}
+
+			transaction.commit();
+			return toResult(savedList.size() == saveDetailsList.size(), savedList.size());
+		}catch(Exception ex)
+		{
+			//rethrow the catched exception
+			if(ex instanceof RuntimeException)
+			{
+				throw (RuntimeException)ex;
+			}
+
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Persists prechild entities of specified entities, field by field in batches. Same prechild
+	 * entity referred by multiple entities will be saved only once.
+	 * @param saveDetailsList save details of entities being saved
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void saveAllPrechildEntities(List<EntitySaveDetails> saveDetailsList)
+	{
+		Map<FieldDetails, List<PrechildDetails>> fieldToPrechildren = new LinkedHashMap<>();
+
+		for(EntitySaveDetails saveDetails : saveDetailsList)
+		{
+			for(Map.Entry<FieldDetails, PrechildDetails> entry : saveDetails.childFieldsPre.entrySet())
+			{
+				fieldToPrechildren.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(entry.getValue());
+			}
+		}
+
+		for(Map.Entry<FieldDetails, List<PrechildDetails>> entry : fieldToPrechildren.entrySet())
+		{
+			FieldDetails field = entry.getKey();
+			ICrudRepository repo = super.getCrudRepository(field.getField().getType());
+
+			Set<Object> uniqueChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+			List<Object> childEntities = new ArrayList<>();
+
+			for(PrechildDetails prechildDetails : entry.getValue())
+			{
+				if(uniqueChildren.add(prechildDetails.childEntity))
+				{
+					childEntities.add(prechildDetails.childEntity);
+				}
+			}
+
+			if(repo.saveAll(childEntities) != childEntities.size())
+			{
+				throw new InvalidStateException("Failed to save child entities linked by field '{}'", field.getName());
+			}
+
+			//set the ids of saved child entities on parent save columns
+			FieldDetails childIdField = repo.getEntityDetails().getIdField();
+
+			for(PrechildDetails prechildDetails : entry.getValue())
+			{
+				prechildDetails.columnParam.setValue(childIdField.getValue(prechildDetails.childEntity));
+			}
+		}
+	}
+
+	/**
+	 * Saves child entities (mapped relations) of specified saved entities, field by field in batches.
+	 * @param savedList save details of saved entities
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void saveAllChildEntities(List<EntitySaveDetails> savedList)
+	{
+		Set<FieldDetails> childFields = new LinkedHashSet<>();
+
+		for(EntitySaveDetails saveDetails : savedList)
+		{
+			childFields.addAll(saveDetails.childFieldsPost.keySet());
+		}
+
+		for(FieldDetails field : childFields)
+		{
+			ForeignConstraintDetails foreignConstraint = field.getForeignConstraintDetails();
+			EntityDetails childEntityDetails = foreignConstraint.getTargetEntityDetails();
+
+			ICrudRepository childRepository = super.getCrudRepository(childEntityDetails.getEntityType());
+			FieldDetails childFieldDetails = childEntityDetails.getFieldDetailsByField(foreignConstraint.getMappedBy());
+
+			List<Object> childEntities = new ArrayList<>();
+
+			for(EntitySaveDetails saveDetails : savedList)
+			{
+				Object value = saveDetails.childFieldsPost.get(field);
+
+				if(value == null)
+				{
+					continue;
+				}
+
+				Collection<?> children = (value instanceof Collection) ? (Collection<?>) value : Arrays.asList(value);
+
+				for(Object childEntity : children)
+				{
+					//set inverse relation on child to parent
+					childFieldDetails.setValue(childEntity, saveDetails.entity);
+					childEntities.add(childEntity);
+				}
+			}
+
+			if(childRepository.saveAll(childEntities) != childEntities.size())
+			{
+				throw new InvalidStateException("Failed to save child entities linked by field '{}'", field.getName());
+			}
+		}
+	}
+
+	/**
+	 * Saves the join table entries of specified saved entities in batches.
+	 * @param savedList save details of saved entities
+	 * @param conversionService conversion service to be used
+	 * @param dataStore data store to be used
+	 */
+	private void saveAllJoinTableEntries(List<EntitySaveDetails> savedList, ConversionService conversionService, IDataStore dataStore)
+	{
+		List<SaveQuery> queries = new ArrayList<>();
+
+		for(EntitySaveDetails saveDetails : savedList)
+		{
+			for(FieldDetails field : saveDetails.tableJoinedFields.keySet())
+			{
+				queries.addAll(buildJoinTableQueries(field, saveDetails.entity, saveDetails.tableJoinedFields.get(field), conversionService));
+			}
+		}
+
+		if(queries.isEmpty())
+		{
+			return;
+		}
+
+		List<ObjectWrapper<Object>> idWrappers = new ArrayList<>(queries.size());
+
+		for(int i = 0; i < queries.size(); i++)
+		{
+			idWrappers.add(new ObjectWrapper<>());
+		}
+
+		for(int res : dataStore.saveBatch(queries, entityDetails, idWrappers))
+		{
+			//if insert failed
+			if(res <= 0)
+			{
+				throw new IllegalStateException("Failed to save join table entry");
+			}
+		}
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private void saveExtensionFields(long id, Object entity, EntityDetails entityDetails, ConversionService conversionService, IDataStore dataStore)
 	{
@@ -425,24 +771,26 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 	}
 	
 	/**
-	 * Saves entry in join table with specified entity and inverse entity (parent entity)
+	 * Builds save queries for join table entries with specified entity and inverse entity (parent entity)
 	 * @param field
 	 * @param entity
 	 * @param targetEntity
+	 * @param conversionService
+	 * @return save queries to be executed
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void saveJoinTableEntry(FieldDetails field, Object entity, Object targetEntity, ConversionService conversionService, IDataStore dataStore)
+	private List<SaveQuery> buildJoinTableQueries(FieldDetails field, Object entity, Object targetEntity, ConversionService conversionService)
 	{
 		JoinTableDetails joinTableDetails = field.getForeignConstraintDetails().getJoinTableDetails();
 		EntityDetails joinEntityDetails = joinTableDetails.toEntityDetails();
-		
+
 		FieldDetails ownerIdFieldDetails = entityDetails.getIdField();
 		FieldDetails targetIdFieldDetails = field.getForeignConstraintDetails().getTargetEntityDetails().getIdField();
-		
+
 		//get ids of child and parent
 		Object ownerId = ownerIdFieldDetails.getValue(entity);
 		Collection<Object> targetEntityList = null;
-		
+
 		//if target is collection (ex- many to many relation)
 		if(targetEntity instanceof Collection)
 		{
@@ -452,25 +800,42 @@ public class SaveQueryExecutor extends AbstractPersistQueryExecutor
 		{
 			targetEntityList = Arrays.asList(targetEntity);
 		}
-		
+
 		Object targetId = null;
-		
+		List<SaveQuery> queries = new ArrayList<>(targetEntityList.size());
+
+		//loop through the targets
+		for(Object target : targetEntityList)
+		{
+			//fetch target id
+			targetId = targetIdFieldDetails.getValue(target);
+
+			ownerId = conversionService.convertToDBType(ownerId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_JOIN_COLUMN));
+			targetId = conversionService.convertToDBType(targetId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_INV_JOIN_COLUMN));
+
+			//build save query
+			SaveQuery query = new SaveQuery(joinEntityDetails);
+			query.addColumn(new ColumnParam(joinTableDetails.getJoinColumn(), ownerId, -1));
+			query.addColumn(new ColumnParam(joinTableDetails.getInverseJoinColumn(), targetId, -1));
+
+			queries.add(query);
+		}
+
+		return queries;
+	}
+
+	/**
+	 * Saves entry in join table with specified entity and inverse entity (parent entity)
+	 * @param field
+	 * @param entity
+	 * @param targetEntity
+	 */
+	private void saveJoinTableEntry(FieldDetails field, Object entity, Object targetEntity, ConversionService conversionService, IDataStore dataStore)
+	{
 		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
 		{
-			//loop through the targets
-			for(Object target : targetEntityList)
+			for(SaveQuery query : buildJoinTableQueries(field, entity, targetEntity, conversionService))
 			{
-				//fetch target id
-				targetId = targetIdFieldDetails.getValue(target);
-				
-				ownerId = conversionService.convertToDBType(ownerId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_JOIN_COLUMN));
-				targetId = conversionService.convertToDBType(targetId, joinEntityDetails.getFieldDetailsByField(JoinTableEntity.FIELD_INV_JOIN_COLUMN));
-				
-				//build save query
-				SaveQuery query = new SaveQuery(joinEntityDetails);
-				query.addColumn(new ColumnParam(joinTableDetails.getJoinColumn(), ownerId, -1));
-				query.addColumn(new ColumnParam(joinTableDetails.getInverseJoinColumn(), targetId, -1));
-		
 				//save the entity
 				int res = dataStore.save(query, entityDetails, new ObjectWrapper<>());
 	
@@ -37,6 +37,9 @@ import com.yukthitech.persistence.query.AggregateQuery;
 import com.yukthitech.persistence.query.FinderQuery;
 import com.yukthitech.persistence.repository.InvalidRepositoryException;
 import com.yukthitech.persistence.repository.annotations.AggregateFunctionType;
+import com.yukthitech.persistence.repository.annotations.JoinOperator;
+import com.yukthitech.persistence.repository.annotations.Operator;
+import com.yukthitech.persistence.repository.annotations.OrderByType;
 import com.yukthitech.persistence.repository.annotations.SearchFunction;
 import com.yukthitech.persistence.repository.executors.builder.ConditionQueryBuilder;
 import com.yukthitech.persistence.repository.search.IDynamicSearchResult;
@@ -44,6 +47,7 @@ import com.yukthitech.persistence.repository.search.SearchCondition;
 import com.yukthitech.persistence.repository.search.SearchQuery;
 import com.yukthitech.utils.CommonUtils;
 import com.yukthitech.utils.ConvertUtils;
+import com.yukthitech.utils.exceptions.InvalidArgumentException;
 
 @QueryExecutorPattern(prefixes = {"search"}, annotatedWith = SearchFunction.class)
 public class SearchQueryExecutor extends AbstractSearchQuery
@@ -69,7 +73,7 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 			throw new InvalidRepositoryException("Invalid parameters specified for search method. Search method should have single parameter and it should of type - " + SearchQuery.class.getName());
 		}
 		
-		countReturnType = method.getReturnType();
+		countReturnType = getReturnType(method);
 		
 		if(Long.class.equals(countReturnType) || long.class.equals(countReturnType) || Integer.class.equals(countReturnType) || int.class.equals(countReturnType))
 		{
@@ -82,6 +86,7 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 		}
 		
 		super.fetchOrderDetails(method);
+		super.markReadOnly(method);
 	}
 	
 	/**
@@ -133,6 +138,117 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 		}
 	}
 	
+	/**
+	 * Fetches the order-by fields to be used for keyset paging. If id field is not part of order-by fields, 
+	 * id field will be added as last order-by field, so that ordering is unique.
+	 * @param searchQuery search query being executed
+	 * @param conditionQueryBuilder builder being used
+	 * @return order-by fields to be used
+	 */
+	private List<OrderByField> getKeysetOrderByFields(SearchQuery searchQuery, ConditionQueryBuilder conditionQueryBuilder)
+	{
+		if(searchQuery.getResultsLimit() <= 0)
+		{
+			throw new InvalidArgumentException("Results limit is mandatory for keyset paging. [Method: {}]", methodDesc);
+		}
+		
+		if(searchQuery.getResultsOffset() > 0)
+		{
+			throw new InvalidArgumentException("Results offset can not be used along with keyset paging. [Method: {}]", methodDesc);
+		}
+		
+		List<OrderByField> orderByFields = (searchQuery.getOrderByFields() == null) ? new ArrayList<>() : new ArrayList<>(searchQuery.getOrderByFields());
+		String idField = entityDetails.getIdField().getName();
+		boolean idFieldPresent = orderByFields.stream().anyMatch(field -> idField.equals(field.getName()));
+		
+		if(!idFieldPresent && conditionQueryBuilder.isResultField(idField))
+		{
+			orderByFields.add(new OrderByField(idField, OrderByType.ASC));
+		}
+		
+		if(orderByFields.isEmpty())
+		{
+			throw new InvalidArgumentException("No order-by fields specified for keyset paging. [Method: {}]", methodDesc);
+		}
+		
+		if(searchQuery.getKeysetValues() != null && searchQuery.getKeysetValues().size() != orderByFields.size())
+		{
+			throw new InvalidArgumentException("Number of keyset values ({}) is not matching with number of order-by fields ({}). [Method: {}]", 
+					searchQuery.getKeysetValues().size(), orderByFields.size(), methodDesc);
+		}
+		
+		return orderByFields;
+	}
+	
+	/**
+	 * Builds seek condition, which fetches rows after the specified keyset values. For order fields f1, f2.. with values v1, v2..
+	 * the condition would be of form: f1 > v1 OR (f1 = v1 AND (f2 > v2 OR (f2 = v2 AND ...))). For descending fields
+	 * less than operator is used.
+	 * 
+	 * As null values can not be compared, null checks are added based on null ordering of the data store. When nulls come
+	 * after non-null values, "f1 > v1" becomes "f1 > v1 OR f1 IS NULL". And when last seen value is null, "f1 = v1" becomes
+	 * "f1 IS NULL" and "f1 > v1" becomes "f1 IS NOT NULL" (or no rows when nulls come last).
+	 * @param orderByFields order-by fields
+	 * @param keysetValues last seen values of order-by fields
+	 * @param index index of order-by field for which condition needs to be built
+	 * @param nullsSortedHigh flag indicating if nulls are sorted as higher than non-null values
+	 * @return seek condition
+	 */
+	private SearchCondition buildSeekCondition(List<OrderByField> orderByFields, List<Object> keysetValues, int index, boolean nullsSortedHigh)
+	{
+		OrderByField field = orderByFields.get(index);
+		String name = field.getName();
+		Object value = keysetValues.get(index);
+		
+		boolean descending = (field.getOrderByType() == OrderByType.DESC);
+		boolean nullsLast = (descending != nullsSortedHigh);
+		boolean lastField = (index == orderByFields.size() - 1);
+		
+		//conditions to be ORed, which select rows after the value on current field
+		List<SearchCondition> afterConditions = new ArrayList<>();
+		
+		if(value != null)
+		{
+			afterConditions.add(new SearchCondition(JoinOperator.OR, name, descending ? Operator.LT : Operator.GT, value));
+			
+			if(nullsLast)
+			{
+				afterConditions.add(new SearchCondition(JoinOperator.OR, name, Operator.EQ, null, true));
+			}
+		}
+		else if(!nullsLast)
+		{
+			afterConditions.add(new SearchCondition(JoinOperator.OR, name, Operator.NE, null, true));
+		}
+		
+		if(!lastField)
+		{
+			SearchCondition eqCondition = new SearchCondition(JoinOperator.OR, name, Operator.EQ, value, (value == null));
+			eqCondition.addCondition(buildSeekCondition(orderByFields, keysetValues, index + 1, nullsSortedHigh));
+			
+			afterConditions.add(eqCondition);
+		}
+		
+		//when last value is null and nulls come last, no more rows are available after it 
+		if(afterConditions.isEmpty())
+		{
+			SearchCondition noRowsCondition = new SearchCondition(JoinOperator.AND, name, Operator.EQ, null, true);
+			noRowsCondition.addCondition(new SearchCondition(JoinOperator.AND, name, Operator.NE, null, true));
+			
+			return noRowsCondition;
+		}
+		
+		SearchCondition condition = afterConditions.get(0);
+		condition.setJoinOperator(JoinOperator.AND);
+		
+		for(int i = 1; i < afterConditions.size(); i++)
+		{
+			condition.addCondition(afterConditions.get(i));
+		}
+		
+		return condition;
+	}
+	
 	private Long findCount(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
 	{
 		AggregateQuery countQuery = new AggregateQuery(entityDetails, AggregateFunctionType.COUNT, entityDetails.getIdField().getDbColumnName());
@@ -214,14 +330,28 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 				addConditionsRecursively(condition, conditionQueryBuilder, conditionParams, null);
 			}
 			
+			List<OrderByField> orderByFields = searchQuery.getOrderByFields();
+			
+			//in keyset paging, add seek condition to fetch rows after last seen values
+			if(searchQuery.isKeysetPaging())
+			{
+				orderByFields = getKeysetOrderByFields(searchQuery, conditionQueryBuilder);
+				
+				if(searchQuery.getKeysetValues() != null)
+				{
+					addConditionsRecursively(buildSeekCondition(orderByFields, searchQuery.getKeysetValues(), 0, dataStore.isNullsSortedHigh()), 
+							conditionQueryBuilder, conditionParams, null);
+				}
+			}
+			
 			logger.debug("Executing search query with params - {}", conditionParams);
 			
 			//add order-by fields
-			if(searchQuery.getOrderByFields() != null)
+			if(orderByFields != null)
 			{
 				conditionQueryBuilder.clearOrderByFields();
 				
-				for(OrderByField field : searchQuery.getOrderByFields())
+				for(OrderByField field : orderByFields)
 				{
 					conditionQueryBuilder.addOrderByField(field.getName(), field.getOrderByType(), methodDesc);
 				}
@@ -272,9 +402,22 @@ public class SearchQueryExecutor extends AbstractSearchQuery
 				}
 			}
 			
+			//if cursor is expected, records will be read and converted lazily
+			if(cursorReturnType != null)
+			{
+				return toCursorResult(dataStore.openFinderCursor(finderQuery, entityDetails, recordCountLimiter, fetchSize), conditionQueryBuilder, conversionService);
+			}
+			
 			//execute the query and fetch records
 			List<Record> records = dataStore.executeFinder(finderQuery, entityDetails, recordCountLimiter);
 			
+			//in keyset paging, set last row values on query, so that next page can be fetched
+			if(searchQuery.isKeysetPaging())
+			{
+				boolean morePages = (records != null && records.size() >= searchQuery.getResultsLimit());
+				searchQuery.setKeysetValues(morePages ? conditionQueryBuilder.getOrderByValues(records.get(records.size() - 1), conversionService) : null);
+			}
+			
 			//if no results found
 			if(records == null || records.isEmpty())
 			{
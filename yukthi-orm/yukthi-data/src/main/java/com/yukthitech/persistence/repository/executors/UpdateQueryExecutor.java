@@ -21,6 +21,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -31,6 +32,7 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.yukthitech.persistence.EntityCache;
 import com.yukthitech.persistence.EntityDetails;
 import com.yukthitech.persistence.ExtendedTableDetails;
 import com.yukthitech.persistence.ExtendedTableEntity;
@@ -88,6 +90,12 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 	private Class<?> returnType;
 	private ReentrantLock queryLock = new ReentrantLock();
 	private boolean entityUpdate = false;
+	
+	/**
+	 * Flag indicating collection of entities are updated in batch.
+	 */
+	private boolean batchUpdate = false;
+	
 	private ConditionQueryBuilder conditionQueryBuilder;
 	private String methodDesc;
 	
@@ -118,7 +126,14 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		boolean isCoreInterface = ICrudRepository.class.equals(method.getDeclaringClass());
 		Class<?> firstParamType = TypeUtils.getRawType(method.getGenericParameterTypes()[0], repositoryType);
 		
-		if( ( paramTypes.length >= 1 && entityDetails.getEntityType().equals(firstParamType) ) || isCoreInterface)
+		//collection of entities, without any field annotation, is considered as batch entity update
+		if(Collection.class.isAssignableFrom(paramTypes[0]) && method.getParameters()[0].getAnnotation(Field.class) == null)
+		{
+			Type elemType = TypeUtils.getTypeArguments(method.getGenericParameterTypes()[0], Collection.class).get(Collection.class.getTypeParameters()[0]);
+			batchUpdate = isCoreInterface || entityDetails.getEntityType().equals(elemType);
+		}
+		
+		if( ( paramTypes.length >= 1 && entityDetails.getEntityType().equals(firstParamType) ) || isCoreInterface || batchUpdate)
 		{
 			entityUpdate = true;
 			
@@ -142,7 +157,7 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 			}
 		}
 		
-		returnType = method.getReturnType();
+		returnType = getReturnType(method);
 		
 		if(!boolean.class.equals(returnType) && !void.class.equals(returnType) && !int.class.equals(returnType))
 		{
@@ -417,29 +432,22 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		}
 	}
 	
-	private Object updateFullEntity(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	/**
+	 * Builds update query to update specified entity fully.
+	 * @param context execution context
+	 * @param dataStore data store to be used
+	 * @param conversionService conversion service to be used
+	 * @param entity entity to be updated
+	 * @param params method params to be used for additional conditions
+	 * @return update query for the entity
+	 */
+	private UpdateQuery buildEntityUpdateQuery(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object entity, Object... params)
 	{
-		logger.trace("Started method: updateFullEntity");
-		
-		Object entity = params[0];
-		
 		if(entity == null)
 		{
 			throw new NullPointerException("Entity can not be null");
 		}
 		
-		if(dataStore.isExplicitUniqueCheckRequired())
-		{
-			//check if unique constraints are getting violated
-			checkForUniqueConstraints(dataStore, conversionService, entity, true);//TODO: Read only fields should be skipped
-		}
-		
-		if(dataStore.isExplicitForeignCheckRequired())
-		{
-			//check if all foreign parent keys are available
-			checkForForeignConstraints(dataStore, conversionService, entity);
-		}
-
 		UpdateQuery query = new UpdateQuery(entityDetails);
 		Object value = null;
 		
@@ -496,6 +504,34 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 		}
 		
 		conditionQueryBuilder.loadConditionalQuery(context, query, params);
+		return query;
+	}
+	
+	/**
+	 * Converts the update count into result based on return type.
+	 * @param res update count
+	 * @param success flag indicating if update is successful
+	 * @return result to be returned
+	 */
+	private Object toResult(int res, boolean success)
+	{
+		if(boolean.class.equals(returnType))
+		{
+			return success;
+		}
+		
+		return (int.class.equals(returnType)) ? res : null;
+	}
+	
+	private Object updateFullEntity(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	{
+		logger.trace("Started method: updateFullEntity");
+		
+		Object entity = params[0];
+		UpdateQuery query = buildEntityUpdateQuery(context, dataStore, conversionService, entity, params);
+		
+		//check if unique constraints are getting violated and all foreign parent keys are available
+		checkForConstraints(dataStore, conversionService, Collections.singletonList(entity), true);//TODO: Read only fields should be skipped
 		
 		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
 		{
@@ -511,13 +547,88 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 			}
 			
 			transaction.commit();
-
-			if(boolean.class.equals(returnType))
+			invalidateEntityCache(dataStore, entityDetails.getIdField().getValue(entity));
+			
+			return toResult(res, res > 0);
+		}catch(Exception ex)
+		{
+			//rethrow the catched exception
+			if(ex instanceof RuntimeException)
 			{
-				return (res > 0);
+				throw (RuntimeException)ex;
 			}
 			
-			return (int.class.equals(returnType)) ? res : null;
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	/**
+	 * Updates specified collection of entities (first param) fully, using batch updates.
+	 * @param context execution context
+	 * @param dataStore data store to be used
+	 * @param conversionService conversion service to be used
+	 * @param params method params
+	 * @return result based on return type
+	 */
+	@SuppressWarnings("unchecked")
+	private Object updateAllEntities(QueryExecutionContext context, IDataStore dataStore, ConversionService conversionService, Object... params)
+	{
+		logger.trace("Started method: updateAllEntities");
+		
+		Collection<Object> entities = (Collection<Object>) params[0];
+		
+		if(entities == null)
+		{
+			throw new NullPointerException("Entities can not be null");
+		}
+		
+		List<Object> entityList = new ArrayList<>(entities);
+		List<UpdateQuery> queries = new ArrayList<>(entityList.size());
+		Object entityParams[] = params.clone();
+		
+		for(Object entity : entityList)
+		{
+			entityParams[0] = entity;
+			queries.add(buildEntityUpdateQuery(context, dataStore, conversionService, entity, entityParams));
+		}
+		
+		if(queries.isEmpty())
+		{
+			return toResult(0, true);
+		}
+		
+		//check constraints of all entities together
+		checkForConstraints(dataStore, conversionService, entityList, true);
+		
+		try(ITransaction transaction = dataStore.getTransactionManager().newOrExistingTransaction())
+		{
+			for(Object entity : entityList)
+			{
+				super.notifyEntityEvent(null, entity, EntityEventType.PRE_UPDATE);
+			}
+			
+			int res[] = dataStore.updateBatch(queries, entityDetails);
+			int count = 0;
+			
+			for(int i = 0; i < res.length; i++)
+			{
+				updateExtensionFields(dataStore, conversionService, entityList.get(i));
+				
+				if(res[i] > 0)
+				{
+					count++;
+					super.notifyEntityEvent(null, entityList.get(i), EntityEventType.POST_UPDATE);
+				}
+			}
+			
+			transaction.commit();
+			
+			for(Object entity : entityList)
+			{
+				invalidateEntityCache(dataStore, entityDetails.getIdField().getValue(entity));
+			}
+			
+			return toResult(count, count == entityList.size());
 		}catch(Exception ex)
 		{
 			//rethrow the catched exception
@@ -565,6 +676,11 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 	{
 		logger.trace("Started method: execute");
 		
+		if(batchUpdate)
+		{
+			return updateAllEntities(context, dataStore, conversionService, params);
+		}
+		
 		if(entityUpdate)
 		{
 			return updateFullEntity(context, dataStore, conversionService, params);
@@ -644,6 +760,19 @@ public class UpdateQueryExecutor extends AbstractPersistQueryExecutor
 
 				transaction.commit();
 				
+				//as updated entities are not known, clear the caches of affected entities
+				invalidateEntityCache(dataStore, null);
+				
+				for(RelationUpdateParam relParam : relationUpdateParams)
+				{
+					EntityCache targetCache = relParam.fieldDetails.getForeignConstraintDetails().getTargetEntityDetails().getEntityCache();
+					
+					if(targetCache != null)
+					{
+						targetCache.clear();
+					}
+				}
+				
 				if(int.class.equals(returnType))
 				{
 					return res;
@@ -15,6 +15,10 @@
  */
 package com.yukthitech.persistence.repository.executors.builder;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -26,7 +30,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import javax.persistence.Table;
 
@@ -54,6 +61,7 @@ import com.yukthitech.persistence.repository.annotations.Operator;
 import com.yukthitech.persistence.repository.annotations.OrderByType;
 import com.yukthitech.persistence.repository.executors.QueryExecutionContext;
 import com.yukthitech.persistence.repository.executors.proxy.ProxyEntity;
+import com.yukthitech.persistence.repository.executors.proxy.ProxyLoadGroup;
 import com.yukthitech.persistence.repository.executors.proxy.ProxyResultObject;
 import com.yukthitech.persistence.repository.search.DynamicResultField;
 import com.yukthitech.persistence.repository.search.IDynamicSearchResult;
@@ -76,6 +84,11 @@ public class ConditionQueryBuilder implements Cloneable
 {
 	private static final String ID_FIELD_CODE = "RID_0";
 	
+	/**
+	 * Pattern of simple (non-nested) property names, for which setters can be pre-resolved.
+	 */
+	private static final Pattern SIMPLE_PROPERTY_PATTERN = Pattern.compile("[\\w\\$]+");
+	
 	/**
 	 * Table information required by the query
 	 * 
@@ -370,6 +383,59 @@ public class ConditionQueryBuilder implements Cloneable
 			this.fieldType = fieldType;
 		}
 	}
+	
+	/**
+	 * Pre-resolved mapping of result fields to a result type. Built once per result type and reused for
+	 * every record, which avoids reflective lookups and converter resolution per column per row.
+	 * @author akiran
+	 */
+	private static class ResultMapping
+	{
+		/**
+		 * Conversion service using which converters are resolved.
+		 */
+		private ConversionService conversionService;
+		
+		/**
+		 * Constructor handle of result type. Null if result type is not accessible via method handles.
+		 */
+		private MethodHandle constructorHandle;
+		
+		/**
+		 * Constructor to be used when constructor handle is not available.
+		 */
+		private Constructor<?> constructor;
+		
+		/**
+		 * Flag indicating if result type is an entity.
+		 */
+		private boolean entityResultType;
+		
+		/**
+		 * Converters of result fields, by result field index.
+		 */
+		private List<Function<Object, Object>> converters = new ArrayList<>();
+		
+		/**
+		 * Setter handles of result fields, by result field index. Null values indicate property needs to
+		 * be set using property accessor (like nested properties).
+		 */
+		private List<MethodHandle> setters = new ArrayList<>();
+		
+		/**
+		 * Creates new instance of result type.
+		 * @return new result instance
+		 */
+		private Object newInstance() throws Throwable
+		{
+			if(constructorHandle != null)
+			{
+				return constructorHandle.invoke();
+			}
+			
+			return constructor.newInstance();
+		}
+	}
 
 	/**
 	 * Bean context that can be used to parse/process expressions
@@ -455,6 +521,11 @@ public class ConditionQueryBuilder implements Cloneable
 	 * Flag indicating if the expected output results have any relation fields or not.
 	 */
 	private boolean containsRelationResults = false;
+	
+	/**
+	 * Pre-resolved result mappings by result type.
+	 */
+	private Map<Class<?>, ResultMapping> resultMappings = new ConcurrentHashMap<>();
 
 	public ConditionQueryBuilder(EntityDetails entityDetails)
 	{
@@ -982,6 +1053,8 @@ public class ConditionQueryBuilder implements Cloneable
 		Iterator<ResultField> fieldIt = this.resultFields.iterator();
 		ResultField field = null;
 		
+		resultMappings.clear();
+		
 		while(fieldIt.hasNext())
 		{
 			field = fieldIt.next();
@@ -1028,6 +1101,7 @@ public class ConditionQueryBuilder implements Cloneable
 		*/
 
 		ResultField resultField = new ResultField(resultProperty, nextFieldCode(), resultPropertyType);
+		resultMappings.clear();
 
 		// if this mapping is for direct property mapping
 		if(entityFieldParts.length == 1)
@@ -1365,6 +1439,124 @@ public class ConditionQueryBuilder implements Cloneable
 		}
 	}
 
+	/**
+	 * Checks if specified entity field expression is part of result fields.
+	 * @param field field expression to check
+	 * @return true if field is part of result fields
+	 */
+	public boolean isResultField(String field)
+	{
+		return fieldToResultField.containsKey(field);
+	}
+	
+	/**
+	 * Fetches values of order-by fields from specified record, converted to java types. Used
+	 * in keyset paging to compute last seen values.
+	 * @param record record from which values should be fetched
+	 * @param conversionService conversion service to use
+	 * @return values of order-by fields in order-by order
+	 */
+	public List<Object> getOrderByValues(Record record, ConversionService conversionService)
+	{
+		List<Object> values = new ArrayList<>(orderByFields.size());
+		Object value = null;
+		
+		for(ResultField field : orderByFields)
+		{
+			value = record.getObject(field.code);
+			
+			if(value != null)
+			{
+				value = conversionService.convertToJavaType(value, field.fieldDetails);
+			}
+			
+			values.add(value);
+		}
+		
+		return values;
+	}
+
+	/**
+	 * Fetches the result mapping for specified result type. If not present, new mapping will be built.
+	 * @param resultType result type for which mapping is needed
+	 * @param conversionService conversion service to be used
+	 * @return result mapping
+	 */
+	private ResultMapping getResultMapping(Class<?> resultType, ConversionService conversionService) throws NoSuchMethodException
+	{
+		ResultMapping mapping = resultMappings.get(resultType);
+		
+		if(mapping != null && mapping.conversionService == conversionService)
+		{
+			return mapping;
+		}
+		
+		mapping = new ResultMapping();
+		mapping.conversionService = conversionService;
+		mapping.entityResultType = (resultType.getAnnotation(Table.class) != null);
+		mapping.constructor = resultType.getConstructor();
+		
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		
+		try
+		{
+			mapping.constructorHandle = lookup.unreflectConstructor(mapping.constructor).asType(MethodType.methodType(Object.class));
+		}catch(IllegalAccessException ex)
+		{
+			//when class is not accessible, constructor will be used directly
+			mapping.constructorHandle = null;
+		}
+		
+		for(ResultField resultField : resultFields)
+		{
+			FieldDetails fieldDetails = resultField.fieldDetails;
+			
+			if(fieldDetails == null || fieldDetails.getField() == null)
+			{
+				mapping.converters.add(value -> conversionService.convertToJavaType(value, fieldDetails));
+			}
+			else
+			{
+				mapping.converters.add(conversionService.getJavaTypeConverter(fieldDetails));
+			}
+			
+			mapping.setters.add(getSetterHandle(lookup, resultType, resultField.property));
+		}
+		
+		resultMappings.put(resultType, mapping);
+		return mapping;
+	}
+	
+	/**
+	 * Fetches setter method handle for specified property. 
+	 * @param lookup lookup to be used
+	 * @param resultType result type
+	 * @param property property for which setter is needed
+	 * @return setter handle, null if property is nested or setter is not accessible
+	 */
+	private MethodHandle getSetterHandle(MethodHandles.Lookup lookup, Class<?> resultType, String property)
+	{
+		if(property == null || Map.class.isAssignableFrom(resultType) || !SIMPLE_PROPERTY_PATTERN.matcher(property).matches())
+		{
+			return null;
+		}
+		
+		PropertyAccessor.Property accessorProperty = PropertyAccessor.getProperty(resultType, property);
+		
+		if(accessorProperty == null || accessorProperty.getSetter() == null)
+		{
+			return null;
+		}
+		
+		try
+		{
+			return lookup.unreflect(accessorProperty.getSetter()).asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}catch(IllegalAccessException ex)
+		{
+			return null;
+		}
+	}
+	
 	/**
 	 * Parses and converts specified record into specified result type
 	 * 
@@ -1378,8 +1570,29 @@ public class ConditionQueryBuilder implements Cloneable
 	 * @throws NoSuchMethodException
 	 * @throws InvocationTargetException
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public <T> T parseResult(Record record, Class<T> resultType, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext) throws IllegalAccessException, InstantiationException, InvocationTargetException, NoSuchMethodException
+	{
+		return parseResult(record, resultType, conversionService, persistenceExecutionContext, null);
+	}
+
+	/**
+	 * Parses and converts specified record into specified result type. Lazy relation proxies created 
+	 * during parsing will be added to specified load group, so that they get loaded in batches.
+	 * 
+	 * @param record
+	 * @param resultType
+	 * @param conversionService
+	 * @param persistenceExecutionContext
+	 * @param loadGroup load group to be used for lazy proxies, can be null
+	 * @return
+	 * @throws IllegalAccessException
+	 * @throws InstantiationException
+	 * @throws NoSuchMethodException
+	 * @throws InvocationTargetException
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <T> T parseResult(Record record, Class<T> resultType, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext, 
+			ProxyLoadGroup loadGroup) throws IllegalAccessException, InstantiationException, InvocationTargetException, NoSuchMethodException
 	{
 		if(isSingleFieldReturn)
 		{
@@ -1389,18 +1602,31 @@ public class ConditionQueryBuilder implements Cloneable
 			return (T) ConvertUtils.convert(res, resField.fieldType);
 		}
 
-		T result = resultType.getConstructor().newInstance();
+		ResultMapping mapping = getResultMapping(resultType, conversionService);
+		T result = null;
+		
+		try
+		{
+			result = (T) mapping.newInstance();
+		}catch(Throwable ex)
+		{
+			throw new InvocationTargetException(ex, "An error occurred while creating result bean of type: " + resultType.getName());
+		}
+		
 		Object value = null;
 		ForeignConstraintDetails foreignConstraint = null;
 		EntityDetails foreignEntityDetails = null;
 
 		RepositoryFactory repositoryFactory = persistenceExecutionContext.getRepositoryFactory();
 		
-		boolean isEntityResultType = (resultType.getAnnotation(Table.class) != null);
+		boolean isEntityResultType = mapping.entityResultType;
 		Object idVal = null;
+		ResultField resultField = null;
+		int fieldCount = resultFields.size();
 
-		for(ResultField resultField : this.resultFields)
+		for(int i = 0; i < fieldCount; i++)
 		{
+			resultField = resultFields.get(i);
 			value = record.getObject(resultField.code);
 
 			// ignore null values
@@ -1411,7 +1637,7 @@ public class ConditionQueryBuilder implements Cloneable
 			
 			if(ID_FIELD_CODE.equals(resultField.code))
 			{
-				idVal = conversionService.convertToJavaType(value, resultField.fieldDetails);
+				idVal = mapping.converters.get(i).apply(value);
 				idVal = ConvertUtils.convert(idVal, resultField.fieldType);
 				continue;
 			}
@@ -1426,7 +1652,7 @@ public class ConditionQueryBuilder implements Cloneable
 					foreignConstraint = resultField.fieldDetails.getForeignConstraintDetails();
 					foreignEntityDetails = foreignConstraint.getTargetEntityDetails();
 
-					value = ProxyEntity.newProxyById(foreignEntityDetails, repositoryFactory.getRepositoryForEntity((Class) foreignEntityDetails.getEntityType()), value);
+					value = ProxyEntity.newProxyById(foreignEntityDetails, repositoryFactory.getRepositoryForEntity((Class) foreignEntityDetails.getEntityType()), value, loadGroup);
 				}
 				//if this is extension field
 				else if(resultField.property.startsWith("@"))
@@ -1456,14 +1682,14 @@ public class ConditionQueryBuilder implements Cloneable
 				//if this is additional property field
 				else if(resultField.property.startsWith("#"))
 				{
-					value = conversionService.convertToJavaType(value, resultField.fieldDetails);
+					value = mapping.converters.get(i).apply(value);
 					((IDynamicSearchResult)result).addField(new DynamicResultField(resultField.property.substring(1), value));
 					continue;
 				}
 				// if current field is a simple field (non relation field)
 				else
 				{
-					value = conversionService.convertToJavaType(value, resultField.fieldDetails);
+					value = mapping.converters.get(i).apply(value);
 					value = ConvertUtils.convert(value, resultField.fieldType);
 				}
 			} catch(Exception ex)
@@ -1477,14 +1703,28 @@ public class ConditionQueryBuilder implements Cloneable
 				continue;
 			}
 
-			PropertyAccessor.setProperty(result, resultField.property, value);
+			MethodHandle setter = mapping.setters.get(i);
+			
+			if(setter == null)
+			{
+				PropertyAccessor.setProperty(result, resultField.property, value);
+				continue;
+			}
+			
+			try
+			{
+				setter.invokeExact((Object) result, value);
+			}catch(Throwable ex)
+			{
+				throw new InvalidStateException("An error occurred while setting property '{}' on result bean of type: {}", resultField.property, resultType.getName(), ex);
+			}
 		}
 
 		//if return type is target entity type, wrap result with proxy to take care of sub relations
 		if(isEntityResultType)
 		{
 			ICrudRepository<?> resultRepo = repositoryFactory.getRepositoryForEntity(resultType);
-			result = (T) ProxyEntity.newProxyByEntity(resultRepo.getEntityDetails(), resultRepo, result, Collections.emptyMap());
+			result = (T) ProxyEntity.newProxyByEntity(resultRepo.getEntityDetails(), resultRepo, result, Collections.emptyMap(), loadGroup);
 		}
 		else if(containsRelationResults)
 		{
@@ -1512,11 +1752,14 @@ public class ConditionQueryBuilder implements Cloneable
 	 */
 	public <T> void parseResults(List<Record> records, Class<T> returnType, Collection<T> resultCollection, ConversionService conversionService, PersistenceExecutionContext persistenceExecutionContext)
 	{
+		//lazy relations of all records are grouped, so that they get loaded in batches
+		ProxyLoadGroup loadGroup = (records.size() > 1) ? ProxyLoadGroup.newGroup(persistenceExecutionContext.getRepositoryFactory()) : null;
+		
 		for(Record record : records)
 		{
 			try
 			{
-				resultCollection.add(parseResult(record, returnType, conversionService, persistenceExecutionContext));
+				resultCollection.add(parseResult(record, returnType, conversionService, persistenceExecutionContext, loadGroup));
 			} catch(Exception ex)
 			{
 				throw new IllegalArgumentException("An error occurred while parsing record - " + record, ex);
@@ -1563,6 +1806,7 @@ public class ConditionQueryBuilder implements Cloneable
 			newBuilder.orderByFields = new ArrayList<>(orderByFields);
 			newBuilder.propToTable = new HashMap<>(propToTable);
 			newBuilder.resultFields = new ArrayList<>(resultFields);
+			newBuilder.resultMappings = new ConcurrentHashMap<>();
 
 			return newBuilder;
 		} catch(CloneNotSupportedException ex)
@@ -80,7 +80,26 @@ public class ProxyEntity
 	 */
 	private Object proxyEntity;
 	
+	/**
+	 * Load group to which this proxy belongs, used to load sibling proxies in batch. Can be null.
+	 */
+	private ProxyLoadGroup loadGroup;
+	
 	public static Object newProxyById(EntityDetails entityDetails, ICrudRepository<?> repository, Object entityId)
+	{
+		return newProxyById(entityDetails, repository, entityId, null);
+	}
+
+	/**
+	 * Creates proxy for entity with specified id. If load group is specified, the entity will be loaded
+	 * along with other pending proxies of the group.
+	 * @param entityDetails entity details of the entity
+	 * @param repository repository of the entity
+	 * @param entityId id of the entity
+	 * @param loadGroup load group to which proxy should be added, can be null
+	 * @return proxy entity
+	 */
+	public static Object newProxyById(EntityDetails entityDetails, ICrudRepository<?> repository, Object entityId, ProxyLoadGroup loadGroup)
 	{
 		if(entityId == null)
 		{
@@ -88,6 +107,13 @@ public class ProxyEntity
 		}
 		
 		ProxyEntity creator = new ProxyEntity(entityDetails, repository, entityId, null);
+		creator.loadGroup = loadGroup;
+		
+		if(loadGroup != null)
+		{
+			loadGroup.addEntityProxy(entityDetails, entityId, creator);
+		}
+		
 		return creator.proxyEntity;
 	}
 
@@ -103,6 +129,21 @@ public class ProxyEntity
 	}
 
 	public static Object newProxyByEntity(EntityDetails entityDetails, ICrudRepository<?> repository, Object entity, Map<String, Object> dataMap)
+	{
+		return newProxyByEntity(entityDetails, repository, entity, dataMap, null);
+	}
+
+	/**
+	 * Creates proxy for specified entity. Proxies created for relations of the entity will be part of specified
+	 * load group.
+	 * @param entityDetails entity details of the entity
+	 * @param repository repository of the entity
+	 * @param entity entity to be wrapped
+	 * @param dataMap flat data map from which owned relation ids can be fetched
+	 * @param loadGroup load group to be used for relation proxies, can be null
+	 * @return proxy entity
+	 */
+	public static Object newProxyByEntity(EntityDetails entityDetails, ICrudRepository<?> repository, Object entity, Map<String, Object> dataMap, ProxyLoadGroup loadGroup)
 	{
 		if(!entityDetails.getEntityType().isAssignableFrom(entity.getClass()))
 		{
@@ -110,6 +151,7 @@ public class ProxyEntity
 		}
 		
 		ProxyEntity creator = new ProxyEntity(entityDetails, repository, null, null);
+		creator.loadGroup = loadGroup;
 		creator.actualEntity = entity;
 		creator.populateRelationFields(dataMap);
 		creator.actualEntityLoaded = true;
@@ -205,7 +247,8 @@ public class ProxyEntity
 				{
 					String mappedField = foreignConstraintDetails.getMappedBy() + "." + foreignConstraintDetails.getTargetEntityDetails().getIdField().getName();
 					SearchCondition relationCondition = new SearchCondition(mappedField, Operator.EQ, entityId);
-					resCollection = ProxyEntityCollection.newProxyCollectionByCondition(targetEntityDetails, relatedRepo, relationCondition, fieldDetails.getField().getType());
+					FieldDetails mappedFieldDetails = targetEntityDetails.getFieldDetailsByField(foreignConstraintDetails.getMappedBy());
+					resCollection = ProxyEntityCollection.newProxyCollectionByCondition(targetEntityDetails, relatedRepo, relationCondition, fieldDetails.getField().getType(), loadGroup, mappedFieldDetails);
 				}
 				//when current entity owns the relation via join table (note: for multi valued owned field, join table is indicative)
 				else
@@ -237,7 +280,7 @@ public class ProxyEntity
 						}
 					}
 					
-					Object relatedEntity = ProxyEntity.newProxyById(targetEntityDetails, relatedRepo, relationId);
+					Object relatedEntity = ProxyEntity.newProxyById(targetEntityDetails, relatedRepo, relationId, loadGroup);
 					
 					fieldDetails.setValue(actualEntity, relatedEntity);
 					continue;
@@ -259,6 +302,28 @@ public class ProxyEntity
 		}
 	}
 	
+	/**
+	 * Sets the loaded entity on this proxy, if not loaded already. Used when entity is loaded 
+	 * as part of batch load.
+	 * @param entity loaded entity, null if entity is not found
+	 */
+	synchronized void setLoadedEntity(Object entity)
+	{
+		if(actualEntityLoaded)
+		{
+			return;
+		}
+		
+		this.actualEntity = entity;
+		
+		if(actualEntity != null)
+		{
+			this.populateRelationFields(Collections.emptyMap());
+		}
+		
+		actualEntityLoaded = true;
+	}
+	
 	/**
 	 * Handles proxy method invocation if it is proxy method.
 	 * @param method Method being invoked
@@ -344,21 +409,25 @@ public class ProxyEntity
 				return method.invoke(actualEntity, args);
 			}
 			
-			//if enity id is present use it for fetching entity
+			//if enity id is present, load the entity along with pending siblings if any
 			if(entityId != null)
 			{
-				actualEntity = repository.findById(entityId);
+				if(loadGroup == null || !loadGroup.loadEntities(entityDetails, repository, entityId))
+				{
+					setLoadedEntity(repository.findById(entityId));
+				}
 			}
 			//if search condition is specified to fetch entity
 			else if(searchCondition != null)
 			{
 				@SuppressWarnings({ "unchecked", "rawtypes" })
 				List<Object> entities = (List)repository.search(new SearchQuery(this.searchCondition));
-				this.actualEntity = (entities.size() > 0) ? entities.get(0) : null;
+				setLoadedEntity((entities.size() > 0) ? entities.get(0) : null);
+			}
+			else
+			{
+				actualEntityLoaded = true;
 			}
-			
-			this.populateRelationFields(Collections.emptyMap());
-			actualEntityLoaded = true;
 			
 			//if entity is not found with specified criteria
 			if(actualEntity == null)
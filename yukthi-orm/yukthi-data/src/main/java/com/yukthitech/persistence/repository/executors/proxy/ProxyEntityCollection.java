@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.List;
 
 import com.yukthitech.persistence.EntityDetails;
+import com.yukthitech.persistence.FieldDetails;
 import com.yukthitech.persistence.ICrudRepository;
 import com.yukthitech.persistence.repository.search.SearchCondition;
 import com.yukthitech.persistence.repository.search.SearchQuery;
@@ -56,10 +57,48 @@ public class ProxyEntityCollection
 	 */
 	private Object proxyCollection;
 	
-	@SuppressWarnings("unchecked")
+	/**
+	 * Load group to which this proxy belongs, used to load sibling collections in batch. Can be null.
+	 */
+	private ProxyLoadGroup loadGroup;
+	
+	/**
+	 * Field of target entity which refers to parent entity. Used during batch load to group 
+	 * loaded entities by parent.
+	 */
+	private FieldDetails mappedField;
+	
 	public static Collection<Object> newProxyCollectionByCondition(EntityDetails entityDetails, ICrudRepository<?> repository, SearchCondition condition, Class<?> collectionType)
+	{
+		return newProxyCollectionByCondition(entityDetails, repository, condition, collectionType, null, null);
+	}
+	
+	/**
+	 * Creates proxy collection of mapped relation. If load group and mapped field are specified, the collection 
+	 * will be loaded along with other pending collections of the group, where the specified condition value is 
+	 * expected to be parent id. Batch loading is skipped for many-to-many relations.
+	 * @param entityDetails entity details of target entity
+	 * @param repository repository of target entity
+	 * @param condition condition to fetch collection
+	 * @param collectionType collection type to be created
+	 * @param loadGroup load group to which proxy should be added, can be null
+	 * @param mappedField field of target entity which refers to parent entity, can be null
+	 * @return proxy collection
+	 */
+	@SuppressWarnings("unchecked")
+	public static Collection<Object> newProxyCollectionByCondition(EntityDetails entityDetails, ICrudRepository<?> repository, SearchCondition condition, Class<?> collectionType, 
+			ProxyLoadGroup loadGroup, FieldDetails mappedField)
 	{
 		ProxyEntityCollection proxyEntityCollection = new ProxyEntityCollection(entityDetails, repository, condition, collectionType);
+		
+		//batch loading is supported only when target entities refer to single parent
+		if(loadGroup != null && mappedField != null && !mappedField.isMultiValuedRelation())
+		{
+			proxyEntityCollection.loadGroup = loadGroup;
+			proxyEntityCollection.mappedField = mappedField;
+			loadGroup.addCollectionProxy(mappedField, condition.getValue(), proxyEntityCollection);
+		}
+		
 		return (Collection<Object>) proxyEntityCollection.proxyCollection;
 	}
 	
@@ -86,6 +125,26 @@ public class ProxyEntityCollection
 		this.proxyCollection = ProxyBuilder.buildProxy(collectionType, null, this::invoke);
 	}
 	
+	/**
+	 * Sets the loaded entities on this proxy, if not loaded already. Used when collection is loaded 
+	 * as part of batch load.
+	 * @param entities loaded entities, can be null
+	 */
+	synchronized void setLoadedEntities(Collection<Object> entities)
+	{
+		if(collectionLoaded)
+		{
+			return;
+		}
+		
+		if(entities != null)
+		{
+			this.actualCollection.addAll(entities);
+		}
+		
+		collectionLoaded = true;
+	}
+	
 	/**
 	 * Proxy method invocation handler method
 	 * @param proxy
@@ -101,15 +160,13 @@ public class ProxyEntityCollection
 			return method.invoke(actualCollection, args);
 		}
 		
-		@SuppressWarnings({ "unchecked", "rawtypes" })
-		List<Object> entities = (List)repository.search(new SearchQuery(this.searchCondition));
-		
-		if(entities != null)
+		if(loadGroup == null || !loadGroup.loadCollections(mappedField, repository, searchCondition))
 		{
-			this.actualCollection.addAll(entities);
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			List<Object> entities = (List)repository.search(new SearchQuery(this.searchCondition));
+			setLoadedEntities(entities);
 		}
 		
-		collectionLoaded = true;
 		return method.invoke(actualCollection, args);
 	}
 	
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.repository.executors.proxy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.yukthitech.persistence.EntityDetails;
+import com.yukthitech.persistence.FieldDetails;
+import com.yukthitech.persistence.ICrudRepository;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.persistence.repository.annotations.Operator;
+import com.yukthitech.persistence.repository.search.SearchCondition;
+import com.yukthitech.persistence.repository.search.SearchQuery;
+import com.yukthitech.utils.ConvertUtils;
+
+/**
+ * Group of lazy proxies created as part of single load (like single finder execution). When one of the 
+ * proxies in the group is accessed, pending sibling proxies of same type are loaded along with it using 
+ * single IN query, which avoids N+1 queries while iterating over results.
+ * @author akiran
+ */
+public class ProxyLoadGroup
+{
+	private static Logger logger = LogManager.getLogger(ProxyLoadGroup.class);
+	
+	/**
+	 * Max number of proxies to be loaded in single query.
+	 */
+	private int batchSize;
+	
+	/**
+	 * Pending entity proxies grouped by entity type and entity id.
+	 */
+	private Map<Class<?>, Map<Object, List<ProxyEntity>>> pendingEntities = new HashMap<>();
+	
+	/**
+	 * Pending collection proxies grouped by relation field and parent entity id.
+	 */
+	private Map<FieldDetails, Map<Object, List<ProxyEntityCollection>>> pendingCollections = new HashMap<>();
+	
+	public ProxyLoadGroup(int batchSize)
+	{
+		this.batchSize = batchSize;
+	}
+	
+	/**
+	 * Creates new load group based on batch size configured on specified factory.
+	 * @param repositoryFactory factory to be used
+	 * @return new load group, null if batch loading is disabled
+	 */
+	public static ProxyLoadGroup newGroup(RepositoryFactory repositoryFactory)
+	{
+		int batchSize = repositoryFactory.getLazyLoadBatchSize();
+		return (batchSize > 1) ? new ProxyLoadGroup(batchSize) : null;
+	}
+	
+	/**
+	 * Converts specified id into type of id field of specified entity. So that ids obtained from different 
+	 * sources can be matched.
+	 * @param entityDetails entity whose id type should be used
+	 * @param id id to convert
+	 * @return converted id
+	 */
+	private static Object toIdKey(EntityDetails entityDetails, Object id)
+	{
+		return ConvertUtils.convert(id, entityDetails.getIdField().getField().getType());
+	}
+	
+	/**
+	 * Adds specified proxy to the pending list.
+	 */
+	private synchronized <K, P> void addPending(Map<K, Map<Object, List<P>>> pendingMap, K key, Object id, P proxy)
+	{
+		pendingMap
+			.computeIfAbsent(key, k -> new LinkedHashMap<>())
+			.computeIfAbsent(id, k -> new ArrayList<>())
+			.add(proxy);
+	}
+	
+	/**
+	 * Removes the specified id along with max of (batch-size - 1) other pending ids from the pending list 
+	 * and returns them.
+	 * @return claimed ids and their proxies, null if specified id is not pending (loaded or being loaded by other thread)
+	 */
+	private synchronized <K, P> Map<Object, List<P>> claim(Map<K, Map<Object, List<P>>> pendingMap, K key, Object id)
+	{
+		Map<Object, List<P>> pending = pendingMap.get(key);
+		List<P> proxies = (pending != null) ? pending.remove(id) : null;
+		
+		if(proxies == null)
+		{
+			return null;
+		}
+		
+		Map<Object, List<P>> batch = new LinkedHashMap<>();
+		batch.put(id, proxies);
+		
+		Iterator<Map.Entry<Object, List<P>>> it = pending.entrySet().iterator();
+		
+		while(batch.size() < batchSize && it.hasNext())
+		{
+			Map.Entry<Object, List<P>> entry = it.next();
+			batch.put(entry.getKey(), entry.getValue());
+			it.remove();
+		}
+		
+		return batch;
+	}
+	
+	/**
+	 * Adds specified entity proxy to this group.
+	 * @param entityDetails entity details of proxy
+	 * @param entityId id of the entity
+	 * @param proxy proxy to add
+	 */
+	void addEntityProxy(EntityDetails entityDetails, Object entityId, ProxyEntity proxy)
+	{
+		addPending(pendingEntities, entityDetails.getEntityType(), toIdKey(entityDetails, entityId), proxy);
+	}
+	
+	/**
+	 * Loads entity with specified id along with pending siblings of same type. And populates the 
+	 * loaded entities on corresponding proxies.
+	 * @param entityDetails entity details of the entity to load
+	 * @param repository repository to use
+	 * @param entityId id of the entity to load
+	 * @return true if entities are loaded. False, if specified entity id is not pending, in which case caller 
+	 * is expected to load the entity by itself.
+	 */
+	boolean loadEntities(EntityDetails entityDetails, ICrudRepository<?> repository, Object entityId)
+	{
+		Map<Object, List<ProxyEntity>> batch = claim(pendingEntities, entityDetails.getEntityType(), toIdKey(entityDetails, entityId));
+		
+		if(batch == null)
+		{
+			return false;
+		}
+		
+		Map<Object, Object> idToEntity = new HashMap<>();
+		
+		//for single entity, use find-by-id so that entity cache (if any) is utilized
+		if(batch.size() == 1)
+		{
+			Object id = batch.keySet().iterator().next();
+			Object entity = repository.findById(id);
+			
+			if(entity != null)
+			{
+				idToEntity.put(id, entity);
+			}
+		}
+		else
+		{
+			logger.trace("Loading {} entities of type {} in single batch", batch.size(), entityDetails.getEntityType().getName());
+			
+			SearchCondition condition = new SearchCondition(entityDetails.getIdField().getName(), Operator.IN, new ArrayList<>(batch.keySet()));
+			List<?> entities = repository.search(new SearchQuery(condition));
+			
+			for(Object entity : entities)
+			{
+				idToEntity.put(toIdKey(entityDetails, entityDetails.getIdField().getValue(entity)), entity);
+			}
+		}
+		
+		for(Map.Entry<Object, List<ProxyEntity>> entry : batch.entrySet())
+		{
+			Object entity = idToEntity.get(entry.getKey());
+			
+			for(ProxyEntity proxy : entry.getValue())
+			{
+				proxy.setLoadedEntity(entity);
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Adds specified collection proxy to this group.
+	 * @param mappedField field of target entity which refers to parent entity
+	 * @param parentId id of the parent entity
+	 * @param proxy proxy to add
+	 */
+	void addCollectionProxy(FieldDetails mappedField, Object parentId, ProxyEntityCollection proxy)
+	{
+		EntityDetails parentEntityDetails = mappedField.getForeignConstraintDetails().getTargetEntityDetails();
+		addPending(pendingCollections, mappedField, toIdKey(parentEntityDetails, parentId), proxy);
+	}
+	
+	/**
+	 * Loads the collection of specified parent along with pending sibling collections of same relation. And populates 
+	 * the loaded entities on corresponding proxies.
+	 * @param mappedField field of target entity which refers to parent entity
+	 * @param repository repository of target entity
+	 * @param condition condition used to fetch single collection, whose field is used for batch query
+	 * @return true if collections are loaded. False, if specified collection is not pending, in which case caller
+	 * is expected to load the collection by itself.
+	 */
+	boolean loadCollections(FieldDetails mappedField, ICrudRepository<?> repository, SearchCondition condition)
+	{
+		EntityDetails parentEntityDetails = mappedField.getForeignConstraintDetails().getTargetEntityDetails();
+		Map<Object, List<ProxyEntityCollection>> batch = claim(pendingCollections, mappedField, toIdKey(parentEntityDetails, condition.getValue()));
+		
+		if(batch == null)
+		{
+			return false;
+		}
+		
+		logger.trace("Loading {} collections of relation {} in single batch", batch.size(), mappedField.getName());
+		
+		SearchCondition batchCondition = new SearchCondition(condition.getField(), Operator.IN, new ArrayList<>(batch.keySet()));
+		List<?> entities = repository.search(new SearchQuery(batchCondition));
+		Map<Object, List<Object>> parentToEntities = new HashMap<>();
+		
+		for(Object entity : entities)
+		{
+			Object parent = mappedField.getValue(entity);
+			
+			if(parent == null)
+			{
+				continue;
+			}
+			
+			Object parentId = toIdKey(parentEntityDetails, parentEntityDetails.getIdField().getValue(parent));
+			parentToEntities.computeIfAbsent(parentId, k -> new ArrayList<>()).add(entity);
+		}
+		
+		for(Map.Entry<Object, List<ProxyEntityCollection>> entry : batch.entrySet())
+		{
+			List<Object> collection = parentToEntities.get(entry.getKey());
+			
+			for(ProxyEntityCollection proxy : entry.getValue())
+			{
+				proxy.setLoadedEntities(collection);
+			}
+		}
+		
+		return true;
+	}
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.persistence.repository.search;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import com.yukthitech.utils.exceptions.InvalidArgumentException;
+
+/**
+ * Encodes and decodes keyset values into opaque continuation tokens. Each value is encoded along with
+ * its type tag, so that values can be restored with same type. Only simple types are supported, which 
+ * ensures tokens received from outside world can not be used to instantiate arbitrary types.
+ * 
+ * @author akiran
+ */
+class KeysetTokenCodec
+{
+	/**
+	 * Separator used between encoded values.
+	 */
+	private static final char VALUE_SEPARATOR = '\n';
+	
+	/**
+	 * Separator used between type tag and value.
+	 */
+	private static final char TYPE_SEPARATOR = ':';
+	
+	/**
+	 * Encodes specified values into token.
+	 * @param values values to encode
+	 * @return encoded token
+	 */
+	public static String encode(List<Object> values)
+	{
+		StringBuilder builder = new StringBuilder();
+		
+		for(Object value : values)
+		{
+			if(builder.length() > 0)
+			{
+				builder.append(VALUE_SEPARATOR);
+			}
+			
+			builder.append(toTag(value)).append(TYPE_SEPARATOR).append(toString(value));
+		}
+		
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Decodes specified token into values.
+	 * @param token token to decode
+	 * @return decoded values
+	 */
+	public static List<Object> decode(String token)
+	{
+		String content = null;
+		
+		try
+		{
+			content = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		}catch(IllegalArgumentException ex)
+		{
+			throw new InvalidArgumentException("Invalid continuation token specified: {}", token, ex);
+		}
+		
+		List<Object> values = new ArrayList<>();
+		
+		for(String part : content.split(String.valueOf(VALUE_SEPARATOR), -1))
+		{
+			int idx = part.indexOf(TYPE_SEPARATOR);
+			
+			if(idx <= 0)
+			{
+				throw new InvalidArgumentException("Invalid continuation token specified: {}", token);
+			}
+			
+			values.add(fromString(part.substring(0, idx), part.substring(idx + 1), token));
+		}
+		
+		return values;
+	}
+	
+	private static String toTag(Object value)
+	{
+		if(value == null)
+		{
+			return "N";
+		}
+		
+		if(value instanceof String)
+		{
+			return "S";
+		}
+		
+		if(value instanceof Integer || value instanceof Short || value instanceof Byte)
+		{
+			return "I";
+		}
+		
+		if(value instanceof Long)
+		{
+			return "L";
+		}
+		
+		if(value instanceof Float || value instanceof Double)
+		{
+			return "F";
+		}
+		
+		if(value instanceof BigDecimal)
+		{
+			return "BD";
+		}
+		
+		if(value instanceof BigInteger)
+		{
+			return "BI";
+		}
+		
+		if(value instanceof Boolean)
+		{
+			return "B";
+		}
+		
+		if(value instanceof Character)
+		{
+			return "C";
+		}
+		
+		if(value instanceof Date)
+		{
+			return "D";
+		}
+		
+		if(value instanceof Enum)
+		{
+			return "S";
+		}
+		
+		throw new InvalidArgumentException("Unsupported keyset value type {} encountered: {}", value.getClass().getName(), value);
+	}
+	
+	private static String toString(Object value)
+	{
+		if(value == null)
+		{
+			return "";
+		}
+		
+		if(value instanceof Date)
+		{
+			return String.valueOf(((Date) value).getTime());
+		}
+		
+		if(value instanceof Enum)
+		{
+			return ((Enum<?>) value).name();
+		}
+		
+		//as value separator is new line, ensure new line chars in strings are escaped
+		return value.toString().replace("\\", "\\\\").replace("\n", "\\n");
+	}
+	
+	private static String unescape(String value)
+	{
+		StringBuilder builder = new StringBuilder(value.length());
+		char ch = 0;
+		
+		for(int i = 0; i < value.length(); i++)
+		{
+			ch = value.charAt(i);
+			
+			if(ch == '\\' && i < value.length() - 1)
+			{
+				i++;
+				ch = value.charAt(i);
+				builder.append((ch == 'n') ? '\n' : ch);
+				continue;
+			}
+			
+			builder.append(ch);
+		}
+		
+		return builder.toString();
+	}
+	
+	private static Object fromString(String tag, String value, String token)
+	{
+		try
+		{
+			switch(tag)
+			{
+				case "N":
+					return null;
+				case "S":
+					return unescape(value);
+				case "I":
+					return Integer.valueOf(value);
+				case "L":
+					return Long.valueOf(value);
+				case "F":
+					return Double.valueOf(value);
+				case "BD":
+					return new BigDecimal(value);
+				case "BI":
+					return new BigInteger(value);
+				case "B":
+					return Boolean.valueOf(value);
+				case "C":
+					return value.charAt(0);
+				case "D":
+					return new Date(Long.parseLong(value));
+			}
+		}catch(RuntimeException ex)
+		{
+			throw new InvalidArgumentException("Invalid continuation token specified: {}", token, ex);
+		}
+		
+		throw new InvalidArgumentException("Invalid continuation token specified: {}", token);
+	}
+}
@@ -67,6 +67,16 @@ public class SearchQuery
 	 */
 	private Class<?> subentityType;
 	
+	/**
+	 * Flag indicating keyset (seek) paging should be used instead of offset based paging.
+	 */
+	private boolean keysetPaging;
+	
+	/**
+	 * Last seen values of order-by fields, after which results should be fetched in keyset paging.
+	 */
+	private List<Object> keysetValues;
+	
 	/**
 	 * Instantiates a new search query.
 	 */
@@ -291,6 +301,87 @@ public class SearchQuery
 		this.subentityType = subentityType;
 	}
 
+	/**
+	 * Checks if keyset (seek) paging is enabled. In keyset paging, instead of skipping rows using offset,
+	 * results are fetched after last seen values of order-by fields. Which ensures fetching deep pages costs
+	 * same as fetching first page. 
+	 * 
+	 * On execution of search, {@link #getKeysetValues() keyset values} of this query will be updated with 
+	 * order-by values of last row of current page, so that same query can be executed again to fetch next page. 
+	 * When no more pages are available, keyset values will be set to null.
+	 * 
+	 * Note: Results limit is mandatory for keyset paging. And if id field is not part of order-by fields, 
+	 * it will be added automatically to ensure unique ordering. Order-by fields can have null values, in which
+	 * case null rows are placed before or after non-null rows based on null ordering of the target db.
+	 *
+	 * @return true if keyset paging is enabled
+	 */
+	public boolean isKeysetPaging()
+	{
+		return keysetPaging;
+	}
+
+	/**
+	 * Sets the flag indicating keyset (seek) paging should be used instead of offset based paging.
+	 *
+	 * @param keysetPaging flag to enable keyset paging
+	 */
+	public SearchQuery setKeysetPaging(boolean keysetPaging)
+	{
+		this.keysetPaging = keysetPaging;
+		return this;
+	}
+
+	/**
+	 * Gets the last seen values of order-by fields, after which results should be fetched in keyset paging.
+	 *
+	 * @return the last seen values of order-by fields
+	 */
+	public List<Object> getKeysetValues()
+	{
+		return keysetValues;
+	}
+
+	/**
+	 * Sets the last seen values of order-by fields, after which results should be fetched in keyset paging. Values
+	 * should be in the same order as order-by fields (including id field, if it is added automatically). Null
+	 * indicates first page.
+	 *
+	 * @param keysetValues the last seen values of order-by fields
+	 */
+	public void setKeysetValues(List<Object> keysetValues)
+	{
+		this.keysetValues = keysetValues;
+	}
+	
+	/**
+	 * Gets the continuation token, which is opaque encoded form of {@link #getKeysetValues() keyset values}.
+	 * This token can be passed to clients and can be used to fetch next page via {@link #setContinuationToken(String)}.
+	 *
+	 * @return continuation token, null if no more pages are available
+	 */
+	public String getContinuationToken()
+	{
+		if(keysetValues == null)
+		{
+			return null;
+		}
+		
+		return KeysetTokenCodec.encode(keysetValues);
+	}
+	
+	/**
+	 * Sets the keyset values from specified continuation token and enables keyset paging.
+	 *
+	 * @param token token obtained from {@link #getContinuationToken()}. Null indicates first page.
+	 */
+	public SearchQuery setContinuationToken(String token)
+	{
+		this.keysetPaging = true;
+		this.keysetValues = (token == null) ? null : KeysetTokenCodec.decode(token);
+		return this;
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -305,6 +396,11 @@ public class SearchQuery
 		builder.append(", ").append("Results Offset: ").append(resultsOffset);
 		builder.append(", ").append("Results Limit: ").append(resultsLimit);
 		
+		if(keysetPaging)
+		{
+			builder.append(", ").append("Keyset Values: ").append(keysetValues);
+		}
+		
 		if(CollectionUtils.isNotEmpty(additionalEntityFields))
 		{
 			builder.append(", ").append("Additional Fields: ").append(additionalEntityFields);
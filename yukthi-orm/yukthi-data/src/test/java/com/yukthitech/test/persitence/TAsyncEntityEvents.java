@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ITransaction;
+import com.yukthitech.persistence.listeners.EntityEvent;
+import com.yukthitech.persistence.listeners.EntityEventHandler;
+import com.yukthitech.persistence.listeners.EntityEventType;
+import com.yukthitech.persistence.listeners.EntityListenerManager;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+
+/**
+ * Test cases to validate asynchronous and batched dispatch of entity events.
+ * @author akiran
+ */
+public class TAsyncEntityEvents extends TestSuiteBase
+{
+	private static final int ENTITY_COUNT = 50;
+	
+	public static class EventHandler
+	{
+		private List<String> preSaveThreads = new CopyOnWriteArrayList<>();
+		
+		private List<String> postSaveThreads = new CopyOnWriteArrayList<>();
+		
+		private List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		
+		@EntityEventHandler(eventType = EntityEventType.PRE_SAVE, entityTypes = CascadeParent.class)
+		public void preSave(EntityEvent event)
+		{
+			preSaveThreads.add(Thread.currentThread().getName());
+		}
+
+		@EntityEventHandler(eventType = EntityEventType.POST_SAVE, entityTypes = CascadeParent.class)
+		public void postSave(EntityEvent event)
+		{
+			postSaveThreads.add(Thread.currentThread().getName());
+		}
+		
+		@EntityEventHandler(eventType = EntityEventType.POST_SAVE)
+		public void postSaveBatch(List<EntityEvent> events)
+		{
+			batchSizes.add(events.size());
+		}
+	}
+	
+	@Test(dataProvider = "repositoryFactories")
+	public void testAsyncDispatch(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory eventFactory = newFactory(factory, "-async-events", null);
+		ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "event-dispatcher"));
+		
+		EventHandler handler = new EventHandler();
+		eventFactory.registerListeners(handler);
+		
+		EntityListenerManager listenerManager = eventFactory.getEntityListenerManager();
+		listenerManager.setAsyncExecutor(executor);
+		listenerManager.setMaxBatchSize(20);
+		
+		try
+		{
+			ICascadeParentRepository repository = eventFactory.getRepository(ICascadeParentRepository.class);
+			
+			try(ITransaction transaction = repository.newOrExistingTransaction())
+			{
+				for(int i = 0; i < ENTITY_COUNT; i++)
+				{
+					Assert.assertTrue(repository.save(new CascadeParent("async" + i)));
+				}
+				
+				//pre events are synchronous and post events are not dispatched till commit
+				Assert.assertEquals(handler.preSaveThreads.size(), ENTITY_COUNT);
+				Assert.assertEquals(handler.preSaveThreads.get(0), Thread.currentThread().getName());
+				Assert.assertEquals(handler.postSaveThreads.size(), 0);
+				Assert.assertEquals(listenerManager.getPendingEventCount(), 0);
+				
+				transaction.commit();
+			}
+			
+			Assert.assertTrue(listenerManager.awaitPendingEvents(10, TimeUnit.SECONDS));
+			
+			Assert.assertEquals(handler.postSaveThreads.size(), ENTITY_COUNT);
+			Assert.assertTrue(handler.postSaveThreads.stream().allMatch(name -> name.equals("event-dispatcher")));
+			
+			//batch listener should receive all events in batches
+			Assert.assertEquals(handler.batchSizes.stream().mapToInt(Integer::intValue).sum(), ENTITY_COUNT);
+			Assert.assertTrue(handler.batchSizes.stream().allMatch(size -> size <= 20));
+			
+			Assert.assertTrue(listenerManager.getInvocationCount() >= ENTITY_COUNT * 2);
+			Assert.assertEquals(listenerManager.getFailedInvocationCount(), 0);
+			Assert.assertTrue(listenerManager.getMaxPendingEventCount() > 0);
+			Assert.assertEquals(listenerManager.getPendingEventCount(), 0);
+		}finally
+		{
+			executor.shutdown();
+			eventFactory.dropRepository(CascadeParent.class);
+		}
+	}
+
+	@Test(dataProvider = "repositoryFactories")
+	public void testRolledBackEvents(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory eventFactory = newFactory(factory, "-async-events", null);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		
+		EventHandler handler = new EventHandler();
+		eventFactory.registerListeners(handler);
+		eventFactory.getEntityListenerManager().setAsyncExecutor(executor);
+		
+		try
+		{
+			ICascadeParentRepository repository = eventFactory.getRepository(ICascadeParentRepository.class);
+			
+			try(ITransaction transaction = repository.newOrExistingTransaction())
+			{
+				Assert.assertTrue(repository.save(new CascadeParent("rolledBack")));
+				transaction.rollback();
+			}
+			
+			//without explicit transaction, events should be queued after internal commit
+			Assert.assertTrue(repository.save(new CascadeParent("committed")));
+			Assert.assertTrue(eventFactory.getEntityListenerManager().awaitPendingEvents(10, TimeUnit.SECONDS));
+			
+			Assert.assertEquals(handler.preSaveThreads.size(), 2);
+			Assert.assertEquals(handler.postSaveThreads.size(), 1);
+			Assert.assertEquals(repository.getCount(), 1);
+		}finally
+		{
+			executor.shutdown();
+			eventFactory.dropRepository(CascadeParent.class);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CachedEntity;
+import com.yukthitech.test.persitence.entity.ICachedEntityRepository;
+
+/**
+ * Test cases to validate asynchronous repository methods.
+ * @author akiran
+ */
+public class TAsyncRepositoryMethods extends TestSuiteBase
+{
+	@AfterMethod
+	public void cleanup(ITestResult result)
+	{
+		Object params[] = result.getParameters();
+		RepositoryFactory factory = (RepositoryFactory)params[0];
+		
+		factory.dropRepository(CachedEntity.class);
+	}
+	
+	/**
+	 * Ensures methods returning futures are executed asynchronously and results are as expected.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testAsyncMethods(RepositoryFactory factory)
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		
+		repository.save(new CachedEntity("entity1", 10));
+		repository.save(new CachedEntity("entity2", 10));
+		repository.save(new CachedEntity("entity3", 20));
+		
+		CompletableFuture<CachedEntity> entityFuture = repository.fetchByName("entity3");
+		CompletableFuture<List<CachedEntity>> listFuture = repository.findByValue(10);
+		
+		Assert.assertEquals(entityFuture.join().getValue(), 20);
+		Assert.assertEquals(listFuture.join().size(), 2);
+		
+		Assert.assertEquals(repository.deleteByValue(10).join().intValue(), 2);
+		Assert.assertNull(repository.findByName("entity1"));
+	}
+
+	/**
+	 * Ensures multiple finders can be executed concurrently using factory.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testExecuteConcurrently(RepositoryFactory factory)
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		
+		repository.save(new CachedEntity("entity1", 10));
+		repository.save(new CachedEntity("entity2", 20));
+		
+		List<Object> results = factory.executeConcurrently(
+				() -> repository.findByName("entity1"), 
+				() -> repository.findByName("entity2"),
+				() -> repository.findByName("entity3"));
+		
+		Assert.assertEquals(((CachedEntity) results.get(0)).getValue(), 10);
+		Assert.assertEquals(((CachedEntity) results.get(1)).getValue(), 20);
+		Assert.assertNull(results.get(2));
+		
+		//ensure failures are propagated
+		try
+		{
+			factory.executeConcurrently(() -> repository.findByName("entity1"), () -> { throw new IllegalStateException("Test error"); });
+			Assert.fail("No exception is thrown");
+		}catch(IllegalStateException ex)
+		{
+			Assert.assertEquals(ex.getMessage(), "Test error");
+		}
+	}
+}
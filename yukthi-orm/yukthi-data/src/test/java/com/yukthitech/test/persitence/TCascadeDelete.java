@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.metrics.InMemoryStatementMetrics;
+import com.yukthitech.persistence.metrics.StatementHistogram;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeChild;
+import com.yukthitech.test.persitence.entity.CascadeGrandChild;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICascadeChildRepository;
+import com.yukthitech.test.persitence.entity.ICascadeGrandChildRepository;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+
+/**
+ * Test cases to validate cascade delete, for data stores which needs explicit child handling.
+ * @author akiran
+ */
+public class TCascadeDelete extends TestSuiteBase
+{
+	/**
+	 * Creates a factory, on same data source as specified factory, whose data store needs
+	 * explicit foreign constraint handling.
+	 * @param factory factory whose data source should be used
+	 * @return new factory
+	 */
+	private RepositoryFactory newExplicitCheckFactory(RepositoryFactory factory)
+	{
+		RdbmsDataStore baseDataStore = (RdbmsDataStore) factory.getDataStore();
+		
+		RdbmsDataStore dataStore = new RdbmsDataStore(factory.getName().toLowerCase())
+		{
+			@Override
+			public boolean isExplicitForeignCheckRequired()
+			{
+				return true;
+			}
+		};
+		
+		dataStore.setDataSource(baseDataStore.getDataSource());
+		
+		RepositoryFactory explicitFactory = new RepositoryFactory();
+		explicitFactory.setName(factory.getName() + "-explicit");
+		explicitFactory.setDataStore(dataStore);
+		explicitFactory.setCreateTables(true);
+		
+		return explicitFactory;
+	}
+	
+	/**
+	 * Ensures children and grand children are deleted with set based queries, a query per level.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSetBasedCascadeDelete(RepositoryFactory factory)
+	{
+		RepositoryFactory explicitFactory = newExplicitCheckFactory(factory);
+		
+		ICascadeParentRepository parentRepository = explicitFactory.getRepository(ICascadeParentRepository.class);
+		ICascadeChildRepository childRepository = explicitFactory.getRepository(ICascadeChildRepository.class);
+		ICascadeGrandChildRepository grandChildRepository = explicitFactory.getRepository(ICascadeGrandChildRepository.class);
+		
+		try
+		{
+			CascadeParent parent1 = new CascadeParent("parent1");
+			CascadeParent parent2 = new CascadeParent("parent2");
+			parentRepository.save(parent1);
+			parentRepository.save(parent2);
+			
+			CascadeChild children[] = {
+				new CascadeChild("child1", parent1), 
+				new CascadeChild("child2", parent1), 
+				new CascadeChild("child3", parent2)
+			};
+			
+			for(CascadeChild child : children)
+			{
+				childRepository.save(child);
+				grandChildRepository.save(new CascadeGrandChild(child.getName() + "-1", child));
+				grandChildRepository.save(new CascadeGrandChild(child.getName() + "-2", child));
+			}
+			
+			InMemoryStatementMetrics metrics = new InMemoryStatementMetrics();
+			RdbmsDataStore dataStore = (RdbmsDataStore) explicitFactory.getDataStore();
+			dataStore.addMetricsListener(metrics);
+			
+			try
+			{
+				Assert.assertEquals(parentRepository.deleteByName("parent1"), 1);
+			}finally
+			{
+				dataStore.removeMetricsListener(metrics);
+			}
+			
+			Assert.assertEquals(parentRepository.getCount(), 1);
+			Assert.assertEquals(childRepository.getCount(), 1);
+			Assert.assertEquals(grandChildRepository.getCount(), 2);
+			
+			//grand children, children and parent should be deleted with one statement each
+			StatementHistogram histogram = metrics.getHistogram(ICascadeParentRepository.class, "deleteByName");
+			Assert.assertEquals(histogram.getCount(), 3);
+			Assert.assertEquals(histogram.getRowCount(), 7);
+		}finally
+		{
+			explicitFactory.dropRepository(CascadeGrandChild.class);
+			explicitFactory.dropRepository(CascadeChild.class);
+			explicitFactory.dropRepository(CascadeParent.class);
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ForeignConstraintViolationException;
+import com.yukthitech.persistence.UniqueConstraintViolationException;
+import com.yukthitech.persistence.metrics.IStatementMetricsListener;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ConstrainedItem;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+import com.yukthitech.test.persitence.entity.IConstrainedItemRepository;
+
+/**
+ * Test cases to validate explicit unique and foreign constraint checks are done
+ * with minimal round trips.
+ * @author akiran
+ */
+public class TConstraintChecks extends TestSuiteBase
+{
+	private static Logger logger = LogManager.getLogger(TConstraintChecks.class);
+	
+	/**
+	 * Number of entities used for batch tests.
+	 */
+	private static final int BATCH_SIZE = 250;
+	
+	/**
+	 * Creates a factory, on same data source as specified factory, whose data store needs
+	 * explicit unique and foreign constraint checks.
+	 * @param factory factory whose data source should be used
+	 * @return new factory
+	 */
+	private RepositoryFactory newExplicitCheckFactory(RepositoryFactory factory)
+	{
+		RdbmsDataStore baseDataStore = (RdbmsDataStore) factory.getDataStore();
+		
+		RdbmsDataStore dataStore = new RdbmsDataStore(factory.getName().toLowerCase())
+		{
+			@Override
+			public boolean isExplicitForeignCheckRequired()
+			{
+				return true;
+			}
+			
+			@Override
+			public boolean isExplicitUniqueCheckRequired()
+			{
+				return true;
+			}
+		};
+		
+		dataStore.setDataSource(baseDataStore.getDataSource());
+		
+		RepositoryFactory explicitFactory = new RepositoryFactory();
+		explicitFactory.setName(factory.getName() + "-explicit");
+		explicitFactory.setDataStore(dataStore);
+		explicitFactory.setCreateTables(true);
+		
+		return explicitFactory;
+	}
+	
+	/**
+	 * Executes specified action and returns the operations of statements executed by it.
+	 */
+	private List<String> captureOperations(RepositoryFactory factory, Runnable action)
+	{
+		List<String> operations = Collections.synchronizedList(new ArrayList<>());
+		IStatementMetricsListener listener = metrics -> operations.add(metrics.getOperation());
+		RdbmsDataStore dataStore = (RdbmsDataStore) factory.getDataStore();
+		
+		dataStore.addMetricsListener(listener);
+		
+		try
+		{
+			action.run();
+		}finally
+		{
+			dataStore.removeMetricsListener(listener);
+		}
+		
+		return operations;
+	}
+	
+	private void expectViolation(Class<? extends Exception> exceptionType, Runnable action)
+	{
+		try
+		{
+			action.run();
+			Assert.fail("No exception is thrown when " + exceptionType.getSimpleName() + " is expected");
+		}catch(Exception ex)
+		{
+			Assert.assertTrue(exceptionType.isInstance(ex), "Unexpected exception: " + ex);
+		}
+	}
+	
+	/**
+	 * Ensures unique and foreign checks of an entity are done in single round trip and violations are reported.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSingleRoundTripChecks(RepositoryFactory factory)
+	{
+		RepositoryFactory explicitFactory = newExplicitCheckFactory(factory);
+		
+		ICascadeParentRepository parentRepository = explicitFactory.getRepository(ICascadeParentRepository.class);
+		IConstrainedItemRepository itemRepository = explicitFactory.getRepository(IConstrainedItemRepository.class);
+		
+		try
+		{
+			CascadeParent parent = new CascadeParent("parent");
+			parentRepository.save(parent);
+			
+			ConstrainedItem savedItem = new ConstrainedItem("code1", "name1", parent);
+			
+			List<String> operations = captureOperations(explicitFactory, () -> itemRepository.save(savedItem));
+			Assert.assertEquals(operations, Arrays.asList("checkExistence", "save"));
+			
+			//unique violations
+			try
+			{
+				itemRepository.save(new ConstrainedItem("code1", "name2", parent));
+				Assert.fail("No exception is thrown on duplicate code");
+			}catch(UniqueConstraintViolationException ex)
+			{
+				Assert.assertEquals(ex.getConstraintName(), "CONSTRAINED_ITEM_CODE");
+				Assert.assertEquals(ex.getMessage(), "Duplicate code: code1");
+			}
+			
+			expectViolation(UniqueConstraintViolationException.class, () -> itemRepository.save(new ConstrainedItem("code2", "name1", parent)));
+			
+			//foreign violation
+			CascadeParent unsavedParent = new CascadeParent("unsaved");
+			unsavedParent.setId(Integer.MAX_VALUE);
+			
+			expectViolation(ForeignConstraintViolationException.class, () -> itemRepository.save(new ConstrainedItem("code2", "name2", unsavedParent)));
+			Assert.assertEquals(itemRepository.getCount(), 1);
+			
+			//update should not conflict with its own record
+			ConstrainedItem item = itemRepository.findById(savedItem.getId());
+			item.setName("newName");
+			
+			operations = captureOperations(explicitFactory, () -> Assert.assertTrue(itemRepository.update(item)));
+			Assert.assertEquals(operations, Arrays.asList("checkExistence", "update"));
+		}finally
+		{
+			explicitFactory.dropRepository(ConstrainedItem.class);
+			explicitFactory.dropRepository(CascadeParent.class);
+		}
+	}
+	
+	/**
+	 * Ensures checks of multiple entities being saved together are batched, and measures the insert rate.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testBatchedChecks(RepositoryFactory factory)
+	{
+		RepositoryFactory explicitFactory = newExplicitCheckFactory(factory);
+		
+		ICascadeParentRepository parentRepository = explicitFactory.getRepository(ICascadeParentRepository.class);
+		IConstrainedItemRepository itemRepository = explicitFactory.getRepository(IConstrainedItemRepository.class);
+		
+		try
+		{
+			CascadeParent parent = new CascadeParent("parent");
+			parentRepository.save(parent);
+			
+			List<ConstrainedItem> items = new ArrayList<>();
+			
+			for(int i = 0; i < BATCH_SIZE; i++)
+			{
+				items.add(new ConstrainedItem("code" + i, "name" + i, parent));
+			}
+			
+			long startTime = System.nanoTime();
+			List<String> operations = captureOperations(explicitFactory, () -> Assert.assertEquals(itemRepository.saveAll(items), BATCH_SIZE));
+			long timeTaken = System.nanoTime() - startTime;
+			
+			logger.info("[{}] Saved {} entities with explicit checks in {} ms ({} inserts/sec)", 
+					factory.getName(), BATCH_SIZE, timeTaken / 1000_000, (BATCH_SIZE * 1000_000_000L) / Math.max(timeTaken, 1));
+			
+			//3 checks per entity, 100 checks per query
+			Assert.assertEquals(Collections.frequency(operations, "checkExistence"), 8);
+			Assert.assertEquals(itemRepository.getCount(), BATCH_SIZE);
+			
+			//duplicates within the batch should be detected
+			List<ConstrainedItem> duplicates = Arrays.asList(
+					new ConstrainedItem("dupCode", "dupName1", parent), 
+					new ConstrainedItem("dupCode", "dupName2", parent));
+			
+			expectViolation(UniqueConstraintViolationException.class, () -> itemRepository.saveAll(duplicates));
+			
+			//duplicates with existing records should be detected
+			List<ConstrainedItem> existing = Arrays.asList(
+					new ConstrainedItem("newCode", "newName", parent), 
+					new ConstrainedItem("newCode2", "name5", parent));
+			
+			expectViolation(UniqueConstraintViolationException.class, () -> itemRepository.saveAll(existing));
+			Assert.assertEquals(itemRepository.getCount(), BATCH_SIZE);
+			
+			//multiple nulls within the batch should not be treated as duplicates
+			List<ConstrainedItem> nullNames = Arrays.asList(
+					new ConstrainedItem("nullCode1", null, parent), 
+					new ConstrainedItem("nullCode2", null, parent));
+			
+			Assert.assertEquals(itemRepository.saveAll(nullNames), 2);
+			Assert.assertEquals(itemRepository.getCount(), BATCH_SIZE + 2);
+		}finally
+		{
+			explicitFactory.dropRepository(ConstrainedItem.class);
+			explicitFactory.dropRepository(CascadeParent.class);
+		}
+	}
+}
@@ -15,8 +15,12 @@
  */
 package com.yukthitech.test.persitence;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.testng.Assert;
@@ -24,12 +28,20 @@ import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
+import com.yukthitech.persistence.UniqueConstraintViolationException;
 import com.yukthitech.persistence.repository.RepositoryFactory;
 import com.yukthitech.test.persitence.entity.Address;
+import com.yukthitech.test.persitence.entity.Customer;
+import com.yukthitech.test.persitence.entity.CustomerAddress;
+import com.yukthitech.test.persitence.entity.CustomerGroup;
 import com.yukthitech.test.persitence.entity.Employee;
 import com.yukthitech.test.persitence.entity.Employee1;
+import com.yukthitech.test.persitence.entity.ICustomerGroupRepository;
+import com.yukthitech.test.persitence.entity.ICustomerRepository;
 import com.yukthitech.test.persitence.entity.IEmployee1Repository;
 import com.yukthitech.test.persitence.entity.IEmployeeRepository;
+import com.yukthitech.test.persitence.entity.Order;
+import com.yukthitech.test.persitence.entity.OrderItem;
 
 /**
  * Test cases to test basic CRUD functionality
@@ -175,6 +187,112 @@ public class TCrudFunctionality extends TestSuiteBase
 		factory.dropRepository(Employee.class);
 	}
 	
+	/**
+	 * Tests batched save and update of multiple entities
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSaveAllAndUpdateAll(RepositoryFactory factory)
+	{
+		IEmployeeRepository empRepository = factory.getRepository(IEmployeeRepository.class);
+		
+		List<Employee> employees = new ArrayList<>();
+		
+		for(int i = 0; i < 5; i++)
+		{
+			employees.add(new Employee("1000" + i, "emp" + i + "@kk.com", "emp" + i, "90232333", 20 + i));
+		}
+		
+		Assert.assertEquals(empRepository.saveAll(employees), 5);
+		Assert.assertEquals(empRepository.getCount(), 5);
+		
+		//ensure generated ids are set on the entities
+		for(Employee emp : employees)
+		{
+			Assert.assertTrue(emp.getId() > 0);
+			Assert.assertEquals(empRepository.findById(emp.getId()).getEmailId(), emp.getEmailId());
+		}
+		
+		for(Employee emp : employees)
+		{
+			emp.setName(emp.getName() + "-upd");
+		}
+		
+		Assert.assertEquals(empRepository.updateAll(employees), 5);
+		
+		for(Employee emp : employees)
+		{
+			Assert.assertEquals(empRepository.findById(emp.getId()).getName(), emp.getName());
+		}
+		
+		Assert.assertEquals(empRepository.saveAll(Collections.emptyList()), 0);
+		
+		//constraint violations should be reported as is
+		List<Employee> duplicates = Arrays.asList(
+				new Employee("20000", "new@kk.com", "new", "90232333", 30),
+				new Employee("20001", "emp1@kk.com", "dup", "90232333", 30));
+		
+		try
+		{
+			empRepository.saveAll(duplicates);
+			Assert.fail("Employees got saved with duplicate mail");
+		}catch(UniqueConstraintViolationException ex)
+		{
+			Assert.assertEquals(ex.getMessage(), Employee.ERROR_MESSAGE_DUPLICATE_EMAIL);
+		}
+		
+		Assert.assertEquals(empRepository.getCount(), 5);
+	}
+	
+	/**
+	 * Tests batched save of entities along with their relations (prechild, child and join table entries)
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSaveAllWithRelations(RepositoryFactory factory)
+	{
+		factory.dropRepository(OrderItem.class);
+		factory.dropRepository(Order.class);
+		factory.dropRepository(Customer.class);
+		factory.dropRepository(CustomerAddress.class);
+		factory.dropRepository(CustomerGroup.class);
+
+		ICustomerGroupRepository groupRepository = factory.getRepository(ICustomerGroupRepository.class);
+		ICustomerRepository customerRepository = factory.getRepository(ICustomerRepository.class);
+		
+		CustomerGroup group1 = new CustomerGroup("Group1", null);
+		CustomerGroup group2 = new CustomerGroup("Group2", null);
+		Assert.assertEquals(groupRepository.saveAll(Arrays.asList(group1, group2)), 2);
+		
+		Order order1 = new Order("order1", 10, null, Arrays.asList(new OrderItem("soap", 10, null), new OrderItem("box", 20, null)));
+		Order order2 = new Order("order2", 20, null, Arrays.asList(new OrderItem("book", 20, null)));
+		
+		Customer customer1 = new Customer("Customer1", Arrays.asList(group1, group2), Arrays.asList(order1));
+		customer1.setAddress(new CustomerAddress("add1", "city", "state"));
+		
+		Customer customer2 = new Customer("Customer2", Arrays.asList(group1), Arrays.asList(order2));
+		customer2.setAddress(new CustomerAddress("add2", "city", "state"));
+		
+		Assert.assertEquals(customerRepository.saveAll(Arrays.asList(customer1, customer2)), 2);
+		
+		Customer savedCustomer = customerRepository.findByName("Customer1");
+		Assert.assertEquals(savedCustomer.getCustomerGroups().size(), 2);
+		Assert.assertEquals(savedCustomer.getOrders().size(), 1);
+		Assert.assertEquals(savedCustomer.getOrders().get(0).getItems().size(), 2);
+		Assert.assertEquals(savedCustomer.getAddress().getPropertyId(), "add1");
+
+		savedCustomer = customerRepository.findByName("Customer2");
+		Assert.assertEquals(savedCustomer.getCustomerGroups().size(), 1);
+		Assert.assertEquals(savedCustomer.getOrders().get(0).getItems().size(), 1);
+		Assert.assertEquals(savedCustomer.getAddress().getPropertyId(), "add2");
+		
+		factory.dropRepository(OrderItem.class);
+		factory.dropRepository(Order.class);
+		factory.dropRepository(Customer.class);
+		factory.dropRepository(CustomerAddress.class);
+		factory.dropRepository(CustomerGroup.class);
+	}
+	
 	@Test(dataProvider = "repositoryFactories")
 	public void testComplexObjectSave(RepositoryFactory factory)
 	{
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.EntityCache;
+import com.yukthitech.persistence.ITransaction;
+import com.yukthitech.persistence.Record;
+import com.yukthitech.persistence.annotations.Cacheable;
+import com.yukthitech.persistence.annotations.EvictionPolicy;
+import com.yukthitech.persistence.metrics.IStatementMetricsListener;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CachedEntity;
+import com.yukthitech.test.persitence.entity.ICachedEntityRepository;
+
+/**
+ * Test cases to validate second level entity cache.
+ * @author akiran
+ */
+public class TEntityCache extends TestSuiteBase
+{
+	@Cacheable(maxSize = 2, evictionPolicy = EvictionPolicy.LFU)
+	private static class LfuCachedEntity
+	{}
+	
+	@AfterMethod
+	public void cleanup(ITestResult result)
+	{
+		Object params[] = result.getParameters();
+		
+		if(params.length == 0)
+		{
+			return;
+		}
+		
+		RepositoryFactory factory = (RepositoryFactory)params[0];
+		
+		factory.dropRepository(CachedEntity.class);
+	}
+	
+	/**
+	 * Ensures find-by-id results are served from cache and cache is invalidated on writes.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testCacheInvalidation(RepositoryFactory factory)
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		EntityCache cache = factory.getEntityCache(CachedEntity.class);
+		Assert.assertNotNull(cache);
+		
+		cache.clear();
+		cache.resetStatistics();
+		
+		CachedEntity entity = new CachedEntity("entity1", 10);
+		repository.save(entity);
+		
+		//first fetch should be served from db and second from cache
+		Assert.assertEquals(repository.findById(entity.getId()).getValue(), 10);
+		Assert.assertEquals(cache.getMissCount(), 1);
+		
+		CachedEntity fetched = repository.findById(entity.getId());
+		Assert.assertEquals(fetched.getValue(), 10);
+		Assert.assertEquals(cache.getHitCount(), 1);
+		Assert.assertEquals(cache.getSize(), 1);
+		
+		//ensure every fetch results in new instance
+		Assert.assertNotSame(repository.findById(entity.getId()), fetched);
+		
+		//entity update should invalidate the entry
+		entity.setValue(20);
+		repository.update(entity);
+		Assert.assertEquals(cache.getSize(), 0);
+		Assert.assertEquals(repository.findById(entity.getId()).getValue(), 20);
+		
+		//condition based update should clear the cache
+		repository.updateValue("entity1", 30);
+		Assert.assertEquals(cache.getSize(), 0);
+		Assert.assertEquals(repository.findById(entity.getId()).getValue(), 30);
+		
+		//delete should invalidate the entry
+		repository.deleteById(entity.getId());
+		Assert.assertEquals(cache.getSize(), 0);
+		Assert.assertNull(repository.findById(entity.getId()));
+	}
+
+	/**
+	 * Ensures records fetched within transaction are not cached.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testCacheWithinTransaction(RepositoryFactory factory) throws Exception
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		EntityCache cache = factory.getEntityCache(CachedEntity.class);
+		cache.clear();
+		
+		CachedEntity entity = new CachedEntity("entity1", 10);
+		repository.save(entity);
+		
+		try(ITransaction transaction = repository.newOrExistingTransaction())
+		{
+			Assert.assertNotNull(repository.findById(entity.getId()));
+			Assert.assertEquals(cache.getSize(), 0);
+			
+			transaction.commit();
+		}
+		
+		Assert.assertNotNull(repository.findById(entity.getId()));
+		Assert.assertEquals(cache.getSize(), 1);
+		
+		repository.deleteByName("entity1");
+		Assert.assertEquals(cache.getSize(), 0);
+	}
+
+	/**
+	 * Ensures least recently used entries are evicted when max size is reached.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testEviction(RepositoryFactory factory)
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		EntityCache cache = factory.getEntityCache(CachedEntity.class);
+		cache.clear();
+		cache.resetStatistics();
+		
+		CachedEntity entity1 = new CachedEntity("entity1", 1);
+		CachedEntity entity2 = new CachedEntity("entity2", 2);
+		CachedEntity entity3 = new CachedEntity("entity3", 3);
+		repository.save(entity1);
+		repository.save(entity2);
+		repository.save(entity3);
+		
+		repository.findById(entity1.getId());
+		repository.findById(entity2.getId());
+		
+		//access entity1, so that entity2 becomes least recently used
+		repository.findById(entity1.getId());
+		repository.findById(entity3.getId());
+		
+		Assert.assertEquals(cache.getSize(), 2);
+		Assert.assertEquals(cache.getEvictionCount(), 1);
+		
+		long hits = cache.getHitCount();
+		repository.findById(entity1.getId());
+		Assert.assertEquals(cache.getHitCount(), hits + 1);
+		
+		repository.findById(entity2.getId());
+		Assert.assertEquals(cache.getHitCount(), hits + 1);
+	}
+	
+	/**
+	 * Ensures new entries are admitted into full LFU cache, even when existing entries are accessed more.
+	 */
+	@Test
+	public void testLfuAdmission()
+	{
+		EntityCache cache = new EntityCache(LfuCachedEntity.class, LfuCachedEntity.class.getAnnotation(Cacheable.class));
+		
+		cache.put(1L, new Record(0));
+		cache.put(2L, new Record(0));
+		
+		Assert.assertNotNull(cache.get(1L));
+		Assert.assertNotNull(cache.get(1L));
+		Assert.assertNotNull(cache.get(2L));
+		
+		//least frequently used entry (2) should be evicted, instead of new entry
+		cache.put(3L, new Record(0));
+		
+		Assert.assertEquals(cache.getSize(), 2);
+		Assert.assertNotNull(cache.get(3L));
+		Assert.assertNotNull(cache.get(1L));
+		Assert.assertNull(cache.get(2L));
+	}
+	
+	/**
+	 * Ensures stale records cached during transaction (by other readers) are invalidated after commit.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testInvalidationAfterCommit(RepositoryFactory factory) throws Exception
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		EntityCache cache = factory.getEntityCache(CachedEntity.class);
+		cache.clear();
+		
+		CachedEntity entity = new CachedEntity("entity1", 10);
+		repository.save(entity);
+		
+		Assert.assertEquals(repository.findById(entity.getId()).getValue(), 10);
+		Record staleRecord = cache.get(entity.getId());
+		Assert.assertNotNull(staleRecord);
+		
+		try(ITransaction transaction = repository.newOrExistingTransaction())
+		{
+			entity.setValue(20);
+			repository.update(entity);
+			Assert.assertEquals(cache.getSize(), 0);
+			
+			//simulate concurrent reader caching committed (old) record before transaction commit
+			cache.put(entity.getId(), staleRecord);
+			
+			transaction.commit();
+		}
+		
+		Assert.assertEquals(cache.getSize(), 0);
+		Assert.assertEquals(repository.findById(entity.getId()).getValue(), 20);
+	}
+	
+	/**
+	 * Ensures record read before a concurrent update (and its invalidation) is not cached.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testUpdateDuringFind(RepositoryFactory factory) throws Exception
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		EntityCache cache = factory.getEntityCache(CachedEntity.class);
+		cache.clear();
+		
+		CachedEntity entity = new CachedEntity("entity1", 10);
+		repository.save(entity);
+		
+		//after the find query reads the old record and before it is cached, update the entity from other thread
+		RdbmsDataStore dataStore = (RdbmsDataStore) factory.getDataStore();
+		AtomicBoolean updated = new AtomicBoolean(false);
+		
+		IStatementMetricsListener listener = metrics -> 
+		{
+			if(!"executeFinder".equals(metrics.getOperation()) || !updated.compareAndSet(false, true))
+			{
+				return;
+			}
+			
+			Thread writer = new Thread(() -> 
+			{
+				CachedEntity updatedEntity = new CachedEntity("entity1", 20);
+				updatedEntity.setId(entity.getId());
+				repository.update(updatedEntity);
+			});
+			
+			writer.start();
+			
+			try
+			{
+				writer.join(10000);
+			}catch(InterruptedException ex)
+			{
+				throw new IllegalStateException(ex);
+			}
+		};
+		
+		dataStore.addMetricsListener(listener);
+		
+		try
+		{
+			Assert.assertEquals(repository.findById(entity.getId()).getValue(), 10);
+		}finally
+		{
+			dataStore.removeMetricsListener(listener);
+		}
+		
+		Assert.assertTrue(updated.get());
+		
+		//stale record should not be cached
+		Assert.assertEquals(cache.getSize(), 0);
+		Assert.assertEquals(repository.findById(entity.getId()).getValue(), 20);
+		Assert.assertEquals(cache.getSize(), 1);
+	}
+}
@@ -15,10 +15,13 @@
  */
 package com.yukthitech.test.persitence;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -29,8 +32,13 @@ import com.yukthitech.test.persitence.queries.EmpSearchQuery;
 import com.yukthitech.test.persitence.queries.EmpSearchResult;
 import com.yukthitech.test.persitence.queries.KeyValueBean;
 import com.yukthitech.persistence.FilterAction;
+import com.yukthitech.persistence.ICloseableIterator;
+import com.yukthitech.persistence.ITransaction;
 import com.yukthitech.persistence.IDataFilter;
 import com.yukthitech.persistence.RecordCountMistmatchException;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.rdbms.RdbmsTransactionManager;
+import com.yukthitech.persistence.rdbms.SqlQueryCache;
 import com.yukthitech.persistence.repository.RepositoryFactory;
 import com.yukthitech.persistence.repository.annotations.JoinOperator;
 import com.yukthitech.persistence.repository.annotations.Operator;
@@ -90,6 +98,91 @@ public class TFinders extends TestSuiteBase
 		Assert.assertEquals(e.getEmployeeNo(), "1230");
 	}
 
+	/**
+	 * Ensures built queries are reused for queries of same shape and queries with different
+	 * number of IN values are not mixed up.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testQueryCache(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		SqlQueryCache queryCache = ((RdbmsDataStore) factory.getDataStore()).getQueryCache();
+		
+		repo.findByEmployeeNo("1231");
+		long hitCount = queryCache.getHitCount();
+		
+		Employee e = repo.findByEmployeeNo("1232");
+		Assert.assertEquals(e.getEmployeeNo(), "1232");
+		Assert.assertEquals(queryCache.getHitCount(), hitCount + 1);
+		
+		Assert.assertEquals(repo.findEmpWithEmails(CommonUtils.toSet("user0@test.com")).size(), 1);
+		Assert.assertEquals(repo.findEmpWithEmails(CommonUtils.toSet("user0@test.com", "user1@test.com", "user2@test.com")).size(), 3);
+		Assert.assertEquals(repo.findEmpWithEmails(CommonUtils.toSet("user3@test.com", "user4@test.com", "user5@test.com")).size(), 3);
+	}
+
+	/**
+	 * Ensures finders and search returning streams/cursors read records lazily and release
+	 * resources on close.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testStreamingFinders(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		try(Stream<Employee> stream = repo.findStreamByPhoneNo("12345%"))
+		{
+			List<String> empNos = stream.map(emp -> emp.getEmployeeNo()).collect(Collectors.toList());
+			Assert.assertEquals(empNos, Arrays.asList("1230", "1231", "1232", "1233", "1234", "1235", "1236"));
+		}
+		
+		//read partially and close the cursor
+		try(ICloseableIterator<Employee> it = repo.findCursorByPhoneNo("12345%"))
+		{
+			Assert.assertTrue(it.hasNext());
+			Assert.assertEquals(it.next().getEmployeeNo(), "1230");
+			Assert.assertEquals(it.next().getEmployeeNo(), "1231");
+		}
+		
+		//ensure repository is usable after closing partially read cursor
+		Assert.assertEquals(repo.findEmailByEmployeeNo("1234"), "user4@test.com");
+		
+		try(Stream<Employee> stream = repo.searchStream(new SearchQuery(new SearchCondition("name", Operator.EQ, "user2"))))
+		{
+			Set<String> empNos = stream.map(emp -> emp.getEmployeeNo()).collect(Collectors.toSet());
+			Assert.assertEquals(empNos, CommonUtils.toSet("1231", "1232"));
+		}
+	}
+	
+	/**
+	 * Ensures cursor opened outside transaction is not bound to the thread, so that writes done while
+	 * iterating use their own transactions and are rolled back on failures.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testStreamTransactionIsolation(RepositoryFactory factory) throws Exception
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		RdbmsTransactionManager transactionManager = ((RdbmsDataStore) factory.getDataStore()).getTransactionManager();
+		
+		try(Stream<Employee> stream = repo.findStreamByPhoneNo("12345%"))
+		{
+			Iterator<Employee> it = stream.iterator();
+			Assert.assertEquals(it.next().getEmployeeNo(), "1230");
+			Assert.assertFalse(transactionManager.isTransactionActive());
+			
+			try(ITransaction transaction = repo.newTransaction())
+			{
+				repo.save(new Employee("1300", "user300@test.com", "user300", "9999900", 50));
+				throw new IllegalStateException("Test error");
+			}
+		}catch(IllegalStateException ex)
+		{
+			Assert.assertEquals(ex.getMessage(), "Test error");
+		}
+		
+		Assert.assertFalse(transactionManager.isTransactionActive());
+		Assert.assertNull(repo.findByEmployeeNo("1300"));
+	}
+	
 	/**
 	 * Tests finder based on finder method name
 	 */
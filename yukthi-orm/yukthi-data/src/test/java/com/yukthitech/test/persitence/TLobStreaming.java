@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ITransaction;
+import com.yukthitech.persistence.LobHandle;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.lob.FileBlobEntity;
+import com.yukthitech.test.persitence.entity.lob.IFileBlobRepository;
+import com.yukthitech.test.persitence.entity.lob.IObjBlobRepository;
+import com.yukthitech.test.persitence.entity.lob.IStreamLobRepository;
+import com.yukthitech.test.persitence.entity.lob.ObjBlobEntity;
+import com.yukthitech.test.persitence.entity.lob.StreamLobEntity;
+
+/**
+ * Test cases to validate lazy and spilled reading of lobs.
+ * @author akiran
+ */
+public class TLobStreaming extends TestSuiteBase
+{
+	/**
+	 * Creates a new factory, on same data source as specified factory, with specified lob settings.
+	 */
+	private RepositoryFactory newFactory(RepositoryFactory factory, boolean lazyLobLoading, long lobSpillThreshold)
+	{
+		return newFactory(factory, "-lob", dataStore ->
+		{
+			dataStore.setLazyLobLoading(lazyLobLoading);
+			dataStore.setLobSpillThreshold(lobSpillThreshold);
+		});
+	}
+	
+	private String buildContent(int lineCount)
+	{
+		StringBuilder content = new StringBuilder();
+		
+		for(int i = 0; i < lineCount; i++)
+		{
+			content.append("Some lob content line - ").append(i).append("\n");
+		}
+		
+		return content.toString();
+	}
+	
+	private void saveEntity(IStreamLobRepository repository, String name, String content)
+	{
+		StreamLobEntity entity = new StreamLobEntity(name, new LobHandle(content.getBytes()), new LobHandle(content.toCharArray()));
+		Assert.assertTrue(repository.save(entity));
+	}
+	
+	@Test(dataProvider = "repositoryFactories")
+	public void testLazyLobs(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory lobFactory = newFactory(factory, true, -1);
+		String content = buildContent(10000);
+		
+		try
+		{
+			IStreamLobRepository repository = lobFactory.getRepository(IStreamLobRepository.class);
+			saveEntity(repository, "lazy", content);
+			
+			//within transaction, lobs should be streamed from db
+			try(ITransaction transaction = repository.newOrExistingTransaction())
+			{
+				StreamLobEntity entity = repository.findByName("lazy");
+				
+				Assert.assertFalse(entity.getData().isFileBacked());
+				Assert.assertEquals(entity.getData().length(), content.length());
+				
+				try(InputStream is = entity.getData().openStream())
+				{
+					Assert.assertEquals(new String(IOUtils.toByteArray(is)), content);
+				}
+				
+				try(Reader reader = entity.getText().openReader())
+				{
+					Assert.assertEquals(IOUtils.toString(reader), content);
+				}
+				
+				transaction.commit();
+			}
+			
+			//outside transaction, lobs should be loaded before transaction is closed
+			StreamLobEntity entity = repository.findByName("lazy");
+			Assert.assertEquals(new String(entity.getData().readBytes()), content);
+			Assert.assertEquals(entity.getText().readString(), content);
+		}finally
+		{
+			lobFactory.dropRepository(StreamLobEntity.class);
+		}
+	}
+
+	@Test(dataProvider = "repositoryFactories")
+	public void testSpilledLobs(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory lobFactory = newFactory(factory, false, 1024);
+		String content = buildContent(10000);
+		
+		try
+		{
+			IStreamLobRepository repository = lobFactory.getRepository(IStreamLobRepository.class);
+			saveEntity(repository, "small", "small content");
+			saveEntity(repository, "big", content);
+
+			//small lobs should be loaded into memory
+			StreamLobEntity entity = repository.findByName("small");
+			Assert.assertFalse(entity.getData().isFileBacked());
+			Assert.assertEquals(entity.getText().readString(), "small content");
+			
+			//big lobs should be spilled into files
+			entity = repository.findByName("big");
+			Assert.assertTrue(entity.getData().isFileBacked());
+			Assert.assertTrue(entity.getText().isFileBacked());
+			Assert.assertEquals(FileUtils.readFileToString(entity.getData().toFile()), content);
+			Assert.assertEquals(entity.getText().readString(), content);
+			
+			//spilled file should be used as is for file fields
+			File tempFile = File.createTempFile("test", ".dat");
+			FileUtils.writeStringToFile(tempFile, content);
+			
+			//file blob table is shared with other tests, so only the saved row is removed
+			IFileBlobRepository fileRepository = lobFactory.getRepository(IFileBlobRepository.class);
+			FileBlobEntity fileEntity = new FileBlobEntity(0, "spilledFile", tempFile);
+			Assert.assertTrue(fileRepository.save(fileEntity));
+			
+			try
+			{
+				File fileFromDb = fileRepository.findByName("spilledFile").getFile();
+				Assert.assertNotEquals(fileFromDb.getName(), tempFile.getName());
+				Assert.assertEquals(FileUtils.readFileToString(fileFromDb), content);
+			}finally
+			{
+				fileRepository.deleteById(fileEntity.getId());
+			}
+		}finally
+		{
+			lobFactory.dropRepository(StreamLobEntity.class);
+		}
+	}
+	
+	/**
+	 * Ensures non-ascii text of spilled clobs is written and read back without depending on platform charset.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSpilledNonAsciiClob(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory lobFactory = newFactory(factory, false, 1024);
+		StringBuilder content = new StringBuilder();
+		
+		for(int i = 0; i < 1000; i++)
+		{
+			content.append("Gr\u00fc\u00dfe - na\u00efve - \u0caf\u0cc1\u0c95\u0ccd\u0ca4\u0cbf - \u65e5\u672c - ").append(i).append("\n");
+		}
+		
+		try
+		{
+			IStreamLobRepository repository = lobFactory.getRepository(IStreamLobRepository.class);
+			saveEntity(repository, "nonAscii", content.toString());
+			
+			StreamLobEntity entity = repository.findByName("nonAscii");
+			Assert.assertTrue(entity.getText().isFileBacked());
+			Assert.assertEquals(FileUtils.readFileToString(entity.getText().toFile(), StandardCharsets.UTF_8), content.toString());
+			Assert.assertEquals(entity.getText().readString(), content.toString());
+		}finally
+		{
+			lobFactory.dropRepository(StreamLobEntity.class);
+		}
+	}
+	
+	/**
+	 * Fetches the number of lob temp files in temp folder.
+	 */
+	private int getLobTempFileCount()
+	{
+		File files[] = new File(System.getProperty("java.io.tmpdir")).listFiles((dir, name) -> name.startsWith("lob") && name.endsWith(".tmp"));
+		return (files == null) ? 0 : files.length;
+	}
+	
+	/**
+	 * Ensures spilled files are deleted, once their content is loaded into non-file fields.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testSpilledFileCleanup(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory lobFactory = newFactory(factory, false, 1024);
+		List<String> values = new ArrayList<>();
+		
+		for(int i = 0; i < 1000; i++)
+		{
+			values.add("Some blob value - " + i);
+		}
+		
+		//obj blob table is shared with other tests, so only the saved row is removed
+		IObjBlobRepository repository = lobFactory.getRepository(IObjBlobRepository.class);
+		ObjBlobEntity entity = new ObjBlobEntity(0, "spillCleanup", values);
+		Assert.assertTrue(repository.save(entity));
+		
+		try
+		{
+			int fileCount = getLobTempFileCount();
+			
+			for(int i = 0; i < 3; i++)
+			{
+				Assert.assertEquals(repository.findByName("spillCleanup").getValues(), values);
+			}
+			
+			Assert.assertEquals(getLobTempFileCount(), fileCount);
+		}finally
+		{
+			repository.deleteById(entity.getId());
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ITransaction;
+import com.yukthitech.persistence.metrics.QueryPlan;
+import com.yukthitech.persistence.metrics.QueryPlanReport;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+
+/**
+ * Test cases to validate query plan capture of repository finders.
+ * @author akiran
+ */
+public class TQueryPlanDiagnostics extends TestSuiteBase
+{
+	@Test(dataProvider = "repositoryFactories")
+	public void testPlanCapture(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory planFactory = newFactory(factory, "-plan", dataStore -> dataStore.setQueryPlanDiagnostics(true));
+		
+		try
+		{
+			ICascadeParentRepository repository = planFactory.getRepository(ICascadeParentRepository.class);
+			QueryPlanReport report = ((RdbmsDataStore) planFactory.getDataStore()).getQueryPlanReport();
+			
+			CascadeParent parent = new CascadeParent("planParent");
+			Assert.assertTrue(repository.save(parent));
+			
+			for(int i = 0; i < 3; i++)
+			{
+				Assert.assertEquals(repository.findByName("planParent").getId(), parent.getId());
+				Assert.assertEquals(repository.findById(parent.getId()).getName(), "planParent");
+			}
+			
+			//condition on non-indexed column should result in full scan with index suggestion
+			QueryPlan namePlan = report.getPlan(ICascadeParentRepository.class, "findByName");
+			Assert.assertNotNull(namePlan);
+			Assert.assertNull(namePlan.getError(), namePlan.getError());
+			Assert.assertTrue(namePlan.isFullTableScan(), namePlan.getPlan());
+			Assert.assertEquals(namePlan.getSuggestedIndexes().size(), 1);
+			Assert.assertTrue(namePlan.getSuggestedIndexes().get(0).contains("fields = {\"name\"}"), namePlan.getSuggestedIndexes().get(0));
+			
+			//lookup by primary key should use index
+			QueryPlan idPlan = report.getPlan(ICascadeParentRepository.class, "findById");
+			Assert.assertNotNull(idPlan);
+			Assert.assertFalse(idPlan.isFullTableScan(), idPlan.getPlan());
+			Assert.assertTrue(idPlan.getSuggestedIndexes().isEmpty());
+			
+			//plans should be captured only once per method
+			Assert.assertEquals(report.getPlans().size(), 2);
+			Assert.assertEquals(report.getFullTableScanPlans().size(), 1);
+			Assert.assertTrue(report.toReport().contains("Full table scans: 1"));
+			
+			report.reset();
+			Assert.assertEquals(repository.findByName("planParent").getId(), parent.getId());
+			Assert.assertEquals(report.getPlans().size(), 1);
+		}finally
+		{
+			planFactory.dropRepository(CascadeParent.class);
+		}
+	}
+	
+	/**
+	 * Ensures plan capture within a transaction does not effect the transaction.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testPlanCaptureInTransaction(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory planFactory = newFactory(factory, "-plan", dataStore -> dataStore.setQueryPlanDiagnostics(true));
+		
+		try
+		{
+			ICascadeParentRepository repository = planFactory.getRepository(ICascadeParentRepository.class);
+			QueryPlanReport report = ((RdbmsDataStore) planFactory.getDataStore()).getQueryPlanReport();
+			
+			try(ITransaction transaction = repository.newTransaction())
+			{
+				Assert.assertTrue(repository.save(new CascadeParent("txParent1")));
+				Assert.assertNotNull(repository.findByName("txParent1"));
+				Assert.assertTrue(repository.save(new CascadeParent("txParent2")));
+				
+				transaction.commit();
+			}
+			
+			QueryPlan namePlan = report.getPlan(ICascadeParentRepository.class, "findByName");
+			Assert.assertNotNull(namePlan);
+			Assert.assertNull(namePlan.getError(), namePlan.getError());
+			
+			Assert.assertNotNull(repository.findByName("txParent1"));
+			Assert.assertNotNull(repository.findByName("txParent2"));
+			
+			//changes done before capture should still be part of the transaction
+			report.reset();
+			
+			try(ITransaction transaction = repository.newTransaction())
+			{
+				Assert.assertTrue(repository.save(new CascadeParent("txParent3")));
+				Assert.assertNotNull(repository.findByName("txParent3"));
+				
+				transaction.rollback();
+			}
+			
+			Assert.assertEquals(report.getPlans().size(), 1);
+			Assert.assertNull(repository.findByName("txParent3"));
+		}finally
+		{
+			planFactory.dropRepository(CascadeParent.class);
+		}
+	}
+}
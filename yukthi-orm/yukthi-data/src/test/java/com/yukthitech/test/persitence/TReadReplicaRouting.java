@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ITransaction;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.rdbms.ReadReplicaStrategy;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.persistence.repository.search.SearchQuery;
+import com.yukthitech.test.persitence.entity.CachedEntity;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICachedEntityRepository;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+
+/**
+ * Test cases to validate routing of read-only operations to read replicas. Separate in-memory
+ * H2 databases are used as primary and replicas, each with different number of rows, so that 
+ * the database serving a read can be identified.
+ * @author akiran
+ */
+public class TReadReplicaRouting
+{
+	private BasicDataSource primary;
+	
+	private List<DataSource> replicas = new ArrayList<>();
+	
+	private static BasicDataSource newDataSource(String name)
+	{
+		BasicDataSource dataSource = new BasicDataSource();
+		dataSource.setDriverClassName("org.h2.Driver");
+		dataSource.setUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		return dataSource;
+	}
+	
+	/**
+	 * Creates table in specified data source and adds specified number of rows.
+	 */
+	private static void populate(DataSource dataSource, int rowCount, String marker)
+	{
+		RdbmsDataStore dataStore = new RdbmsDataStore("h2");
+		dataStore.setDataSource(dataSource);
+		
+		RepositoryFactory factory = new RepositoryFactory();
+		factory.setDataStore(dataStore);
+		factory.setCreateTables(true);
+		
+		ICascadeParentRepository repository = factory.getRepository(ICascadeParentRepository.class);
+		
+		for(int i = 0; i < rowCount; i++)
+		{
+			Assert.assertTrue(repository.save(new CascadeParent(i == 0 ? marker : marker + i)));
+		}
+	}
+	
+	@BeforeClass
+	public void setup()
+	{
+		primary = newDataSource("replicaTestPrimary");
+		populate(primary, 3, "primary");
+		
+		for(int i = 1; i <= 2; i++)
+		{
+			BasicDataSource replica = newDataSource("replicaTest" + i);
+			populate(replica, i, "replica" + i);
+			replicas.add(replica);
+		}
+	}
+	
+	@AfterClass
+	public void cleanup() throws Exception
+	{
+		primary.close();
+		
+		for(DataSource replica : replicas)
+		{
+			((BasicDataSource) replica).close();
+		}
+	}
+	
+	private RepositoryFactory newFactory(ReadReplicaStrategy strategy)
+	{
+		RdbmsDataStore dataStore = new RdbmsDataStore("h2");
+		dataStore.setDataSource(primary);
+		dataStore.setReadDataSources(replicas);
+		dataStore.setReadReplicaStrategy(strategy);
+		
+		RepositoryFactory factory = new RepositoryFactory();
+		factory.setDataStore(dataStore);
+		return factory;
+	}
+	
+	@Test
+	public void testRoundRobinRouting()
+	{
+		RepositoryFactory factory = newFactory(ReadReplicaStrategy.ROUND_ROBIN);
+		ICascadeParentRepository repository = factory.getRepository(ICascadeParentRepository.class);
+		
+		long counts[] = new long[4];
+		
+		for(int i = 0; i < counts.length; i++)
+		{
+			counts[i] = repository.getCount();
+		}
+		
+		//replicas should be used alternatively
+		Assert.assertNotEquals(counts[0], counts[1]);
+		Assert.assertEquals(counts[0], counts[2]);
+		Assert.assertEquals(counts[1], counts[3]);
+		Assert.assertTrue(Arrays.asList(1L, 2L).contains(counts[0]));
+		Assert.assertTrue(Arrays.asList(1L, 2L).contains(counts[1]));
+		
+		//finders should also be served by replicas
+		Assert.assertNull(repository.findByName("primary"));
+		
+		long readCounts[] = ((RdbmsDataStore) factory.getDataStore()).getTransactionManager().getReplicaReadCounts();
+		Assert.assertEquals(readCounts[0] + readCounts[1], 5);
+	}
+	
+	@Test
+	public void testPrimaryReads() throws Exception
+	{
+		RepositoryFactory factory = newFactory(ReadReplicaStrategy.ROUND_ROBIN);
+		ICascadeParentRepository repository = factory.getRepository(ICascadeParentRepository.class);
+		
+		//method marked with primary-read should always read from primary
+		Assert.assertNotNull(repository.findPrimaryByName("primary"));
+		Assert.assertNotNull(repository.findPrimaryByName("primary"));
+		
+		//reads within transaction should use transaction connection (primary)
+		try(ITransaction transaction = repository.newOrExistingTransaction())
+		{
+			Assert.assertEquals(repository.getCount(), 3);
+			Assert.assertEquals(repository.getCount(), 3);
+			Assert.assertNotNull(repository.findByName("primary"));
+			
+			transaction.commit();
+		}
+		
+		long readCounts[] = ((RdbmsDataStore) factory.getDataStore()).getTransactionManager().getReplicaReadCounts();
+		Assert.assertEquals(readCounts[0] + readCounts[1], 0);
+	}
+	
+	@Test
+	public void testLeastLoadedRouting()
+	{
+		RepositoryFactory factory = newFactory(ReadReplicaStrategy.LEAST_LOADED);
+		ICascadeParentRepository repository = factory.getRepository(ICascadeParentRepository.class);
+		
+		//partially read stream keeps replica connection in use, till it is closed
+		try(Stream<CascadeParent> stream = repository.searchStream(new SearchQuery()))
+		{
+			String name = stream.iterator().next().getName();
+			Assert.assertTrue(name.startsWith("replica"));
+			
+			//other reads should go to the other replica, which is not in use
+			long otherReplicaCount = "replica1".equals(name) ? 2 : 1;
+			
+			for(int i = 0; i < 3; i++)
+			{
+				Assert.assertEquals(repository.getCount(), otherReplicaCount);
+			}
+		}
+		
+		long readCounts[] = ((RdbmsDataStore) factory.getDataStore()).getTransactionManager().getReplicaReadCounts();
+		Assert.assertEquals(readCounts[0] + readCounts[1], 4);
+	}
+	
+	/**
+	 * Ensures id finder of cached entities reads from primary, so that stale records
+	 * from replicas are not cached.
+	 */
+	@Test
+	public void testCachedEntityReadsFromPrimary()
+	{
+		RepositoryFactory factory = newFactory(ReadReplicaStrategy.ROUND_ROBIN);
+		factory.setCreateTables(true);
+		
+		//table is created only on primary, so reads from replicas would fail
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		
+		try
+		{
+			CachedEntity entity = new CachedEntity("cached", 10);
+			Assert.assertTrue(repository.save(entity));
+			
+			Assert.assertEquals(repository.findById(entity.getId()).getValue(), 10);
+			Assert.assertEquals(repository.findById(entity.getId()).getValue(), 10);
+			
+			long readCounts[] = ((RdbmsDataStore) factory.getDataStore()).getTransactionManager().getReplicaReadCounts();
+			Assert.assertEquals(readCounts[0] + readCounts[1], 0);
+		}finally
+		{
+			factory.dropRepository(CachedEntity.class);
+		}
+	}
+}
@@ -15,8 +15,12 @@
  */
 package com.yukthitech.test.persitence;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,7 +28,10 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import com.yukthitech.persistence.GenericRepository;
+import com.yukthitech.persistence.metrics.IStatementMetricsListener;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
 import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.persistence.repository.search.SearchQuery;
 import com.yukthitech.test.persitence.entity.Customer;
 import com.yukthitech.test.persitence.entity.CustomerAddress;
 import com.yukthitech.test.persitence.entity.CustomerGroup;
@@ -237,4 +244,84 @@ public class TRelationFetch extends TestSuiteBase
 		
 		Assert.assertEquals(groupNames, CommonUtils.toSet("Customer1", "Customer2"));
 	}
+
+	/**
+	 * Executes specified action and returns the tables on which finder queries are executed during the action.
+	 */
+	private List<String> captureFinderTables(RepositoryFactory factory, Runnable action)
+	{
+		List<String> tables = Collections.synchronizedList(new ArrayList<>());
+		IStatementMetricsListener listener = metrics -> 
+		{
+			if("executeFinder".equals(metrics.getOperation()))
+			{
+				tables.add(metrics.getTableName().toUpperCase());
+			}
+		};
+		
+		RdbmsDataStore dataStore = (RdbmsDataStore) factory.getDataStore();
+		dataStore.addMetricsListener(listener);
+		
+		try
+		{
+			action.run();
+		}finally
+		{
+			dataStore.removeMetricsListener(listener);
+		}
+		
+		return tables;
+	}
+	
+	/**
+	 * Ensures lazy relations of multiple results, which are loaded in batches, are fetched properly.
+	 * 		Customer from orders
+	 * 		Items from orders
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testBatchedRelationFetch(RepositoryFactory factory)
+	{
+		IOrderRepository repo = factory.getRepository(IOrderRepository.class);
+		int batchSize = factory.getLazyLoadBatchSize();
+		
+		//use batch size smaller than number of orders, so that multiple batches are involved
+		factory.setLazyLoadBatchSize(2);
+		
+		try
+		{
+			List<Order> orders = repo.search(new SearchQuery());
+			Assert.assertEquals(orders.size(), 3);
+			
+			Map<String, String> orderToCustomer = new HashMap<>();
+			Map<String, Set<String>> orderToItems = new HashMap<>();
+			
+			List<String> finderTables = captureFinderTables(factory, () -> 
+			{
+				for(Order order : orders)
+				{
+					orderToCustomer.put(order.getTitle(), order.getCustomer().getName());
+					orderToItems.put(order.getTitle(), order.getItems().stream()
+							.map(item -> item.getItemName())
+							.collect(Collectors.toSet()));
+				}
+			});
+			
+			//2 distinct customers should be loaded in single batch and items of 3 orders in 2 batches
+			Assert.assertEquals(Collections.frequency(finderTables, "CUSTOMER"), 1);
+			Assert.assertEquals(Collections.frequency(finderTables, "ORDER_ITEM"), 2);
+			Assert.assertEquals(finderTables.size(), 3);
+			
+			Assert.assertEquals(orderToCustomer, CommonUtils.toMap(
+					"order1", "Customer1", 
+					"order2", "Customer1",
+					"order3", "Customer2"));
+			
+			Assert.assertEquals(orderToItems.get("order1"), CommonUtils.toSet("soap", "box"));
+			Assert.assertEquals(orderToItems.get("order2"), CommonUtils.toSet("soap", "brush"));
+			Assert.assertEquals(orderToItems.get("order3"), CommonUtils.toSet("book"));
+		}finally
+		{
+			factory.setLazyLoadBatchSize(batchSize);
+		}
+	}
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ICrudRepository;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeChild;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICascadeChildRepository;
+
+/**
+ * Test cases to validate concurrent repository lookups.
+ * @author akiran
+ */
+public class TRepositoryLookup extends TestSuiteBase
+{
+	private static Logger logger = LogManager.getLogger(TRepositoryLookup.class);
+	
+	/**
+	 * Number of threads used for concurrent lookup.
+	 */
+	private static final int THREAD_COUNT = 16;
+	
+	/**
+	 * Number of lookups done by each thread.
+	 */
+	private static final int LOOKUP_COUNT = 10_000;
+	
+	/**
+	 * Ensures concurrent lookups, including the ones racing with creation, result in single repository instance.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentLookup(RepositoryFactory factory)
+	{
+		RepositoryFactory lookupFactory = newFactory(factory, "-lookup", null);
+		
+		try
+		{
+			Supplier<?> lookups[] = new Supplier<?>[THREAD_COUNT];
+			
+			for(int i = 0; i < THREAD_COUNT; i++)
+			{
+				lookups[i] = () -> 
+				{
+					Object repository = null;
+					
+					for(int j = 0; j < LOOKUP_COUNT; j++)
+					{
+						Object current = lookupFactory.getRepository(ICascadeChildRepository.class);
+						
+						if(repository != null && repository != current)
+						{
+							throw new IllegalStateException("Different repository instance found on lookup");
+						}
+						
+						repository = current;
+					}
+					
+					return repository;
+				};
+			}
+			
+			long startTime = System.nanoTime();
+			List<Object> repositories = lookupFactory.executeConcurrently(lookups);
+			long timeTaken = System.nanoTime() - startTime;
+			
+			logger.info("[{}] {} concurrent repository lookups completed in {} ms", factory.getName(), THREAD_COUNT * LOOKUP_COUNT, timeTaken / 1000_000);
+			
+			ICrudRepository<CascadeChild> repository = lookupFactory.getRepositoryForEntity(CascadeChild.class);
+			Assert.assertSame(lookupFactory.getRepository(ICascadeChildRepository.class), repository);
+			
+			for(Object repo : repositories)
+			{
+				Assert.assertSame(repo, repository);
+			}
+		}finally
+		{
+			lookupFactory.dropRepository(CascadeChild.class);
+			lookupFactory.dropRepository(CascadeParent.class);
+		}
+	}
+}
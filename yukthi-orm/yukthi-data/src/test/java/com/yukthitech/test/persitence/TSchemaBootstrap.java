@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.rdbms.SchemaSnapshot;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeChild;
+import com.yukthitech.test.persitence.entity.CascadeGrandChild;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICascadeChildRepository;
+import com.yukthitech.test.persitence.entity.ICascadeGrandChildRepository;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+
+/**
+ * Test cases to validate bulk loading of repositories with schema snapshot.
+ * @author akiran
+ */
+public class TSchemaBootstrap extends TestSuiteBase
+{
+	/**
+	 * Creates a factory, on same data source as specified factory, which persists schema
+	 * snapshot in specified file.
+	 */
+	private RepositoryFactory newBootstrapFactory(RepositoryFactory factory, File snapshotFile, String schemaVersion)
+	{
+		RdbmsDataStore baseDataStore = (RdbmsDataStore) factory.getDataStore();
+		
+		RdbmsDataStore dataStore = new RdbmsDataStore(factory.getName().toLowerCase());
+		dataStore.setDataSource(baseDataStore.getDataSource());
+		dataStore.setSchemaSnapshotFile(snapshotFile);
+		dataStore.setSchemaVersion(schemaVersion);
+		
+		RepositoryFactory bootstrapFactory = new RepositoryFactory();
+		bootstrapFactory.setName(factory.getName() + "-bootstrap");
+		bootstrapFactory.setDataStore(dataStore);
+		bootstrapFactory.setCreateTables(true);
+		
+		return bootstrapFactory;
+	}
+	
+	/**
+	 * Adds a dummy table entry to persisted snapshot, which can be used to identify snapshot usage.
+	 */
+	private void addDummyTable(File snapshotFile, String tableName) throws IOException
+	{
+		Properties properties = new Properties();
+		
+		try(Reader reader = new FileReader(snapshotFile))
+		{
+			properties.load(reader);
+		}
+		
+		properties.setProperty(tableName, "ID");
+		
+		try(Writer writer = new FileWriter(snapshotFile))
+		{
+			properties.store(writer, null);
+		}
+	}
+	
+	@Test(dataProvider = "repositoryFactories")
+	public void testBulkLoad(RepositoryFactory factory) throws IOException
+	{
+		File snapshotFile = File.createTempFile("schema-snapshot", ".properties");
+		snapshotFile.delete();
+		
+		//ensure required tables exist
+		factory.getRepository(ICascadeParentRepository.class);
+		factory.getRepository(ICascadeChildRepository.class);
+		factory.getRepository(ICascadeGrandChildRepository.class);
+		
+		RepositoryFactory bootstrapFactory = newBootstrapFactory(factory, snapshotFile, "1");
+		
+		try
+		{
+			bootstrapFactory.loadRepositories(Arrays.asList(ICascadeParentRepository.class, ICascadeChildRepository.class, ICascadeGrandChildRepository.class));
+			
+			//ensure snapshot is persisted
+			SchemaSnapshot snapshot = SchemaSnapshot.load(snapshotFile);
+			Assert.assertNotNull(snapshot);
+			Assert.assertEquals(snapshot.getVersion(), "1");
+			Assert.assertEquals(snapshot.getColumns("CASCADE_PARENT").size(), 2);
+			
+			//ensure loaded repositories are used
+			ICascadeParentRepository parentRepository = bootstrapFactory.getRepository(ICascadeParentRepository.class);
+			Assert.assertSame(bootstrapFactory.getRepository(ICascadeParentRepository.class), parentRepository);
+			
+			ICascadeChildRepository childRepository = bootstrapFactory.getRepository(ICascadeChildRepository.class);
+			
+			CascadeParent parent = new CascadeParent("parent");
+			Assert.assertTrue(parentRepository.save(parent));
+			Assert.assertTrue(childRepository.save(new CascadeChild("child", parent)));
+			Assert.assertEquals(childRepository.getCount(), 1);
+			
+			//with same version, persisted snapshot should be used without introspection
+			addDummyTable(snapshotFile, "SNAPSHOT_ONLY_TABLE");
+			
+			RdbmsDataStore dataStore = (RdbmsDataStore) newBootstrapFactory(factory, snapshotFile, "1").getDataStore();
+			dataStore.loadSchemaMetadata();
+			Assert.assertTrue(dataStore.tableExists("SNAPSHOT_ONLY_TABLE"));
+			dataStore.clearSchemaMetadata();
+			
+			//with changed version, schema should be introspected again
+			dataStore = (RdbmsDataStore) newBootstrapFactory(factory, snapshotFile, "2").getDataStore();
+			dataStore.loadSchemaMetadata();
+			Assert.assertFalse(dataStore.tableExists("SNAPSHOT_ONLY_TABLE"));
+			Assert.assertTrue(dataStore.tableExists("CASCADE_PARENT"));
+			dataStore.clearSchemaMetadata();
+			
+			Assert.assertEquals(SchemaSnapshot.load(snapshotFile).getVersion(), "2");
+			
+			//schema changes should discard persisted snapshot
+			bootstrapFactory.dropRepository(CascadeGrandChild.class);
+			Assert.assertFalse(snapshotFile.exists());
+		}finally
+		{
+			factory.dropRepository(CascadeGrandChild.class);
+			factory.dropRepository(CascadeChild.class);
+			factory.dropRepository(CascadeParent.class);
+			
+			snapshotFile.delete();
+		}
+	}
+}
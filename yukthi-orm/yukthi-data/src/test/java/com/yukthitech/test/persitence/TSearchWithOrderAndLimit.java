@@ -290,4 +290,113 @@ public class TSearchWithOrderAndLimit extends TestSuiteBase
 		Assert.assertEquals(results.get(1).getExtraFields().get("phoneNo"), "1234563");
 		Assert.assertEquals(results.get(1).getExtraFields().get("age"), (Integer)35);
 	}
+
+	/**
+	 * Tests keyset paging, where pages are fetched based on last seen order values
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testKeysetPaging(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		SearchQuery searchQuery = new SearchQuery().setKeysetPaging(true);
+		searchQuery.setOrderByFields(Arrays.asList(
+			new OrderByField("name", OrderByType.ASC)
+		));
+		searchQuery.setResultsLimit(2);
+		
+		List<List<String>> pages = new ArrayList<>();
+		
+		do
+		{
+			List<String> names = new ArrayList<>();
+			repo.search(searchQuery).forEach(e -> names.add(e.getName()));
+			pages.add(names);
+		} while(searchQuery.getKeysetValues() != null);
+		
+		Assert.assertEquals(pages, Arrays.asList(
+				Arrays.asList("abc", "def"), 
+				Arrays.asList("ghi", "xyz"), 
+				Arrays.asList("zie")));
+		
+		//test descending order with continuation token
+		String token = null;
+		pages.clear();
+		
+		do
+		{
+			SearchQuery pageQuery = new SearchQuery().setContinuationToken(token);
+			pageQuery.setOrderByFields(Arrays.asList(
+				new OrderByField("age", OrderByType.DESC)
+			));
+			pageQuery.setResultsLimit(3);
+			
+			List<String> names = new ArrayList<>();
+			repo.search(pageQuery).forEach(e -> names.add(e.getName()));
+			pages.add(names);
+			
+			token = pageQuery.getContinuationToken();
+		} while(token != null);
+		
+		Assert.assertEquals(pages, Arrays.asList(
+				Arrays.asList("ghi", "zie", "def"), 
+				Arrays.asList("xyz", "abc")));
+	}
+
+	/**
+	 * Tests keyset paging, when order-by field has null values
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testKeysetPagingWithNulls(RepositoryFactory factory)
+	{
+		IEmployeeRepository repo = factory.getRepository(IEmployeeRepository.class);
+		
+		Employee nullEmp1 = new Employee("1235", "user5@test.com", "nul1", null, 45);
+		Employee nullEmp2 = new Employee("1236", "user6@test.com", "nul2", null, 50);
+		repo.save(nullEmp1);
+		repo.save(nullEmp2);
+		
+		try
+		{
+			for(OrderByType orderType : OrderByType.values())
+			{
+				//expected order as per db null ordering
+				SearchQuery fullQuery = new SearchQuery();
+				fullQuery.setOrderByFields(Arrays.asList(
+					new OrderByField("phoneNo", orderType),
+					new OrderByField("id", OrderByType.ASC)
+				));
+				
+				List<String> expected = new ArrayList<>();
+				repo.search(fullQuery).forEach(e -> expected.add(e.getName()));
+				Assert.assertEquals(expected.size(), 7);
+				
+				for(int limit = 1; limit <= 3; limit++)
+				{
+					List<String> names = new ArrayList<>();
+					String token = null;
+					
+					do
+					{
+						SearchQuery pageQuery = new SearchQuery().setContinuationToken(token);
+						pageQuery.setOrderByFields(Arrays.asList(
+							new OrderByField("phoneNo", orderType)
+						));
+						pageQuery.setResultsLimit(limit);
+						
+						repo.search(pageQuery).forEach(e -> names.add(e.getName()));
+						token = pageQuery.getContinuationToken();
+					} while(token != null);
+					
+					Assert.assertEquals(names, expected, "Keyset paging failed for order " + orderType + " with limit " + limit);
+				}
+			}
+		}finally
+		{
+			repo.deleteById(nullEmp1.getId());
+			repo.deleteById(nullEmp2.getId());
+		}
+	}
 }
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.ITransaction;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.rdbms.RdbmsTransactionManager;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CascadeParent;
+import com.yukthitech.test.persitence.entity.ICascadeParentRepository;
+
+/**
+ * Test cases to validate reuse of prepared statements within a transaction.
+ * @author akiran
+ */
+public class TStatementCache extends TestSuiteBase
+{
+	/**
+	 * Number of times operations are repeated in single transaction.
+	 */
+	private static final int REPEAT_COUNT = 100;
+	
+	/**
+	 * Saves and fetches entities repeatedly in single transaction and returns the transaction manager.
+	 */
+	private RdbmsTransactionManager executeRepeatedly(RepositoryFactory factory) throws Exception
+	{
+		ICascadeParentRepository repository = factory.getRepository(ICascadeParentRepository.class);
+		RdbmsTransactionManager transactionManager = ((RdbmsDataStore) factory.getDataStore()).getTransactionManager();
+		transactionManager.resetStatementCounters();
+		
+		try(ITransaction transaction = repository.newOrExistingTransaction())
+		{
+			for(int i = 0; i < REPEAT_COUNT; i++)
+			{
+				CascadeParent parent = new CascadeParent("parent" + i);
+				Assert.assertTrue(repository.save(parent));
+				Assert.assertEquals(repository.findById(parent.getId()).getName(), "parent" + i);
+			}
+			
+			transaction.commit();
+		}
+		
+		//post commit, statements should be prepared freshly on new connection
+		Assert.assertEquals(repository.getCount(), REPEAT_COUNT);
+		return transactionManager;
+	}
+	
+	@Test(dataProvider = "repositoryFactories")
+	public void testStatementReuse(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory cacheFactory = newFactory(factory, "-stmt-cache", dataStore -> dataStore.setStatementCacheSize(RdbmsTransactionManager.DEFAULT_STATEMENT_CACHE_SIZE));
+		
+		try
+		{
+			RdbmsTransactionManager transactionManager = executeRepeatedly(cacheFactory);
+			
+			//only save and finder statements of first iteration, and count statement, should be prepared
+			Assert.assertEquals(transactionManager.getPreparedStatementCount(), 3);
+			Assert.assertEquals(transactionManager.getReusedStatementCount(), (REPEAT_COUNT - 1) * 2);
+			Assert.assertTrue(transactionManager.getStatementReuseRatio() > 0.95);
+		}finally
+		{
+			cacheFactory.dropRepository(CascadeParent.class);
+		}
+	}
+	
+	@Test(dataProvider = "repositoryFactories")
+	public void testDisabledStatementCache(RepositoryFactory factory) throws Exception
+	{
+		RepositoryFactory noCacheFactory = newFactory(factory, "-stmt-cache", dataStore -> dataStore.setStatementCacheSize(0));
+		
+		try
+		{
+			RdbmsTransactionManager transactionManager = executeRepeatedly(noCacheFactory);
+			
+			Assert.assertEquals(transactionManager.getPreparedStatementCount(), 0);
+			Assert.assertEquals(transactionManager.getReusedStatementCount(), 0);
+		}finally
+		{
+			noCacheFactory.dropRepository(CascadeParent.class);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.yukthitech.persistence.metrics.InMemoryStatementMetrics;
+import com.yukthitech.persistence.metrics.SlowQueryLogger;
+import com.yukthitech.persistence.metrics.StatementHistogram;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
+import com.yukthitech.persistence.repository.RepositoryFactory;
+import com.yukthitech.test.persitence.entity.CachedEntity;
+import com.yukthitech.test.persitence.entity.ICachedEntityRepository;
+
+/**
+ * Test cases to validate statement metrics collection.
+ * @author akiran
+ */
+public class TStatementMetrics extends TestSuiteBase
+{
+	@AfterMethod
+	public void cleanup(ITestResult result)
+	{
+		Object params[] = result.getParameters();
+		RepositoryFactory factory = (RepositoryFactory)params[0];
+		
+		factory.dropRepository(CachedEntity.class);
+	}
+	
+	/**
+	 * Ensures statement metrics are recorded against repository methods.
+	 * @param factory
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testMetricsByRepositoryMethod(RepositoryFactory factory)
+	{
+		ICachedEntityRepository repository = factory.getRepository(ICachedEntityRepository.class);
+		factory.getEntityCache(CachedEntity.class).clear();
+		
+		RdbmsDataStore dataStore = (RdbmsDataStore) factory.getDataStore();
+		InMemoryStatementMetrics metrics = new InMemoryStatementMetrics();
+		SlowQueryLogger slowQueryLogger = new SlowQueryLogger(0);
+		
+		dataStore.addMetricsListener(metrics);
+		dataStore.addMetricsListener(slowQueryLogger);
+		
+		try
+		{
+			CachedEntity entity1 = new CachedEntity("entity1", 10);
+			CachedEntity entity2 = new CachedEntity("entity2", 20);
+			
+			repository.save(entity1);
+			repository.save(entity2);
+			repository.findById(entity1.getId());
+			repository.deleteByName("entity2");
+		}finally
+		{
+			dataStore.removeMetricsListener(metrics);
+			dataStore.removeMetricsListener(slowQueryLogger);
+		}
+		
+		StatementHistogram saveHistogram = metrics.getHistogram(ICachedEntityRepository.class, "save");
+		Assert.assertNotNull(saveHistogram);
+		Assert.assertEquals(saveHistogram.getCount(), 2);
+		Assert.assertEquals(saveHistogram.getRowCount(), 2);
+		Assert.assertEquals(saveHistogram.getErrorCount(), 0);
+		Assert.assertTrue(saveHistogram.getMaxTime() > 0);
+		Assert.assertTrue(saveHistogram.getPercentile(50) > 0);
+		Assert.assertTrue(saveHistogram.getPercentile(50) <= saveHistogram.getMaxTime());
+		
+		StatementHistogram findHistogram = metrics.getHistogram(ICachedEntityRepository.class, "findById");
+		Assert.assertNotNull(findHistogram);
+		Assert.assertEquals(findHistogram.getCount(), 1);
+		Assert.assertEquals(findHistogram.getRowCount(), 1);
+		
+		StatementHistogram deleteHistogram = metrics.getHistogram(ICachedEntityRepository.class, "deleteByName");
+		Assert.assertNotNull(deleteHistogram);
+		Assert.assertEquals(deleteHistogram.getRowCount(), 1);
+		
+		//post removal, no metrics should be collected
+		metrics.reset();
+		repository.deleteByName("entity1");
+		Assert.assertTrue(metrics.getHistograms().isEmpty());
+	}
+}
@@ -15,11 +15,22 @@
  */
 package com.yukthitech.test.persitence;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
+import com.yukthitech.persistence.TransactionWrapper;
+import com.yukthitech.persistence.rdbms.RdbmsTransaction;
+import com.yukthitech.persistence.rdbms.RdbmsTransactionManager;
 import com.yukthitech.persistence.repository.RepositoryFactory;
 import com.yukthitech.test.persitence.entity.Employee;
 import com.yukthitech.test.persitence.entity.Employee1;
@@ -32,6 +43,8 @@ import com.yukthitech.test.persitence.entity.IEmployeeRepository;
  */
 public class TTransactions extends TestSuiteBase
 {
+	private static Logger logger = LogManager.getLogger(TTransactions.class);
+	
 	@AfterMethod
 	public void cleanup(ITestResult result)
 	{
@@ -102,4 +115,60 @@ public class TTransactions extends TestSuiteBase
 		Assert.assertEquals(empRepository.getCount(), 1L);
 		Assert.assertEquals(emp1Repository.getCount(), 2L);
 	}
+	
+	/**
+	 * Ensures transactions are bound to threads properly under concurrency. Also logs the throughput
+	 * of transaction creation/lookup, with increasing number of threads.
+	 */
+	@Test(dataProvider = "repositoryFactories")
+	public void testConcurrentTransactions(RepositoryFactory factory) throws Exception
+	{
+		RdbmsTransactionManager transactionManager = (RdbmsTransactionManager) factory.getDataStore().getTransactionManager();
+		int maxThreads = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+		int opsPerThread = 200;
+		
+		for(int threadCount = 1; threadCount <= maxThreads; threadCount *= 2)
+		{
+			ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+			List<Future<?>> futures = new ArrayList<>();
+			long startTime = System.nanoTime();
+			
+			for(int i = 0; i < threadCount; i++)
+			{
+				futures.add(executor.submit(() -> 
+				{
+					for(int j = 0; j < opsPerThread; j++)
+					{
+						try(TransactionWrapper<RdbmsTransaction> transaction = transactionManager.newOrExistingTransaction())
+						{
+							Assert.assertFalse(transaction.isExistingTransaction());
+							
+							//nested call should return same transaction of current thread
+							try(TransactionWrapper<RdbmsTransaction> nested = transactionManager.newOrExistingTransaction())
+							{
+								Assert.assertTrue(nested.isExistingTransaction());
+								Assert.assertSame(nested.getTransaction(), transaction.getTransaction());
+								nested.commit();
+							}
+							
+							transaction.commit();
+						}
+					}
+					
+					return null;
+				}));
+			}
+			
+			for(Future<?> future : futures)
+			{
+				future.get();
+			}
+			
+			long timeTaken = System.nanoTime() - startTime;
+			executor.shutdown();
+			
+			logger.debug("[{}] Threads: {}, Transactions/sec: {}", factory.getName(), threadCount, 
+					(threadCount * opsPerThread * 1_000_000_000L) / Math.max(timeTaken, 1));
+		}
+	}
 }
@@ -1,5 +1,6 @@
 package com.yukthitech.test.persitence;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -285,4 +286,39 @@ public class TestRelationUpdates extends TestSuiteBase
     			.collect(Collectors.toSet());
     	Assert.assertEquals(names, Set.of("JCust101", "JCust3", "JCust4"));
     }
+
+    /**
+     * Ensure relations with large number of members are synced in bulk and removal of relations
+     * does not affect relations of other parents.
+     */
+    @Test
+    public void testBulkRelationSync()
+    {
+    	CustomerGroup bulkGroup1 = new CustomerGroup("BulkGroup1", null);
+    	CustomerGroup bulkGroup2 = new CustomerGroup("BulkGroup2", null);
+    	customerGroupRepository.save(bulkGroup1);
+    	customerGroupRepository.save(bulkGroup2);
+    	
+    	List<Customer> customers = new ArrayList<>();
+    	
+    	for(int i = 0; i < 1200; i++)
+    	{
+    		customers.add(new Customer("BulkCust" + i, null, null));
+    	}
+    	
+    	Assert.assertEquals(customerRepository.saveAll(customers), customers.size());
+    	
+    	int count = customerGroupRepository.updateCustomers("BulkGroup1", customers);
+    	Assert.assertEquals(count, customers.size());
+    	
+    	count = customerGroupRepository.updateCustomers("BulkGroup2", customers.subList(0, 10));
+    	Assert.assertEquals(count, 10);
+    	
+    	// remove first half of the members from first group
+    	count = customerGroupRepository.updateCustomers("BulkGroup1", customers.subList(600, customers.size()));
+    	Assert.assertEquals(count, 600);
+    	
+    	Assert.assertEquals(customerGroupRepository.findByName("BulkGroup1").getCustomers().size(), 600);
+    	Assert.assertEquals(customerGroupRepository.findByName("BulkGroup2").getCustomers().size(), 10);
+    }
 }
@@ -17,12 +17,14 @@ package com.yukthitech.test.persitence;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 
 import com.yukthitech.test.persitence.config.TestConfiguration;
+import com.yukthitech.persistence.rdbms.RdbmsDataStore;
 import com.yukthitech.persistence.repository.RepositoryFactory;
 
 /**
@@ -82,6 +84,34 @@ public class TestSuiteBase
 	}
 	*/
 	
+	/**
+	 * Creates a new factory with new data store, on same data source as specified factory. So that
+	 * repositories, listeners and data store settings of new factory do not affect other tests.
+	 * @param factory factory whose data source should be used
+	 * @param suffix suffix to be added to the name of specified factory
+	 * @param customizer if not null, invoked to customize the new data store
+	 * @return new factory
+	 */
+	protected RepositoryFactory newFactory(RepositoryFactory factory, String suffix, Consumer<RdbmsDataStore> customizer)
+	{
+		RdbmsDataStore baseDataStore = (RdbmsDataStore) factory.getDataStore();
+		
+		RdbmsDataStore dataStore = new RdbmsDataStore(factory.getName().toLowerCase());
+		dataStore.setDataSource(baseDataStore.getDataSource());
+		
+		if(customizer != null)
+		{
+			customizer.accept(dataStore);
+		}
+		
+		RepositoryFactory newFactory = new RepositoryFactory();
+		newFactory.setName(factory.getName() + suffix);
+		newFactory.setDataStore(dataStore);
+		newFactory.setCreateTables(true);
+		
+		return newFactory;
+	}
+	
 	protected void initFactoryBeforeClass(RepositoryFactory factory)
 	{}
 	
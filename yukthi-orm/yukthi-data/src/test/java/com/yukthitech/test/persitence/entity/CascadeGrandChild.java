@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence.entity;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.yukthitech.persistence.annotations.DeleteWithParent;
+
+/**
+ * Grand child entity which gets deleted with child.
+ * @author akiran
+ */
+@Table(name = "CASCADE_GRAND_CHILD")
+public class CascadeGrandChild
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	@Column(name = "NAME")
+	private String name;
+	
+	@ManyToOne
+	@DeleteWithParent
+	@Column(name = "CHILD_ID")
+	private CascadeChild child;
+
+	public CascadeGrandChild()
+	{}
+
+	public CascadeGrandChild(String name, CascadeChild child)
+	{
+		this.name = name;
+		this.child = child;
+	}
+
+	public long getId()
+	{
+		return id;
+	}
+
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+
+	public CascadeChild getChild()
+	{
+		return child;
+	}
+
+	public void setChild(CascadeChild child)
+	{
+		this.child = child;
+	}
+}
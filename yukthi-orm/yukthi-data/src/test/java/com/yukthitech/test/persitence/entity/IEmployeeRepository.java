@@ -18,12 +18,14 @@ package com.yukthitech.test.persitence.entity;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import com.yukthitech.test.persitence.queries.DynamicEmpSearchResult;
 import com.yukthitech.test.persitence.queries.EmpSearchQuery;
 import com.yukthitech.test.persitence.queries.EmpSearchResult;
 import com.yukthitech.test.persitence.queries.KeyValueBean;
 import com.yukthitech.utils.annotations.Named;
+import com.yukthitech.persistence.ICloseableIterator;
 import com.yukthitech.persistence.ICrudRepository;
 import com.yukthitech.persistence.IDataFilter;
 import com.yukthitech.persistence.repository.annotations.Condition;
@@ -31,6 +33,7 @@ import com.yukthitech.persistence.repository.annotations.ConditionBean;
 import com.yukthitech.persistence.repository.annotations.Conditions;
 import com.yukthitech.persistence.repository.annotations.AggregateFunction;
 import com.yukthitech.persistence.repository.annotations.DefaultCondition;
+import com.yukthitech.persistence.repository.annotations.FetchSize;
 import com.yukthitech.persistence.repository.annotations.Field;
 import com.yukthitech.persistence.repository.annotations.JoinOperator;
 import com.yukthitech.persistence.repository.annotations.MethodConditions;
@@ -92,6 +95,13 @@ public interface IEmployeeRepository extends ICrudRepository<Employee>
 	
 	public List<Employee> findByPhoneNo(@Condition(value = "phoneNo", op = Operator.LIKE) String phone);
 	
+	@FetchSize(2)
+	@OrderBy("age")
+	public Stream<Employee> findStreamByPhoneNo(@Condition(value = "phoneNo", op = Operator.LIKE) String phone);
+	
+	@OrderBy("age")
+	public ICloseableIterator<Employee> findCursorByPhoneNo(@Condition(value = "phoneNo", op = Operator.LIKE) String phone);
+	
 	public List<Employee> findByNameOrPhone(@Condition(value = "name", op = Operator.LIKE, joinWith = JoinOperator.OR) String name, 
 			@Condition(value = "phoneNo", op = Operator.LIKE, joinWith = JoinOperator.OR) String phone);
 
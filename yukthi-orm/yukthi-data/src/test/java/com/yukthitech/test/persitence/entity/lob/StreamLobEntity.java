@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.test.persitence.entity.lob;
+
+import javax.persistence.Column;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.yukthitech.persistence.LobHandle;
+import com.yukthitech.persistence.annotations.DataType;
+import com.yukthitech.persistence.annotations.DataTypeMapping;
+
+/**
+ * Entity with lob fields, which are read as streams.
+ * @author akiran
+ */
+@Table(name = "STREAM_LOB_TABLE")
+public class StreamLobEntity
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column(name = "NAME")
+	private String name;
+	
+	@DataTypeMapping(type = DataType.BLOB)
+	@Column(name = "DATA")
+	private LobHandle data;
+	
+	@DataTypeMapping(type = DataType.CLOB)
+	@Column(name = "TEXT")
+	private LobHandle text;
+
+	public StreamLobEntity()
+	{}
+	
+	public StreamLobEntity(String name, LobHandle data, LobHandle text)
+	{
+		this.name = name;
+		this.data = data;
+		this.text = text;
+	}
+
+	public long getId()
+	{
+		return id;
+	}
+
+	public void setId(long id)
+	{
+		this.id = id;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public void setName(String name)
+	{
+		this.name = name;
+	}
+
+	public LobHandle getData()
+	{
+		return data;
+	}
+
+	public void setData(LobHandle data)
+	{
+		this.data = data;
+	}
+
+	public LobHandle getText()
+	{
+		return text;
+	}
+
+	public void setText(LobHandle text)
+	{
+		this.text = text;
+	}
+}
@@ -0,0 +1,578 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.yukthitech.utils.PropertyAccessor.PathElement;
+import com.yukthitech.utils.PropertyAccessor.PathElementType;
+import com.yukthitech.utils.PropertyAccessor.Property;
+import com.yukthitech.utils.exceptions.InvalidArgumentException;
+import com.yukthitech.utils.exceptions.InvalidStateException;
+
+/**
+ * Property path parsed once into an immutable chain of steps, which can be used repeatedly to 
+ * get or set the property on beans. Bean properties are accessed using method handles, which are cached per 
+ * bean type in a class value, so that cached accessors do not keep bean types from being unloaded.
+ * 
+ * Compiled paths are obtained using {@link #compile(String)}, which caches (up to {@link #MAX_CACHED_PATHS}
+ * least recently used) compiled paths by path string.
+ * 
+ * @author akranthikiran
+ */
+public class CompiledPropertyPath
+{
+	/**
+	 * Max number of compiled paths to be cached. When the limit is reached, least recently used path is removed.
+	 */
+	public static final int MAX_CACHED_PATHS = 2000;
+	
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	
+	/**
+	 * Compiled paths by path string. Compiled paths hold only parsed steps and no bean type details.
+	 */
+	private static Map<String, CompiledPropertyPath> pathCache = Collections.synchronizedMap(new LruMap<>(MAX_CACHED_PATHS));
+	
+	/**
+	 * Accessors by bean type and then by property name.
+	 */
+	private static ClassValue<Map<String, Accessor>> accessorCache = new ClassValue<Map<String, Accessor>>()
+	{
+		@Override
+		protected Map<String, Accessor> computeValue(Class<?> beanType)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
+	
+	/**
+	 * Accessor of a property for a specific bean type.
+	 * @author akranthikiran
+	 */
+	private static class Accessor
+	{
+		private Property property;
+		
+		/**
+		 * Handle of getter, adapted to (Object)Object. Null if getter is not available or not accessible.
+		 */
+		private MethodHandle getter;
+		
+		/**
+		 * Handle of setter, adapted to (Object,Object)void. Null if setter is not available or not accessible.
+		 */
+		private MethodHandle setter;
+		
+		public Accessor(Property property)
+		{
+			this.property = property;
+			
+			if(property == null)
+			{
+				return;
+			}
+			
+			//when handles can not be created, reflection (via property) is used, which also results in same errors
+			try
+			{
+				if(property.getGetter() != null)
+				{
+					this.getter = MethodHandles.publicLookup().unreflect(property.getGetter()).asType(GETTER_TYPE);
+				}
+				
+				if(property.getSetter() != null)
+				{
+					this.setter = MethodHandles.publicLookup().unreflect(property.getSetter()).asType(SETTER_TYPE);
+				}
+			}catch(IllegalAccessException ex)
+			{
+				this.getter = null;
+				this.setter = null;
+			}
+		}
+		
+		public Object getValue(Object bean, String name)
+		{
+			if(property == null)
+			{
+				throw new InvalidStateException("No property found with name '{}' in bean type: {}", name, bean.getClass().getName());
+			}
+			
+			if(getter == null)
+			{
+				return property.getValue(bean);
+			}
+			
+			try
+			{
+				return getter.invokeExact(bean);
+			}catch(Throwable ex)
+			{
+				throw new InvalidStateException("An error occurred while fetching value of property '{}' from bean of type: {}", name, bean.getClass().getName(), ex);
+			}
+		}
+		
+		public void setValue(Object bean, String name, Object value)
+		{
+			if(property == null)
+			{
+				throw new InvalidStateException("No property found with name '{}' in bean type: {}", name, bean.getClass().getName());
+			}
+			
+			if(setter == null)
+			{
+				property.setValue(bean, value);
+				return;
+			}
+			
+			try
+			{
+				setter.invokeExact(bean, value);
+			}catch(Throwable ex)
+			{
+				throw new InvalidStateException("An error occurred while setting value of property '{}' on bean of type: {}", name, bean.getClass().getName(), ex);
+			}
+		}
+	}
+	
+	/**
+	 * Single step of the compiled path.
+	 * @author akranthikiran
+	 */
+	private static class Step
+	{
+		private PathElementType type;
+		
+		/**
+		 * Path till parent element excluding current property.
+		 */
+		private String path;
+		
+		/**
+		 * Path including current property.
+		 */
+		private String fullPath;
+		
+		/**
+		 * Property name, in case of property and key steps.
+		 */
+		private String name;
+		
+		/**
+		 * Index to be accessed, in case of index steps. Null for add expression without index.
+		 */
+		private Integer index;
+		
+		/**
+		 * Flag indicating if this is an add expression.
+		 */
+		private boolean addExpression;
+		
+		/**
+		 * Path to be evaluated on elements, in case of condition steps.
+		 */
+		private Step conditionPath[];
+		
+		/**
+		 * String form of the value to be matched, in case of condition steps.
+		 */
+		private String conditionValue;
+		
+		public Step(PathElement elem)
+		{
+			this.type = elem.type;
+			this.path = elem.path;
+			this.fullPath = elem.fullPath;
+			this.addExpression = elem.addExpression;
+			
+			if(type == PathElementType.INDEX)
+			{
+				this.index = (Integer) elem.key;
+			}
+			else if(type == PathElementType.CONDITION)
+			{
+				this.conditionPath = toSteps(elem.conditionPath);
+				this.conditionValue = "" + elem.value;
+			}
+			else
+			{
+				this.name = (String) elem.key;
+			}
+		}
+		
+		/**
+		 * Fetches the accessor of current property for specified bean type from cache. If not cached, a new 
+		 * accessor is created and cached.
+		 */
+		private Accessor getAccessor(Class<?> beanType)
+		{
+			return accessorCache.get(beanType).computeIfAbsent(name, propName -> new Accessor(PropertyAccessor.getProperties(beanType).get(propName)));
+		}
+		
+		@SuppressWarnings("rawtypes")
+		public Object getProperty(Object bean)
+		{
+			//handle special property - @this
+			if("@this".equals(name))
+			{
+				return bean;
+			}
+			
+			if(bean instanceof Map)
+			{
+				return ((Map) bean).get(name);
+			}
+			
+			return getAccessor(bean.getClass()).getValue(bean, name);
+		}
+		
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		public void setProperty(Object bean, Object value)
+		{
+			if(bean instanceof Map)
+			{
+				((Map) bean).put(name, value);
+				return;
+			}
+			
+			getAccessor(bean.getClass()).setValue(bean, name, value);
+		}
+	}
+	
+	/**
+	 * Path string from which this path is compiled.
+	 */
+	private String path;
+	
+	/**
+	 * Steps of this path.
+	 */
+	private Step steps[];
+	
+	private CompiledPropertyPath(String path, List<PathElement> elements)
+	{
+		this.path = path;
+		this.steps = toSteps(elements);
+	}
+	
+	private static Step[] toSteps(List<PathElement> elements)
+	{
+		Step steps[] = new Step[elements.size()];
+		
+		for(int i = 0; i < steps.length; i++)
+		{
+			steps[i] = new Step(elements.get(i));
+		}
+		
+		return steps;
+	}
+	
+	/**
+	 * Compiles specified property path. Compiled paths are cached, so that repeated compilation of same path
+	 * returns the same compiled path.
+	 * @param path path to compile
+	 * @return compiled path
+	 */
+	public static CompiledPropertyPath compile(String path)
+	{
+		if(StringUtils.isBlank(path))
+		{
+			throw new InvalidArgumentException("Null or empty property path specified.");
+		}
+		
+		CompiledPropertyPath compiledPath = pathCache.get(path);
+		
+		if(compiledPath != null)
+		{
+			return compiledPath;
+		}
+		
+		compiledPath = new CompiledPropertyPath(path, PropertyAccessor.parse(path));
+		pathCache.put(path, compiledPath);
+		return compiledPath;
+	}
+	
+	/**
+	 * Gets the path string from which this path is compiled.
+	 *
+	 * @return the path string
+	 */
+	public String getPath()
+	{
+		return path;
+	}
+	
+	/**
+	 * Evaluates the steps of specified path on specified bean till specified index.
+	 * @param bean bean on which path needs to be evaluated
+	 * @param steps steps to evaluate
+	 * @param tillIdx index till which evaluation needs to be done
+	 * @param throwErrOnNull if true, throws exception if any null is found on the path
+	 * @return matching value
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object getValue(Object bean, Step steps[], int tillIdx, boolean throwErrOnNull)
+	{
+		Object curValue = bean;
+		
+		for(int i = 0; i < tillIdx; i++)
+		{
+			Step step = steps[i];
+			
+			switch(step.type)
+			{
+				case PROPERTY:
+				case KEY:
+				{
+					curValue = step.getProperty(curValue);
+					break;
+				}
+				case INDEX:
+				{
+					if(curValue instanceof List)
+					{
+						curValue = ((List<Object>) curValue).get(step.index);
+					}
+					else if(curValue.getClass().isArray())
+					{
+						curValue = Array.get(curValue, step.index);
+					}
+					else
+					{
+						throw new InvalidArgumentException("Index is used on non-list value at: {}", step.path);
+					}
+					
+					break;
+				}
+				case CONDITION:
+				{
+					if(!(curValue instanceof Collection))
+					{
+						throw new InvalidArgumentException("Condition is used on non-collection value at: {}", step.path);
+					}
+					
+					Object matchedValue = null;
+					
+					for(Object obj : (Collection<Object>) curValue)
+					{
+						if(step.conditionValue.equals("" + getValue(obj, step.conditionPath, step.conditionPath.length, false)))
+						{
+							matchedValue = obj;
+							break;
+						}
+					}
+
+					curValue = matchedValue;
+					break;
+				}
+			}
+			
+			if(curValue == null)
+			{
+				if(throwErrOnNull)
+				{
+					throw new NullPointerException(String.format("Property path '%s' resulted in null", step.fullPath));
+				}
+				
+				break;
+			}
+		}
+	
+		return curValue;
+	}
+	
+	/**
+	 * Fetches the value of this path from specified bean.
+	 * @param bean bean from which value needs to be fetched
+	 * @return property value, null if any value on the path is null
+	 */
+	public Object getValue(Object bean)
+	{
+		return getValue(bean, steps, steps.length, false);
+	}
+	
+	/**
+	 * Fetches the value of this path from specified bean.
+	 * @param bean bean from which value needs to be fetched
+	 * @param throwErrorOnNull if true, any null occurs on the path, NullPointerException is thrown indicating the path
+	 * @return property value
+	 */
+	public Object getValue(Object bean, boolean throwErrorOnNull)
+	{
+		return getValue(bean, steps, steps.length, throwErrorOnNull);
+	}
+	
+	/**
+	 * Sets the value of this path on specified bean.
+	 * @param bean bean on which value needs to be set
+	 * @param value value to set
+	 */
+	@SuppressWarnings("unchecked")
+	public void setValue(Object bean, Object value)
+	{
+		Object parent = getValue(bean, steps, steps.length - 1, true);
+		Step lastStep = steps[steps.length - 1];
+		
+		switch(lastStep.type)
+		{
+			case PROPERTY:
+			case KEY:
+			{
+				lastStep.setProperty(parent, value);
+				break;
+			}
+			case INDEX:
+			{
+				if(!(parent instanceof Collection))
+				{
+					throw new InvalidArgumentException("Index is used on non-collection value at: {}", lastStep.path);
+				}
+
+				Collection<Object> parentCollection = (Collection<Object>) parent;
+				
+				if(!(parentCollection instanceof List))
+				{
+					if(lastStep.addExpression)
+					{
+						parentCollection.add(value);
+						return;
+					}
+					
+					throw new InvalidArgumentException("Index is used on non-list value at: {}", lastStep.path);
+				}
+				
+				List<Object> parentList = (List<Object>) parent;
+				Integer idx = lastStep.index;
+				
+				if(lastStep.addExpression || idx == parentList.size())
+				{
+					if(idx == null)
+					{
+						parentList.add(value);
+					}
+					else
+					{
+						parentList.add(idx, value);
+					}
+				}
+				//if set has to be done
+				else
+				{
+					parentList.set(idx, value);
+				}
+				
+				break;
+			}
+			case CONDITION:
+			{
+				throw new InvalidArgumentException("Condition is used as last property to set property: {}", lastStep.fullPath);
+			}
+		}
+	}
+	
+	/**
+	 * Removes the value of this path from specified bean.
+	 * @param bean bean from which value needs to be removed
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void removeValue(Object bean)
+	{
+		Object parent = getValue(bean, steps, steps.length - 1, true);
+		Step lastStep = steps[steps.length - 1];
+		
+		switch(lastStep.type)
+		{
+			case PROPERTY:
+			case KEY:
+			{
+				if(parent instanceof Map)
+				{
+					((Map<Object, Object>) parent).remove(lastStep.name);
+				}
+				else
+				{
+					lastStep.setProperty(parent, null);
+				}
+				
+				break;
+			}
+			case INDEX:
+			{
+				if(!(parent instanceof List))
+				{
+					throw new InvalidArgumentException("Index is used on non-list value at: {}", lastStep.path);
+				}
+				
+				int idx = lastStep.index;
+				((List<Object>) parent).remove(idx);
+				
+				break;
+			}
+			case CONDITION:
+			{
+				Collection<Object> collection = null;
+				
+				if(parent instanceof Map)
+				{
+					collection = ((Map) parent).entrySet();
+				}
+				else if(parent instanceof Collection)
+				{
+					collection = (Collection<Object>) parent;
+				}
+				else
+				{
+					throw new InvalidArgumentException("Condition is used on non-collection value at: {}", lastStep.path);
+				}
+				
+				Iterator<Object> it = collection.iterator();
+				
+				while(it.hasNext())
+				{
+					Object obj = it.next();
+					
+					if(lastStep.conditionValue.equals("" + getValue(obj, lastStep.conditionPath, lastStep.conditionPath.length, false)))
+					{
+						it.remove();
+					}
+				}
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return path;
+	}
+}
@@ -15,10 +15,11 @@
  */
 package com.yukthitech.utils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -29,9 +30,13 @@ import java.util.logging.Logger;
  * ensure an object is locked at a time by single thread. Other thread which tries to lock
  * same object will wait till lock is obtained.
  * 
- * This is done by using single ReentrantLock and pool of conditions.
+ * Each locked object is mapped to a reference counted lock in a concurrent map, so threads locking different
+ * objects do not contend with each other. Lock entries are removed when last user releases
+ * them and are pooled for reuse. As waiting is done using {@link ReentrantLock}, waiting virtual threads
+ * do not pin their carrier threads.
  * 
- * Please note. If same thread tries to acquire lock on same object twice, there will be dead lock.
+ * Same thread can lock same object multiple times, in which case it has to release the object
+ * same number of times.
  * 
  * @author akiran
  */
@@ -39,74 +44,27 @@ public class ObjectLockManager
 {
 	private static Logger logger = Logger.getLogger(ObjectLockManager.class.getName());
 	
-	private class ObjectLock extends ReentrantLock
+	private static class ObjectLock extends ReentrantLock
 	{
 		private static final long serialVersionUID = 1L;
-		private AtomicInteger counter = new AtomicInteger(0);
 		
-		public void lockObject(Object object)
-		{
-			try
-			{
-				super.lockInterruptibly();
-			}catch(InterruptedException ex)
-			{
-				throw new RuntimeInterruptedException(ex);
-			}
-			
-			counter.incrementAndGet();
-			
-			mainLock.lock();
-			
-			try
-			{
-				objectToLocks.put(object, this);
-			}finally
-			{
-				mainLock.unlock();
-			}
-		}
-		
-		public void releaseObject(Object object)
-		{
-			int val = counter.decrementAndGet();
-			
-			if(val > 0)
-			{
-				super.unlock();
-				return;
-			}
-
-			mainLock.lock();
-			
-			try
-			{
-				objectToLocks.remove(object);
-				lockPool.add(this);
-			}finally
-			{
-				mainLock.unlock();
-			}
-			
-			super.unlock();
-		}
+		/**
+		 * Number of threads holding or waiting for this lock. Modified only 
+		 * within map compute functions, which are atomic per object.
+		 */
+		private int users;
 	}
 	
-	/**
-	 * Lock to synchronize the threads will obtaining object lock
-	 */
-	private ReentrantLock mainLock = new ReentrantLock();
-	
 	/**
 	 * Maintains the objects that are locked and their corresponding locks. Locks are used to 
 	 * notify other waiting threads for same object lock.
 	 */
-	private Map<Object, ObjectLock> objectToLocks = new HashMap<Object, ObjectLock>();
+	private Map<Object, ObjectLock> objectToLocks = new ConcurrentHashMap<Object, ObjectLock>();
 	
 	/**
 	 * Pool of locks. So that lock objects can be reused
 	 */
-	private List<ObjectLock> lockPool = new ArrayList<ObjectLock>();
+	private Queue<ObjectLock> lockPool = new ConcurrentLinkedQueue<ObjectLock>();
 	
 	/**
 	 * Keeps track maximum pool size that was used during this lock manager
@@ -116,57 +74,70 @@ public class ObjectLockManager
 	
 	public boolean isObjectLocked(Object object)
 	{
-		mainLock.lock();
-		
-		try
-		{
-			return  (objectToLocks.get(object) != null);
-		}finally
-		{
-			mainLock.unlock();
-		}
+		ObjectLock objLock = objectToLocks.get(object);
+		return (objLock != null && objLock.isLocked());
 	}
 
-	public ObjectLock getLockOf(Object object)
+	/**
+	 * Fetches lock from the pool, if pool is empty new lock will be created.
+	 * @return free lock
+	 */
+	private ObjectLock getFreeLock()
 	{
-		mainLock.lock();
+		ObjectLock objLock = lockPool.poll();
 		
-		try
-		{
-			return objectToLocks.get(object);
-		}finally
+		if(objLock == null)
 		{
-			mainLock.unlock();
+			objLock = new ObjectLock();
+			maxLocksUsed.incrementAndGet();
 		}
+		
+		return objLock;
 	}
 	
-	public ObjectLock getFreeLock()
+	/**
+	 * Fetches the lock mapped to specified object, creating the mapping if required,
+	 * and registers current thread as user of the lock.
+	 * @param object object for which lock is needed
+	 * @return lock mapped to the object
+	 */
+	private ObjectLock acquireLockOf(Object object)
 	{
-		ObjectLock objLock = null;
-
-		mainLock.lock();
-		
-		try
+		return objectToLocks.compute(object, (key, objLock) -> 
 		{
-			//if no locks are available in pool
-			if(lockPool.isEmpty())
+			if(objLock == null)
 			{
-				//create new lock
-				objLock = new ObjectLock();
-				maxLocksUsed.incrementAndGet();
+				objLock = getFreeLock();
 			}
-			//if pool has locks
 			else
 			{
-				//reuse the lock from pool
-				objLock = lockPool.remove(lockPool.size() - 1);
+				logger.log(Level.FINE, "Waiting for lock on object using same lock - {0}", object);
 			}
 			
+			objLock.users++;
 			return objLock;
-		}finally
+		});
+	}
+	
+	/**
+	 * Unregisters current thread as user of the specified lock. When no more users are present
+	 * mapping is removed and lock is moved back to pool.
+	 * @param object object whose lock is being released
+	 */
+	private void releaseLockOf(Object object)
+	{
+		objectToLocks.computeIfPresent(object, (key, objLock) -> 
 		{
-			mainLock.unlock();
-		}
+			objLock.users--;
+			
+			if(objLock.users > 0)
+			{
+				return objLock;
+			}
+			
+			lockPool.offer(objLock);
+			return null;
+		});
 	}
 
 	/**
@@ -176,20 +147,46 @@ public class ObjectLockManager
 	 */
 	public void lockObject(Object object)
 	{
-		//check if current object is already locked
-		ObjectLock objLock = getLockOf(object);
-
-		//if locked wait for lock to be released
-		if(objLock != null)
+		ObjectLock objLock = acquireLockOf(object);
+		
+		try
 		{
-			logger.log(Level.FINE, "Waiting for lock on object using same lock - {}", object);
-			
-			objLock.lockObject(object);
-			return;
+			objLock.lockInterruptibly();
+		}catch(InterruptedException ex)
+		{
+			releaseLockOf(object);
+			throw new RuntimeInterruptedException(ex);
+		}
+	}
+	
+	/**
+	 * Tries to lock the specified "object" within specified timeout. On success, lock should be released
+	 * by calling {@link #releaseObject(Object)}.
+	 * @param object object to lock
+	 * @param timeout max time to wait for the lock
+	 * @param unit unit of timeout
+	 * @return true if lock is obtained, false if timeout occurred
+	 */
+	public boolean tryLockObject(Object object, long timeout, TimeUnit unit)
+	{
+		ObjectLock objLock = acquireLockOf(object);
+		boolean locked = false;
+		
+		try
+		{
+			locked = objLock.tryLock(timeout, unit);
+		}catch(InterruptedException ex)
+		{
+			releaseLockOf(object);
+			throw new RuntimeInterruptedException(ex);
 		}
 		
-		objLock = getFreeLock();
-		objLock.lockObject(object);
+		if(!locked)
+		{
+			releaseLockOf(object);
+		}
+		
+		return locked;
 	}
 	
 	/**
@@ -199,7 +196,7 @@ public class ObjectLockManager
 	 */
 	public void releaseObject(Object object)
 	{
-		ObjectLock objLock = getLockOf(object);
+		ObjectLock objLock = objectToLocks.get(object);
 
 		//if the object was not locked
 		if(objLock == null)
@@ -207,7 +204,9 @@ public class ObjectLockManager
 			throw new IllegalStateException("Specified object is not locked by this manager - " + object);
 		}
 		
-		objLock.releaseObject(object);
+		//as current thread holds the lock, the mapping cannot be removed till release is complete
+		objLock.unlock();
+		releaseLockOf(object);
 	}
 	
 	/**
@@ -225,14 +224,6 @@ public class ObjectLockManager
 	 */
 	public int getLockCount()
 	{
-		mainLock.lock();
-		
-		try
-		{
-			return objectToLocks.size();
-		}finally
-		{
-			mainLock.unlock();
-		}
+		return objectToLocks.size();
 	}
 }
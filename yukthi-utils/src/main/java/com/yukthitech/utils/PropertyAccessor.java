@@ -17,21 +17,18 @@ package com.yukthitech.utils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
-import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -63,7 +60,7 @@ public class PropertyAccessor
 	 * Enumeration of path element types.
 	 * @author akranthikiran
 	 */
-	private static enum PathElementType
+	static enum PathElementType
 	{
 		PROPERTY, INDEX, KEY, CONDITION;
 	}
@@ -72,42 +69,42 @@ public class PropertyAccessor
 	 * Represents a single element in property path.
 	 * @author akranthikiran
 	 */
-	private static class PathElement
+	static class PathElement
 	{
 		/**
 		 * Path till parent element excluding current property.
 		 */
-		private String path;
+		String path;
 		
 		/**
 		 * Path including current property.
 		 */
-		private String fullPath;
+		String fullPath;
 		
 		/**
 		 * Type of this element.
 		 */
-		private PathElementType type;
+		PathElementType type;
 		
 		/**
 		 * Property name or index to be accessed on current value.
 		 */
-		private Object key;
+		Object key;
 		
 		/**
 		 * In case of conditions this will be populated with sub-prop path to be used on current object. 
 		 */
-		private List<PathElement> conditionPath;
+		List<PathElement> conditionPath;
 		
 		/**
 		 * Value to be matched in condition.
 		 */
-		private Object value;
+		Object value;
 		
 		/**
 		 * Flag indicating if this is an add expression. Which is helpful in inserting/adding elements into list.
 		 */
-		private boolean addExpression = false;
+		boolean addExpression = false;
 
 		public PathElement(String path, String fullPath, PathElementType type, Object key)
 		{
@@ -334,17 +331,95 @@ public class PropertyAccessor
 
 	}
 	
-	private static Map<Class<?>, Map<String, Property>> propertyCache = new HashMap<>();
-	
-	public static synchronized Map<String, Property> getProperties(Class<?> beanType)
+	/**
+	 * Represents copying of a single property from source bean to target bean.
+	 */
+	private static class PropertyCopy
 	{
-		Map<String, Property> propMap = propertyCache.get(beanType);
+		private Property sourceProperty;
+		
+		private Property targetProperty;
 		
-		if(propMap != null)
+		private Class<?> targetType;
+		
+		public PropertyCopy(Property sourceProperty, Property targetProperty)
 		{
-			return propMap;
+			this.sourceProperty = sourceProperty;
+			this.targetProperty = targetProperty;
+			this.targetType = targetProperty.getType();
 		}
+	}
+	
+	/**
+	 * Properties to be copied from a source type to target type, computed once per type pair.
+	 */
+	private static class CopyPlan
+	{
+		private Class<?> targetType;
 		
+		private PropertyCopy copies[];
+		
+		public CopyPlan(Class<?> sourceType, Class<?> targetType)
+		{
+			this.targetType = targetType;
+			
+			Map<String, Property> destProperties = getProperties(targetType);
+			List<PropertyCopy> copyList = new ArrayList<>();
+			
+			for(Property srcProp : getProperties(sourceType).values())
+			{
+				Property targetProp = destProperties.get(srcProp.name);
+				
+				if(srcProp.getter == null || targetProp == null || targetProp.setter == null)
+				{
+					continue;
+				}
+				
+				copyList.add(new PropertyCopy(srcProp, targetProp));
+			}
+			
+			this.copies = copyList.toArray(new PropertyCopy[0]);
+		}
+	}
+	
+	/**
+	 * Properties by bean type. Class value is used, so that lookups are lock free and cached properties 
+	 * do not prevent bean types from being unloaded.
+	 */
+	private static ClassValue<Map<String, Property>> propertyCache = new ClassValue<Map<String, Property>>()
+	{
+		@Override
+		protected Map<String, Property> computeValue(Class<?> type)
+		{
+			return loadProperties(type);
+		}
+	};
+	
+	/**
+	 * Copy plans by source type and then by target type. Plans are kept only for target types visible to 
+	 * the source type loader, so that a cached plan does not keep other class loaders alive.
+	 */
+	private static ClassValue<Map<Class<?>, CopyPlan>> copyPlanCache = new ClassValue<Map<Class<?>, CopyPlan>>()
+	{
+		@Override
+		protected Map<Class<?>, CopyPlan> computeValue(Class<?> sourceType)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
+	
+	public static Map<String, Property> getProperties(Class<?> beanType)
+	{
+		return propertyCache.get(beanType);
+	}
+	
+	/**
+	 * Loads the properties of specified bean type by scanning its fields and accessor methods.
+	 * @param beanType type whose properties needs to be loaded
+	 * @return properties by name
+	 */
+	private static Map<String, Property> loadProperties(Class<?> beanType)
+	{
 		Map<String, Field> fieldMap = new HashMap<>();
 		Map<String, Method> setterMap = new HashMap<>();
 		Map<String, Method> getterMap = new HashMap<>();
@@ -354,7 +429,7 @@ public class PropertyAccessor
 		
 		boolean firstTime = true;
 		
-		while(!beanType.getName().startsWith("java"))
+		while(beanType != null && !beanType.getName().startsWith("java"))
 		{
 			Field[] fields = beanType.getDeclaredFields();
 			
@@ -420,7 +495,7 @@ public class PropertyAccessor
 			beanType = beanType.getSuperclass();
 		}
 		
-		propMap = new HashMap<>();
+		Map<String, Property> propMap = new HashMap<>();
 
 		for(String name : names)
 		{
@@ -433,10 +508,7 @@ public class PropertyAccessor
 			propMap.put(name, prop);
 		}
 		
-		propMap = Collections.unmodifiableMap(propMap);
-		
-		propertyCache.put(beanType, propMap);
-		return propMap;
+		return Collections.unmodifiableMap(propMap);
 	}
 	
 	public static Property getProperty(Class<?> beanType, String name)
@@ -607,7 +679,7 @@ public class PropertyAccessor
 	 * @param path
 	 * @return
 	 */
-	private static List<PathElement> parse(String path)
+	static List<PathElement> parse(String path)
 	{
 		if(StringUtils.isBlank(path))
 		{
@@ -707,122 +779,6 @@ public class PropertyAccessor
 		return property.getValue(bean);
 	}
 	
-	/**
-	 * Sets the specified property value on specified bean.
-	 * @param bean
-	 * @param prop
-	 * @param value
-	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static void setBeanProperty(Object bean, String prop, Object value)
-	{
-		if(bean instanceof Map)
-		{
-			((Map) bean).put(prop, value);
-			return;
-		}
-		
-		Property property = getProperties(bean.getClass()).get(prop);
-		
-		if(property == null)
-		{
-			throw new InvalidStateException("No property found with name '{}' in bean type: {}", prop, bean.getClass().getName());
-		}
-		
-		if(property.setter == null)
-		{
-			throw new InvalidStateException("No property set-method found with name '{}' in bean type: {}", prop, bean.getClass().getName());
-		}
-		
-		property.setValue(bean, value);
-	}
-
-	/**
-	 * Fetches the value from the bean using specified property path till specified index.
-	 * @param bean bean from which value needs to be extracted
-	 * @param path property path to be extracted
-	 * @param tillIdx index till which evaluation needs to be done
-	 * @param throwErrOnNull if true, throws exception if any null is found on the path
-	 * @return matching value
-	 */
-	@SuppressWarnings("unchecked")
-	private static Object getValue(Object bean, List<PathElement> path, int tillIdx, boolean throwErrOnNull)
-	{
-		Object curValue = bean;
-		
-		for(int i = 0; i < tillIdx; i++)
-		{
-			PathElement elem = path.get(i);
-			
-			switch(elem.type)
-			{
-				case PROPERTY:
-				{
-					curValue = getBeanProperty(curValue, (String) elem.key);
-					break;
-				}
-				case KEY:
-				{
-					curValue = getBeanProperty(curValue, (String) elem.key);
-					break;
-				}
-				case INDEX:
-				{
-					if(curValue instanceof List)
-					{
-						curValue = ((List<Object>) curValue).get((Integer) elem.key);
-					}
-					else if(curValue.getClass().isArray())
-					{
-						curValue = Array.get(curValue, (Integer) elem.key);
-					}
-					else
-					{
-						throw new InvalidArgumentException("Index is used on non-list value at: {}", elem.path);
-					}
-					
-					break;
-				}
-				case CONDITION:
-				{
-					if(!(curValue instanceof Collection))
-					{
-						throw new InvalidArgumentException("Condition is used on non-collection value at: {}", elem.path);
-					}
-					
-					Collection<Object> collection = (Collection<Object>) curValue;
-					Object matchedValue = null;
-					
-					for(Object obj : collection)
-					{
-						Object condValue = getValue(obj, elem.conditionPath, elem.conditionPath.size(), false);
-						
-						if(Objects.equals("" + condValue, "" + elem.value))
-						{
-							matchedValue = obj;
-							break;
-						}
-					}
-
-					curValue = matchedValue;
-					break;
-				}
-			}
-			
-			if(curValue == null)
-			{
-				if(throwErrOnNull)
-				{
-					throw new NullPointerException(String.format("Property path '%s' resulted in null", elem.fullPath));
-				}
-				
-				break;
-			}
-		}
-	
-		return curValue;
-	}
-	
 	/**
 	 * Fetches specified composite property from the specified bean.
 	 * @param bean bean from which property to be fetched
@@ -831,8 +787,7 @@ public class PropertyAccessor
 	 */
 	public static Object getProperty(Object bean, String property)
 	{
-		List<PathElement> pathElemLst = parse(property);
-		return getValue(bean, pathElemLst, pathElemLst.size(), false);
+		return CompiledPropertyPath.compile(property).getValue(bean);
 	}
 
 	/**
@@ -844,8 +799,7 @@ public class PropertyAccessor
 	 */
 	public static Object getProperty(Object bean, String property, boolean throwErrorOnNull)
 	{
-		List<PathElement> pathElemLst = parse(property);
-		return getValue(bean, pathElemLst, pathElemLst.size(), throwErrorOnNull);
+		return CompiledPropertyPath.compile(property).getValue(bean, throwErrorOnNull);
 	}
 
 	/**
@@ -854,74 +808,9 @@ public class PropertyAccessor
 	 * @param property property path to set
 	 * @param value value to set
 	 */
-	@SuppressWarnings("unchecked")
 	public static void setProperty(Object bean, String property, Object value)
 	{
-		List<PathElement> pathElemLst = parse(property);
-		
-		Object parent = getValue(bean, pathElemLst, pathElemLst.size() - 1, true);
-		
-		PathElement lastElem = pathElemLst.get(pathElemLst.size() - 1);
-		
-		switch(lastElem.type)
-		{
-			case PROPERTY:
-			{
-				setBeanProperty(parent, (String) lastElem.key, value);
-				break;
-			}
-			case KEY:
-			{
-				setBeanProperty(parent, (String) lastElem.key, value);
-				break;
-			}
-			case INDEX:
-			{
-				if(!(parent instanceof Collection))
-				{
-					throw new InvalidArgumentException("Index is used on non-collection value at: {}", lastElem.path);
-				}
-
-				Collection<Object> parentCollection = (Collection<Object>) parent;
-				
-				if(!(parentCollection instanceof List))
-				{
-					if(lastElem.addExpression)
-					{
-						parentCollection.add(value);
-						return;
-					}
-					
-					throw new InvalidArgumentException("Index is used on non-list value at: {}", lastElem.path);
-				}
-				
-				List<Object> parentList = (List<Object>) parent;
-				Integer idx = (Integer) lastElem.key;
-				
-				if(lastElem.addExpression || idx == parentList.size())
-				{
-					if(idx == null)
-					{
-						parentList.add(value);
-					}
-					else
-					{
-						parentList.add(idx, value);
-					}
-				}
-				//if set has to be done
-				else
-				{
-					parentList.set(idx, value);
-				}
-				
-				break;
-			}
-			case CONDITION:
-			{
-				throw new InvalidArgumentException("Condition is used as last property to set property: {}", lastElem.fullPath);
-			}
-		}
+		CompiledPropertyPath.compile(property).setValue(bean, value);
 	}
 
 	/**
@@ -929,86 +818,9 @@ public class PropertyAccessor
 	 * @param bean bean from which property needs to be removed.
 	 * @param property property to be removed.
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static void removeProperty(Object bean, String property)
 	{
-		List<PathElement> pathElemLst = parse(property);
-		
-		Object parent = getValue(bean, pathElemLst, pathElemLst.size() - 1, true);
-		
-		PathElement lastElem = pathElemLst.get(pathElemLst.size() - 1);
-		
-		switch(lastElem.type)
-		{
-			case PROPERTY:
-			{
-				if(parent instanceof Map)
-				{
-					((Map<Object, Object>) parent).remove(lastElem.key);
-				}
-				else
-				{
-					setBeanProperty(parent, (String) lastElem.key, null);
-				}
-				
-				break;
-			}
-			case KEY:
-			{
-				if(parent instanceof Map)
-				{
-					((Map<Object, Object>) parent).remove(lastElem.key);
-				}
-				else
-				{
-					setProperty(parent, (String) lastElem.key, null);
-				}
-				
-				break;
-			}
-			case INDEX:
-			{
-				if(!(parent instanceof List))
-				{
-					throw new InvalidArgumentException("Index is used on non-list value at: {}", lastElem.path);
-				}
-				
-				int idx = (Integer) lastElem.key;
-				((List<Object>) parent).remove(idx);
-				
-				break;
-			}
-			case CONDITION:
-			{
-				Collection<Object> collection = null;
-				
-				if(parent instanceof Map)
-				{
-					collection = ((Map) parent).entrySet();
-				}
-				else if(parent instanceof Collection)
-				{
-					collection = (Collection<Object>) parent;
-				}
-				else
-				{
-					throw new InvalidArgumentException("Condition is used on non-collection value at: {}", lastElem.path);
-				}
-				
-				Iterator<Object> it = collection.iterator();
-				
-				while(it.hasNext())
-				{
-					Object obj = it.next();
-					Object condValue = getValue(obj, lastElem.conditionPath, lastElem.conditionPath.size(), false);
-					
-					if(Objects.equals("" + condValue, "" + lastElem.value))
-					{
-						it.remove();
-					}
-				}
-			}
-		}
+		CompiledPropertyPath.compile(property).removeValue(bean);
 	}
 	
 	public static Map<String, Object> describe(Object bean)
@@ -1027,6 +839,48 @@ public class PropertyAccessor
 		return res;
 	}
 	
+	/**
+	 * Fetches the copy plan for specified types. When target type is not visible to the source type 
+	 * loader (like target loaded by a child loader), plan is computed without caching.
+	 * @param sourceType type from which properties are copied
+	 * @param targetType type to which properties are copied
+	 * @return matching copy plan
+	 */
+	private static CopyPlan getCopyPlan(Class<?> sourceType, Class<?> targetType)
+	{
+		if(!isLoaderVisible(targetType.getClassLoader(), sourceType.getClassLoader()))
+		{
+			return new CopyPlan(sourceType, targetType);
+		}
+		
+		return copyPlanCache.get(sourceType).computeIfAbsent(targetType, type -> new CopyPlan(sourceType, type));
+	}
+	
+	/**
+	 * Checks if specified loader is same as or an ancestor of specified child loader.
+	 * @param loader loader to check
+	 * @param childLoader loader from which ancestors should be checked
+	 * @return true if loader is visible to child loader
+	 */
+	private static boolean isLoaderVisible(ClassLoader loader, ClassLoader childLoader)
+	{
+		//bootstrap loader is visible to all
+		if(loader == null)
+		{
+			return true;
+		}
+		
+		for(ClassLoader curLoader = childLoader; curLoader != null; curLoader = curLoader.getParent())
+		{
+			if(curLoader == loader)
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
 	public static <T> T cloneObject(Object source, Class<T> targetType)
 	{
 		if(source == null)
@@ -1044,33 +898,25 @@ public class PropertyAccessor
 			throw new InvalidStateException("Failed to created instance of target type: {}", targetType.getName(), ex);
 		}
 		
-		Map<String, Property> destProperties = getProperties(targetType);
-		Map<String, Property> srcProperties = getProperties(source.getClass());
+		CopyPlan copyPlan = getCopyPlan(source.getClass(), targetType);
 		
-		for(Map.Entry<String, Property> srcProp : srcProperties.entrySet())
+		for(PropertyCopy copy : copyPlan.copies)
 		{
-			Property targetProp = destProperties.get(srcProp.getKey());
-			
-			if(targetProp == null || targetProp.setter == null)
-			{
-				continue;
-			}
-			
-			Object value = srcProp.getValue().getValue(source);
+			Object value = copy.sourceProperty.getValue(source);
 			
 			if(value == null)
 			{
 				continue;
 			}
 			
-			value = ConvertUtils.convert(value, targetProp.getType());
+			value = ConvertUtils.convert(value, copy.targetType);
 			
 			try
 			{
-				targetProp.setValue(target, value);
+				copy.targetProperty.setValue(target, value);
 			}catch(Exception ex)
 			{
-				logger.warning(String.format("Failed to set property '{}' on target. Error: {}", srcProp.getKey(), "" + ex));
+				logger.warning(String.format("Failed to set property '%s' on target of type %s. Error: %s", copy.targetProperty.name, copyPlan.targetType.getName(), "" + ex));
 			}
 		}
 		
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils.event;
+
+/**
+ * Policy to be followed when listener queue is full during parallel dispatch.
+ * @author akiran
+ */
+public enum BackpressurePolicy
+{
+	/**
+	 * Event publisher waits till space is available in the queue. When the publisher is a listener being 
+	 * invoked by the same manager, waiting would result in dead lock (as the same pool thread may be needed 
+	 * to drain the queue). So in such cases the new event is dropped instead.
+	 */
+	BLOCK,
+	
+	/**
+	 * New event is dropped.
+	 */
+	DROP,
+	
+	/**
+	 * Pending event of same listener method is removed and new event is added at the end of queue, so that 
+	 * listener gets only the latest one and publish order is maintained. If no such event is pending, oldest 
+	 * pending event is dropped.
+	 */
+	COALESCE;
+}
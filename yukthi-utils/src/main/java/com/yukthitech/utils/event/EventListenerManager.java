@@ -22,15 +22,28 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.yukthitech.utils.CommonUtils;
+import com.yukthitech.utils.RuntimeInterruptedException;
 
 /**
  * Manager for managing listeners.
+ * 
+ * In sequential mode, listeners are invoked by publishing thread itself, one event at a time.
+ * In parallel mode, each listener gets a bounded queue of events, which is drained by thread pool
+ * in the order in which events are published. When the queue is full, configured {@link BackpressurePolicy}
+ * is followed.
+ * 
  * @author akiran
  * @param <L> listener type.
  */
@@ -38,6 +51,17 @@ public class EventListenerManager<L>
 {
 	private static Logger logger = Logger.getLogger(EventListenerManager.class.getName());
 	
+	/**
+	 * Default capacity of listener queues.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+	
+	/**
+	 * Max number of events delivered by single thread pool task, after which the listener
+	 * is rescheduled so that other listeners get a chance.
+	 */
+	private static final int DRAIN_BATCH_SIZE = 100;
+	
 	/**
 	 * Data that can be used to filter listeners before invocation.
 	 * @author akiran
@@ -76,6 +100,29 @@ public class EventListenerManager<L>
 		public void processResult(Object result, L listener, Object data, Method listenerMethod, Object... params);
 	}
 	
+	/**
+	 * Published event. Same event object is shared by queues of all listeners.
+	 * @author akiran
+	 */
+	private static class Event
+	{
+		private Method method;
+		
+		private Object params[];
+		
+		/**
+		 * Time (in nanos) at which event is published.
+		 */
+		private long publishTime;
+
+		public Event(Method method, Object[] params)
+		{
+			this.method = method;
+			this.params = params;
+			this.publishTime = System.nanoTime();
+		}
+	}
+	
 	/**
 	 * Listener with data.
 	 * @author akiran
@@ -91,6 +138,52 @@ public class EventListenerManager<L>
 		 * Data associated with listener.
 		 */
 		private Object data;
+		
+		/**
+		 * Ring buffer of events pending for this listener. Used only in parallel mode.
+		 */
+		private Event queue[];
+		
+		/**
+		 * Index of oldest pending event in queue.
+		 */
+		private int head;
+		
+		/**
+		 * Number of pending events in queue.
+		 */
+		private int count;
+		
+		/**
+		 * Max number of pending events in queue.
+		 */
+		private int maxCount;
+		
+		/**
+		 * Lock guarding the queue.
+		 */
+		private ReentrantLock queueLock;
+		
+		/**
+		 * Condition on which publishers wait when queue is full.
+		 */
+		private Condition notFull;
+		
+		/**
+		 * Flag indicating if a thread pool task is scheduled to deliver queued events. At any
+		 * point only one task is scheduled per listener, which ensures events are delivered in order.
+		 */
+		private AtomicBoolean draining;
+		
+		private AtomicLong processedCount;
+		
+		private AtomicLong droppedCount;
+		
+		private AtomicLong coalescedCount;
+		
+		private AtomicLong totalLatency;
+		
+		private LongAccumulator maxLatency;
 
 		public ListenerWithData(L listener, Object data)
 		{
@@ -98,6 +191,270 @@ public class EventListenerManager<L>
 			this.data = data;
 		}
 		
+		/**
+		 * Initializes dispatch state of this listener.
+		 * @param queueCapacity capacity of queue, zero in sequential mode
+		 */
+		private void init(int queueCapacity)
+		{
+			if(queueCapacity > 0)
+			{
+				queue = new Event[queueCapacity];
+				queueLock = new ReentrantLock();
+				notFull = queueLock.newCondition();
+				draining = new AtomicBoolean(false);
+			}
+			
+			processedCount = new AtomicLong();
+			droppedCount = new AtomicLong();
+			coalescedCount = new AtomicLong();
+			totalLatency = new AtomicLong();
+			maxLatency = new LongAccumulator(Math::max, 0);
+		}
+		
+		/**
+		 * Adds specified event to the queue, following backpressure policy if queue is full. And
+		 * schedules delivery of events if not scheduled already.
+		 * @param event event to add
+		 */
+		private void enqueue(Event event)
+		{
+			queueLock.lock();
+			
+			try
+			{
+				if(count == queue.length)
+				{
+					if(!handleFullQueue(event))
+					{
+						return;
+					}
+				}
+				
+				queue[(head + count) % queue.length] = event;
+				count++;
+				
+				if(count > maxCount)
+				{
+					maxCount = count;
+				}
+			}finally
+			{
+				queueLock.unlock();
+			}
+			
+			scheduleDrain();
+		}
+		
+		/**
+		 * Applies backpressure policy on full queue. Should be invoked with queue lock.
+		 * @param event new event being added
+		 * @return true if new event should be added to queue
+		 */
+		private boolean handleFullQueue(Event event)
+		{
+			switch(backpressurePolicy)
+			{
+				case DROP:
+				{
+					droppedCount.incrementAndGet();
+					return false;
+				}
+				case COALESCE:
+				{
+					for(int i = count - 1; i >= 0; i--)
+					{
+						if(!queue[(head + i) % queue.length].method.equals(event.method))
+						{
+							continue;
+						}
+						
+						//remove the older event, so that new event gets added at the tail and order of publish is maintained
+						for(int j = i; j < count - 1; j++)
+						{
+							queue[(head + j) % queue.length] = queue[(head + j + 1) % queue.length];
+						}
+						
+						queue[(head + count - 1) % queue.length] = null;
+						count--;
+						coalescedCount.incrementAndGet();
+						return true;
+					}
+					
+					//if no pending event of same method is found, drop the oldest one
+					queue[head] = null;
+					head = (head + 1) % queue.length;
+					count--;
+					droppedCount.incrementAndGet();
+					return true;
+				}
+				default:
+				{
+					//blocking a pool thread for space would dead lock, as the same thread might be needed to drain the queue
+					if(Boolean.TRUE.equals(dispatchThread.get()))
+					{
+						logger.log(Level.FINE, "Dropping event published to full queue from listener thread - {0}", event.method);
+						droppedCount.incrementAndGet();
+						return false;
+					}
+					
+					try
+					{
+						while(count == queue.length)
+						{
+							notFull.await();
+						}
+					}catch(InterruptedException ex)
+					{
+						throw new RuntimeInterruptedException(ex);
+					}
+					
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * Removes oldest event from the queue.
+		 * @return oldest event, null if queue is empty
+		 */
+		private Event poll()
+		{
+			queueLock.lock();
+			
+			try
+			{
+				if(count == 0)
+				{
+					return null;
+				}
+				
+				Event event = queue[head];
+				queue[head] = null;
+				head = (head + 1) % queue.length;
+				count--;
+				
+				notFull.signal();
+				return event;
+			}finally
+			{
+				queueLock.unlock();
+			}
+		}
+		
+		/**
+		 * Fetches the current queue depth.
+		 * @return queue depth
+		 */
+		private int getQueueDepth()
+		{
+			if(queue == null)
+			{
+				return 0;
+			}
+			
+			queueLock.lock();
+			
+			try
+			{
+				return count;
+			}finally
+			{
+				queueLock.unlock();
+			}
+		}
+		
+		/**
+		 * Delivers queued events to the listener. Executed by thread pool.
+		 */
+		private void drain()
+		{
+			boolean completed = false;
+			dispatchThread.set(Boolean.TRUE);
+			
+			try
+			{
+				while(true)
+				{
+					Event event = null;
+					int delivered = 0;
+					
+					while((event = poll()) != null)
+					{
+						invokeListener(this, event);
+						delivered++;
+						
+						//after a batch, give chance to other listeners
+						if(delivered >= DRAIN_BATCH_SIZE)
+						{
+							completed = true;
+							threadPool.execute(this::drain);
+							return;
+						}
+					}
+					
+					draining.set(false);
+					
+					//if events are added after last poll, and no other task is scheduled, continue draining
+					if(getQueueDepth() == 0 || !draining.compareAndSet(false, true))
+					{
+						completed = true;
+						return;
+					}
+				}
+			}finally
+			{
+				dispatchThread.remove();
+				
+				//on unexpected error, ensure pending events are not left undelivered
+				if(!completed)
+				{
+					draining.set(false);
+					
+					if(getQueueDepth() > 0)
+					{
+						scheduleDrain();
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Schedules delivery of queued events, if not scheduled already.
+		 */
+		private void scheduleDrain()
+		{
+			if(draining.compareAndSet(false, true))
+			{
+				threadPool.execute(this::drain);
+			}
+		}
+		
+		/**
+		 * Creates metrics snapshot of this listener.
+		 * @return metrics
+		 */
+		private ListenerMetrics toMetrics()
+		{
+			int maxQueueDepth = 0;
+			
+			if(queue != null)
+			{
+				queueLock.lock();
+				
+				try
+				{
+					maxQueueDepth = maxCount;
+				}finally
+				{
+					queueLock.unlock();
+				}
+			}
+			
+			return new ListenerMetrics(listener, getQueueDepth(), maxQueueDepth, processedCount.get(), droppedCount.get(), 
+					coalescedCount.get(), totalLatency.get(), maxLatency.get());
+		}
+		
 		/* (non-Javadoc)
 		 * @see java.lang.Object#equals(java.lang.Object)
 		 */
@@ -135,9 +492,10 @@ public class EventListenerManager<L>
 	private L proxy;
 	
 	/**
-	 * Listeners list.
+	 * Listeners list. Modifications create new copy, so that event dispatching can use
+	 * list snapshot without copying or locking.
 	 */
-	private List<ListenerWithData> listeners = new ArrayList<ListenerWithData>();
+	private List<ListenerWithData> listeners = new CopyOnWriteArrayList<ListenerWithData>();
 	
 	/**
 	 * Thread pool for executing listeners.
@@ -149,6 +507,27 @@ public class EventListenerManager<L>
 	 */
 	private boolean parallel;
 	
+	/**
+	 * Lock used in sequential mode, to ensure events are delivered one at a time.
+	 */
+	private ReentrantLock sequentialLock = new ReentrantLock();
+	
+	/**
+	 * Capacity of queue of each listener in parallel mode.
+	 */
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+	
+	/**
+	 * Policy to be followed when listener queue is full.
+	 */
+	private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+	
+	/**
+	 * Flag set on pool threads while they deliver events of this manager. Used to avoid blocking
+	 * of pool threads on full queues.
+	 */
+	private ThreadLocal<Boolean> dispatchThread = new ThreadLocal<Boolean>();
+	
 	/**
 	 * Filter to be invoked to filter listeners.
 	 */
@@ -161,6 +540,8 @@ public class EventListenerManager<L>
 	
 	private EventListenerManager(boolean parallel, int poolSize)
 	{
+		this.parallel = parallel;
+		
 		if(parallel)
 		{
 			threadPool = Executors.newScheduledThreadPool(poolSize);
@@ -186,6 +567,59 @@ public class EventListenerManager<L>
 	{
 		this.resultProcessor = resultProcessor;
 	}
+	
+	/**
+	 * Sets the capacity of queue of each listener in parallel mode. This is applicable
+	 * only for listeners added after this call.
+	 *
+	 * @param queueCapacity the new capacity of listener queue
+	 */
+	public void setQueueCapacity(int queueCapacity)
+	{
+		if(queueCapacity <= 0)
+		{
+			throw new IllegalArgumentException("Invalid queue capacity specified: " + queueCapacity);
+		}
+		
+		this.queueCapacity = queueCapacity;
+	}
+	
+	/**
+	 * Gets the capacity of queue of each listener in parallel mode.
+	 *
+	 * @return the capacity of listener queue
+	 */
+	public int getQueueCapacity()
+	{
+		return queueCapacity;
+	}
+	
+	/**
+	 * Sets the policy to be followed when listener queue is full. Note: with {@link BackpressurePolicy#BLOCK},
+	 * events published to a full queue by listeners (that is from pool threads of this manager) are dropped,
+	 * as blocking them would dead lock.
+	 *
+	 * @param backpressurePolicy the new policy to be followed when listener queue is full
+	 */
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy)
+	{
+		if(backpressurePolicy == null)
+		{
+			throw new NullPointerException("Backpressure policy can not be null.");
+		}
+		
+		this.backpressurePolicy = backpressurePolicy;
+	}
+	
+	/**
+	 * Gets the policy to be followed when listener queue is full.
+	 *
+	 * @return the policy to be followed when listener queue is full
+	 */
+	public BackpressurePolicy getBackpressurePolicy()
+	{
+		return backpressurePolicy;
+	}
 
 	/**
 	 * Sets the proxy object for invocation.
@@ -227,11 +661,14 @@ public class EventListenerManager<L>
 			throw new NullPointerException("Listener can not be null.");
 		}
 		
-		listeners.add(new ListenerWithData(listener, data));
+		ListenerWithData listenerWithData = new ListenerWithData(listener, data);
+		listenerWithData.init(parallel ? queueCapacity : 0);
+		
+		listeners.add(listenerWithData);
 	}
 	
 	/**
-	 * Removes the specified listener.
+	 * Removes the specified listener. Events already queued for the listener will still be delivered.
 	 * @param listener
 	 * @return true if listener is found and removed.
 	 */
@@ -262,63 +699,86 @@ public class EventListenerManager<L>
 	}
 	
 	/**
-	 * Invokes specified method on specified listener with specified params.
-	 * @param listener listener to be invoked
-	 * @param method method to be invoked
-	 * @param params params to be passed
+	 * Fetches the dispatch metrics of the current listeners.
+	 * @return metrics of listeners
 	 */
-	private void invokeListener(ListenerWithData listener, Method method, Object... params)
+	public List<ListenerMetrics> getListenerMetrics()
 	{
-		if(filter != null && !filter.filter(listener.listener, listener.data, method, params))
+		List<ListenerMetrics> metrics = new ArrayList<ListenerMetrics>();
+		
+		for(ListenerWithData ldata : this.listeners)
 		{
-			return;
+			metrics.add(ldata.toMetrics());
 		}
 		
-		Object result = null;
+		return metrics;
+	}
+	
+	/**
+	 * Invokes specified event method on specified listener.
+	 * @param listener listener to be invoked
+	 * @param event event to be delivered
+	 */
+	private void invokeListener(ListenerWithData listener, Event event)
+	{
+		Method method = event.method;
+		Object params[] = event.params;
 		
 		try
 		{
-			result = method.invoke(listener.listener, params);
-
-			if(resultProcessor != null)
+			if(filter == null || filter.filter(listener.listener, listener.data, method, params))
 			{
-				resultProcessor.processResult(result, listener.listener, listener.data, method, params);
+				Object result = method.invoke(listener.listener, params);
+	
+				if(resultProcessor != null)
+				{
+					resultProcessor.processResult(result, listener.listener, listener.data, method, params);
+				}
 			}
 		}catch(Exception ex)
 		{
-			logger.log(Level.SEVERE, "An error occurred while while invoking listener or result processing - " + listener, ex);
+			logger.log(Level.SEVERE, "An error occurred while while invoking filter, listener or result processing - " + listener, ex);
 		}
+		
+		long latency = System.nanoTime() - event.publishTime;
+		
+		listener.processedCount.incrementAndGet();
+		listener.totalLatency.addAndGet(latency);
+		listener.maxLatency.accumulate(latency);
 	}
 	
 	/**
-	 * Invokes the specified method on all listeners. This is synchronized method 
-	 * which ensures events are delivered in same sequence.
+	 * Invokes the specified method on all listeners. Events are delivered to each listener in the
+	 * same sequence in which they are published.
 	 * But note: listener invocation sequence is not guaranteed.
 	 * @param method
 	 * @param params
 	 */
-	private synchronized void invokeMethod(final Method method, final Object... params)
+	private void invokeMethod(final Method method, final Object... params)
 	{
-		List<ListenerWithData> listeners = new ArrayList<ListenerWithData>( this.listeners );
+		Event event = new Event(method, params);
 		
-		for(ListenerWithData listener : listeners)
+		if(parallel)
 		{
-			if(!parallel)
+			for(ListenerWithData listener : listeners)
 			{
-				invokeListener(listener, method, params);
-				continue;
+				listener.enqueue(event);
 			}
 			
-			final ListenerWithData finalListener = listener;
-			
-			threadPool.execute(new Runnable()
+			return;
+		}
+		
+		sequentialLock.lock();
+		
+		try
+		{
+			for(ListenerWithData listener : listeners)
 			{
-				@Override
-				public void run()
-				{
-					invokeListener(finalListener, method, params);
-				}
-			});
+				invokeListener(listener, event);
+			}
+		}finally
+		{
+			sequentialLock.unlock();
 		}
 	}
 	
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils.event;
+
+/**
+ * Dispatch metrics of a listener, as captured at time of fetching.
+ * @author akiran
+ */
+public class ListenerMetrics
+{
+	/**
+	 * Listener to which metrics belong.
+	 */
+	private Object listener;
+	
+	/**
+	 * Number of events pending in listener queue.
+	 */
+	private int queueDepth;
+	
+	/**
+	 * Max number of events that were pending in listener queue.
+	 */
+	private int maxQueueDepth;
+	
+	/**
+	 * Number of events delivered to listener.
+	 */
+	private long processedCount;
+	
+	/**
+	 * Number of events dropped because of full queue.
+	 */
+	private long droppedCount;
+	
+	/**
+	 * Number of events replaced by newer events because of full queue.
+	 */
+	private long coalescedCount;
+	
+	/**
+	 * Total time in nanos taken from event publish till completion of listener invocation.
+	 */
+	private long totalLatency;
+	
+	/**
+	 * Max time in nanos taken from event publish till completion of listener invocation.
+	 */
+	private long maxLatency;
+
+	ListenerMetrics(Object listener, int queueDepth, int maxQueueDepth, long processedCount, long droppedCount, long coalescedCount, long totalLatency, long maxLatency)
+	{
+		this.listener = listener;
+		this.queueDepth = queueDepth;
+		this.maxQueueDepth = maxQueueDepth;
+		this.processedCount = processedCount;
+		this.droppedCount = droppedCount;
+		this.coalescedCount = coalescedCount;
+		this.totalLatency = totalLatency;
+		this.maxLatency = maxLatency;
+	}
+
+	/**
+	 * Gets the listener to which metrics belong.
+	 *
+	 * @return the listener to which metrics belong
+	 */
+	public Object getListener()
+	{
+		return listener;
+	}
+
+	/**
+	 * Gets the number of events pending in listener queue.
+	 *
+	 * @return the number of events pending in listener queue
+	 */
+	public int getQueueDepth()
+	{
+		return queueDepth;
+	}
+
+	/**
+	 * Gets the max number of events that were pending in listener queue.
+	 *
+	 * @return the max number of events that were pending in listener queue
+	 */
+	public int getMaxQueueDepth()
+	{
+		return maxQueueDepth;
+	}
+
+	/**
+	 * Gets the number of events delivered to listener.
+	 *
+	 * @return the number of events delivered to listener
+	 */
+	public long getProcessedCount()
+	{
+		return processedCount;
+	}
+
+	/**
+	 * Gets the number of events dropped because of full queue.
+	 *
+	 * @return the number of events dropped because of full queue
+	 */
+	public long getDroppedCount()
+	{
+		return droppedCount;
+	}
+
+	/**
+	 * Gets the number of events replaced by newer events because of full queue.
+	 *
+	 * @return the number of events replaced by newer events
+	 */
+	public long getCoalescedCount()
+	{
+		return coalescedCount;
+	}
+
+	/**
+	 * Gets the average time in nanos taken from event publish till completion of listener invocation.
+	 *
+	 * @return the average latency in nanos
+	 */
+	public long getAverageLatency()
+	{
+		return processedCount == 0 ? 0 : totalLatency / processedCount;
+	}
+
+	/**
+	 * Gets the max time in nanos taken from event publish till completion of listener invocation.
+	 *
+	 * @return the max latency in nanos
+	 */
+	public long getMaxLatency()
+	{
+		return maxLatency;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(super.toString());
+		builder.append("[");
+
+		builder.append("Listener: ").append(listener);
+		builder.append(",").append("Queue Depth: ").append(queueDepth);
+		builder.append(",").append("Max Queue Depth: ").append(maxQueueDepth);
+		builder.append(",").append("Processed: ").append(processedCount);
+		builder.append(",").append("Dropped: ").append(droppedCount);
+		builder.append(",").append("Coalesced: ").append(coalescedCount);
+		builder.append(",").append("Avg Latency: ").append(getAverageLatency());
+		builder.append(",").append("Max Latency: ").append(maxLatency);
+
+		builder.append("]");
+		return builder.toString();
+	}
+}
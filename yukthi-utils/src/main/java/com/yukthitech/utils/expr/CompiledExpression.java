@@ -0,0 +1,427 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils.expr;
+
+import com.yukthitech.utils.exceptions.InvalidArgumentException;
+
+/**
+ * Expression whose operators and functions are resolved from registry once, at compile time. Evaluation
+ * of compiled expression does not involve registry lookups and arithmetic/comparison on {@link NumericOperator} 
+ * and {@link NumericComparisonOperator} is carried out on primitive doubles, without boxing intermediate results.
+ * Sub expressions involving only numeric literals are evaluated at compile time.
+ * 
+ * Compiled expressions are immutable and can be evaluated by multiple threads concurrently.
+ * @author akiran
+ */
+public class CompiledExpression
+{
+	/**
+	 * Compiled form of an expression part.
+	 */
+	private static abstract class Node
+	{
+		/**
+		 * Evaluates the node and provides the result.
+		 * @param variableValueProvider Variable value provider
+		 * @return result of evaluation
+		 */
+		public abstract Object evaluate(IVariableValueProvider variableValueProvider);
+		
+		/**
+		 * Evaluates the node and provides the result as double.
+		 * @param variableValueProvider Variable value provider
+		 * @return result of evaluation
+		 */
+		public double evaluateDouble(IVariableValueProvider variableValueProvider)
+		{
+			return ((Number) evaluate(variableValueProvider)).doubleValue();
+		}
+		
+		/**
+		 * Evaluates the node and provides the result as boolean.
+		 * @param variableValueProvider Variable value provider
+		 * @return result of evaluation
+		 */
+		public boolean evaluateBoolean(IVariableValueProvider variableValueProvider)
+		{
+			return ((Boolean) evaluate(variableValueProvider)).booleanValue();
+		}
+		
+		/**
+		 * Returns true if this node represents a numeric constant.
+		 * @return true if numeric constant
+		 */
+		public boolean isNumericConstant()
+		{
+			return false;
+		}
+	}
+	
+	/**
+	 * Node representing a constant value.
+	 */
+	private static class ConstantNode extends Node
+	{
+		/**
+		 * Constant value.
+		 */
+		private Object value;
+		
+		/**
+		 * Double value of constant, if the constant is a number.
+		 */
+		private double doubleValue;
+		
+		/**
+		 * Flag indicating if the value is a number.
+		 */
+		private boolean numeric;
+		
+		public ConstantNode(Object value)
+		{
+			this.value = value;
+			this.numeric = (value instanceof Number);
+			this.doubleValue = numeric ? ((Number) value).doubleValue() : 0;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return value;
+		}
+		
+		@Override
+		public double evaluateDouble(IVariableValueProvider variableValueProvider)
+		{
+			return numeric ? doubleValue : super.evaluateDouble(variableValueProvider);
+		}
+		
+		@Override
+		public boolean isNumericConstant()
+		{
+			return numeric;
+		}
+	}
+	
+	/**
+	 * Node representing a variable.
+	 */
+	private static class VariableNode extends Node
+	{
+		/**
+		 * Name of the variable.
+		 */
+		private String name;
+		
+		public VariableNode(String name)
+		{
+			this.name = name;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return variableValueProvider.getVariableValue(name);
+		}
+	}
+	
+	/**
+	 * Node representing arithmetic operation on primitive doubles.
+	 */
+	private static class NumericNode extends Node
+	{
+		private NumericOperator operator;
+		
+		private Node left;
+		
+		private Node right;
+		
+		public NumericNode(NumericOperator operator, Node left, Node right)
+		{
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return evaluateDouble(variableValueProvider);
+		}
+		
+		@Override
+		public double evaluateDouble(IVariableValueProvider variableValueProvider)
+		{
+			return operator.apply(left.evaluateDouble(variableValueProvider), right.evaluateDouble(variableValueProvider));
+		}
+	}
+
+	/**
+	 * Node representing comparison of primitive doubles.
+	 */
+	private static class ComparisonNode extends Node
+	{
+		private NumericComparisonOperator operator;
+		
+		private Node left;
+		
+		private Node right;
+		
+		public ComparisonNode(NumericComparisonOperator operator, Node left, Node right)
+		{
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return evaluateBoolean(variableValueProvider);
+		}
+		
+		@Override
+		public boolean evaluateBoolean(IVariableValueProvider variableValueProvider)
+		{
+			return operator.test(left.evaluateDouble(variableValueProvider), right.evaluateDouble(variableValueProvider));
+		}
+	}
+	
+	/**
+	 * Node representing other operators, bound at compile time.
+	 */
+	private static class OperatorNode extends Node
+	{
+		private IOperator operator;
+		
+		private Node left;
+		
+		private Node right;
+		
+		public OperatorNode(IOperator operator, Node left, Node right)
+		{
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return operator.evaluate(left.evaluate(variableValueProvider), right.evaluate(variableValueProvider));
+		}
+	}
+	
+	/**
+	 * Node representing function invocation, bound at compile time.
+	 */
+	private static class FunctionNode extends Node
+	{
+		private IFunction function;
+		
+		private Node parameters[];
+		
+		public FunctionNode(IFunction function, Node parameters[])
+		{
+			this.function = function;
+			this.parameters = parameters;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			Object paramValues[] = new Object[parameters.length];
+			
+			for(int i = 0; i < parameters.length; i++)
+			{
+				paramValues[i] = parameters[i].evaluate(variableValueProvider);
+			}
+			
+			return function.evaluate(paramValues);
+		}
+	}
+	
+	/**
+	 * Node for custom expression parts, which are evaluated by interpretation.
+	 */
+	private static class InterpretedNode extends Node
+	{
+		private IExpressionPart part;
+		
+		private ExpressionRegistry registry;
+		
+		public InterpretedNode(IExpressionPart part, ExpressionRegistry registry)
+		{
+			this.part = part;
+			this.registry = registry;
+		}
+		
+		@Override
+		public Object evaluate(IVariableValueProvider variableValueProvider)
+		{
+			return part.evaluate(variableValueProvider, registry);
+		}
+	}
+	
+	/**
+	 * Expression from which this compiled expression is created.
+	 */
+	private Expression expression;
+	
+	/**
+	 * Root node of compiled expression.
+	 */
+	private Node root;
+
+	/**
+	 * Instantiates a new compiled expression.
+	 *
+	 * @param expression the expression to compile
+	 * @param registry the registry to be used for resolving operators and functions
+	 */
+	CompiledExpression(Expression expression, ExpressionRegistry registry)
+	{
+		this.expression = expression;
+		this.root = compile(expression.getExpressionPart(), registry);
+	}
+	
+	/**
+	 * Compiles specified expression part into node.
+	 * @param part part to compile
+	 * @param registry registry to be used
+	 * @return compiled node
+	 */
+	private static Node compile(IExpressionPart part, ExpressionRegistry registry)
+	{
+		if(part instanceof Literal)
+		{
+			return new ConstantNode(((Literal) part).getValue());
+		}
+		
+		if(part instanceof Variable)
+		{
+			return new VariableNode(((Variable) part).getName());
+		}
+		
+		if(part instanceof OperatorExpr)
+		{
+			OperatorExpr operatorExpr = (OperatorExpr) part;
+			IOperator operator = registry.getOperator(operatorExpr.getOperator());
+			
+			if(operator == null)
+			{
+				throw new InvalidArgumentException("Invalid operator encountered - {}", operatorExpr.getOperator());
+			}
+			
+			Node left = compile(operatorExpr.getLeft(), registry);
+			Node right = compile(operatorExpr.getRight(), registry);
+			Node node = null;
+			
+			if(operator instanceof NumericOperator)
+			{
+				node = new NumericNode((NumericOperator) operator, left, right);
+			}
+			else if(operator instanceof NumericComparisonOperator)
+			{
+				node = new ComparisonNode((NumericComparisonOperator) operator, left, right);
+			}
+			else
+			{
+				return new OperatorNode(operator, left, right);
+			}
+			
+			//numeric operations on constants can be evaluated upfront
+			if(left.isNumericConstant() && right.isNumericConstant())
+			{
+				return new ConstantNode(node.evaluate(null));
+			}
+			
+			return node;
+		}
+		
+		if(part instanceof FunctionExpr)
+		{
+			FunctionExpr functionExpr = (FunctionExpr) part;
+			IFunction function = registry.getFunction(functionExpr.getName());
+			
+			if(function == null)
+			{
+				throw new InvalidArgumentException("Invalid function name encountered - {}", functionExpr.getName());
+			}
+			
+			IExpressionPart parameters[] = functionExpr.getParameters();
+			Node paramNodes[] = new Node[parameters == null ? 0 : parameters.length];
+			
+			for(int i = 0; i < paramNodes.length; i++)
+			{
+				paramNodes[i] = compile(parameters[i], registry);
+			}
+			
+			return new FunctionNode(function, paramNodes);
+		}
+		
+		return new InterpretedNode(part, registry);
+	}
+	
+	/**
+	 * Gets the expression from which this compiled expression is created.
+	 *
+	 * @return the expression
+	 */
+	public Expression getExpression()
+	{
+		return expression;
+	}
+	
+	/**
+	 * Evaluates the expression and provides the result.
+	 * @param variableValueProvider Variable value provider
+	 * @return Final value
+	 */
+	public Object evaluate(IVariableValueProvider variableValueProvider)
+	{
+		return root.evaluate(variableValueProvider);
+	}
+	
+	/**
+	 * Evaluates the expression, which is expected to result in number, and provides the result as double.
+	 * @param variableValueProvider Variable value provider
+	 * @return Final value
+	 */
+	public double evaluateDouble(IVariableValueProvider variableValueProvider)
+	{
+		return root.evaluateDouble(variableValueProvider);
+	}
+
+	/**
+	 * Evaluates the expression, which is expected to result in boolean, and provides the result.
+	 * @param variableValueProvider Variable value provider
+	 * @return Final value
+	 */
+	public boolean evaluateBoolean(IVariableValueProvider variableValueProvider)
+	{
+		return root.evaluateBoolean(variableValueProvider);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return expression.toString();
+	}
+}
@@ -82,6 +82,17 @@ public class Expression
 		return expressionPart.evaluate(variableValueProvider, registry);
 	}
 	
+	/**
+	 * Compiles this expression, by resolving operators and functions from specified registry. Compiled
+	 * expression should be preferred when same expression is evaluated repeatedly.
+	 * @param registry Expression registry to be used
+	 * @return Compiled expression
+	 */
+	public CompiledExpression compile(ExpressionRegistry registry)
+	{
+		return new CompiledExpression(this, registry);
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils.expr;
+
+/**
+ * Arithmetic operator working on double values. Compiled expressions invoke {@link #apply(double, double)}
+ * directly on primitive operands, without boxing intermediate results.
+ * @author akiran
+ */
+public abstract class NumericOperator extends SimpleOperator
+{
+	/**
+	 * Instantiates a new numeric operator.
+	 *
+	 * @param operatorString the operator string
+	 * @param description the description
+	 */
+	public NumericOperator(String operatorString, String description)
+	{
+		super(operatorString, description, Number.class, Number.class);
+	}
+	
+	/**
+	 * Applies the operator on specified operands.
+	 * @param leftOperand left operand
+	 * @param rightOperand right operand
+	 * @return result of the operation
+	 */
+	public abstract double apply(double leftOperand, double rightOperand);
+
+	/* (non-Javadoc)
+	 * @see com.yukthitech.utils.expr.IOperator#evaluate(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public Object evaluate(Object leftOperand, Object rightOperand)
+	{
+		return apply(((Number) leftOperand).doubleValue(), ((Number) rightOperand).doubleValue());
+	}
+}
@@ -30,86 +30,86 @@ public class RegistryFactory
 	 */
 	public static void registerDefaults(ExpressionRegistry registry)
 	{
-		registry.addOperator("+", new SimpleOperator("+", "Addition Operator", Number.class, Number.class)
+		registry.addOperator("+", new NumericOperator("+", "Addition Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public double apply(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() + ((Number) rightOperand).doubleValue();
+				return leftOperand + rightOperand;
 			}
 		});
 
-		registry.addOperator("-", new SimpleOperator("-", "Subtraction Operator", Number.class, Number.class)
+		registry.addOperator("-", new NumericOperator("-", "Subtraction Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public double apply(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() - ((Number) rightOperand).doubleValue();
+				return leftOperand - rightOperand;
 			}
 		});
 
-		registry.addOperator("*", new SimpleOperator("*", "Multiplication Operator", Number.class, Number.class)
+		registry.addOperator("*", new NumericOperator("*", "Multiplication Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public double apply(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() * ((Number) rightOperand).doubleValue();
+				return leftOperand * rightOperand;
 			}
 		});
 
-		registry.addOperator("/", new SimpleOperator("/", "Division Operator", Number.class, Number.class)
+		registry.addOperator("/", new NumericOperator("/", "Division Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public double apply(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() / ((Number) rightOperand).doubleValue();
+				return leftOperand / rightOperand;
 			}
 		});
 
-		registry.addOperator("%", new SimpleOperator("%", "Remainder Operator", Number.class, Number.class)
+		registry.addOperator("%", new NumericOperator("%", "Remainder Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public double apply(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() % ((Number) rightOperand).doubleValue();
+				return leftOperand % rightOperand;
 			}
 		});
 		
 		//Add Conditional Operators
 
-		registry.addOperator(">", new SimpleOperator(">", "Greater than comparision Operator", Number.class, Boolean.class)
+		registry.addOperator(">", new NumericComparisonOperator(">", "Greater than comparision Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public boolean test(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() > ((Number) rightOperand).doubleValue();
+				return leftOperand > rightOperand;
 			}
 		});
 
-		registry.addOperator(">=", new SimpleOperator(">=", "Greater or equals comparision Operator", Number.class, Boolean.class)
+		registry.addOperator(">=", new NumericComparisonOperator(">=", "Greater or equals comparision Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public boolean test(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() >= ((Number) rightOperand).doubleValue();
+				return leftOperand >= rightOperand;
 			}
 		});
 
-		registry.addOperator("<", new SimpleOperator("<", "Lesser than comparision Operator", Number.class, Boolean.class)
+		registry.addOperator("<", new NumericComparisonOperator("<", "Lesser than comparision Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public boolean test(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() < ((Number) rightOperand).doubleValue();
+				return leftOperand < rightOperand;
 			}
 		});
 
-		registry.addOperator("<=", new SimpleOperator("<=", "Lesser or equals comparision Operator", Number.class, Boolean.class)
+		registry.addOperator("<=", new NumericComparisonOperator("<=", "Lesser or equals comparision Operator")
 		{
 			@Override
-			public Object evaluate(Object leftOperand, Object rightOperand)
+			public boolean test(double leftOperand, double rightOperand)
 			{
-				return ((Number) leftOperand).doubleValue() <= ((Number) rightOperand).doubleValue();
+				return leftOperand <= rightOperand;
 			}
 		});
 
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for compiled property paths.
+ * @author akiran
+ */
+public class TCompiledPropertyPath
+{
+	public static class Node
+	{
+		private String name;
+		
+		private int value;
+		
+		private Node child;
+		
+		private List<Node> children = new ArrayList<>();
+		
+		public Node()
+		{}
+
+		public Node(String name, int value, Node... children)
+		{
+			this.name = name;
+			this.value = value;
+			this.children.addAll(Arrays.asList(children));
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public int getValue()
+		{
+			return value;
+		}
+
+		public void setValue(int value)
+		{
+			this.value = value;
+		}
+
+		public Node getChild()
+		{
+			return child;
+		}
+
+		public void setChild(Node child)
+		{
+			this.child = child;
+		}
+
+		public List<Node> getChildren()
+		{
+			return children;
+		}
+	}
+	
+	public static class DoubledNode extends Node
+	{
+		public DoubledNode(String name, int value)
+		{
+			super(name, value);
+		}
+		
+		@Override
+		public int getValue()
+		{
+			return super.getValue() * 2;
+		}
+	}
+	
+	private Node newTree()
+	{
+		Node root = new Node("root", 0);
+		root.setChild(new Node("a", 1, 
+				new Node("b0", 10), 
+				new Node("b1", 11), 
+				new Node("b2", 12, new Node("w", 100), new Node("x", 101))
+			));
+		
+		return root;
+	}
+	
+	@Test
+	public void testNestedPath()
+	{
+		Node root = newTree();
+		CompiledPropertyPath path = CompiledPropertyPath.compile("child.children[2].children[name = 'x'].value");
+		
+		//repeated evaluation should use cached accessors and give same result
+		for(int i = 0; i < 3; i++)
+		{
+			Assert.assertEquals(path.getValue(root), 101);
+		}
+		
+		Assert.assertEquals(PropertyAccessor.getProperty(root, "child.children[2].children[name = 'x'].value"), 101);
+		Assert.assertNull(CompiledPropertyPath.compile("child.children[2].children[name = 'z'].value").getValue(root));
+		
+		path.setValue(root, 200);
+		Assert.assertEquals(path.getValue(root), 200);
+		
+		try
+		{
+			CompiledPropertyPath.compile("child.children[2].children[name = 'z'].value").getValue(root, true);
+			Assert.fail();
+		}catch(NullPointerException ex)
+		{
+			Assert.assertEquals(ex.getMessage(), "Property path 'child.children[2].children[name = 'z']' resulted in null");
+		}
+	}
+	
+	@Test
+	public void testPolymorphicReceivers()
+	{
+		CompiledPropertyPath path = CompiledPropertyPath.compile("value");
+		
+		Node node = new Node("node", 5);
+		Node doubledNode = new DoubledNode("doubled", 5);
+		
+		for(int i = 0; i < 3; i++)
+		{
+			Assert.assertEquals(path.getValue(node), 5);
+			Assert.assertEquals(path.getValue(doubledNode), 10);
+			Assert.assertEquals(path.getValue(CommonUtils.toMap("value", "mapValue")), "mapValue");
+		}
+		
+		try
+		{
+			path.getValue("someString");
+			Assert.fail();
+		}catch(Exception ex)
+		{
+			Assert.assertEquals(ex.getMessage(), "No property found with name 'value' in bean type: java.lang.String");
+		}
+	}
+	
+	@Test
+	public void testSetAndRemove()
+	{
+		Node root = newTree();
+		
+		CompiledPropertyPath.compile("child.children[+]").setValue(root, new Node("b3", 13));
+		Assert.assertEquals(PropertyAccessor.getProperty(root, "child.children[3].name"), "b3");
+		
+		CompiledPropertyPath.compile("child.children[name = 'b0']").removeValue(root);
+		Assert.assertEquals(PropertyAccessor.getProperty(root, "child.children[0].name"), "b1");
+		
+		CompiledPropertyPath.compile("child").removeValue(root);
+		Assert.assertNull(root.getChild());
+		
+		try
+		{
+			CompiledPropertyPath.compile("name").setValue(root, "newName");
+			Assert.fail();
+		}catch(Exception ex)
+		{
+			Assert.assertEquals(ex.getMessage(), "No property set-method found with name 'name' in bean type: " + Node.class.getName());
+		}
+	}
+	
+	@Test
+	public void testCompileCache()
+	{
+		CompiledPropertyPath path = CompiledPropertyPath.compile("child.children[1].name");
+		Assert.assertSame(CompiledPropertyPath.compile("child.children[1].name"), path);
+		Assert.assertEquals(path.getPath(), "child.children[1].name");
+		
+		try
+		{
+			CompiledPropertyPath.compile(" ");
+			Assert.fail();
+		}catch(Exception ex)
+		{
+			Assert.assertEquals(ex.getMessage(), "Null or empty property path specified.");
+		}
+	}
+	
+	@Test
+	public void testCompileCacheEviction()
+	{
+		CompiledPropertyPath path = CompiledPropertyPath.compile("child.value");
+		CompiledPropertyPath unusedPath = CompiledPropertyPath.compile("child.name");
+		
+		//paths in use should be retained, while other paths get evicted
+		for(int i = 0; i < CompiledPropertyPath.MAX_CACHED_PATHS * 2; i++)
+		{
+			CompiledPropertyPath.compile("child.children[" + i + "].name");
+			Assert.assertSame(CompiledPropertyPath.compile("child.value"), path);
+		}
+		
+		Assert.assertNotSame(CompiledPropertyPath.compile("child.name"), unusedPath);
+	}
+	
+	@Test
+	public void testBeanTypesNotPinned() throws Exception
+	{
+		URL classesLocation = TCompiledPropertyPath.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader childLoader = new URLClassLoader(new URL[] {classesLocation}, TCompiledPropertyPath.class.getClassLoader().getParent());
+		
+		//access properties of bean type loaded by child loader
+		Class<?> nodeType = childLoader.loadClass(Node.class.getName());
+		Assert.assertNotSame(nodeType, Node.class);
+		
+		Object node = nodeType.getConstructor().newInstance();
+		PropertyAccessor.setProperty(node, "value", 15);
+		Assert.assertEquals(PropertyAccessor.getProperty(node, "value"), 15);
+		
+		WeakReference<ClassLoader> loaderRef = new WeakReference<>(childLoader);
+		childLoader.close();
+		
+		childLoader = null;
+		nodeType = null;
+		node = null;
+		
+		for(int i = 0; i < 50 && loaderRef.get() != null; i++)
+		{
+			System.gc();
+			Thread.sleep(100);
+		}
+		
+		Assert.assertNull(loaderRef.get(), "Child class loader is not unloaded after property access");
+	}
+}
@@ -15,6 +15,11 @@
  */
 package com.yukthitech.utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -307,4 +312,103 @@ public class TObjectLockManager
 			objectLockManager.releaseObject(lockObject);
 		}
 	}
+	
+	/**
+	 * Ensures try-lock returns false when lock is not obtained within timeout.
+	 */
+	@Test(groups = ITestGroups.UNIT_TESTS)
+	public void testTryLockObject() throws Exception
+	{
+		ObjectLockManager lockManager = new ObjectLockManager();
+		String lockObject = "tryLockObject";
+		
+		Assert.assertTrue(lockManager.tryLockObject(lockObject, 10, TimeUnit.MILLISECONDS));
+		
+		boolean result[] = {true};
+		long timeTaken[] = {0};
+		
+		Thread thread = new Thread(() -> 
+		{
+			long startTime = System.currentTimeMillis();
+			result[0] = lockManager.tryLockObject(lockObject, 200, TimeUnit.MILLISECONDS);
+			timeTaken[0] = System.currentTimeMillis() - startTime;
+		});
+		
+		thread.start();
+		thread.join();
+		
+		Assert.assertFalse(result[0]);
+		Assert.assertTrue(timeTaken[0] >= 200);
+		
+		//failed attempt should not leave behind any references
+		Assert.assertTrue(lockManager.isObjectLocked(lockObject));
+		lockManager.releaseObject(lockObject);
+		
+		Assert.assertFalse(lockManager.isObjectLocked(lockObject));
+		Assert.assertEquals(lockManager.getLockCount(), 0, "Some locks are not released.");
+	}
+	
+	/**
+	 * Ensures threads locking same objects concurrently are mutually excluded and all
+	 * locks are released at end.
+	 */
+	@Test(groups = ITestGroups.UNIT_TESTS)
+	public void testConcurrentLocking() throws Exception
+	{
+		ObjectLockManager lockManager = new ObjectLockManager();
+		
+		int keyCount = 4;
+		int iterations = 2000;
+		int counters[] = new int[keyCount];
+		AtomicInteger errorCount = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		
+		for(int i = 0; i < 16; i++)
+		{
+			Thread thread = new Thread(() -> 
+			{
+				for(int j = 0; j < iterations; j++)
+				{
+					int keyIdx = j % keyCount;
+					
+					//use new string objects every time, so that locking is based on equality
+					String key = new String("key-" + keyIdx);
+					
+					try
+					{
+						lockManager.lockObject(key);
+						
+						try
+						{
+							counters[keyIdx]++;
+						}finally
+						{
+							lockManager.releaseObject(key);
+						}
+					}catch(Exception ex)
+					{
+						errorCount.incrementAndGet();
+					}
+				}
+			});
+			
+			threads.add(thread);
+			thread.start();
+		}
+		
+		for(Thread thread : threads)
+		{
+			thread.join();
+		}
+		
+		Assert.assertEquals(errorCount.get(), 0);
+		
+		for(int count : counters)
+		{
+			Assert.assertEquals(count, 16 * iterations / keyCount);
+		}
+		
+		Assert.assertEquals(lockManager.getLockCount(), 0, "Some locks are not released.");
+		Assert.assertTrue(lockManager.getMaxLocksUsed() <= 16);
+	}
 }
@@ -18,8 +18,16 @@ package com.yukthitech.utils;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -28,6 +36,71 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class TestPropertyAccessor
 {
+	public static class SourceBean
+	{
+		private String name;
+		
+		private int count;
+		
+		public SourceBean(String name, int count)
+		{
+			this.name = name;
+			this.count = count;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public int getCount()
+		{
+			return count;
+		}
+		
+		public void setOnlySetter(String value)
+		{}
+	}
+	
+	public static class TargetBean
+	{
+		private String name;
+		
+		private String count;
+		
+		private String onlySetter;
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public void setName(String name)
+		{
+			this.name = name;
+		}
+
+		public String getCount()
+		{
+			return count;
+		}
+
+		public void setCount(String count)
+		{
+			this.count = count;
+		}
+		
+		public String getOnlySetter()
+		{
+			return onlySetter;
+		}
+		
+		public void setOnlySetter(String onlySetter)
+		{
+			this.onlySetter = onlySetter;
+		}
+	}
+	
 	private ObjectMapper objectMapper = new ObjectMapper();
 	
 	@Test
@@ -195,4 +268,83 @@ public class TestPropertyAccessor
 			PropertyAccessor.removeProperty(data, "keys[name = 'THRESHOLD_LIMIT_FOR_BLOCKING'].cobMapProperty[0]"), 
 			"Index is used on non-list value at: keys[name = 'THRESHOLD_LIMIT_FOR_BLOCKING'].cobMapProperty");
 	}
+
+	@Test
+	public void testPropertiesCache() throws Exception
+	{
+		Map<String, PropertyAccessor.Property> properties = PropertyAccessor.getProperties(TargetBean.class);
+		Assert.assertTrue(properties.keySet().containsAll(Arrays.asList("name", "count", "onlySetter")));
+		
+		//properties should be served from cache for subsequent calls, including from other threads
+		Assert.assertSame(PropertyAccessor.getProperties(TargetBean.class), properties);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try
+		{
+			List<Future<Map<String, PropertyAccessor.Property>>> futures = new ArrayList<>();
+			
+			for(int i = 0; i < 20; i++)
+			{
+				futures.add(executor.submit(() -> PropertyAccessor.getProperties(TargetBean.class)));
+			}
+			
+			for(Future<Map<String, PropertyAccessor.Property>> future : futures)
+			{
+				Assert.assertSame(future.get(), properties);
+			}
+		}finally
+		{
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testCloneObject()
+	{
+		for(int i = 0; i < 2; i++)
+		{
+			TargetBean target = PropertyAccessor.cloneObject(new SourceBean("test" + i, 10 + i), TargetBean.class);
+			
+			Assert.assertEquals(target.getName(), "test" + i);
+			Assert.assertEquals(target.getCount(), "" + (10 + i));
+			
+			//write only properties of source should be ignored
+			Assert.assertNull(target.getOnlySetter());
+		}
+		
+		Assert.assertNull(PropertyAccessor.cloneObject(null, TargetBean.class));
+	}
+	
+	@Test
+	public void testCloneObjectDoesNotPinLoader() throws Exception
+	{
+		URL classesLocation = TestPropertyAccessor.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader childLoader = new URLClassLoader(new URL[] {classesLocation}, TestPropertyAccessor.class.getClassLoader().getParent());
+		
+		//clone from source type loaded by child loader into target type of current loader
+		Class<?> sourceType = childLoader.loadClass(SourceBean.class.getName());
+		Assert.assertNotSame(sourceType, SourceBean.class);
+		
+		Object source = sourceType.getConstructor(String.class, int.class).newInstance("child", 5);
+		TargetBean target = PropertyAccessor.cloneObject(source, TargetBean.class);
+		
+		Assert.assertEquals(target.getName(), "child");
+		Assert.assertEquals(target.getCount(), "5");
+		
+		WeakReference<ClassLoader> loaderRef = new WeakReference<>(childLoader);
+		childLoader.close();
+		
+		childLoader = null;
+		sourceType = null;
+		source = null;
+		
+		for(int i = 0; i < 50 && loaderRef.get() != null; i++)
+		{
+			System.gc();
+			Thread.sleep(100);
+		}
+		
+		Assert.assertNull(loaderRef.get(), "Child class loader is not unloaded after clone");
+	}
 }
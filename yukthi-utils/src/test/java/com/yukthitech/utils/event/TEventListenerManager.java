@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2022 "Yukthi Techsoft Pvt. Ltd." (http://yukthitech.com)
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yukthitech.utils.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for event listener manager.
+ * @author akiran
+ */
+public class TEventListenerManager
+{
+	public static interface ITestListener
+	{
+		public void onEvent(int value);
+		
+		public void onOtherEvent(int value);
+	}
+	
+	/**
+	 * Listener which records the values received.
+	 */
+	private static class RecordingListener implements ITestListener
+	{
+		private List<Integer> values = Collections.synchronizedList(new ArrayList<Integer>());
+		
+		/**
+		 * Latch to wait for, before processing events.
+		 */
+		private CountDownLatch latch;
+		
+		public RecordingListener(CountDownLatch latch)
+		{
+			this.latch = latch;
+		}
+		
+		@Override
+		public void onEvent(int value)
+		{
+			try
+			{
+				if(latch != null)
+				{
+					latch.await();
+				}
+			}catch(InterruptedException ex)
+			{
+				throw new IllegalStateException(ex);
+			}
+			
+			values.add(value);
+		}
+		
+		@Override
+		public void onOtherEvent(int value)
+		{
+			onEvent(100 + value);
+		}
+	}
+	
+	/**
+	 * Waits till all events published to specified manager are delivered.
+	 */
+	private void waitForDelivery(EventListenerManager<ITestListener> manager, long expectedCount) throws Exception
+	{
+		long endTime = System.currentTimeMillis() + 10000;
+		
+		while(System.currentTimeMillis() < endTime)
+		{
+			boolean completed = true;
+			
+			for(ListenerMetrics metrics : manager.getListenerMetrics())
+			{
+				if(metrics.getQueueDepth() > 0 || (metrics.getProcessedCount() + metrics.getDroppedCount() + metrics.getCoalescedCount()) < expectedCount)
+				{
+					completed = false;
+				}
+			}
+			
+			if(completed)
+			{
+				return;
+			}
+			
+			Thread.sleep(10);
+		}
+		
+		Assert.fail("Events are not delivered within time: " + manager.getListenerMetrics());
+	}
+	
+	@Test
+	public void testSequentialDispatch()
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, false);
+		RecordingListener listener1 = new RecordingListener(null);
+		RecordingListener listener2 = new RecordingListener(null);
+		
+		manager.addListener(listener1);
+		manager.addListener(listener2);
+		
+		for(int i = 0; i < 10; i++)
+		{
+			manager.get().onEvent(i);
+		}
+		
+		Assert.assertEquals(listener1.values, List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		Assert.assertEquals(listener2.values, listener1.values);
+		
+		Assert.assertTrue(manager.removeListener(listener2));
+		manager.get().onEvent(10);
+		
+		Assert.assertEquals(listener1.values.size(), 11);
+		Assert.assertEquals(listener2.values.size(), 10);
+		
+		ListenerMetrics metrics = manager.getListenerMetrics().get(0);
+		Assert.assertEquals(metrics.getProcessedCount(), 11);
+		Assert.assertEquals(metrics.getQueueDepth(), 0);
+	}
+	
+	/**
+	 * Ensures in parallel mode events are delivered to each listener in publish order.
+	 */
+	@Test
+	public void testParallelOrderedDispatch() throws Exception
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, true, 4);
+		manager.setQueueCapacity(16);
+		
+		List<RecordingListener> listeners = new ArrayList<RecordingListener>();
+		
+		for(int i = 0; i < 6; i++)
+		{
+			RecordingListener listener = new RecordingListener(null);
+			listeners.add(listener);
+			manager.addListener(listener);
+		}
+		
+		int eventCount = 5000;
+		
+		for(int i = 0; i < eventCount; i++)
+		{
+			manager.get().onEvent(i);
+		}
+		
+		waitForDelivery(manager, eventCount);
+		
+		for(RecordingListener listener : listeners)
+		{
+			Assert.assertEquals(listener.values.size(), eventCount);
+			
+			for(int i = 0; i < eventCount; i++)
+			{
+				Assert.assertEquals((int) listener.values.get(i), i);
+			}
+		}
+		
+		for(ListenerMetrics metrics : manager.getListenerMetrics())
+		{
+			Assert.assertEquals(metrics.getProcessedCount(), eventCount);
+			Assert.assertEquals(metrics.getDroppedCount(), 0);
+			Assert.assertTrue(metrics.getMaxQueueDepth() <= 16);
+			Assert.assertTrue(metrics.getMaxLatency() >= metrics.getAverageLatency());
+		}
+	}
+	
+	@Test
+	public void testDropPolicy() throws Exception
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, true, 2);
+		manager.setQueueCapacity(4);
+		manager.setBackpressurePolicy(BackpressurePolicy.DROP);
+		
+		CountDownLatch latch = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(latch);
+		manager.addListener(listener);
+		
+		for(int i = 0; i < 20; i++)
+		{
+			manager.get().onEvent(i);
+		}
+		
+		ListenerMetrics metrics = manager.getListenerMetrics().get(0);
+		Assert.assertTrue(metrics.getDroppedCount() >= 15, "Unexpected metrics: " + metrics);
+		
+		latch.countDown();
+		waitForDelivery(manager, 20);
+		
+		metrics = manager.getListenerMetrics().get(0);
+		Assert.assertEquals(metrics.getProcessedCount() + metrics.getDroppedCount(), 20);
+		Assert.assertEquals(listener.values.size(), metrics.getProcessedCount());
+		
+		//delivered events should still be in order
+		List<Integer> sorted = new ArrayList<Integer>(listener.values);
+		Collections.sort(sorted);
+		Assert.assertEquals(listener.values, sorted);
+	}
+
+	@Test
+	public void testCoalescePolicy() throws Exception
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, true, 2);
+		manager.setQueueCapacity(4);
+		manager.setBackpressurePolicy(BackpressurePolicy.COALESCE);
+		
+		CountDownLatch latch = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(latch);
+		manager.addListener(listener);
+		
+		for(int i = 0; i < 20; i++)
+		{
+			manager.get().onEvent(i);
+		}
+		
+		latch.countDown();
+		waitForDelivery(manager, 20);
+		
+		ListenerMetrics metrics = manager.getListenerMetrics().get(0);
+		Assert.assertTrue(metrics.getCoalescedCount() > 0, "Unexpected metrics: " + metrics);
+		Assert.assertEquals(metrics.getProcessedCount() + metrics.getCoalescedCount(), 20);
+		
+		//latest event should always be delivered
+		Assert.assertEquals((int) listener.values.get(listener.values.size() - 1), 19);
+	}
+	
+	/**
+	 * Ensures coalesced events are delivered in publish order.
+	 */
+	@Test
+	public void testCoalesceOrder() throws Exception
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, true, 2);
+		manager.setQueueCapacity(4);
+		manager.setBackpressurePolicy(BackpressurePolicy.COALESCE);
+		
+		CountDownLatch latch = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(latch);
+		manager.addListener(listener);
+		
+		//wait till first event is picked for delivery, so that rest of events are queued
+		manager.get().onEvent(1);
+		waitForDelivery(manager, 0);
+		
+		manager.get().onOtherEvent(1);
+		manager.get().onEvent(2);
+		manager.get().onOtherEvent(2);
+		manager.get().onEvent(3);
+		
+		//queue is full, pending other-event should be removed and new one should be added at the end
+		manager.get().onOtherEvent(3);
+		
+		latch.countDown();
+		waitForDelivery(manager, 6);
+		
+		Assert.assertEquals(listener.values, List.of(1, 101, 2, 3, 103));
+		Assert.assertEquals(manager.getListenerMetrics().get(0).getCoalescedCount(), 1);
+	}
+	
+	/**
+	 * Ensures listeners publishing to their own full queue in block mode do not dead lock.
+	 */
+	@Test(timeOut = 20000)
+	public void testBlockingPublishFromListener() throws Exception
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, true, 1);
+		manager.setQueueCapacity(2);
+		
+		List<Integer> values = Collections.synchronizedList(new ArrayList<Integer>());
+		
+		manager.addListener(new ITestListener()
+		{
+			@Override
+			public void onEvent(int value)
+			{
+				values.add(value);
+				
+				for(int i = 0; i < 5; i++)
+				{
+					manager.get().onOtherEvent(i);
+				}
+			}
+			
+			@Override
+			public void onOtherEvent(int value)
+			{
+				values.add(100 + value);
+			}
+		});
+		
+		manager.get().onEvent(1);
+		waitForDelivery(manager, 6);
+		
+		ListenerMetrics metrics = manager.getListenerMetrics().get(0);
+		Assert.assertEquals(metrics.getDroppedCount(), 3, "Unexpected metrics: " + metrics);
+		Assert.assertEquals(values, List.of(1, 100, 101));
+	}
+	
+	/**
+	 * Ensures errors from filter do not stop delivery of further events to the listener.
+	 */
+	@Test
+	public void testFailingFilter() throws Exception
+	{
+		EventListenerManager<ITestListener> manager = EventListenerManager.newEventListenerManager(ITestListener.class, true, 2);
+		manager.setQueueCapacity(4);
+		manager.setFilter((listener, data, method, params) -> 
+		{
+			if(((Integer) params[0]) % 2 == 0)
+			{
+				throw new IllegalStateException("Test filter error");
+			}
+			
+			return true;
+		});
+		
+		RecordingListener listener = new RecordingListener(null);
+		manager.addListener(listener);
+		
+		//publish from separate thread, so that the test does not hang if publisher gets blocked
+		Thread publisher = new Thread(() -> 
+		{
+			for(int i = 0; i < 50; i++)
+			{
+				manager.get().onEvent(i);
+			}
+		});
+		
+		publisher.start();
+		publisher.join(10000);
+		
+		Assert.assertFalse(publisher.isAlive(), "Publisher is blocked");
+		waitForDelivery(manager, 50);
+		
+		Assert.assertEquals(listener.values.size(), 25);
+		
+		for(int i = 0; i < 25; i++)
+		{
+			Assert.assertEquals((int) listener.values.get(i), i * 2 + 1);
+		}
+	}
+}
@@ -217,4 +217,77 @@ public class TExpressionEvaluator
 		Assert.assertEquals(expressionEvaluator.parse("SUM(4, 5, 6)").evaluate(variableValueProvider, registry), (Double)15.0);
 		Assert.assertEquals(expressionEvaluator.parse("SUM(2)").evaluate(variableValueProvider, registry), (Double)2.0);
 	}
+	
+	/**
+	 * Tests compiled expressions result in same values as interpreted evaluation.
+	 */
+	@Test
+	public void testCompiledEvaluation()
+	{
+		ExpressionRegistry registry = new ExpressionRegistry();
+		RegistryFactory.registerDefaults(registry);
+		
+		IVariableValueProvider variableValueProvider = new IVariableValueProvider()
+		{
+			@Override
+			public Object getVariableValue(String name)
+			{
+				if("i".equals(name))
+				{
+					return 10;
+				}
+				
+				if("a".equals(name))
+				{
+					return 20.5;
+				}
+				
+				if(name.startsWith("str"))
+				{
+					return name;
+				}
+
+				return null;
+			}
+		};
+		
+		String expressions[] = {
+			"3.0", "a", "str1", "3 * 4 + 2", "(a * 2) + i", "(a + 5) % i", "(i * (2 + 3)) / 4",
+			"(a > i)", "(i <= 10)", "(i == 10)", "(i != a)", "('x' == 'x')", "(a > i) && (i > 20)", "(a > i) || (i > 20)",
+			"IF(a > i, 30, 40.5)", "IF(NOT(a < i), i * 2, 40.5)", "NVL(xyz, 10, 20)", "IS_BLANK(str4)",
+			"MAX(3, a, 1, i)", "AVG(4, 5, i) * 2", "SUM(4 * 2, 5, i) > 20"
+		};
+		
+		for(String exprStr : expressions)
+		{
+			Expression expression = expressionEvaluator.parse(exprStr);
+			CompiledExpression compiledExpression = expression.compile(registry);
+			
+			Assert.assertEquals(compiledExpression.evaluate(variableValueProvider), expression.evaluate(variableValueProvider, registry), "Result mismatch for expression: " + exprStr);
+		}
+		
+		//primitive evaluation
+		Assert.assertEquals(expressionEvaluator.parse("(a * 2) + i").compile(registry).evaluateDouble(variableValueProvider), 51.0);
+		Assert.assertEquals(expressionEvaluator.parse("(3 * 4) + (2 * 2)").compile(registry).evaluateDouble(variableValueProvider), 16.0);
+		Assert.assertTrue(expressionEvaluator.parse("(a * 2) > (i + 5)").compile(registry).evaluateBoolean(variableValueProvider));
+		
+		//same compiled expression should work with different variable values
+		CompiledExpression compiledExpression = expressionEvaluator.parse("(x * 2) + 1").compile(registry);
+		
+		for(int i = 0; i < 10; i++)
+		{
+			final int val = i;
+			Assert.assertEquals(compiledExpression.evaluate(name -> val), (Double)(val * 2.0 + 1));
+		}
+		
+		//invalid operators and functions should be reported during compilation itself
+		try
+		{
+			expressionEvaluator.parse("UNKNOWN_FUNC(a)").compile(registry);
+			Assert.fail("Exception is not thrown.");
+		}catch(Exception ex)
+		{
+			Assert.assertTrue(ex.getMessage().contains("UNKNOWN_FUNC"));
+		}
+	}
 }